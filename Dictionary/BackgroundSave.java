@@ -0,0 +1,149 @@
+package comprehensive;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+
+/**
+ * A class that saves a snapshot of a Dictionary on a background thread, so the dictionary can keep being read and
+ * changed during the save. The snapshot is written to a temporary file next to the destination, which is then
+ * renamed into place so the destination never holds a partial save. Destinations named ".gz", ".deflate" or ".zz"
+ * are written compressed, see GlossaryCompression.forFileName.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class BackgroundSave implements Runnable {
+    // Variables
+    private final DictionarySnapshot snapshot;
+    private final Path target;
+    private final GlossaryCompression compression;
+    private final Consumer<BackgroundSave> onComplete;
+    private volatile long wordsWritten;
+    private volatile long bytesWritten;
+    private volatile boolean done;
+    private volatile Throwable error;
+
+    /**
+     * Creates a save of a snapshot, which is closed once the save finishes
+     *
+     * @param snapshot the snapshot to save
+     * @param target the file to save to
+     * @param onComplete called on the background thread once the save succeeds or fails
+     */
+    private BackgroundSave(DictionarySnapshot snapshot, Path target, Consumer<BackgroundSave> onComplete) {
+        this.snapshot = snapshot;
+        this.target = target;
+        this.compression = GlossaryCompression.forFileName(target);
+        this.onComplete = onComplete;
+    }
+
+    /**
+     * Takes a snapshot of a dictionary and starts saving it on a new thread
+     *
+     * @implNote O(words) running time behavior on the calling thread, see Dictionary.snapshot
+     * @param dictionary the dictionary to save
+     * @param target the file to save to
+     * @param onComplete called on the background thread once the save succeeds or fails
+     * @return the save in progress
+     */
+    public static BackgroundSave start(Dictionary dictionary, Path target, Consumer<BackgroundSave> onComplete) {
+        BackgroundSave save = new BackgroundSave(dictionary.snapshot(), target, onComplete);
+        // Not a daemon, so exiting the program waits for the save to finish
+        new Thread(save, "dictionary-save").start();
+        return save;
+    }
+
+    /**
+     * Writes the snapshot to the temporary file and renames it into place
+     */
+    @Override
+    public void run() {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter out = compression.newWriter(temporary)) {
+                snapshot.writeTo(out, written -> wordsWritten = written);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            bytesWritten = Files.size(target);
+        } catch (Throwable e) {
+            // Anything that stops the save, not just I/O, must be reported as its error and not as a success
+            error = e;
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {}
+        } finally {
+            snapshot.close();
+            done = true;
+            onComplete.accept(this);
+        }
+    }
+
+    /**
+     * Gets the fraction of the words written so far
+     *
+     * @implNote O(1) running time behavior
+     * @return the progress, between 0 and 1
+     */
+    public double getProgress() {
+        return snapshot.numWords() == 0 ? 1 : (double) wordsWritten / snapshot.numWords();
+    }
+
+    /**
+     * Checks if the save has finished, successfully or not
+     *
+     * @implNote O(1) running time behavior
+     * @return true if the save has finished
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Gets the error that stopped the save
+     *
+     * @implNote O(1) running time behavior
+     * @return the error, or null if the save succeeded or hasn't finished
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Gets the file being saved to
+     *
+     * @implNote O(1) running time behavior
+     * @return the file
+     */
+    public Path getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the compression the file is saved with
+     *
+     * @implNote O(1) running time behavior
+     * @return the compression
+     */
+    public GlossaryCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Gets the size of the saved file
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of bytes written, or 0 if the save hasn't finished or failed
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
@@ -0,0 +1,203 @@
+package comprehensive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A group of changes to make to a Dictionary at once with Dictionary.apply. Changes are kept grouped by word, in the
+ * order each word was first changed, and each word's changes keep the order they were made in. A definition's index
+ * means the same as it does for updateDefinition and removeDefinition, counted over the word's definitions as the
+ * batch's earlier changes to the word leave them.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class Batch {
+    // Variables
+    private final LinkedHashMap<String, ArrayList<Change>> changesByWord;
+    private int size;
+
+    /**
+     * The kinds of change a batch can hold
+     */
+    enum Kind {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+
+    /**
+     * Creates an empty batch
+     */
+    public Batch() {
+        changesByWord = new LinkedHashMap<String, ArrayList<Change>>();
+    }
+
+    /**
+     * Adds a definition to a word, adding the word if it's new
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word
+     * @param partOfSpeech the part of speech of the definition
+     * @param definition the definition
+     * @return this batch
+     */
+    public Batch add(String word, String partOfSpeech, String definition) {
+        return change(word, new Change(Kind.ADD, partOfSpeech, definition, 0));
+    }
+
+    /**
+     * Replaces a definition of a word, keeping its part of speech. Like updateDefinition, nothing changes if the word
+     * has no definition with that index
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word
+     * @param definitionIndex the index of the definition to update
+     * @param newDefinition the new definition
+     * @return this batch
+     */
+    public Batch update(String word, int definitionIndex, String newDefinition) {
+        return change(word, new Change(Kind.UPDATE, null, newDefinition, definitionIndex));
+    }
+
+    /**
+     * Removes a definition of a word, removing the word along with its last definition
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word
+     * @param definitionIndex the index of the definition to remove
+     * @return this batch
+     */
+    public Batch remove(String word, int definitionIndex) {
+        return change(word, new Change(Kind.REMOVE, null, null, definitionIndex));
+    }
+
+    /**
+     * Gets the number of changes in the batch
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of changes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of different words the batch changes
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of words
+     */
+    public int numWords() {
+        return changesByWord.size();
+    }
+
+    /**
+     * Gets the changes grouped by word
+     *
+     * @implNote O(1) running time behavior
+     * @return each word's changes in the order they were made
+     */
+    Map<String, List<Change>> changesByWord() {
+        return Collections.unmodifiableMap(changesByWord);
+    }
+
+    /**
+     * Records a change to a word
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word
+     * @param change the change
+     * @return this batch
+     */
+    private Batch change(String word, Change change) {
+        Objects.requireNonNull(word);
+        changesByWord.computeIfAbsent(word, key -> new ArrayList<Change>(1)).add(change);
+        size++;
+        return this;
+    }
+
+    /**
+     * One change to a word
+     */
+    static class Change {
+        // Variables
+        private final Kind kind;
+        private final String partOfSpeech;
+        private final String definition;
+        private final int index;
+
+        /**
+         * Creates a change
+         *
+         * @param kind the kind of change
+         * @param partOfSpeech the part of speech of an added definition, or null
+         * @param definition the added or new definition, or null for a removal
+         * @param index the index of the definition to update or remove, or 0 for an addition
+         */
+        private Change(Kind kind, String partOfSpeech, String definition, int index) {
+            this.kind = kind;
+            this.partOfSpeech = partOfSpeech;
+            this.definition = definition;
+            this.index = index;
+        }
+
+        /**
+         * Makes the change to a word that no one else can see yet, such as a copy
+         *
+         * @implNote O(definitions of the word) running time behavior, plus the cost of compressing a definition
+         * @param dictionaryWord the word
+         * @param codec the codec to compress an added or new definition with, or null to keep it as a string
+         * @return the event the change amounts to, numbered 0, or null if the change changed nothing
+         * @throws IllegalArgumentException if an added definition's part of speech isn't valid
+         * @throws IndexOutOfBoundsException if a removal's word has no definition with its index
+         */
+        DictionaryEvent applyTo(DictionaryWord dictionaryWord, DefinitionCodec codec)
+                throws IllegalArgumentException, IndexOutOfBoundsException {
+            String word = dictionaryWord.getWord();
+            switch (kind) {
+                case ADD:
+                    if (!dictionaryWord.addDefinition(partOfSpeech, definition, codec)) {
+                        return null;
+                    }
+                    return new DictionaryEvent(0, DictionaryEvent.Type.ADD, word, partOfSpeech, definition, null);
+                case UPDATE:
+                    DictionaryDefinition old = dictionaryWord.updateDefinition(index, definition, codec);
+                    if (old == null) {
+                        return null;
+                    }
+                    return new DictionaryEvent(0, DictionaryEvent.Type.UPDATE, word, old.getPartOfSpeech(), definition,
+                            old.getDefinition());
+                default:
+                    Objects.checkIndex(index - 1, dictionaryWord.numberOfDefinitions());
+                    DictionaryDefinition removed = dictionaryWord.removeDefinition(index);
+                    return new DictionaryEvent(0, DictionaryEvent.Type.REMOVE, word, removed.getPartOfSpeech(),
+                            removed.getDefinition(), null);
+            }
+        }
+
+        /**
+         * Makes the change to a dictionary through its public methods
+         *
+         * @implNote the running time behavior of the dictionary's method
+         * @param dictionary the dictionary
+         * @param word the word
+         */
+        void applyTo(Dictionary dictionary, String word) {
+            switch (kind) {
+                case ADD:
+                    dictionary.add(word, partOfSpeech, definition);
+                    break;
+                case UPDATE:
+                    dictionary.updateDefinition(word, index, definition);
+                    break;
+                default:
+                    dictionary.removeDefinition(word, index);
+            }
+        }
+    }
+}
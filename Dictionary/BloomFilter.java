@@ -0,0 +1,166 @@
+package comprehensive;
+
+/**
+ * A class that represents a Bloom filter over Strings. A filter never reports a false negative, and reports false
+ * positives at roughly the configured rate while it holds no more than its expected number of Strings.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class BloomFilter {
+    // Variables
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+    private int size;
+
+    /**
+     * Creates an empty Bloom filter sized for the expected number of Strings and false positive rate
+     *
+     * @implNote O(bits) running time behavior
+     * @param expectedInsertions the number of Strings the filter is sized for
+     * @param falsePositiveRate the desired false positive rate, between 0 and 1 (exclusive)
+     * @throws IllegalArgumentException if the false positive rate is not between 0 and 1
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) throws IllegalArgumentException {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+        }
+        int expected = Math.max(expectedInsertions, 1);
+        // Optimal size is -n*ln(p)/ln(2)^2 bits, with ln(2)*bits/n hash functions
+        long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = new long[(int) Math.max((optimalBits + 63) / 64, 1)];
+        numBits = bits.length * 64L;
+        numHashes = (int) Math.max(Math.round((double) numBits / expected * Math.log(2)), 1);
+    }
+
+    /**
+     * Recreates a Bloom filter from the state of a previously created one
+     *
+     * @param bits the bits of the filter
+     * @param numHashes the number of hash functions used per String
+     * @param size the number of Strings added to the filter
+     */
+    BloomFilter(long[] bits, int numHashes, int size) {
+        this.bits = bits;
+        this.numBits = bits.length * 64L;
+        this.numHashes = numHashes;
+        this.size = size;
+    }
+
+    /**
+     * Adds a String to the filter
+     *
+     * @implNote O(hash functions) running time behavior
+     * @param value the String to add
+     */
+    public void add(String value) {
+        addHashCode(value.hashCode());
+    }
+
+    /**
+     * Adds a String to the filter using only its hash code, which is all the filter looks at
+     *
+     * @implNote O(hash functions) running time behavior
+     * @param hashCode the hash code of the String to add
+     */
+    void addHashCode(int hashCode) {
+        long hash = mix(hashCode);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            long index = Integer.toUnsignedLong(hash1 + i * hash2) % numBits;
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        size++;
+    }
+
+    /**
+     * Checks if the String may have been added to the filter
+     *
+     * @implNote O(hash functions) running time behavior
+     * @param value the String to check
+     * @return false if the String was definitely never added, true if it may have been
+     */
+    public boolean mightContain(String value) {
+        long hash = mix(value.hashCode());
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            long index = Integer.toUnsignedLong(hash1 + i * hash2) % numBits;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of Strings added to the filter
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of Strings added
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of bits in the filter
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of bits
+     */
+    public long numBits() {
+        return numBits;
+    }
+
+    /**
+     * Gets the bits of the filter, for saving it
+     *
+     * @implNote O(1) running time behavior
+     * @return the bits, which must not be modified
+     */
+    long[] bits() {
+        return bits;
+    }
+
+    /**
+     * Estimates the bytes retained by the filter
+     *
+     * @implNote O(1) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long retainedBytes(MemoryLayout layout) {
+        // The bits, then the number of bits, hash functions and Strings
+        return layout.object(1, 16) + layout.array(bits.length, 8);
+    }
+
+    /**
+     * Gets the number of hash functions used per String
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of hash functions
+     */
+    public int numHashes() {
+        return numHashes;
+    }
+
+    /**
+     * Spreads a String's 32-bit hash code into two independent 32-bit hashes (the 64-bit finalizer of MurmurHash3)
+     *
+     * @implNote O(1) running time behavior
+     * @param hashCode the hash code
+     * @return the two hashes packed into a long
+     */
+    private static long mix(int hashCode) {
+        long hash = hashCode;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
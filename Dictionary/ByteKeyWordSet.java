@@ -0,0 +1,411 @@
+package comprehensive;
+
+import java.util.*;
+
+/**
+ * A sorted set of words that keys its tree by byte arrays instead of Strings, so every comparison along a lookup or
+ * range scan is one Arrays.mismatch over the keys. Each word is encoded so that comparing the encodings byte by byte,
+ * unsigned, gives the same order as String.compareTo: a char below 0x80 is one byte, and any other char is three bytes
+ * holding its top 2, middle 7 and low 7 bits, with the first byte always 0x80 or more. Words that are mostly ASCII
+ * take about one byte per char.
+ *
+ * <p>The set keeps the Strings it was given alongside their keys, so iterating returns them without decoding. Views
+ * made by subSet, headSet, tailSet and descendingSet are backed by the same tree, like those of a TreeSet.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class ByteKeyWordSet extends AbstractSet<String> implements NavigableSet<String> {
+    // Variables
+    private final NavigableMap<byte[], String> words;
+    // Constants
+    final static Comparator<byte[]> BY_BYTES = ByteKeyWordSet::compare;
+
+    /**
+     * Creates an empty set
+     */
+    public ByteKeyWordSet() {
+        this(new TreeMap<byte[], String>(BY_BYTES));
+    }
+
+    /**
+     * Creates a set over part or all of a tree
+     *
+     * @param words the tree, from keys to the words they encode
+     */
+    private ByteKeyWordSet(NavigableMap<byte[], String> words) {
+        this.words = words;
+    }
+
+    /**
+     * Encodes a word as a key that orders the same way as the word
+     *
+     * @implNote O(length of the word) running time behavior
+     * @param word the word
+     * @return the key
+     */
+    static byte[] encode(String word) {
+        int length = word.length();
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) >= 0x80) {
+                length += 2;
+            }
+        }
+        byte[] key = new byte[length];
+        int position = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 0x80) {
+                key[position++] = (byte) c;
+            } else {
+                key[position++] = (byte) (0x80 | (c >>> 14));
+                key[position++] = (byte) ((c >>> 7) & 0x7F);
+                key[position++] = (byte) (c & 0x7F);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Compares two keys byte by byte as unsigned values, a key that is a prefix of the other coming first. The first
+     * differing byte is found by Arrays.mismatch, which the JVM compares many bytes at a time
+     *
+     * @implNote O(length of the shared prefix) running time behavior
+     * @param a a key
+     * @param b another key
+     * @return a negative number, zero or a positive number as the first key is less than, equal to or greater than the
+     * second
+     */
+    static int compare(byte[] a, byte[] b) {
+        int i = Arrays.mismatch(a, b);
+        if (i < 0) {
+            return 0;
+        }
+        if (i == a.length || i == b.length) {
+            return a.length - b.length;
+        }
+        return Byte.toUnsignedInt(a[i]) - Byte.toUnsignedInt(b[i]);
+    }
+
+    /**
+     * Estimates the bytes retained by the set, including the keys but not the words, which the dictionary holds anyway
+     *
+     * @implNote O(words) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long retainedBytes(MemoryLayout layout) {
+        long bytes = layout.treeMap(words.size(), false) + layout.object(1, 0);
+        for (byte[] key : words.keySet()) {
+            bytes += layout.array(key.length, 1);
+        }
+        return bytes;
+    }
+
+    /**
+     * Adds a word unless it is already in the set
+     *
+     * @implNote O(length of the word * log(words)) running time behavior, the word is encoded once
+     * @param word the word
+     * @return true if the word was added
+     */
+    @Override
+    public boolean add(String word) {
+        return words.putIfAbsent(encode(word), word) == null;
+    }
+
+    /**
+     * Removes a word
+     *
+     * @implNote O(length of the word * log(words)) running time behavior, the word is encoded once
+     * @param word the word
+     * @return true if the word was in the set
+     */
+    @Override
+    public boolean remove(Object word) {
+        return word instanceof String && words.remove(encode((String) word)) != null;
+    }
+
+    /**
+     * Checks if a word is in the set
+     *
+     * @implNote O(length of the word * log(words)) running time behavior, the word is encoded once
+     * @param word the word
+     * @return true if the word is in the set
+     */
+    @Override
+    public boolean contains(Object word) {
+        return word instanceof String && words.containsKey(encode((String) word));
+    }
+
+    /**
+     * Provides the number of words in the set
+     *
+     * @implNote O(1) running time behavior for the whole set, O(words in the view) for a view made by subSet, headSet
+     * or tailSet
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * Checks if the set has no words
+     *
+     * @implNote O(1) running time behavior for the whole set, O(log(words)) for a view
+     * @return true if the set is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return words.isEmpty();
+    }
+
+    /**
+     * Removes every word of the set, or of the range of a view
+     *
+     * @implNote O(1) running time behavior for the whole set, O(words in the view * log(words)) for a view
+     */
+    @Override
+    public void clear() {
+        words.clear();
+    }
+
+    /**
+     * Provides the words in order, as the Strings they were added as
+     *
+     * @implNote O(1) running time behavior, iterating is O(words)
+     * @return the iterator
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return words.values().iterator();
+    }
+
+    /**
+     * Provides the words in reverse order, as the Strings they were added as
+     *
+     * @implNote O(1) running time behavior, iterating is O(words)
+     * @return the iterator
+     */
+    @Override
+    public Iterator<String> descendingIterator() {
+        return words.descendingMap().values().iterator();
+    }
+
+    /**
+     * Returns null, since the words are in their natural order
+     *
+     * @implNote O(1) running time behavior
+     * @return null
+     */
+    @Override
+    public Comparator<? super String> comparator() {
+        return null;
+    }
+
+    /**
+     * Provides the smallest word
+     *
+     * @implNote O(log(words)) running time behavior
+     * @return the word
+     * @throws NoSuchElementException if the set is empty
+     */
+    @Override
+    public String first() {
+        Map.Entry<byte[], String> entry = words.firstEntry();
+        if (entry == null) {
+            throw new NoSuchElementException();
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Provides the largest word
+     *
+     * @implNote O(log(words)) running time behavior
+     * @return the word
+     * @throws NoSuchElementException if the set is empty
+     */
+    @Override
+    public String last() {
+        Map.Entry<byte[], String> entry = words.lastEntry();
+        if (entry == null) {
+            throw new NoSuchElementException();
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Finds the largest word less than a word
+     *
+     * @implNote O(length of the word * log(words)) running time behavior, the word is encoded once
+     * @param word the word to compare with
+     * @return the word, or null if there is none
+     */
+    @Override
+    public String lower(String word) {
+        return valueOf(words.lowerEntry(encode(word)));
+    }
+
+    /**
+     * Finds the largest word less than or equal to a word
+     *
+     * @implNote O(length of the word * log(words)) running time behavior, the word is encoded once
+     * @param word the word to compare with
+     * @return the word, or null if there is none
+     */
+    @Override
+    public String floor(String word) {
+        return valueOf(words.floorEntry(encode(word)));
+    }
+
+    /**
+     * Finds the smallest word greater than or equal to a word
+     *
+     * @implNote O(length of the word * log(words)) running time behavior, the word is encoded once
+     * @param word the word to compare with
+     * @return the word, or null if there is none
+     */
+    @Override
+    public String ceiling(String word) {
+        return valueOf(words.ceilingEntry(encode(word)));
+    }
+
+    /**
+     * Finds the smallest word greater than a word
+     *
+     * @implNote O(length of the word * log(words)) running time behavior, the word is encoded once
+     * @param word the word to compare with
+     * @return the word, or null if there is none
+     */
+    @Override
+    public String higher(String word) {
+        return valueOf(words.higherEntry(encode(word)));
+    }
+
+    /**
+     * Removes and provides the smallest word
+     *
+     * @implNote O(log(words)) running time behavior
+     * @return the word, or null if the set is empty
+     */
+    @Override
+    public String pollFirst() {
+        return valueOf(words.pollFirstEntry());
+    }
+
+    /**
+     * Removes and provides the largest word
+     *
+     * @implNote O(log(words)) running time behavior
+     * @return the word, or null if the set is empty
+     */
+    @Override
+    public String pollLast() {
+        return valueOf(words.pollLastEntry());
+    }
+
+    /**
+     * Provides a view of the words in reverse order, backed by the same tree so changes show through both ways
+     *
+     * @implNote O(1) running time behavior
+     * @return the view
+     */
+    @Override
+    public NavigableSet<String> descendingSet() {
+        return new ByteKeyWordSet(words.descendingMap());
+    }
+
+    /**
+     * Provides a view of the words between two words, backed by the same tree so changes show through both ways
+     *
+     * @implNote O(length of the bounds) running time behavior to encode them, the view is made without copying
+     * @param fromWord the smallest word of the range
+     * @param fromInclusive true to include fromWord
+     * @param toWord the largest word of the range
+     * @param toInclusive true to include toWord
+     * @return the view
+     */
+    @Override
+    public NavigableSet<String> subSet(String fromWord, boolean fromInclusive, String toWord, boolean toInclusive) {
+        return new ByteKeyWordSet(words.subMap(encode(fromWord), fromInclusive, encode(toWord), toInclusive));
+    }
+
+    /**
+     * Provides a view of the words before a word, backed by the same tree so changes show through both ways
+     *
+     * @implNote O(length of the bound) running time behavior to encode it, the view is made without copying
+     * @param toWord the end of the range
+     * @param inclusive true to include toWord
+     * @return the view
+     */
+    @Override
+    public NavigableSet<String> headSet(String toWord, boolean inclusive) {
+        return new ByteKeyWordSet(words.headMap(encode(toWord), inclusive));
+    }
+
+    /**
+     * Provides a view of the words from a word on, backed by the same tree so changes show through both ways
+     *
+     * @implNote O(length of the bound) running time behavior to encode it, the view is made without copying
+     * @param fromWord the start of the range
+     * @param inclusive true to include fromWord
+     * @return the view
+     */
+    @Override
+    public NavigableSet<String> tailSet(String fromWord, boolean inclusive) {
+        return new ByteKeyWordSet(words.tailMap(encode(fromWord), inclusive));
+    }
+
+    /**
+     * Provides a view of the words from one word up to but not including another, backed by the same tree so changes
+     * show through both ways
+     *
+     * @implNote O(length of the bounds) running time behavior to encode them, the view is made without copying
+     * @param fromWord the smallest word of the range
+     * @param toWord the end of the range, excluded
+     * @return the view
+     */
+    @Override
+    public SortedSet<String> subSet(String fromWord, String toWord) {
+        return subSet(fromWord, true, toWord, false);
+    }
+
+    /**
+     * Provides a view of the words before a word, not including it, backed by the same tree so changes show through
+     * both ways
+     *
+     * @implNote O(length of the bound) running time behavior to encode it, the view is made without copying
+     * @param toWord the end of the range, excluded
+     * @return the view
+     */
+    @Override
+    public SortedSet<String> headSet(String toWord) {
+        return headSet(toWord, false);
+    }
+
+    /**
+     * Provides a view of the words from a word on, including it, backed by the same tree so changes show through both
+     * ways
+     *
+     * @implNote O(length of the bound) running time behavior to encode it, the view is made without copying
+     * @param fromWord the start of the range, included
+     * @return the view
+     */
+    @Override
+    public SortedSet<String> tailSet(String fromWord) {
+        return tailSet(fromWord, true);
+    }
+
+    /**
+     * Gets the word of an entry
+     *
+     * @implNote O(1) running time behavior
+     * @param entry the entry, or null
+     * @return the word, or null if there is no entry
+     */
+    private static String valueOf(Map.Entry<byte[], String> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+}
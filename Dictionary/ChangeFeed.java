@@ -0,0 +1,271 @@
+package comprehensive;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A class that numbers the changes made to a Dictionary and hands them to its subscribers. Each subscription owns a
+ * bounded ring buffer with one writer, the dictionary's write path, and one reader, the subscription's delivery thread,
+ * so neither side ever takes a lock. The delivery thread drains the ring in batches and passes each batch to its
+ * listener.
+ *
+ * <p>A listener that can't keep up never slows the writer down: once its ring is full, further events are dropped for
+ * that subscription alone and counted, and the listener learns of the gap through onMissed when the next event after
+ * it is delivered. Delivery is therefore lossy; a listener resyncs from a snapshot, whose sequence number tells it
+ * which of the later events it already has. Changes to a dictionary must not happen on several threads at once, which
+ * Dictionary requires anyway, so the rings only ever have one writer.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class ChangeFeed {
+    // Variables
+    private final CopyOnWriteArrayList<Subscription> subscriptions;
+    private final AtomicLong sequence;
+    // Constants
+    final public static int DEFAULT_CAPACITY = 4096;
+    final public static int DEFAULT_BATCH_SIZE = 256;
+    // How long an idle delivery thread sleeps before checking its ring again, unless woken by a new event
+    final private static long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Creates a feed without subscribers
+     */
+    ChangeFeed() {
+        subscriptions = new CopyOnWriteArrayList<Subscription>();
+        sequence = new AtomicLong();
+    }
+
+    /**
+     * Starts delivering every later change to a listener on a new daemon thread
+     *
+     * @implNote O(capacity + subscribers) running time behavior
+     * @param listener the listener
+     * @param capacity the number of undelivered events to buffer before dropping, rounded up to a power of two
+     * @param batchSize the most events to pass to the listener at once
+     * @return the subscription, which stops delivery when closed
+     * @throws IllegalArgumentException if the capacity or batch size isn't positive
+     */
+    Subscription subscribe(DictionaryListener listener, int capacity, int batchSize) throws IllegalArgumentException {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("The capacity and batch size must be positive");
+        }
+        Subscription subscription = new Subscription(listener, capacity, batchSize, sequence.get() + 1);
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Numbers a change and offers it to every subscription. The event is only built if there are subscribers
+     *
+     * @implNote O(subscribers) running time behavior
+     * @param type the kind of change
+     * @param word the word that changed
+     * @param partOfSpeech the part of speech of the definition, or null for REMOVE_WORD
+     * @param definition the definition added or removed, the new definition for UPDATE, or null for REMOVE_WORD
+     * @param previousDefinition the definition replaced by UPDATE, or null
+     */
+    void publish(DictionaryEvent.Type type, String word, String partOfSpeech, String definition,
+                 String previousDefinition) {
+        long number = sequence.incrementAndGet();
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        DictionaryEvent event = new DictionaryEvent(number, type, word, partOfSpeech, definition, previousDefinition);
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Checks if any listener is subscribed, so writers can skip work only events need
+     *
+     * @implNote O(1) running time behavior
+     * @return true if there are subscribers
+     */
+    boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Gets the sequence number of the latest change
+     *
+     * @implNote O(1) running time behavior
+     * @return the sequence number, or 0 if nothing has changed
+     */
+    long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * A listener's ring buffer of undelivered events and the thread that delivers them
+     */
+    public class Subscription implements Closeable {
+        // Variables
+        private final DictionaryListener listener;
+        private final DictionaryEvent[] ring;
+        private final int batchSize;
+        private final Thread thread;
+        // The next position to write and to read; the ring holds the events between them
+        private final AtomicLong tail;
+        private final AtomicLong head;
+        private final AtomicLong dropped;
+        private volatile long delivered;
+        private volatile boolean sleeping;
+        private volatile boolean closed;
+        private volatile RuntimeException failure;
+
+        /**
+         * Creates a subscription, whose thread still has to be started
+         *
+         * @param listener the listener
+         * @param capacity the number of undelivered events to buffer, rounded up to a power of two
+         * @param batchSize the most events to pass to the listener at once
+         * @param firstSequence the sequence number of the first event the listener will be offered
+         */
+        private Subscription(DictionaryListener listener, int capacity, int batchSize, long firstSequence) {
+            this.listener = listener;
+            this.ring = new DictionaryEvent[Math.max(1, Integer.highestOneBit(capacity - 1) << 1)];
+            this.batchSize = batchSize;
+            this.tail = new AtomicLong();
+            this.head = new AtomicLong();
+            this.dropped = new AtomicLong();
+            this.delivered = firstSequence - 1;
+            this.thread = new Thread(this::deliver, "dictionary-change-feed");
+            thread.setDaemon(true);
+        }
+
+        /**
+         * Adds an event to the ring, or drops it if the ring is full. Only ever called by the dictionary's writer
+         *
+         * @implNote O(1) running time behavior
+         * @param event the event
+         */
+        private void offer(DictionaryEvent event) {
+            long position = tail.get();
+            if (closed || position - head.get() == ring.length) {
+                dropped.incrementAndGet();
+                return;
+            }
+            ring[(int) position & (ring.length - 1)] = event;
+            // Publishes the slot to the reader, and orders the write before the check of sleeping below
+            tail.set(position + 1);
+            if (sleeping) {
+                sleeping = false;
+                LockSupport.unpark(thread);
+            }
+        }
+
+        /**
+         * Delivers batches of events to the listener until the subscription is closed or the listener throws
+         */
+        private void deliver() {
+            ArrayList<DictionaryEvent> batch = new ArrayList<DictionaryEvent>(batchSize);
+            while (!closed) {
+                long position = head.get();
+                int available = (int) Math.min(tail.get() - position, batchSize);
+                if (available == 0) {
+                    // Give the writer a chance to fill a batch before paying for a sleep and a wake up
+                    Thread.yield();
+                    if (tail.get() != position) {
+                        continue;
+                    }
+                    sleeping = true;
+                    // Check again after announcing the sleep, or an event offered in between could wait a whole park
+                    if (tail.get() == position) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    sleeping = false;
+                    continue;
+                }
+                for (int i = 0; i < available; i++) {
+                    int slot = (int) (position + i) & (ring.length - 1);
+                    batch.add(ring[slot]);
+                    ring[slot] = null;
+                }
+                // Hands the slots back to the writer before the listener runs, so it can keep writing meanwhile
+                head.lazySet(position + available);
+                long first = batch.get(0).getSequence();
+                try {
+                    if (first > delivered + 1) {
+                        listener.onMissed(delivered + 1, first - 1);
+                    }
+                    listener.onEvents(batch);
+                } catch (RuntimeException e) {
+                    failure = e;
+                    close();
+                }
+                delivered = batch.get(batch.size() - 1).getSequence();
+                batch = new ArrayList<DictionaryEvent>(batchSize);
+            }
+        }
+
+        /**
+         * Gets the sequence number of the latest event passed to the listener
+         *
+         * @implNote O(1) running time behavior
+         * @return the sequence number
+         */
+        public long getDelivered() {
+            return delivered;
+        }
+
+        /**
+         * Gets the number of events waiting in the ring
+         *
+         * @implNote O(1) running time behavior
+         * @return the number of events
+         */
+        public int getBacklog() {
+            return (int) (tail.get() - head.get());
+        }
+
+        /**
+         * Gets the number of events dropped because the ring was full
+         *
+         * @implNote O(1) running time behavior
+         * @return the number of events
+         */
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        /**
+         * Gets the exception the listener threw, which closed the subscription
+         *
+         * @implNote O(1) running time behavior
+         * @return the exception, or null if the listener hasn't thrown
+         */
+        public RuntimeException getFailure() {
+            return failure;
+        }
+
+        /**
+         * Checks if the subscription has been closed, by its owner or by its listener throwing
+         *
+         * @implNote O(1) running time behavior
+         * @return true if closed
+         */
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Stops delivering events and unsubscribes. Events still in the ring are discarded, and a batch being delivered
+         * is finished first
+         *
+         * @implNote O(subscribers) running time behavior
+         */
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+            LockSupport.unpark(thread);
+        }
+    }
+}
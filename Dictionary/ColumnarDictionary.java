@@ -0,0 +1,1013 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A Dictionary that stores its definitions in parallel primitive arrays instead of a DictionaryWord and TreeSet of
+ * DictionaryDefinitions per word. Every word gets a dense int ID, and each definition takes one slot across the
+ * columns: the ID of its word, its part of speech as a byte, and the offset and length of its text in a shared char
+ * array.
+ *
+ * <p>A word's definitions occupy a contiguous run of slots kept sorted by part of speech and text. When a word runs
+ * out of room its run is moved to the end of the columns with twice the room, and once too many slots or characters
+ * are unused the columns are compacted, which also lays every run out in word order. Right after a compaction the
+ * definitions are sorted by (word, part of speech, text).</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class ColumnarDictionary extends Dictionary {
+    // Word columns, indexed by word ID
+    private final HashMap<String, Integer> wordIds;
+    private final TreeSet<String> words;
+    private final TrigramIndex trigrams;
+    private final SuffixIndex suffixes;
+    private String[] wordById;
+    private int[] firstSlot;
+    private int[] numSlots;
+    private int[] slotCapacity;
+    private int[] freeIds;
+    private int numFreeIds;
+    private int nextId;
+    // Definition columns, indexed by slot
+    private int[] slotWord;
+    private byte[] slotPartOfSpeech;
+    private int[] slotTextOffset;
+    private int[] slotTextLength;
+    private int usedSlots;
+    // Definition text
+    private char[] text;
+    private int usedText;
+    private long liveText;
+    private int compactions;
+    // Statistics maintained on every mutation
+    private int numWords;
+    private int numDefinitions;
+    private final int[] partOfSpeechCounts;
+    private final Histogram definitionsPerWord;
+    private final Histogram wordLengths;
+    private final Histogram definitionLengths;
+    private DictionaryStatistics statistics;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    final private String TAB = "\t";
+    final private static int TOP_WORDS = 10;
+    final private static int INITIAL_CAPACITY = 16;
+    // Unused slots and characters tolerated beyond the live ones before the columns are compacted
+    final private static int COMPACTION_SLACK = 1024;
+    // Sorted, so comparing the bytes orders parts of speech the same way as comparing their names
+    final private static String[] PARTS_OF_SPEECH = {"adj", "adv", "conj", "interj", "noun", "prep", "pron", "verb"};
+
+    /**
+     * Creates an empty columnar dictionary
+     */
+    public ColumnarDictionary() {
+        wordIds = new HashMap<String, Integer>();
+        words = new TreeSet<String>();
+        trigrams = new TrigramIndex();
+        suffixes = new SuffixIndex();
+        wordById = new String[INITIAL_CAPACITY];
+        firstSlot = new int[INITIAL_CAPACITY];
+        numSlots = new int[INITIAL_CAPACITY];
+        slotCapacity = new int[INITIAL_CAPACITY];
+        freeIds = new int[INITIAL_CAPACITY];
+        slotWord = new int[INITIAL_CAPACITY];
+        slotPartOfSpeech = new byte[INITIAL_CAPACITY];
+        slotTextOffset = new int[INITIAL_CAPACITY];
+        slotTextLength = new int[INITIAL_CAPACITY];
+        text = new char[INITIAL_CAPACITY];
+        partOfSpeechCounts = new int[PARTS_OF_SPEECH.length];
+        definitionsPerWord = new Histogram(1, 33);
+        wordLengths = new Histogram(1, 65);
+        definitionLengths = new Histogram(16, 65);
+    }
+
+    /**
+     * Adds a word or definition to the dictionary
+     *
+     * @implNote O(log(words)) running time behavior if adding a new word
+     * @implNote O(definitions of the word) running time behavior if adding a new definition to an existing word, for
+     * shifting the slots after it
+     * @param word The word
+     * @param partOfSpeech the part of speech for the associated word
+     * @param definition the associated definition for the associated part of speech
+     * @throws IllegalArgumentException if the part of speech isn't valid
+     */
+    @Override
+    public void add(String word, String partOfSpeech, String definition) throws IllegalArgumentException {
+        byte code = partOfSpeechCode(partOfSpeech);
+        Integer id = wordIds.get(word);
+        if (id == null) {
+            id = newWord(word);
+            insertSlot(id, 0, code, definition);
+        } else {
+            int position = findSlot(id, code, definition);
+            if (position >= 0) {
+                // The word already has the definition
+                return;
+            }
+            definitionsPerWord.remove(numSlots[id]);
+            insertSlot(id, -position - 1, code, definition);
+        }
+        definitionsPerWord.add(numSlots[id]);
+        countDefinition(code, definition.length(), 1);
+        compactIfSparse();
+        publish(DictionaryEvent.Type.ADD, word, partOfSpeech, definition, null);
+    }
+
+    /**
+     * Provides a snapshot of every statistic. The same snapshot is returned until the dictionary is next mutated
+     *
+     * @implNote O(words) running time behavior to rank the words by their number of definitions, the snapshot is
+     * cached until the next mutation
+     * @return the statistics snapshot
+     */
+    @Override
+    public DictionaryStatistics getStatisticsSnapshot() {
+        if (statistics == null) {
+            // Keep the TOP_WORDS highest ranked IDs, with the lowest ranked of them at the head
+            Comparator<Integer> byDefinitions = (a, b) -> numSlots[a] != numSlots[b]
+                    ? Integer.compare(numSlots[b], numSlots[a])
+                    : wordById[a].compareTo(wordById[b]);
+            PriorityQueue<Integer> top = new PriorityQueue<Integer>(byDefinitions.reversed());
+            for (int id = 0; id < nextId; id++) {
+                if (wordById[id] != null) {
+                    top.add(id);
+                    if (top.size() > TOP_WORDS) {
+                        top.poll();
+                    }
+                }
+            }
+            ArrayList<Integer> topIds = new ArrayList<Integer>(top);
+            topIds.sort(byDefinitions);
+            ArrayList<String> topWords = new ArrayList<String>(TOP_WORDS);
+            ArrayList<Integer> topWordCounts = new ArrayList<Integer>(TOP_WORDS);
+            for (int id : topIds) {
+                topWords.add(wordById[id]);
+                topWordCounts.add(numSlots[id]);
+            }
+            TreeMap<String, Integer> usedPartsOfSpeech = new TreeMap<String, Integer>();
+            for (int i = 0; i < PARTS_OF_SPEECH.length; i++) {
+                if (partOfSpeechCounts[i] > 0) {
+                    usedPartsOfSpeech.put(PARTS_OF_SPEECH[i], partOfSpeechCounts[i]);
+                }
+            }
+            statistics = new DictionaryStatistics(numWords, numDefinitions,
+                    words.isEmpty() ? "" : words.first(), words.isEmpty() ? "" : words.last(),
+                    usedPartsOfSpeech, definitionsPerWord.copy(), wordLengths.copy(), definitionLengths.copy(),
+                    topWords, topWordCounts);
+        }
+        return statistics;
+    }
+
+    /**
+     * Reports the number of word IDs, the used and unused slots and characters, the number of compactions and the
+     * size of the columns
+     *
+     * @implNote O(1) running time behavior
+     * @return the storage statistics
+     */
+    public String getStorageStatistics() {
+        long wordBytes = (long) wordById.length * (8 + 4 + 4 + 4 + 4);
+        long slotBytes = (long) slotWord.length * (4 + 1 + 4 + 4);
+        long textBytes = (long) text.length * 2;
+        return "word IDs: " + nextId + " (" + numFreeIds + " free)" + NEWLINE +
+                "definition slots: " + usedSlots + " (" + (usedSlots - numDefinitions) + " unused)" + NEWLINE +
+                "text characters: " + usedText + " (" + (usedText - liveText) + " unused)" + NEWLINE +
+                "compactions: " + compactions + NEWLINE +
+                "column bytes: " + (wordBytes + slotBytes + textBytes);
+    }
+
+    /**
+     * Estimates the heap retained by each structure of the dictionary: the word IDs, the word strings, the word and
+     * definition columns, the definition text, the statistics and the indexes
+     *
+     * @implNote O(length of the words) running time behavior
+     * @param layout the layout of objects to estimate with
+     * @return the memory report
+     */
+    @Override
+    public MemoryReport memoryReport(MemoryLayout layout) {
+        MemoryReport report = new MemoryReport(layout, numWords, numDefinitions);
+        long wordStrings = 0;
+        for (int id = 0; id < nextId; id++) {
+            if (wordById[id] != null) {
+                wordStrings += layout.string(wordById[id]);
+            }
+        }
+        // IDs of 128 and up are boxed into their own Integers
+        report.add("wordIds", layout.hashMap(wordIds.size(), false)
+                + Math.max(0, wordIds.size() - 128) * layout.box(4), false);
+        report.add("words", layout.treeMap(words.size(), true), false);
+        report.add("word strings", wordStrings, false);
+        report.add("word columns", layout.referenceArray(wordById.length) + layout.array(firstSlot.length, 4)
+                + layout.array(numSlots.length, 4) + layout.array(slotCapacity.length, 4)
+                + layout.array(freeIds.length, 4), false);
+        report.add("definition columns", layout.array(slotWord.length, 4) + layout.array(slotPartOfSpeech.length, 1)
+                + layout.array(slotTextOffset.length, 4) + layout.array(slotTextLength.length, 4), true);
+        report.add("definition text", layout.array(text.length, 2), true);
+        report.add("statistics", layout.array(partOfSpeechCounts.length, 4) + definitionsPerWord.retainedBytes(layout)
+                + wordLengths.retainedBytes(layout) + definitionLengths.retainedBytes(layout), false);
+        report.add("trigram index", trigrams.retainedBytes(layout), false);
+        report.add("suffix index", suffixes.retainedBytes(layout), false);
+        return report;
+    }
+
+    /**
+     * Returns all the words in the given range as a string
+     *
+     * @implNote O(words in range) running time behavior (Creating a submap is O(1), iterating is O(length))
+     * @param start the starting word (inclusive)
+     * @param end the ending word (inclusive)
+     * @return all the words in the range as a string
+     */
+    @Override
+    public String getWordsInRange(String start, String end) {
+        StringBuilder sb = new StringBuilder("The words between ")
+                .append(start)
+                .append(" and ")
+                .append(end)
+                .append(" are:");
+        try {
+            for (String word : words.subSet(start, true, end, true)) {
+                sb
+                        .append(NEWLINE)
+                        .append(TAB)
+                        .append(word);
+            }
+        } catch (IllegalArgumentException ignored) {}
+        return sb.toString();
+    }
+
+    /**
+     * Finds the lexicographically smallest words that match a pattern through the trigram index of the words
+     *
+     * @implNote O(postings of the pattern's trigrams + candidates * length of the pattern) running time behavior
+     * @param pattern the pattern, where '?' matches any one character and '*' matches any sequence of characters
+     * @param limit the maximum number of words to return
+     * @return the matching words in lexicographic order
+     */
+    @Override
+    public List<String> match(String pattern, int limit) {
+        return trigrams.match(pattern, limit, prefix -> words.tailSet(prefix, true).iterator());
+    }
+
+    /**
+     * Gets the words ending with a suffix in the order of their reversals from the suffix index of the words
+     *
+     * @implNote O(log(words) + words returned) running time behavior
+     * @param suffix the suffix
+     * @param limit the maximum number of words to return
+     * @return the words
+     */
+    @Override
+    public List<String> getWordsWithSuffix(String suffix, int limit) {
+        return suffixes.wordsWithSuffix(suffix, limit);
+    }
+
+    /**
+     * Counts the words ending with a suffix from the suffix index of the words
+     *
+     * @implNote O(log(words)) running time behavior
+     * @param suffix the suffix
+     * @return the number of words
+     */
+    @Override
+    public int countWithSuffix(String suffix) {
+        return suffixes.countWithSuffix(suffix);
+    }
+
+    /**
+     * Provides a word and its definitions, rendered straight from the word's run of slots
+     *
+     * @implNote O(length of the definitions of the word) running time behavior
+     * @param word the word
+     * @return the word and its definitions, or null if it isn't in the dictionary
+     */
+    @Override
+    public String getWord(String word) {
+        Integer id = wordIds.get(word);
+        if (id == null) {
+            return null;
+        }
+        StringBuilder output = new StringBuilder(word);
+        for (int slot = firstSlot[id]; slot < firstSlot[id] + numSlots[id]; slot++) {
+            output.append(NEWLINE).append(TAB);
+            appendDefinition(output, slot);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Writes the requested word the way getWord represents it straight from the columns, without building a string
+     *
+     * @implNote O(length of the definitions of the word) running time behavior
+     * @param word the word to write
+     * @param out where to write the word
+     * @return true if the word was written, false if it isn't in the dictionary
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public boolean renderWord(String word, Appendable out) throws IOException {
+        Integer id = wordIds.get(word);
+        if (id == null) {
+            return false;
+        }
+        out.append(word);
+        for (int slot = firstSlot[id]; slot < firstSlot[id] + numSlots[id]; slot++) {
+            out.append(NEWLINE).append(TAB).append(PARTS_OF_SPEECH[slotPartOfSpeech[slot]]).append('.').append(TAB);
+            // Appendable has no way to take a range of a char[], and wrapping one would allocate
+            for (int i = slotTextOffset[slot]; i < slotTextOffset[slot] + slotTextLength[slot]; i++) {
+                out.append(text[i]);
+            }
+        }
+        // The last definition may end in half of a surrogate pair
+        Utf8Sink.finish(out);
+        return true;
+    }
+
+    /**
+     * Checks if the dictionary has a word by looking up its ID
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word
+     * @return true if the word is in the dictionary
+     */
+    @Override
+    public boolean containsWord(String word) {
+        return wordIds.containsKey(word);
+    }
+
+    /**
+     * Does nothing, since word IDs are found through a hash map rather than a filter
+     *
+     * @implNote O(1) running time behavior
+     */
+    @Override
+    public void rebuildWordFilter() {
+    }
+
+    /**
+     * Provides the first word in the dictionary and its definitions
+     *
+     * @implNote O(log(words) + length of the definitions of the word) running time behavior
+     * @return the word and its definitions, or "null" if the dictionary is empty
+     */
+    @Override
+    public String getFirstWord() {
+        if (!words.isEmpty()) return getWord(words.first());
+        return "null";
+    }
+
+    /**
+     * Provides the last word in the dictionary and its definitions
+     *
+     * @implNote O(log(words) + length of the definitions of the word) running time behavior
+     * @return the word and its definitions, or "null" if the dictionary is empty
+     */
+    @Override
+    public String getLastWord() {
+        if (!words.isEmpty()) return getWord(words.last());
+        return "null";
+    }
+
+    /**
+     * Lists the parts of speech used by the word's definitions
+     *
+     * @implNote O(definitions of the word) running time behavior
+     * @param word the word
+     * @return the parts of speech
+     */
+    @Override
+    public String getPartsOfSpeechOfWord(String word) {
+        int id = wordIds.get(word);
+        StringBuilder output = new StringBuilder(word + ":" + NEWLINE + TAB);
+        int previous = -1;
+        for (int slot = firstSlot[id]; slot < firstSlot[id] + numSlots[id]; slot++) {
+            // The slots are sorted by part of speech, so each one is listed once
+            if (slotPartOfSpeech[slot] != previous) {
+                previous = slotPartOfSpeech[slot];
+                output.append(PARTS_OF_SPEECH[previous]).append(NEWLINE).append(TAB);
+            }
+        }
+        return output.toString();
+    }
+
+    /**
+     * Lists the definitions of a word numbered for the menu, followed by the option to go back
+     *
+     * @implNote O(length of the definitions of the word) running time behavior
+     * @param word the word, which must be in the dictionary
+     * @return the numbered definitions
+     */
+    @Override
+    public String getDefinitions(String word) {
+        int id = wordIds.get(word);
+        int counter = 1;
+        StringBuilder sb = new StringBuilder();
+        for (int slot = firstSlot[id]; slot < firstSlot[id] + numSlots[id]; slot++) {
+            sb.append(counter).append(". ");
+            appendDefinition(sb, slot);
+            sb.append(NEWLINE);
+            counter++;
+        }
+        sb.append(counter).append(". Back to main menu").append(NEWLINE);
+        return sb.toString();
+    }
+
+    /**
+     * Provides the number of definitions of a word from the length of its run of slots
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word, which must be in the dictionary
+     * @return the number of definitions of the word
+     */
+    @Override
+    public int getNumDefinitions(String word) {
+        return numSlots[wordIds.get(word)];
+    }
+
+    /**
+     * Updates the definition for a word, keeping its part of speech. Nothing changes if there is no definition with
+     * that index
+     *
+     * @implNote O(definitions for word) running time behavior
+     * @param word the word to update a definition for
+     * @param definitionIndex the index of the definition to update
+     * @param newDefinition the new definition for the word
+     */
+    @Override
+    public void updateDefinition(String word, int definitionIndex, String newDefinition) {
+        int id = wordIds.get(word);
+        if (definitionIndex < 1 || definitionIndex > numSlots[id]) {
+            return;
+        }
+        byte code = slotPartOfSpeech[firstSlot[id] + definitionIndex - 1];
+        // The old text is only rebuilt from the columns when a listener will see it
+        String oldDefinition = hasSubscribers() ? slotText(firstSlot[id] + definitionIndex - 1) : null;
+        definitionsPerWord.remove(numSlots[id]);
+        countDefinition(code, removeSlot(id, definitionIndex - 1), -1);
+        int position = findSlot(id, code, newDefinition);
+        // The new definition is only inserted if no identical definition exists, otherwise it merges into that one
+        if (position < 0) {
+            insertSlot(id, -position - 1, code, newDefinition);
+            countDefinition(code, newDefinition.length(), 1);
+        }
+        definitionsPerWord.add(numSlots[id]);
+        compactIfSparse();
+        publish(DictionaryEvent.Type.UPDATE, word, PARTS_OF_SPEECH[code], newDefinition, oldDefinition);
+    }
+
+    /**
+     * Captures a point-in-time view of the dictionary by copying every word out of the columns
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the snapshot
+     */
+    @Override
+    public DictionarySnapshot snapshot() {
+        return copyingSnapshot();
+    }
+
+    /**
+     * Builds the DictionaryWord of a word from the columns
+     *
+     * @implNote O(definitions of the word * log(definitions of the word)) running time behavior
+     * @param word the word
+     * @return the DictionaryWord, or null if the word isn't in the dictionary
+     */
+    @Override
+    DictionaryWord getDictionaryWord(String word) {
+        Integer id = wordIds.get(word);
+        return id == null ? null : toDictionaryWord(id);
+    }
+
+    /**
+     * Provides the number of definitions, which is kept up to date by every mutation
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    @Override
+    int numDefinitions() {
+        return numDefinitions;
+    }
+
+    /**
+     * Provides the words of the dictionary greater than or equal to the given word in lexicographic order, each built
+     * from the columns as it is reached
+     *
+     * @implNote O(log(words)) running time behavior, iterating is O(definitions returned)
+     * @param from the smallest word to return
+     * @return the words in order
+     */
+    @Override
+    Iterable<DictionaryWord> dictionaryWords(String from) {
+        return () -> new Iterator<DictionaryWord>() {
+            private final Iterator<String> wordIterator = words.tailSet(from, true).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return wordIterator.hasNext();
+            }
+
+            @Override
+            public DictionaryWord next() {
+                return toDictionaryWord(wordIds.get(wordIterator.next()));
+            }
+        };
+    }
+
+    /**
+     * Represents the dictionary as a string on the calling thread, reading each word's run of slots in word order
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (String word : words) {
+            int id = wordIds.get(word);
+            sb.append(word);
+            for (int slot = firstSlot[id]; slot < firstSlot[id] + numSlots[id]; slot++) {
+                sb.append(NEWLINE).append(TAB);
+                appendDefinition(sb, slot);
+            }
+            sb.append(NEWLINE);
+        }
+        // Removes the extra newline character
+        sb.delete(sb.length()-1, sb.length());
+        return sb.toString();
+    }
+
+    /**
+     * Provides the file output format of the dictionary on the calling thread, reading each word's run of slots in word
+     * order
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the dictionary in file format
+     */
+    @Override
+    public String toFileFormat() {
+        StringBuilder fileFormatString = new StringBuilder();
+        for (String word : words) {
+            int id = wordIds.get(word);
+            for (int slot = firstSlot[id]; slot < firstSlot[id] + numSlots[id]; slot++) {
+                fileFormatString
+                        .append(word)
+                        .append("::")
+                        .append(PARTS_OF_SPEECH[slotPartOfSpeech[slot]])
+                        .append("::")
+                        .append(text, slotTextOffset[slot], slotTextLength[slot])
+                        .append(NEWLINE);
+            }
+        }
+        // Substring method removes the newline character
+        return fileFormatString.substring(0, Math.max(fileFormatString.length() - NEWLINE.length(), 0));
+    }
+
+    /**
+     * Represents the dictionary as a string on the calling thread, which the columns already render in one pass over
+     * contiguous arrays
+     *
+     * @implNote O(definitions) running time behavior
+     * @param pool unused
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public String toString(ForkJoinPool pool) {
+        return toString();
+    }
+
+    /**
+     * Provides the file output format of the dictionary on the calling thread, which the columns already render in one
+     * pass over contiguous arrays
+     *
+     * @implNote O(definitions) running time behavior
+     * @param pool unused
+     * @return the dictionary in file format
+     */
+    @Override
+    public String toFileFormat(ForkJoinPool pool) {
+        return toFileFormat();
+    }
+
+    /**
+     * Writes the file output format of the dictionary on the calling thread, which the columns already render in one
+     * pass over contiguous arrays. Every definition is written straight from the columns, so the whole dictionary is
+     * never held as one string
+     *
+     * @implNote O(definitions) running time behavior, plus the cost of writing
+     * @param out where to write the dictionary
+     * @param pool unused
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public void writeFileFormat(Appendable out, ForkJoinPool pool) throws IOException {
+        // Appendable takes chars only as a sequence, which a wrapper gives without copying them
+        CharBuffer textView = CharBuffer.wrap(text);
+        boolean first = true;
+        for (String word : words) {
+            int id = wordIds.get(word);
+            for (int slot = firstSlot[id]; slot < firstSlot[id] + numSlots[id]; slot++) {
+                // The file format has no newline after its last definition
+                if (!first) {
+                    out.append(NEWLINE);
+                }
+                out.append(word)
+                        .append("::")
+                        .append(PARTS_OF_SPEECH[slotPartOfSpeech[slot]])
+                        .append("::")
+                        .append(textView, slotTextOffset[slot], slotTextOffset[slot] + slotTextLength[slot]);
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * Removes a definition from the specified word based on the index passed to it
+     *
+     * @implNote O(definitions of word) if just removing a definition
+     * @implNote O(log(words)) if removing the word and definition
+     * @param userWord the word to remove a definition from
+     * @param id the index of the definition to remove
+     * @return A boolean that represents whether the word was also removed with the definition (true if removed)
+     * @throws IndexOutOfBoundsException if the word has no definition with that index
+     */
+    @Override
+    public boolean removeDefinition(String userWord, int id) throws IndexOutOfBoundsException {
+        int wordId = wordIds.get(userWord);
+        int position = Objects.checkIndex(id - 1, numSlots[wordId]);
+        byte code = slotPartOfSpeech[firstSlot[wordId] + position];
+        String removed = hasSubscribers() ? slotText(firstSlot[wordId] + position) : null;
+        definitionsPerWord.remove(numSlots[wordId]);
+        countDefinition(code, removeSlot(wordId, position), -1);
+        publish(DictionaryEvent.Type.REMOVE, userWord, PARTS_OF_SPEECH[code], removed, null);
+        boolean wordRemoved = numSlots[wordId] == 0;
+        if (wordRemoved) {
+            removeWord(wordId);
+            publish(DictionaryEvent.Type.REMOVE_WORD, userWord, null, null, null);
+        } else {
+            definitionsPerWord.add(numSlots[wordId]);
+        }
+        compactIfSparse();
+        return wordRemoved;
+    }
+
+    /**
+     * Makes a batch of changes one at a time through this dictionary's own methods while holding its lock, since the columns have no words to swap in whole, after checking all of them,
+     * so a batch with a bad change leaves the dictionary as it was
+     *
+     * @implNote O(definitions of the changed words + changes * cost of a change) running time behavior
+     * @param batch the changes
+     * @throws IllegalArgumentException if an added definition's part of speech isn't valid
+     * @throws IndexOutOfBoundsException if a removal's word has no definition with its index
+     */
+    @Override
+    public void apply(Batch batch) throws IllegalArgumentException, IndexOutOfBoundsException {
+        applyEach(batch);
+    }
+
+    /**
+     * Throws, since the columns keep every definition's text in one shared array instead of in DictionaryDefinitions
+     *
+     * @implNote O(1) running time behavior
+     * @param codec the codec
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void compressDefinitions(DefinitionCodec codec) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A columnar dictionary can't compress its definitions");
+    }
+
+    /**
+     * Gets the byte that stands for a part of speech
+     *
+     * @implNote O(1) running time behavior
+     * @param partOfSpeech the part of speech
+     * @return the byte
+     * @throws IllegalArgumentException if the part of speech isn't valid
+     */
+    private static byte partOfSpeechCode(String partOfSpeech) throws IllegalArgumentException {
+        int code = Arrays.binarySearch(PARTS_OF_SPEECH, partOfSpeech);
+        if (code < 0) {
+            throw new IllegalArgumentException("The Part of Speech passed is not a valid input. Please refer to the JavaDoc for proper implementation");
+        }
+        return (byte) code;
+    }
+
+    /**
+     * Gives a new word an ID with an empty run of slots
+     *
+     * @implNote O(log(words)) running time behavior
+     * @param word the word
+     * @return the ID
+     */
+    private int newWord(String word) {
+        int id;
+        if (numFreeIds > 0) {
+            id = freeIds[--numFreeIds];
+        } else {
+            id = nextId++;
+            if (id == wordById.length) {
+                int capacity = wordById.length * 2;
+                wordById = Arrays.copyOf(wordById, capacity);
+                firstSlot = Arrays.copyOf(firstSlot, capacity);
+                numSlots = Arrays.copyOf(numSlots, capacity);
+                slotCapacity = Arrays.copyOf(slotCapacity, capacity);
+            }
+        }
+        wordById[id] = word;
+        firstSlot[id] = usedSlots;
+        numSlots[id] = 0;
+        slotCapacity[id] = 0;
+        wordIds.put(word, id);
+        words.add(word);
+        trigrams.add(word);
+        suffixes.add(word);
+        numWords++;
+        wordLengths.add(word.length());
+        return id;
+    }
+
+    /**
+     * Removes a word without definitions and frees its ID. Its slots stay unused until the next compaction
+     *
+     * @implNote O(log(words)) running time behavior
+     * @param id the ID of the word
+     */
+    private void removeWord(int id) {
+        String word = wordById[id];
+        wordIds.remove(word);
+        words.remove(word);
+        trigrams.remove(word);
+        suffixes.remove(word);
+        numWords--;
+        wordLengths.remove(word.length());
+        for (int slot = firstSlot[id]; slot < firstSlot[id] + slotCapacity[id]; slot++) {
+            slotWord[slot] = -1;
+        }
+        wordById[id] = null;
+        slotCapacity[id] = 0;
+        if (numFreeIds == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[numFreeIds++] = id;
+    }
+
+    /**
+     * Searches a word's slots for a definition
+     *
+     * @implNote O(log(definitions of the word) * length of the definition) running time behavior
+     * @param id the ID of the word
+     * @param code the part of speech of the definition
+     * @param definition the text of the definition
+     * @return the position of the definition among the word's slots, or (-(insertion position) - 1) if it isn't there
+     */
+    private int findSlot(int id, byte code, String definition) {
+        int low = 0;
+        int high = numSlots[id] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareSlot(firstSlot[id] + middle, code, definition);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Compares the definition in a slot with another definition the same way DictionaryDefinition.compareTo does
+     *
+     * @implNote O(length of the definitions) running time behavior
+     * @param slot the slot
+     * @param code the part of speech of the other definition
+     * @param definition the text of the other definition
+     * @return a negative number, zero or a positive number as the slot's definition is less than, equal to or greater
+     * than the other definition
+     */
+    private int compareSlot(int slot, byte code, String definition) {
+        if (slotPartOfSpeech[slot] != code) {
+            return slotPartOfSpeech[slot] - code;
+        }
+        int offset = slotTextOffset[slot];
+        int length = slotTextLength[slot];
+        int shared = Math.min(length, definition.length());
+        for (int i = 0; i < shared; i++) {
+            char c = text[offset + i];
+            if (c != definition.charAt(i)) {
+                return c - definition.charAt(i);
+            }
+        }
+        return length - definition.length();
+    }
+
+    /**
+     * Inserts a definition among a word's slots, moving the word's run to the end of the columns if it is full
+     *
+     * @implNote O(definitions of the word + length of the definition) amortized running time behavior
+     * @param id the ID of the word
+     * @param position the position of the definition among the word's slots
+     * @param code the part of speech of the definition
+     * @param definition the text of the definition
+     */
+    private void insertSlot(int id, int position, byte code, String definition) {
+        if (numSlots[id] == slotCapacity[id]) {
+            moveRun(id, Math.max(1, slotCapacity[id] * 2));
+        }
+        int slot = firstSlot[id] + position;
+        int following = numSlots[id] - position;
+        System.arraycopy(slotPartOfSpeech, slot, slotPartOfSpeech, slot + 1, following);
+        System.arraycopy(slotTextOffset, slot, slotTextOffset, slot + 1, following);
+        System.arraycopy(slotTextLength, slot, slotTextLength, slot + 1, following);
+        slotPartOfSpeech[slot] = code;
+        slotTextOffset[slot] = appendText(definition);
+        slotTextLength[slot] = definition.length();
+        numSlots[id]++;
+    }
+
+    /**
+     * Removes a definition from a word's slots. Its text stays unused until the next compaction
+     *
+     * @implNote O(definitions of the word) running time behavior
+     * @param id the ID of the word
+     * @param position the position of the definition among the word's slots
+     * @return the length of the removed definition
+     */
+    private int removeSlot(int id, int position) {
+        int slot = firstSlot[id] + position;
+        int length = slotTextLength[slot];
+        int following = numSlots[id] - position - 1;
+        System.arraycopy(slotPartOfSpeech, slot + 1, slotPartOfSpeech, slot, following);
+        System.arraycopy(slotTextOffset, slot + 1, slotTextOffset, slot, following);
+        System.arraycopy(slotTextLength, slot + 1, slotTextLength, slot, following);
+        numSlots[id]--;
+        liveText -= length;
+        return length;
+    }
+
+    /**
+     * Moves a word's run of slots to the end of the columns, leaving its old slots unused
+     *
+     * @implNote O(capacity) amortized running time behavior
+     * @param id the ID of the word
+     * @param capacity the number of slots to reserve for the word
+     */
+    private void moveRun(int id, int capacity) {
+        if (usedSlots + capacity > slotWord.length) {
+            int length = Math.max(usedSlots + capacity, slotWord.length + (slotWord.length >> 1));
+            slotWord = Arrays.copyOf(slotWord, length);
+            slotPartOfSpeech = Arrays.copyOf(slotPartOfSpeech, length);
+            slotTextOffset = Arrays.copyOf(slotTextOffset, length);
+            slotTextLength = Arrays.copyOf(slotTextLength, length);
+        }
+        int from = firstSlot[id];
+        System.arraycopy(slotPartOfSpeech, from, slotPartOfSpeech, usedSlots, numSlots[id]);
+        System.arraycopy(slotTextOffset, from, slotTextOffset, usedSlots, numSlots[id]);
+        System.arraycopy(slotTextLength, from, slotTextLength, usedSlots, numSlots[id]);
+        Arrays.fill(slotWord, from, from + slotCapacity[id], -1);
+        Arrays.fill(slotWord, usedSlots, usedSlots + capacity, id);
+        firstSlot[id] = usedSlots;
+        slotCapacity[id] = capacity;
+        usedSlots += capacity;
+    }
+
+    /**
+     * Appends a definition's text to the shared text array
+     *
+     * @implNote O(length of the definition) amortized running time behavior
+     * @param definition the text of the definition
+     * @return the offset of the text
+     */
+    private int appendText(String definition) {
+        if (usedText + definition.length() > text.length) {
+            text = Arrays.copyOf(text, Math.max(usedText + definition.length(), text.length + (text.length >> 1)));
+        }
+        definition.getChars(0, definition.length(), text, usedText);
+        int offset = usedText;
+        usedText += definition.length();
+        liveText += definition.length();
+        return offset;
+    }
+
+    /**
+     * Compacts the columns once the unused slots or characters outnumber the live ones by too much
+     *
+     * @implNote O(1) running time behavior, O(definitions + text) when compacting
+     */
+    private void compactIfSparse() {
+        if (usedSlots > 4L * numDefinitions + COMPACTION_SLACK || usedText > 2 * liveText + COMPACTION_SLACK) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites the columns without unused slots or characters, with every word's run in word order and exactly as
+     * many slots as it has definitions. Happens automatically once the columns get too sparse, and is worth calling
+     * after loading many definitions at once
+     *
+     * @implNote O(definitions + text) running time behavior
+     */
+    public void compact() {
+        int slots = Math.max(numDefinitions, INITIAL_CAPACITY);
+        int[] newSlotWord = new int[slots];
+        byte[] newSlotPartOfSpeech = new byte[slots];
+        int[] newSlotTextOffset = new int[slots];
+        int[] newSlotTextLength = new int[slots];
+        char[] newText = new char[(int) Math.max(liveText, INITIAL_CAPACITY)];
+        int slot = 0;
+        int textOffset = 0;
+        for (String word : words) {
+            int id = wordIds.get(word);
+            for (int i = 0; i < numSlots[id]; i++) {
+                int from = firstSlot[id] + i;
+                newSlotWord[slot + i] = id;
+                newSlotPartOfSpeech[slot + i] = slotPartOfSpeech[from];
+                newSlotTextOffset[slot + i] = textOffset;
+                newSlotTextLength[slot + i] = slotTextLength[from];
+                System.arraycopy(text, slotTextOffset[from], newText, textOffset, slotTextLength[from]);
+                textOffset += slotTextLength[from];
+            }
+            firstSlot[id] = slot;
+            slotCapacity[id] = numSlots[id];
+            slot += numSlots[id];
+        }
+        slotWord = newSlotWord;
+        slotPartOfSpeech = newSlotPartOfSpeech;
+        slotTextOffset = newSlotTextOffset;
+        slotTextLength = newSlotTextLength;
+        text = newText;
+        usedSlots = slot;
+        usedText = textOffset;
+        compactions++;
+    }
+
+    /**
+     * Counts a definition being added to (delta of 1) or removed from (delta of -1) the dictionary
+     *
+     * @implNote O(1) running time behavior
+     * @param code the part of speech of the definition
+     * @param length the length of the definition
+     * @param delta 1 if the definition was added, -1 if it was removed
+     */
+    private void countDefinition(byte code, int length, int delta) {
+        numDefinitions += delta;
+        partOfSpeechCounts[code] += delta;
+        if (delta > 0) {
+            definitionLengths.add(length);
+        } else {
+            definitionLengths.remove(length);
+        }
+        statistics = null;
+    }
+
+    /**
+     * Appends a definition in the same form as DictionaryDefinition.toString
+     *
+     * @implNote O(length of the definition) running time behavior
+     * @param sb the builder to append to
+     * @param slot the slot of the definition
+     */
+    private void appendDefinition(StringBuilder sb, int slot) {
+        sb
+                .append(PARTS_OF_SPEECH[slotPartOfSpeech[slot]])
+                .append(".")
+                .append(TAB)
+                .append(text, slotTextOffset[slot], slotTextLength[slot]);
+    }
+
+    /**
+     * Builds the DictionaryWord of a word from the columns
+     *
+     * @implNote O(definitions of the word * log(definitions of the word)) running time behavior
+     * @param id the ID of the word
+     * @return the DictionaryWord
+     */
+    private DictionaryWord toDictionaryWord(int id) {
+        DictionaryWord dictionaryWord = new DictionaryWord(wordById[id]);
+        for (int slot = firstSlot[id]; slot < firstSlot[id] + numSlots[id]; slot++) {
+            dictionaryWord.addDefinition(PARTS_OF_SPEECH[slotPartOfSpeech[slot]], slotText(slot));
+        }
+        return dictionaryWord;
+    }
+
+    /**
+     * Copies the text of a slot's definition out of the text column
+     *
+     * @implNote O(length of the definition) running time behavior
+     * @param slot the slot
+     * @return the definition
+     */
+    private String slotText(int slot) {
+        return new String(text, slotTextOffset[slot], slotTextLength[slot]);
+    }
+}
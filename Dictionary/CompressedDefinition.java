@@ -0,0 +1,81 @@
+package comprehensive;
+
+import java.util.Set;
+
+/**
+ * A DictionaryDefinition whose text is kept compressed by a DefinitionCodec and only decompressed when it is read,
+ * compared or rendered. Its part of speech is interned
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+class CompressedDefinition extends DictionaryDefinition {
+    // Variables
+    private final DefinitionCodec codec;
+    private byte[] encoded;
+
+    /**
+     * Creates a compressed definition
+     *
+     * @implNote the running time behavior of DefinitionCodec.encode
+     * @param partOfSpeech the part of speech of the definition
+     * @param definition the definition
+     * @param codec the codec to compress it with
+     * @throws IllegalArgumentException if the part of speech isn't valid
+     */
+    CompressedDefinition(String partOfSpeech, String definition, DefinitionCodec codec)
+            throws IllegalArgumentException {
+        // Parts of speech are few, so compressed definitions share one instance of each
+        super(partOfSpeech.intern(), null);
+        this.codec = codec;
+        this.encoded = codec.encode(definition);
+    }
+
+    /**
+     * Gets the definition, decompressing it
+     *
+     * @implNote the running time behavior of DefinitionCodec.decode
+     * @return The definition
+     */
+    @Override
+    public String getDefinition() {
+        return codec.decode(encoded);
+    }
+
+    /**
+     * Sets the definition to the given string, compressing it
+     *
+     * @implNote the running time behavior of DefinitionCodec.encode
+     * @param definition the string to set the definition to
+     */
+    @Override
+    public void setDefinition(String definition) {
+        encoded = codec.encode(definition);
+    }
+
+    /**
+     * Estimates the bytes of this DictionaryDefinition, not counting its part of speech and compressed text
+     *
+     * @implNote O(1) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    @Override
+    long objectBytes(MemoryLayout layout) {
+        // The three fields of a DictionaryDefinition plus the codec and the compressed text
+        return layout.object(5, 0);
+    }
+
+    /**
+     * Estimates the bytes of the compressed text
+     *
+     * @implNote O(1) running time behavior
+     * @param layout the layout of objects
+     * @param counted the strings counted so far, which compressed text never adds to
+     * @return the estimated bytes
+     */
+    @Override
+    long textBytes(MemoryLayout layout, Set<String> counted) {
+        return layout.array(encoded.length, 1);
+    }
+}
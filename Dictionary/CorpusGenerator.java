@@ -0,0 +1,389 @@
+package comprehensive;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A class that generates synthetic glossaries that look like real ones, for benchmarks. Word lengths follow the
+ * distribution of English dictionary words and often start or end with a common prefix or suffix, the number of
+ * definitions per word is Zipfian, every part of speech is used in realistic proportions, and definition text is
+ * built from a Zipfian vocabulary with a share of stock definitions repeated across many words.
+ *
+ * <p>The corpus is a sequence of words, each with its own definitions, and is fully determined by the seed. Word i
+ * and its definitions only depend on the seed and i, so any word of a corpus can be regenerated without the rest and
+ * corpora of up to hundreds of millions of definitions can be streamed to a file. Two indices occasionally give the
+ * same word, in which case their definitions belong to the same word.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class CorpusGenerator {
+    // Variables
+    private final long seed;
+    private final String[] stockDefinitions;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    final public static long DEFAULT_SEED = 2420;
+    // Share of English dictionary words of each length, starting at length 2
+    final private static double[] WORD_LENGTHS = {0.5, 2.5, 5, 9, 13, 15, 15, 13, 10, 7, 4.5, 2.5, 1.5, 0.8, 0.4, 0.2,
+            0.1, 0.05, 0.05};
+    final private static String[] PREFIXES = {"un", "re", "in", "dis", "en", "non", "pre", "over", "mis", "sub", "de",
+            "inter", "trans", "anti", "semi", "under", "out", "co", "fore", "super"};
+    final private static String[] SUFFIXES = {"ing", "ed", "s", "ly", "tion", "er", "ness", "ment", "able", "ity",
+            "ous", "al", "ive", "ism", "ist", "ful", "less", "ize", "ship", "ology"};
+    final private static String VOWELS = "aeiouy";
+    // Consonants repeated roughly in proportion to their frequency in English
+    final private static String CONSONANTS = "ttttttttthhhhhhssssssnnnnnnnrrrrrrddddllllcccmmmwwffggppbbvkjxqz";
+    final private static String[] PARTS_OF_SPEECH = {"noun", "verb", "adj", "adv", "pron", "prep", "conj", "interj"};
+    final private static double[] PART_OF_SPEECH_WEIGHTS = {45, 20, 18, 7, 3, 3, 2, 2};
+    // Definition vocabulary, most frequent first
+    final private static String[] VOCABULARY = ("the of a to or and in that which is for by with as an used being " +
+            "one act having person something state quality process from other form on any especially at make not " +
+            "place relating kind small part made condition who group thing its become cause use take into be give " +
+            "way are someone without body water action having large out type set people plant animal little move " +
+            "time characterized like manner short material light money general hold work long system between " +
+            "through power particular number person's line name position piece order more off instrument causing " +
+            "series person who made up formed amount very where so small degree making member surface direction " +
+            "especially one land feeling another area good up own having been point under high capable full " +
+            "containing structure certain state of quality of done open back event court relation tending").split(" ");
+    final private static int STOCK_DEFINITIONS = 500;
+    final private static double STOCK_SHARE = 0.25;
+    final private static double PREFIX_SHARE = 0.3;
+    final private static double SUFFIX_SHARE = 0.35;
+    final private static double REFERENCE_SHARE = 0.1;
+    final private static Zipf DEFINITIONS_PER_WORD = new Zipf(64, 2.5);
+    final private static Zipf VOCABULARY_RANKS = new Zipf(VOCABULARY.length, 1.1);
+    final private static Zipf STOCK_RANKS = new Zipf(STOCK_DEFINITIONS, 1.0);
+    final private static Zipf PREFIX_RANKS = new Zipf(PREFIXES.length, 1.0);
+    final private static Zipf SUFFIX_RANKS = new Zipf(SUFFIXES.length, 1.0);
+    final private static double[] WORD_LENGTH_CDF = cumulative(WORD_LENGTHS);
+    final private static double[] PART_OF_SPEECH_CDF = cumulative(PART_OF_SPEECH_WEIGHTS);
+
+    /**
+     * Creates a generator for the corpus of the default seed
+     */
+    public CorpusGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    /**
+     * Creates a generator for the corpus of a seed
+     *
+     * @param seed the seed
+     */
+    public CorpusGenerator(long seed) {
+        this.seed = seed;
+        SplittableRandom random = new SplittableRandom(mix(seed));
+        stockDefinitions = new String[STOCK_DEFINITIONS];
+        for (int i = 0; i < STOCK_DEFINITIONS; i++) {
+            stockDefinitions[i] = sentence(random, random.nextLong(1 << 20));
+        }
+    }
+
+    /**
+     * Generates a glossary file of about the given number of definitions, or writes one to the given file when run
+     * directly
+     *
+     * @param args the glossary file, the number of definitions and optionally the seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: CorpusGenerator <glossary file> <definitions> [seed]");
+            return;
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        try {
+            long start = System.nanoTime();
+            long words = new CorpusGenerator(seed).writeGlossary(Path.of(args[0]), Long.parseLong(args[1]));
+            System.out.println("Wrote " + args[1] + " definitions of " + words + " words in "
+                    + (System.nanoTime() - start) / 1000000 + " ms");
+        } catch (IOException e) {
+            System.out.print("IO Exception: " + e);
+        }
+    }
+
+    /**
+     * Gets a word of the corpus
+     *
+     * @implNote O(length of the word) running time behavior
+     * @param index the index of the word
+     * @return the word
+     */
+    public String word(long index) {
+        return word(wordRandom(index));
+    }
+
+    /**
+     * Gets the number of definitions of a word of the corpus
+     *
+     * @implNote O(length of the word) running time behavior
+     * @param index the index of the word
+     * @return the number of definitions
+     */
+    public int numberOfDefinitions(long index) {
+        SplittableRandom random = wordRandom(index);
+        word(random);
+        return DEFINITIONS_PER_WORD.sample(random);
+    }
+
+    /**
+     * Generates the first definitions of the corpus word by word, every definition of a word before the next word.
+     * The last word may be cut short to give exactly the requested number of definitions
+     *
+     * @implNote O(numDefinitions) running time behavior
+     * @param numDefinitions the number of definitions
+     * @param sink receives every definition
+     * @return the number of words used
+     * @throws IOException if the sink throws it
+     */
+    public long generate(long numDefinitions, DefinitionSink sink) throws IOException {
+        long generated = 0;
+        long index = 0;
+        ArrayList<String> wordDefinitions = new ArrayList<String>();
+        while (generated < numDefinitions) {
+            SplittableRandom random = wordRandom(index);
+            String word = word(random);
+            int definitions = (int) Math.min(DEFINITIONS_PER_WORD.sample(random), numDefinitions - generated);
+            wordDefinitions.clear();
+            while (wordDefinitions.size() < definitions) {
+                String partOfSpeech = PARTS_OF_SPEECH[draw(PART_OF_SPEECH_CDF, random)];
+                String definition = random.nextDouble() < STOCK_SHARE
+                        ? stockDefinitions[STOCK_RANKS.sample(random) - 1]
+                        : sentence(random, index);
+                // Redraw definitions the word already has, so every one of them counts
+                String key = partOfSpeech + "::" + definition;
+                if (!wordDefinitions.contains(key)) {
+                    wordDefinitions.add(key);
+                    sink.accept(word, partOfSpeech, definition);
+                }
+            }
+            generated += definitions;
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Adds the first definitions of the corpus to a dictionary
+     *
+     * @implNote O(numDefinitions) running time behavior, plus the cost of adding them
+     * @param dictionary the dictionary
+     * @param numDefinitions the number of definitions
+     * @return the number of words used, so word(0) up to word(words - 1) are in the dictionary
+     */
+    public long fill(Dictionary dictionary, long numDefinitions) {
+        try {
+            return generate(numDefinitions, dictionary::add);
+        } catch (IOException e) {
+            // Adding to a dictionary doesn't do any I/O
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a dictionary of the first definitions of the corpus
+     *
+     * @implNote O(numDefinitions) running time behavior, plus the cost of adding them
+     * @param numDefinitions the number of definitions
+     * @return the dictionary
+     */
+    public Dictionary makeDictionary(int numDefinitions) {
+        Dictionary dictionary = new Dictionary();
+        fill(dictionary, numDefinitions);
+        dictionary.rebuildWordFilter();
+        return dictionary;
+    }
+
+    /**
+     * Writes the first definitions of the corpus to a glossary file
+     *
+     * @implNote O(numDefinitions) running time behavior
+     * @param path the glossary file
+     * @param numDefinitions the number of definitions
+     * @return the number of words used
+     * @throws IOException if the file can't be written
+     */
+    public long writeGlossary(Path path, long numDefinitions) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            return generate(numDefinitions, (word, partOfSpeech, definition) -> writer
+                    .append(word).append("::")
+                    .append(partOfSpeech).append("::")
+                    .append(definition).append(NEWLINE));
+        }
+    }
+
+    /**
+     * Creates the random numbers of a word of the corpus
+     *
+     * @implNote O(1) running time behavior
+     * @param index the index of the word
+     * @return the random number generator
+     */
+    private SplittableRandom wordRandom(long index) {
+        return new SplittableRandom(mix(seed * 0x9E3779B97F4A7C15L + index));
+    }
+
+    /**
+     * Generates a word, with a length drawn from the lengths of English dictionary words and letters alternating
+     * between vowels and consonants often enough to be pronounceable
+     *
+     * @implNote O(length of the word) running time behavior
+     * @param random the random numbers of the word
+     * @return the word
+     */
+    private static String word(SplittableRandom random) {
+        int length = 2 + draw(WORD_LENGTH_CDF, random);
+        StringBuilder sb = new StringBuilder(length + 8);
+        if (random.nextDouble() < PREFIX_SHARE) {
+            sb.append(PREFIXES[PREFIX_RANKS.sample(random) - 1]);
+        }
+        String suffix = random.nextDouble() < SUFFIX_SHARE ? SUFFIXES[SUFFIX_RANKS.sample(random) - 1] : "";
+        int consonants = 0;
+        int vowels = 0;
+        int letters = 0;
+        // At least two letters between the prefix and suffix, so affixes alone don't form a word
+        while (sb.length() < length - suffix.length() || letters < 2) {
+            letters++;
+            boolean vowel = consonants >= 2 || (vowels < 2 && random.nextDouble() < 0.4);
+            if (vowel) {
+                sb.append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+                vowels++;
+                consonants = 0;
+            } else {
+                sb.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+                consonants++;
+                vowels = 0;
+            }
+        }
+        return sb.append(suffix).toString();
+    }
+
+    /**
+     * Generates a definition from the vocabulary, which sometimes mentions another word of the corpus
+     *
+     * @implNote O(length of the definition) running time behavior
+     * @param random the random numbers to draw from
+     * @param near the index of a word of the corpus to mention words close to
+     * @return the definition
+     */
+    private String sentence(SplittableRandom random, long near) {
+        int length = 3 + random.nextInt(6) + random.nextInt(6) + random.nextInt(6);
+        StringBuilder sb = new StringBuilder(length * 6);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            if (random.nextDouble() < REFERENCE_SHARE) {
+                sb.append(word(Math.max(0, near + random.nextInt(-1000, 1000))));
+            } else {
+                sb.append(VOCABULARY[VOCABULARY_RANKS.sample(random) - 1]);
+            }
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.append('.').toString();
+    }
+
+    /**
+     * Turns weights into a cumulative distribution
+     *
+     * @implNote O(weights) running time behavior
+     * @param weights the weights
+     * @return the cumulative distribution, ending at 1
+     */
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double total = Arrays.stream(weights).sum();
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum / total;
+        }
+        cdf[weights.length - 1] = 1;
+        return cdf;
+    }
+
+    /**
+     * Draws an index from a cumulative distribution
+     *
+     * @implNote O(log(length of the distribution)) running time behavior
+     * @param cdf the cumulative distribution
+     * @param random the random numbers to draw from
+     * @return the index
+     */
+    private static int draw(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Scrambles a number so that nearby numbers give unrelated seeds (the MurmurHash3 64-bit finalizer)
+     *
+     * @implNote O(1) running time behavior
+     * @param value the number
+     * @return the scrambled number
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * Receives the definitions of a corpus
+     */
+    @FunctionalInterface
+    public interface DefinitionSink {
+        /**
+         * Receives a definition
+         *
+         * @param word the word
+         * @param partOfSpeech the part of speech of the definition
+         * @param definition the definition
+         * @throws IOException if the definition can't be written
+         */
+        void accept(String word, String partOfSpeech, String definition) throws IOException;
+    }
+
+    /**
+     * A Zipfian distribution over 1 to n, where k is drawn with a probability proportional to 1 / k^exponent
+     */
+    static class Zipf {
+        // Variables
+        private final double[] cdf;
+
+        /**
+         * Creates a Zipfian distribution
+         *
+         * @param n the largest value
+         * @param exponent the exponent
+         */
+        Zipf(int n, double exponent) {
+            double[] weights = new double[n];
+            for (int k = 1; k <= n; k++) {
+                weights[k - 1] = 1 / Math.pow(k, exponent);
+            }
+            cdf = cumulative(weights);
+        }
+
+        /**
+         * Draws a value
+         *
+         * @implNote O(log(n)) running time behavior
+         * @param random the random numbers to draw from
+         * @return the value, from 1 to n
+         */
+        int sample(SplittableRandom random) {
+            return draw(cdf, random) + 1;
+        }
+    }
+}
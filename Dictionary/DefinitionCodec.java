@@ -0,0 +1,399 @@
+package comprehensive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A class that compresses definition text, trained from a sample of the definitions it will compress. Training finds
+ * stems, the prefixes (ending at a word boundary) that several definitions share, and a preset dictionary for
+ * Deflate made of the most common definition text. Each definition is then stored as the index of its longest stem,
+ * if it has one, followed by the rest of its text, compressed as its own raw Deflate block against the preset
+ * dictionary when that makes it smaller. A definition can be decompressed on its own, without its neighbours.
+ *
+ * <p>A codec never changes once trained, so it can be shared by several dictionaries and used from any number of
+ * threads.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DefinitionCodec {
+    // Variables
+    private final String[] stems;
+    private final byte[] presetDictionary;
+    // Deflate streams are expensive to create, so each thread keeps its own
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<Inflater> inflaters;
+    private final ThreadLocal<byte[]> buffers;
+    // Constants
+    // Shared prefixes shorter than this aren't worth an index
+    final private static int MIN_STEM_LENGTH = 16;
+    // Preparing a preset dictionary costs time in proportion to its size on every compressed definition
+    final public static int PRESET_DICTIONARY_BYTES = 8192;
+    // Rests shorter than this are stored as they are, since Deflate can't shrink them enough to pay for itself
+    final private static int MIN_DEFLATE_BYTES = 24;
+    // Training looks at no more than this many definitions, spread evenly over the sample
+    final private static int MAX_TRAINING_DEFINITIONS = 200000;
+    // The most stems to step back over when the nearest one isn't a prefix
+    final private static int MAX_STEM_PROBES = 8;
+
+    /**
+     * Creates a codec from trained stems and preset dictionary
+     *
+     * @param stems the stems in sorted order
+     * @param presetDictionary the preset dictionary
+     */
+    private DefinitionCodec(String[] stems, byte[] presetDictionary) {
+        this.stems = stems;
+        this.presetDictionary = presetDictionary;
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_COMPRESSION, true));
+        this.inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+        this.buffers = ThreadLocal.withInitial(() -> new byte[256]);
+    }
+
+    /**
+     * Trains a codec from the definitions of a dictionary
+     *
+     * @implNote O(definitions * log(definitions) * length of a definition) running time behavior, with at most
+     * MAX_TRAINING_DEFINITIONS of them looked at
+     * @param dictionary the dictionary
+     * @return the codec
+     */
+    public static DefinitionCodec train(Dictionary dictionary) {
+        ArrayList<String> definitions = new ArrayList<String>();
+        for (DictionaryWord dictionaryWord : dictionary.dictionaryWords()) {
+            for (DictionaryDefinition definition : dictionaryWord.getDefinitionSet()) {
+                definitions.add(definition.getDefinition());
+            }
+        }
+        return train(definitions, definitions.size());
+    }
+
+    /**
+     * Trains a codec from a sample of the definitions it will compress. Definitions shared by several words become
+     * stems whole, and the most common rests of definitions fill the preset dictionary, the most common last so
+     * Deflate reaches them with the shortest distances
+     *
+     * @implNote O(sample * log(sample) * length of a definition) running time behavior
+     * @param sample the definitions
+     * @param size the number of definitions in the sample, or -1 if unknown
+     * @return the codec
+     */
+    public static DefinitionCodec train(Iterable<String> sample, int size) {
+        int stride = size > MAX_TRAINING_DEFINITIONS ? (size + MAX_TRAINING_DEFINITIONS - 1) / MAX_TRAINING_DEFINITIONS
+                : 1;
+        HashMap<String, Integer> counts = new HashMap<String, Integer>();
+        int index = 0;
+        for (String definition : sample) {
+            if (index++ % stride == 0) {
+                counts.merge(definition, 1, Integer::sum);
+            }
+        }
+        String[] sorted = counts.keySet().toArray(new String[0]);
+        Arrays.sort(sorted);
+        // The longest prefix a definition shares with any other is shared with one of its neighbours in sorted order
+        TreeSet<String> stems = new TreeSet<String>();
+        for (int i = 0; i < sorted.length; i++) {
+            if (counts.get(sorted[i]) > 1 && sorted[i].length() >= MIN_STEM_LENGTH) {
+                stems.add(sorted[i]);
+            }
+            if (i > 0) {
+                int shared = wordBoundary(sorted[i], commonPrefix(sorted[i - 1], sorted[i]));
+                if (shared >= MIN_STEM_LENGTH) {
+                    stems.add(sorted[i].substring(0, shared));
+                }
+            }
+        }
+        DefinitionCodec stemmer = new DefinitionCodec(stems.toArray(new String[0]), new byte[0]);
+        HashMap<String, Integer> rests = new HashMap<String, Integer>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            int stem = stemmer.findStem(entry.getKey());
+            String rest = stem < 0 ? entry.getKey() : entry.getKey().substring(stemmer.stems[stem].length());
+            if (rest.length() >= MIN_DEFLATE_BYTES) {
+                rests.merge(rest, entry.getValue(), Integer::sum);
+            }
+        }
+        ArrayList<Map.Entry<String, Integer>> common = new ArrayList<Map.Entry<String, Integer>>(rests.entrySet());
+        common.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        ArrayList<byte[]> chosen = new ArrayList<byte[]>();
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : common) {
+            byte[] bytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            if (length + bytes.length > PRESET_DICTIONARY_BYTES) {
+                break;
+            }
+            chosen.add(bytes);
+            length += bytes.length;
+        }
+        byte[] presetDictionary = new byte[length];
+        // The most common rest goes last, closest to the text being compressed
+        int offset = length;
+        for (byte[] bytes : chosen) {
+            offset -= bytes.length;
+            System.arraycopy(bytes, 0, presetDictionary, offset, bytes.length);
+        }
+        return new DefinitionCodec(stemmer.stems, presetDictionary);
+    }
+
+    /**
+     * Compresses a definition
+     *
+     * @implNote O(length of the definition + PRESET_DICTIONARY_BYTES) running time behavior,
+     * O(log(stems) + length of the definition) if the rest of it is too short to deflate
+     * @param definition the definition
+     * @return the compressed definition
+     */
+    public byte[] encode(String definition) {
+        int stem = findStem(definition);
+        String rest = stem < 0 ? definition : definition.substring(stems[stem].length());
+        byte[] raw = rest.getBytes(StandardCharsets.UTF_8);
+        byte[] deflated = raw.length >= MIN_DEFLATE_BYTES ? deflate(raw) : null;
+        boolean compressed = deflated != null && deflated.length + varIntLength(raw.length) < raw.length;
+        // The header holds the stem index plus one (0 for none) and whether the rest is deflated
+        int header = (stem + 1) << 1 | (compressed ? 1 : 0);
+        byte[] payload = compressed ? deflated : raw;
+        int headerLength = varIntLength(header) + (compressed ? varIntLength(raw.length) : 0);
+        byte[] encoded = new byte[headerLength + payload.length];
+        int position = writeVarInt(encoded, 0, header);
+        if (compressed) {
+            position = writeVarInt(encoded, position, raw.length);
+        }
+        System.arraycopy(payload, 0, encoded, position, payload.length);
+        return encoded;
+    }
+
+    /**
+     * Decompresses a definition
+     *
+     * @implNote O(length of the definition + PRESET_DICTIONARY_BYTES) running time behavior, O(length of the
+     * definition) if the rest of it wasn't deflated
+     * @param encoded the compressed definition
+     * @return the definition
+     * @throws IllegalArgumentException if the bytes weren't compressed by this codec
+     */
+    public String decode(byte[] encoded) throws IllegalArgumentException {
+        int header = readVarInt(encoded, 0);
+        int position = varIntLength(header);
+        int stem = (header >>> 1) - 1;
+        if (stem >= stems.length) {
+            throw new IllegalArgumentException("Unknown stem " + stem);
+        }
+        String prefix = stem < 0 ? "" : stems[stem];
+        if ((header & 1) == 0) {
+            return prefix.concat(new String(encoded, position, encoded.length - position, StandardCharsets.UTF_8));
+        }
+        int length = readVarInt(encoded, position);
+        position += varIntLength(length);
+        byte[] buffer = buffers.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            buffers.set(buffer);
+        }
+        Inflater inflater = inflaters.get();
+        inflater.reset();
+        try {
+            if (presetDictionary.length > 0) {
+                inflater.setDictionary(presetDictionary);
+            }
+            inflater.setInput(encoded, position, encoded.length - position);
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int count = inflater.inflate(buffer, inflated, length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != length) {
+                throw new IllegalArgumentException("The definition is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("The definition wasn't compressed by this codec", e);
+        }
+        return prefix.concat(new String(buffer, 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the number of stems
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of stems
+     */
+    public int numStems() {
+        return stems.length;
+    }
+
+    /**
+     * Gets the size of the preset dictionary
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of bytes
+     */
+    public int presetDictionaryBytes() {
+        return presetDictionary.length;
+    }
+
+    /**
+     * Estimates the bytes retained by the codec: its stems and preset dictionary. The per-thread Deflate streams live
+     * outside the heap and aren't counted
+     *
+     * @implNote O(stems) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long retainedBytes(MemoryLayout layout) {
+        long bytes = layout.object(5, 0) + layout.referenceArray(stems.length)
+                + layout.array(presetDictionary.length, 1);
+        for (String stem : stems) {
+            bytes += layout.string(stem);
+        }
+        return bytes;
+    }
+
+    /**
+     * Finds the longest stem that a definition starts with
+     *
+     * @implNote O(log(stems) + length of the definition) running time behavior
+     * @param definition the definition
+     * @return the index of the stem, or -1 if no stem is a prefix of the definition
+     */
+    private int findStem(String definition) {
+        if (definition.length() < MIN_STEM_LENGTH) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(stems, definition);
+        if (index >= 0) {
+            return index;
+        }
+        // A stem that is a prefix sorts before the definition; the longest such stem is the nearest one, unless
+        // stems that only share part of it sort in between
+        index = -index - 2;
+        for (int probes = 0; index >= 0 && probes < MAX_STEM_PROBES; probes++, index--) {
+            if (definition.startsWith(stems[index])) {
+                return index;
+            }
+            if (stems[index].charAt(0) != definition.charAt(0)) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Deflates bytes against the preset dictionary as one raw block
+     *
+     * @implNote O(length of the bytes + PRESET_DICTIONARY_BYTES) running time behavior
+     * @param raw the bytes
+     * @return the deflated bytes
+     */
+    private byte[] deflate(byte[] raw) {
+        Deflater deflater = deflaters.get();
+        deflater.reset();
+        if (presetDictionary.length > 0) {
+            deflater.setDictionary(presetDictionary);
+        }
+        deflater.setInput(raw);
+        deflater.finish();
+        // Stored blocks bound the output to a few bytes more than the input
+        byte[] out = new byte[raw.length + 16];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            length += deflater.deflate(out, length, out.length - length);
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    /**
+     * Gets the length of the common prefix of two strings
+     *
+     * @implNote O(length of the prefix) running time behavior
+     * @param a a string
+     * @param b another string
+     * @return the length
+     */
+    private static int commonPrefix(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limit && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Shortens a shared prefix to end just after a space, so stems end between words
+     *
+     * @implNote O(length of the prefix) running time behavior
+     * @param text a string with the prefix
+     * @param length the length of the prefix
+     * @return the shortened length, or 0 if the prefix has no space
+     */
+    private static int wordBoundary(String text, int length) {
+        if (length == text.length()) {
+            return length;
+        }
+        return text.lastIndexOf(' ', length - 1) + 1;
+    }
+
+    /**
+     * Gets the number of bytes a number takes as a variable-length integer, seven bits per byte
+     *
+     * @implNote O(1) running time behavior
+     * @param value the number, not negative
+     * @return the number of bytes
+     */
+    private static int varIntLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Writes a variable-length integer, seven bits per byte with the high bit set on all but the last
+     *
+     * @implNote O(1) running time behavior
+     * @param out where to write
+     * @param position where to start
+     * @param value the number, not negative
+     * @return the position after the number
+     */
+    private static int writeVarInt(byte[] out, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Reads a variable-length integer written by writeVarInt
+     *
+     * @implNote O(1) running time behavior
+     * @param in where to read
+     * @param position where to start
+     * @return the number
+     */
+    private static int readVarInt(byte[] in, int position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in[position++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -1,11 +1,20 @@
 package comprehensive;
 
-import java.text.DecimalFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A class that represents a Dictionary of words
  *
+ * <p>Any number of threads may read a dictionary at once, including getWordsInRange, whose result cache has its own
+ * lock. A thread that changes the dictionary must hold the dictionary's lock, and so must the threads reading it
+ * meanwhile; the read methods don't take it themselves. LazyDictionary and DiskBackedDictionary change as they are
+ * read, so their readers must hold the lock even when nothing else changes them.</p>
+ *
  * @author Logan Waller and James Crawford
  * @version December 5th, 2024
  */
@@ -14,19 +23,93 @@ public class Dictionary {
     private int numWords;
     private int numDefinitions;
     private HashMap<String, DictionaryWord> wordMap;
-    private TreeSet<String> words;
+    private NavigableSet<String> words;
     private HashMap<String, Integer> usedPartsOfSpeech;
+    // Statistics maintained on every mutation
+    private Histogram definitionsPerWord;
+    private Histogram wordLengths;
+    private Histogram definitionLengths;
+    private TreeSet<DictionaryWord> wordsByDefinitions;
+    private DictionaryStatistics statistics;
+    // Bloom filter that rejects most lookups of missing words without touching wordMap
+    private BloomFilter wordFilter;
+    private double falsePositiveRate;
+    private int wordFilterCapacity;
+    private int wordFilterRemovals;
+    // Trigrams of the words, for wildcard pattern queries
+    private TrigramIndex trigrams;
+    // Reversed words, for suffix queries
+    private SuffixIndex suffixes;
+    // Results of getWordsInRange, which only change when a word in the range is added or removed. Every get reorders
+    // the cache, so it is only touched while holding rangeCacheLock, which keeps concurrent readers safe
+    private LruCache<List<String>, String> rangeCache;
+    private final Object rangeCacheLock = new Object();
+    // Copy-on-write state: words stamped with an older epoch may be shared with an open snapshot
+    private long snapshotEpoch;
+    private final AtomicInteger openSnapshots = new AtomicInteger();
+    // Numbered changes, handed to subscribed listeners
+    private final ChangeFeed changeFeed = new ChangeFeed();
+    // Compresses the text of every definition, or null to keep definitions as strings
+    private DefinitionCodec definitionCodec;
     // Constants
     final private String NEWLINE = System.lineSeparator();
     final private String TAB = "\t";
+    final private static int TOP_WORDS = 10;
+    final private static int MIN_FILTER_CAPACITY = 1024;
+    final private static double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    final public static long DEFAULT_RANGE_CACHE_BYTES = 1 << 20;
+    // Full renders are split into chunks of at least this many words, a few per worker so they balance out
+    final private static int MIN_RENDER_CHUNK_WORDS = 4096;
+    final private static int RENDER_CHUNKS_PER_WORKER = 4;
+    // Orders words by their number of definitions (most first), then lexicographically
+    final private static Comparator<DictionaryWord> BY_DEFINITIONS = (a, b) -> {
+        if (a.numberOfDefinitions() != b.numberOfDefinitions()) {
+            return Integer.compare(b.numberOfDefinitions(), a.numberOfDefinitions());
+        }
+        return a.getWord().compareTo(b.getWord());
+    };
 
     /**
      * A constructor for the dictionary class
      */
     public Dictionary() {
+        this(DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * A constructor for the dictionary class that tunes the false positive rate of the filter used to reject lookups
+     * of words that aren't in the dictionary. Lower rates use more memory
+     *
+     * @param falsePositiveRate the false positive rate of the word filter, between 0 and 1 (exclusive)
+     * @throws IllegalArgumentException if the false positive rate is not between 0 and 1
+     */
+    public Dictionary(double falsePositiveRate) throws IllegalArgumentException {
+        this(falsePositiveRate, false);
+    }
+
+    /**
+     * A constructor for the dictionary class that tunes the word filter and chooses how the sorted words are kept. A
+     * ByteKeyWordSet compares words as byte arrays with Arrays.mismatch instead of with String.compareTo, in the same
+     * order
+     *
+     * @param falsePositiveRate the false positive rate of the word filter, between 0 and 1 (exclusive)
+     * @param byteKeys true to keep the sorted words in a ByteKeyWordSet, false for a TreeSet
+     * @throws IllegalArgumentException if the false positive rate is not between 0 and 1
+     */
+    public Dictionary(double falsePositiveRate, boolean byteKeys) throws IllegalArgumentException {
+        this.falsePositiveRate = falsePositiveRate;
+        wordFilterCapacity = MIN_FILTER_CAPACITY;
+        wordFilter = new BloomFilter(wordFilterCapacity, falsePositiveRate);
+        setRangeCacheBudget(DEFAULT_RANGE_CACHE_BYTES);
         wordMap = new HashMap<String, DictionaryWord>();
-        words = new TreeSet<String>();
+        words = byteKeys ? new ByteKeyWordSet() : new TreeSet<String>();
+        trigrams = new TrigramIndex();
+        suffixes = new SuffixIndex();
         usedPartsOfSpeech = new HashMap<String, Integer>();
+        definitionsPerWord = new Histogram(1, 33);
+        wordLengths = new Histogram(1, 65);
+        definitionLengths = new Histogram(16, 65);
+        wordsByDefinitions = new TreeSet<DictionaryWord>(BY_DEFINITIONS);
         numWords = 0;
         numDefinitions = 0;
     }
@@ -41,22 +124,57 @@ public class Dictionary {
      * @param definition the associated definition for the associated part of speech
      */
     public void add(String word, String partOfSpeech, String definition) {
-        // If the word isn't already in the map (or if the map is empty) add it
-        if (wordMap.isEmpty() || !(wordMap.containsKey(word))) {
-            wordMap.put(word, new DictionaryWord(word, partOfSpeech, definition));
+        if (insert(word, partOfSpeech, definition)) {
+            publish(DictionaryEvent.Type.ADD, word, partOfSpeech, definition, null);
+        }
+    }
+
+    /**
+     * Adds a word or definition to the dictionary without publishing it to the change feed, for engines that fill the
+     * dictionary from storage it already held
+     *
+     * @implNote O(log(words)) running time behavior if adding a new word
+     * @implNote O(log(definitions of the word)) running time behavior if adding a new definition to an existing word
+     * @param word The word
+     * @param partOfSpeech the part of speech for the associated word
+     * @param definition the associated definition for the associated part of speech
+     * @return true if the definition was added, false if the word already had it
+     */
+    boolean insert(String word, String partOfSpeech, String definition) {
+        DictionaryWord dictionaryWord = writableWord(word);
+        if (dictionaryWord == null) {
+            // If the word isn't already in the map add it
+            dictionaryWord = new DictionaryWord(word, partOfSpeech, definition, definitionCodec);
+            dictionaryWord.snapshotEpoch = snapshotEpoch;
+            wordMap.put(word, dictionaryWord);
             words.add(word);
+            trigrams.add(word);
+            suffixes.add(word);
             numWords++;
+            wordLengths.add(word.length());
+            invalidateRanges(word);
+            attachWordStatistics(dictionaryWord);
+            if (numWords + wordFilterRemovals > wordFilterCapacity) {
+                // The filter is full, rebuilding it keeps the false positive rate in check
+                rebuildWordFilter();
+            } else {
+                wordFilter.add(word);
+            }
         } else {
-            // If the word is already in the map add a new definition
-            wordMap.get(word).addDefinition(partOfSpeech, definition);
-        }
-        // Mark the part of speech as used, if it's been used before increment the number of definitions used by it
-        if (usedPartsOfSpeech.containsKey(partOfSpeech)) {
-            usedPartsOfSpeech.put(partOfSpeech, usedPartsOfSpeech.get(partOfSpeech) + 1);
-        } else {
-            usedPartsOfSpeech.put(partOfSpeech, 1);
+            // If the word is already in the map add a new definition, unless the word already has it
+            boolean added;
+            detachWordStatistics(dictionaryWord);
+            try {
+                added = dictionaryWord.addDefinition(partOfSpeech, definition, definitionCodec);
+            } finally {
+                attachWordStatistics(dictionaryWord);
+            }
+            if (!added) {
+                return false;
+            }
         }
-        numDefinitions++;
+        countDefinition(partOfSpeech, definition, 1);
+        return true;
     }
 
     /**
@@ -65,40 +183,183 @@ public class Dictionary {
      * the number of parts of speech used, the first word (if ordered lexicographically),
      * the last word (if ordered lexicographically)
      *
-     * @implNote O(log(words)) running time behavior
+     * @implNote O(1) running time behavior, the rendering is cached until the next mutation
      * @return the metadata
      */
     public String getStatistics(){
-        if(numWords == 0){ // For when the dictionary is empty
-            String output = "words: " + "0" + NEWLINE +
-                    "definitions: " + "0" + NEWLINE +
-                    "definitions per word: " + "0.00" + NEWLINE +
-                    "parts of speech: " + "0" + NEWLINE +
-                    "first word: " + "" + NEWLINE +
-                    "last word: "  + "";
-            return output;
+        return getStatisticsSnapshot().getSummary();
+    }
+
+    /**
+     * Provides a snapshot of every statistic maintained for the dictionary. The same snapshot is returned until the
+     * dictionary is next mutated
+     *
+     * @implNote O(1) running time behavior (bounded by the number of histogram buckets and top words)
+     * @return the statistics snapshot
+     */
+    public DictionaryStatistics getStatisticsSnapshot() {
+        if (statistics == null) {
+            ArrayList<String> topWords = new ArrayList<String>(TOP_WORDS);
+            ArrayList<Integer> topWordCounts = new ArrayList<Integer>(TOP_WORDS);
+            for (DictionaryWord dictionaryWord : wordsByDefinitions) {
+                if (topWords.size() == TOP_WORDS) {
+                    break;
+                }
+                topWords.add(dictionaryWord.getWord());
+                topWordCounts.add(dictionaryWord.numberOfDefinitions());
+            }
+            statistics = new DictionaryStatistics(numWords, numDefinitions,
+                    words.isEmpty() ? "" : words.first(), words.isEmpty() ? "" : words.last(),
+                    new TreeMap<String, Integer>(usedPartsOfSpeech), definitionsPerWord.copy(),
+                    wordLengths.copy(), definitionLengths.copy(), topWords, topWordCounts);
+        }
+        return statistics;
+    }
+
+    /**
+     * Estimates the heap retained by each structure of the dictionary from the layout of the running JVM
+     *
+     * @implNote O(length of the words and definitions) running time behavior
+     * @return the memory report
+     */
+    public MemoryReport memoryReport() {
+        return memoryReport(MemoryLayout.current());
+    }
+
+    /**
+     * Estimates the heap retained by each structure of the dictionary: the maps and sets of words, the word strings,
+     * the DictionaryWords, their definitions, the definition strings, the statistics and the indexes. A string shared
+     * by several definitions is only counted once
+     *
+     * @implNote O(length of the words and definitions) running time behavior
+     * @param layout the layout of objects to estimate with
+     * @return the memory report
+     */
+    public MemoryReport memoryReport(MemoryLayout layout) {
+        MemoryReport report = new MemoryReport(layout, numWords, numDefinitions);
+        Set<String> counted = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+        long wordStrings = 0;
+        long wordObjects = 0;
+        long definitionObjects = 0;
+        long definitionStrings = 0;
+        for (DictionaryWord dictionaryWord : wordMap.values()) {
+            if (counted.add(dictionaryWord.getWord())) {
+                wordStrings += layout.string(dictionaryWord.getWord());
+            }
+            wordObjects += dictionaryWord.shellBytes(layout);
+            definitionObjects += dictionaryWord.definitionBytes(layout);
+            definitionStrings += dictionaryWord.definitionStringBytes(layout, counted);
+        }
+        report.add("wordMap", layout.hashMap(wordMap.size(), false), false);
+        report.add("words", words instanceof ByteKeyWordSet ? ((ByteKeyWordSet) words).retainedBytes(layout)
+                : layout.treeMap(words.size(), true), false);
+        report.add("word strings", wordStrings, false);
+        report.add("DictionaryWords", wordObjects, false);
+        report.add("DictionaryWord definitions", definitionObjects, true);
+        if (definitionCodec == null) {
+            report.add("definition strings", definitionStrings, true);
         } else {
-            double avg = (double) numDefinitions / numWords;
-            DecimalFormat doubleFormat = new DecimalFormat("#.000");
-            String output = "words: " + numWords + NEWLINE +
-                    "definitions: " + numDefinitions + NEWLINE +
-                    "definitions per word: " + doubleFormat.format(avg) + NEWLINE + //limits the double to three decimals
-                    "parts of speech: " + usedPartsOfSpeech.size() + NEWLINE +
-                    "first word: " + words.first() + NEWLINE +
-                    "last word: " + words.last();
-            return output;
+            report.add("compressed definitions", definitionStrings, true);
+            report.add("definition codec", definitionCodec.retainedBytes(layout), false);
+        }
+        // Each count is boxed into an Integer
+        report.add("usedPartsOfSpeech", layout.hashMap(usedPartsOfSpeech.size(), false)
+                + usedPartsOfSpeech.size() * layout.box(4), false);
+        report.add("statistics", layout.treeMap(wordsByDefinitions.size(), true)
+                + definitionsPerWord.retainedBytes(layout) + wordLengths.retainedBytes(layout)
+                + definitionLengths.retainedBytes(layout), false);
+        report.add("word filter", wordFilter.retainedBytes(layout), false);
+        report.add("trigram index", trigrams.retainedBytes(layout), false);
+        report.add("suffix index", suffixes.retainedBytes(layout), false);
+        // Cached results are weighed by their characters plus overhead already; add the access-ordered entries
+        long rangeEntry = 2L * layout.referenceBytes() + layout.object(2, 0);
+        synchronized (rangeCacheLock) {
+            report.add("range cache", layout.hashMap(rangeCache.size(), false) + rangeCache.size() * rangeEntry
+                    + rangeCache.weight(), false);
+        }
+        return report;
+    }
+
+    /**
+     * Removes a word's number of definitions from the statistics, must be called before the word's definitions change
+     *
+     * @implNote O(log(words)) running time behavior
+     * @param dictionaryWord the word about to change
+     */
+    private void detachWordStatistics(DictionaryWord dictionaryWord) {
+        wordsByDefinitions.remove(dictionaryWord);
+        definitionsPerWord.remove(dictionaryWord.numberOfDefinitions());
+    }
+
+    /**
+     * Adds a word's number of definitions to the statistics, must be called after the word's definitions change
+     *
+     * @implNote O(log(words)) running time behavior
+     * @param dictionaryWord the word that changed
+     */
+    private void attachWordStatistics(DictionaryWord dictionaryWord) {
+        if (dictionaryWord.numberOfDefinitions() > 0) {
+            wordsByDefinitions.add(dictionaryWord);
+            definitionsPerWord.add(dictionaryWord.numberOfDefinitions());
         }
+        statistics = null;
     }
 
     /**
-     * Returns all the words in the given range as a string
+     * Counts a definition being added to (delta of 1) or removed from (delta of -1) the dictionary
      *
-     * @implNote O(words in range) running time behavior (Creating a submap is O(1), iterating is O(length))
+     * @implNote O(1) running time behavior
+     * @param partOfSpeech the part of speech of the definition
+     * @param definition the definition
+     * @param delta 1 if the definition was added, -1 if it was removed
+     */
+    private void countDefinition(String partOfSpeech, String definition, int delta) {
+        numDefinitions += delta;
+        countPartOfSpeech(partOfSpeech, delta);
+        if (delta > 0) {
+            definitionLengths.add(definition.length());
+        } else {
+            definitionLengths.remove(definition.length());
+        }
+        statistics = null;
+    }
+
+    /**
+     * Counts definitions of a part of speech being added (positive delta) or removed (negative delta)
+     *
+     * @implNote O(1) running time behavior
+     * @param partOfSpeech the part of speech
+     * @param delta the change in the number of its definitions
+     */
+    private void countPartOfSpeech(String partOfSpeech, int delta) {
+        // Mark the part of speech as used, and forget it once no definition uses it
+        int count = usedPartsOfSpeech.getOrDefault(partOfSpeech, 0) + delta;
+        if (count == 0) {
+            usedPartsOfSpeech.remove(partOfSpeech);
+        } else {
+            usedPartsOfSpeech.put(partOfSpeech, count);
+        }
+    }
+
+    /**
+     * Returns all the words in the given range as a string. Results are cached until a word in the range is added or
+     * removed
+     *
+     * @implNote O(1) running time behavior if cached, O(words in range) otherwise (Creating a submap is O(1),
+     * iterating is O(length))
      * @param start the starting word (inclusive)
      * @param end the ending word (inclusive)
      * @return all the words in the range as a string
      */
     public String getWordsInRange(String start, String end) {
+        List<String> range = List.of(start, end);
+        String cached;
+        synchronized (rangeCacheLock) {
+            cached = rangeCache.get(range);
+        }
+        if (cached != null) {
+            return cached;
+        }
         StringBuilder sb = new StringBuilder("The words between ")
                 .append(start)
                 .append(" and ")
@@ -112,7 +373,102 @@ public class Dictionary {
                         .append(word);
             }
         } catch (IllegalArgumentException ignored) {}
-        return sb.toString();
+        String result = sb.toString();
+        synchronized (rangeCacheLock) {
+            rangeCache.put(range, result);
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the cache of getWordsInRange results with an empty one holding results of up to about the given
+     * number of bytes in total. A budget of 0 disables the cache
+     *
+     * @implNote O(1) running time behavior
+     * @param bytes the memory budget of the cache
+     */
+    public void setRangeCacheBudget(long bytes) {
+        // Each result costs its characters plus roughly 64 bytes of String, key and map entry overhead
+        synchronized (rangeCacheLock) {
+            rangeCache = new LruCache<List<String>, String>(bytes, result -> 64 + 2L * result.length());
+        }
+    }
+
+    /**
+     * Gets the number of getWordsInRange calls answered from the cache
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of hits
+     */
+    public long getRangeCacheHits() {
+        synchronized (rangeCacheLock) {
+            return rangeCache.hits();
+        }
+    }
+
+    /**
+     * Gets the number of getWordsInRange calls that had to walk the words
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of misses
+     */
+    public long getRangeCacheMisses() {
+        synchronized (rangeCacheLock) {
+            return rangeCache.misses();
+        }
+    }
+
+    /**
+     * Removes the cached getWordsInRange results whose range contains a word that was added or removed
+     *
+     * @implNote O(cached ranges) running time behavior
+     * @param word the word
+     */
+    private void invalidateRanges(String word) {
+        synchronized (rangeCacheLock) {
+            if (rangeCache.size() > 0) {
+                rangeCache.removeIf(range -> range.get(0).compareTo(word) <= 0 && word.compareTo(range.get(1)) <= 0);
+            }
+        }
+    }
+
+    /**
+     * Finds the lexicographically smallest words that match a pattern, where '?' matches any one character and '*'
+     * matches any sequence of characters, such as "gr?ph" or "*ing". Candidates come from the trigram index of the
+     * words and are then checked against the whole pattern
+     *
+     * @implNote O(postings of the pattern's trigrams + candidates * length of the pattern) running time behavior,
+     * O(log(words) + words with the literal prefix) for patterns too short to have trigrams
+     * @param pattern the pattern
+     * @param limit the maximum number of words to return
+     * @return the matching words in lexicographic order
+     */
+    public List<String> match(String pattern, int limit) {
+        return trigrams.match(pattern, limit, prefix -> words.tailSet(prefix, true).iterator());
+    }
+
+    /**
+     * Gets the words ending with a suffix, such as "tion", in the order of their reversals so words with the same
+     * ending are grouped together
+     *
+     * @implNote O(log(words) + words returned) running time behavior
+     * @param suffix the suffix
+     * @param limit the maximum number of words to return
+     * @return the words
+     */
+    public List<String> getWordsWithSuffix(String suffix, int limit) {
+        return suffixes.wordsWithSuffix(suffix, limit);
+    }
+
+    /**
+     * Counts the words ending with a suffix
+     *
+     * @implNote O(log(words) + words counted) running time behavior
+     * @param suffix the suffix
+     * @return the number of words
+     */
+    public int countWithSuffix(String suffix) {
+        return suffixes.countWithSuffix(suffix);
     }
 
     /**
@@ -123,6 +479,10 @@ public class Dictionary {
      * @return the string format of the word or null
      */
     public String getWord(String word) {
+        // The filter hashes the word, so null is ruled out first like a missing word
+        if (word == null || !wordFilter.mightContain(word)) {
+            return null;
+        }
         DictionaryWord wordObject = wordMap.get(word);
         if (wordObject == null) {
             return null;
@@ -130,6 +490,54 @@ public class Dictionary {
         return wordObject.toString();
     }
 
+    /**
+     * Writes the requested word the way getWord represents it, without building a string. Render into a Utf8Sink to
+     * write UTF-8 straight into a ByteBuffer
+     *
+     * @implNote O(length of the definitions of the word) running time behavior
+     * @param word the word to write
+     * @param out where to write the word
+     * @return true if the word was written, false if it isn't in the dictionary
+     * @throws IOException if the destination fails
+     */
+    public boolean renderWord(String word, Appendable out) throws IOException {
+        if (word == null || !wordFilter.mightContain(word)) {
+            return false;
+        }
+        DictionaryWord wordObject = wordMap.get(word);
+        if (wordObject == null) {
+            return false;
+        }
+        wordObject.renderTo(out);
+        return true;
+    }
+
+    /**
+     * Checks if the word is in the dictionary
+     *
+     * @implNote O(1) running time behavior, most missing words are rejected by the word filter alone
+     * @param word the word to check
+     * @return true if the word is in the dictionary
+     */
+    public boolean containsWord(String word) {
+        return word != null && wordFilter.mightContain(word) && wordMap.containsKey(word);
+    }
+
+    /**
+     * Rebuilds the filter used to reject lookups of missing words from the current words. Call after loading many
+     * words at once; the filter is also rebuilt automatically as words are added and removed
+     *
+     * @implNote O(words) running time behavior
+     */
+    public void rebuildWordFilter() {
+        wordFilterCapacity = Math.max(MIN_FILTER_CAPACITY, numWords * 2);
+        wordFilterRemovals = 0;
+        wordFilter = new BloomFilter(wordFilterCapacity, falsePositiveRate);
+        for (String word : words) {
+            wordFilter.add(word);
+        }
+    }
+
     /**
      * Provides the first word in the dictionary.
      *
@@ -194,21 +602,227 @@ public class Dictionary {
      * @param newDefinition the new definition for the word
      */
     public void updateDefinition(String word, int definitionIndex, String newDefinition){
-        wordMap.get(word).updateDefinition(definitionIndex, newDefinition);
+        DictionaryWord dictionaryWord = writableWord(word);
+        detachWordStatistics(dictionaryWord);
+        DictionaryDefinition oldDefinition;
+        int before = dictionaryWord.numberOfDefinitions();
+        try {
+            oldDefinition = dictionaryWord.updateDefinition(definitionIndex, newDefinition, definitionCodec);
+        } finally {
+            attachWordStatistics(dictionaryWord);
+        }
+        if (oldDefinition != null) {
+            countDefinition(oldDefinition.getPartOfSpeech(), oldDefinition.getDefinition(), -1);
+            // The new definition is only counted if it was added; one identical to an existing definition merges into
+            // it, leaving the word a definition short
+            if (dictionaryWord.numberOfDefinitions() == before) {
+                countDefinition(oldDefinition.getPartOfSpeech(), newDefinition, 1);
+            }
+            publish(DictionaryEvent.Type.UPDATE, word, oldDefinition.getPartOfSpeech(), newDefinition,
+                    oldDefinition.getDefinition());
+        }
+    }
+
+    /**
+     * Captures a point-in-time view of the dictionary that can be read on another thread while this dictionary keeps
+     * changing. Words aren't copied up front; instead a word shared with an open snapshot is copied the first time it
+     * changes. Close the snapshot once it's no longer needed so words stop being copied
+     *
+     * @implNote O(words) running time behavior, only references are copied
+     * @return the snapshot
+     */
+    public DictionarySnapshot snapshot() {
+        DictionaryWord[] snapshotWords = new DictionaryWord[numWords];
+        int i = 0;
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            snapshotWords[i++] = dictionaryWord;
+        }
+        // Every existing word is now shared with the snapshot
+        snapshotEpoch++;
+        openSnapshots.incrementAndGet();
+        return new DictionarySnapshot(snapshotWords, numDefinitions, getSequence(), openSnapshots::decrementAndGet);
+    }
+
+    /**
+     * Copies the dictionary into an immutable FrozenDictionary laid out in flat arrays for reading. The frozen copy
+     * doesn't see later changes to this dictionary, and can be read from any number of threads without locking
+     *
+     * @implNote O(length of the words and definitions + words * log(words)) running time behavior
+     * @return the frozen dictionary
+     */
+    public FrozenDictionary freeze() {
+        return new FrozenDictionary(this);
     }
 
     /**
-     * Represents the dictionary as a string
+     * Stores the text of every definition compressed by a codec, such as one trained from this dictionary with
+     * DefinitionCodec.train, and compresses every definition added or updated from then on. Text is decompressed
+     * whenever a definition is read, compared or rendered, trading time for memory. Pass null to store definitions
+     * as strings again
      *
-     * @implNote O(definitions) running time behavior (definitions must be >= words)
+     * @implNote O(definitions) running time behavior, plus the cost of compressing them
+     * @param codec the codec, or null for strings
+     */
+    public void compressDefinitions(DefinitionCodec codec) {
+        definitionCodec = codec;
+        for (String word : words) {
+            writableWord(word).compressDefinitions(codec);
+        }
+    }
+
+    /**
+     * Gets the codec that compresses the definitions
+     *
+     * @implNote O(1) running time behavior
+     * @return the codec, or null if definitions are stored as strings
+     */
+    public DefinitionCodec getDefinitionCodec() {
+        return definitionCodec;
+    }
+
+    /**
+     * Captures a point-in-time view of the dictionary by copying every word, for dictionaries that don't keep their
+     * words in wordMap
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the snapshot
+     */
+    DictionarySnapshot copyingSnapshot() {
+        ArrayList<DictionaryWord> copies = new ArrayList<DictionaryWord>();
+        int definitions = 0;
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            copies.add(new DictionaryWord(dictionaryWord));
+            definitions += dictionaryWord.numberOfDefinitions();
+        }
+        return new DictionarySnapshot(copies.toArray(new DictionaryWord[0]), definitions, getSequence(), () -> {});
+    }
+
+    /**
+     * Gets the DictionaryWord of a word so it can be changed, first replacing it with a copy if it may be shared with
+     * an open snapshot
+     *
+     * @implNote O(1) running time behavior, O(definitions of the word) if the word has to be copied
+     * @param word the word
+     * @return the DictionaryWord, or null if the word isn't in the dictionary
+     */
+    private DictionaryWord writableWord(String word) {
+        DictionaryWord dictionaryWord = wordMap.get(word);
+        if (dictionaryWord != null && dictionaryWord.snapshotEpoch < snapshotEpoch && openSnapshots.get() > 0) {
+            DictionaryWord copy = new DictionaryWord(dictionaryWord);
+            copy.snapshotEpoch = snapshotEpoch;
+            wordMap.put(word, copy);
+            if (wordsByDefinitions.remove(dictionaryWord)) {
+                wordsByDefinitions.add(copy);
+            }
+            dictionaryWord = copy;
+        }
+        return dictionaryWord;
+    }
+
+    /**
+     * Gets the DictionaryWord of a word. The word must not be modified through the returned object
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word
+     * @return the DictionaryWord, or null if the word isn't in the dictionary
+     */
+    DictionaryWord getDictionaryWord(String word) {
+        return wordMap.get(word);
+    }
+
+    /**
+     * Finds the index (starting from 1) of a definition of a word in sorted order, the index updateDefinition and
+     * removeDefinition take
+     *
+     * @implNote O(definitions of the word) running time behavior, plus the cost of getDictionaryWord
+     * @param word the word
+     * @param partOfSpeech the part of speech of the definition
+     * @param definition the text of the definition
+     * @return the index, or -1 if the word doesn't have the definition
+     */
+    int definitionIndex(String word, String partOfSpeech, String definition) {
+        DictionaryWord dictionaryWord = getDictionaryWord(word);
+        if (dictionaryWord != null) {
+            int index = 1;
+            for (DictionaryDefinition candidate : dictionaryWord.getDefinitionSet()) {
+                if (candidate.getPartOfSpeech().equals(partOfSpeech) && candidate.getDefinition().equals(definition)) {
+                    return index;
+                }
+                index++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the total number of definitions
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    int numDefinitions() {
+        return numDefinitions;
+    }
+
+    /**
+     * Provides every word of the dictionary in lexicographic order. The words must not be modified through the
+     * returned objects
+     *
+     * @implNote O(1) running time behavior, iterating is O(words)
+     * @return the words in order
+     */
+    Iterable<DictionaryWord> dictionaryWords() {
+        return dictionaryWords("");
+    }
+
+    /**
+     * Provides the words of the dictionary greater than or equal to the given word in lexicographic order. The words
+     * must not be modified through the returned objects
+     *
+     * @implNote O(log(words)) running time behavior, iterating is O(words returned)
+     * @param from the smallest word to return
+     * @return the words in order
+     */
+    Iterable<DictionaryWord> dictionaryWords(String from) {
+        return () -> new Iterator<DictionaryWord>() {
+            private final Iterator<String> wordIterator = words.tailSet(from, true).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return wordIterator.hasNext();
+            }
+
+            @Override
+            public DictionaryWord next() {
+                return wordMap.get(wordIterator.next());
+            }
+        };
+    }
+
+    /**
+     * Represents the dictionary as a string. Large dictionaries are rendered in parallel on the common fork-join pool
+     *
+     * @implNote O(definitions) running time behavior (definitions must be >= words), divided among the pool's workers
      * @return the dictionary represented as a string
      */
     @Override
     public String toString() {
+        return toString(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Represents the dictionary as a string, rendering balanced chunks of the words in parallel on a pool. The result
+     * is the same as rendering every word in order on one thread
+     *
+     * @implNote O(definitions / workers + words) running time behavior, choosing the chunks is O(words) on the calling
+     * thread and concatenating them is O(length)
+     * @param pool the pool to render on
+     * @return the dictionary represented as a string
+     */
+    public String toString(ForkJoinPool pool) {
         StringBuilder sb = new StringBuilder();
-        for (String word : words) {
-            sb.append(wordMap.get(word).toString());
-            sb.append(NEWLINE);
+        for (ForkJoinTask<StringBuilder> chunk : renderChunks(pool, false)) {
+            sb.append(chunk.join());
         }
         // Removes the extra newline character
         sb.delete(sb.length()-1, sb.length());
@@ -216,17 +830,117 @@ public class Dictionary {
     }
 
     /**
-     * Provides the file output format of the dictionary
-     * @implNote O(definitions) running time behavior (definitions must be >= words)
+     * Provides the file output format of the dictionary. Large dictionaries are rendered in parallel on the common
+     * fork-join pool
+     * @implNote O(definitions) running time behavior (definitions must be >= words), divided among the pool's workers
      * @return the dictionary in file format
      */
     public String toFileFormat(){
+        return toFileFormat(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Provides the file output format of the dictionary, rendering balanced chunks of the words in parallel on a pool.
+     * The result is the same as rendering every word in order on one thread
+     *
+     * @implNote O(definitions / workers + words) running time behavior, choosing the chunks is O(words) on the calling
+     * thread and concatenating them is O(length)
+     * @param pool the pool to render on
+     * @return the dictionary in file format
+     */
+    public String toFileFormat(ForkJoinPool pool) {
         StringBuilder fileFormatString = new StringBuilder();
-        for(String word : words) {
-            fileFormatString.append(wordMap.get(word).toFileFormat());
+        for (ForkJoinTask<StringBuilder> chunk : renderChunks(pool, true)) {
+            fileFormatString.append(chunk.join());
         }
         // Substring method removes the newline character
-        return fileFormatString.substring(0, fileFormatString.length()-2);
+        return fileFormatString.substring(0, Math.max(fileFormatString.length() - NEWLINE.length(), 0));
+    }
+
+    /**
+     * Writes the file output format of the dictionary, rendering balanced chunks of the words in parallel on a pool.
+     * Chunks are written in order as soon as they are done, while the later ones are still being rendered, so the
+     * whole dictionary is never held as one string
+     *
+     * @implNote O(definitions / workers + words) running time behavior, plus the cost of writing
+     * @param out where to write the dictionary
+     * @param pool the pool to render on
+     * @throws IOException if the destination fails
+     */
+    public void writeFileFormat(Appendable out, ForkJoinPool pool) throws IOException {
+        List<ForkJoinTask<StringBuilder>> chunks = renderChunks(pool, true);
+        for (int i = 0; i < chunks.size(); i++) {
+            StringBuilder chunk = chunks.get(i).join();
+            // The last newline isn't part of the file format
+            int end = i == chunks.size() - 1 ? Math.max(chunk.length() - NEWLINE.length(), 0) : chunk.length();
+            out.append(chunk, 0, end);
+            // Let the chunk be collected as soon as it's written
+            chunks.set(i, null);
+        }
+    }
+
+    /**
+     * Splits the words into chunks of about the same number of words and starts rendering each one on a pool, every
+     * word followed by a newline. Small dictionaries are rendered as one chunk on the calling thread
+     *
+     * @implNote O(words) running time behavior on the calling thread, rendering is O(definitions) on the pool
+     * @param pool the pool to render on
+     * @param fileFormat true to render the file output format, false to render as toString does
+     * @return the rendering of every chunk, in order
+     */
+    private List<ForkJoinTask<StringBuilder>> renderChunks(ForkJoinPool pool, boolean fileFormat) {
+        int numChunks = Math.max(1, Math.min(words.size() / MIN_RENDER_CHUNK_WORDS,
+                pool.getParallelism() * RENDER_CHUNKS_PER_WORKER));
+        ArrayList<ForkJoinTask<StringBuilder>> chunks = new ArrayList<ForkJoinTask<StringBuilder>>(numChunks);
+        if (numChunks == 1) {
+            chunks.add(ForkJoinTask.adapt(() -> renderChunk(words, fileFormat)));
+            chunks.get(0).invoke();
+            return chunks;
+        }
+        // Every chunk starts at a word found by stepping through the words, so chunks only differ by one word
+        ArrayList<String> chunkStarts = new ArrayList<String>(numChunks);
+        int wordsPerChunk = words.size() / numChunks;
+        int extraWords = words.size() % numChunks;
+        int nextStart = 0;
+        int position = 0;
+        for (String word : words) {
+            if (position == nextStart) {
+                nextStart += wordsPerChunk + (chunkStarts.size() < extraWords ? 1 : 0);
+                chunkStarts.add(word);
+            }
+            position++;
+        }
+        for (int i = 0; i < numChunks; i++) {
+            SortedSet<String> chunkWords = i == numChunks - 1 ? words.tailSet(chunkStarts.get(i))
+                    : words.subSet(chunkStarts.get(i), chunkStarts.get(i + 1));
+            chunks.add(pool.submit(() -> renderChunk(chunkWords, fileFormat)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Renders words, every word followed by a newline
+     *
+     * @implNote O(definitions of the words) running time behavior
+     * @param chunkWords the words
+     * @param fileFormat true to render the file output format, false to render as toString does
+     * @return the rendering
+     */
+    private StringBuilder renderChunk(SortedSet<String> chunkWords, boolean fileFormat) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (String word : chunkWords) {
+                if (fileFormat) {
+                    wordMap.get(word).renderFileFormatTo(sb);
+                } else {
+                    wordMap.get(word).renderTo(sb).append(NEWLINE);
+                }
+            }
+        } catch (IOException e) {
+            // StringBuilders don't throw
+            throw new UncheckedIOException(e);
+        }
+        return sb;
     }
 
     /**
@@ -239,20 +953,279 @@ public class Dictionary {
      * @return A boolean that represents whether the word was also removed with the definition (true if removed)
      */
     public boolean removeDefinition(String userWord, int id){
-        String partOfSpeech = wordMap.get(userWord).removeDefinition(id);
-        numDefinitions--;
-        boolean wordRemoved = false;
-        usedPartsOfSpeech.put(partOfSpeech, usedPartsOfSpeech.get(partOfSpeech) - 1);
-        if(usedPartsOfSpeech.get(partOfSpeech) == 0){
-            usedPartsOfSpeech.remove(partOfSpeech);
+        DictionaryWord dictionaryWord = writableWord(userWord);
+        DictionaryDefinition removed;
+        detachWordStatistics(dictionaryWord);
+        try {
+            removed = dictionaryWord.removeDefinition(id);
+        } finally {
+            attachWordStatistics(dictionaryWord);
         }
-        if(wordMap.get(userWord).numberOfDefinitions() == 0){
+        countDefinition(removed.getPartOfSpeech(), removed.getDefinition(), -1);
+        publish(DictionaryEvent.Type.REMOVE, userWord, removed.getPartOfSpeech(), removed.getDefinition(), null);
+        boolean wordRemoved = false;
+        if(dictionaryWord.numberOfDefinitions() == 0){
             wordMap.remove(userWord);
             words.remove(userWord);
+            trigrams.remove(userWord);
+            suffixes.remove(userWord);
             numWords--;
+            wordLengths.remove(userWord.length());
+            invalidateRanges(userWord);
+            // Removed words stay in the filter as false positives until it is rebuilt
+            wordFilterRemovals++;
             wordRemoved = true;
+            publish(DictionaryEvent.Type.REMOVE_WORD, userWord, null, null, null);
         }
         return wordRemoved;
     }
 
+    /**
+     * Makes a batch of changes at once. Each word's changes are made in one pass over a copy of the word, which then
+     * replaces it, so the word's indexes and statistics are updated once per word and the dictionary's counters once
+     * per batch. Every change is checked before any is made, so a batch with a bad change leaves the dictionary as it
+     * was. The batch is applied while holding the dictionary's lock, so readers holding the same lock see all of it or
+     * none of it. The dictionary's own read methods don't take the lock, so a reader that calls them without holding
+     * it can see a batch partly applied. Listeners receive the events the changes would publish one at a time, word
+     * by word
+     *
+     * @implNote O(words in the batch * log(words) + definitions of the changed words) running time behavior
+     * @param batch the changes
+     * @throws IllegalArgumentException if an added definition's part of speech isn't valid
+     * @throws IndexOutOfBoundsException if a removal's word has no definition with its index
+     */
+    public void apply(Batch batch) throws IllegalArgumentException, IndexOutOfBoundsException {
+        synchronized (this) {
+            Map<String, List<Batch.Change>> changesByWord = batch.changesByWord();
+            DictionaryWord[] changed = new DictionaryWord[changesByWord.size()];
+            ArrayList<DictionaryEvent> events = new ArrayList<DictionaryEvent>(batch.size());
+            int i = 0;
+            for (Map.Entry<String, List<Batch.Change>> entry : changesByWord.entrySet()) {
+                // Goes through getDictionaryWord so engines that load words on demand, like LazyDictionary, load them
+                DictionaryWord existing = getDictionaryWord(entry.getKey());
+                changed[i++] = applyChanges(existing == null ? new DictionaryWord(entry.getKey())
+                        : new DictionaryWord(existing), entry.getValue(), definitionCodec, events);
+            }
+            // Nothing has changed yet, and nothing from here on can fail
+            HashMap<String, Integer> partOfSpeechDeltas = new HashMap<String, Integer>();
+            int definitionDelta = 0;
+            int wordDelta = 0;
+            for (DictionaryWord dictionaryWord : changed) {
+                String word = dictionaryWord.getWord();
+                DictionaryWord existing = wordMap.get(word);
+                definitionDelta += countChanges(existing, dictionaryWord, partOfSpeechDeltas);
+                if (existing != null) {
+                    detachWordStatistics(existing);
+                }
+                if (dictionaryWord.numberOfDefinitions() > 0) {
+                    // The copy is new, so no snapshot shares it
+                    dictionaryWord.snapshotEpoch = snapshotEpoch;
+                    wordMap.put(word, dictionaryWord);
+                    attachWordStatistics(dictionaryWord);
+                    if (existing == null) {
+                        words.add(word);
+                        trigrams.add(word);
+                        suffixes.add(word);
+                        wordLengths.add(word.length());
+                        invalidateRanges(word);
+                        wordFilter.add(word);
+                        wordDelta++;
+                    }
+                } else if (existing != null) {
+                    wordMap.remove(word);
+                    words.remove(word);
+                    trigrams.remove(word);
+                    suffixes.remove(word);
+                    wordLengths.remove(word.length());
+                    invalidateRanges(word);
+                    // Removed words stay in the filter as false positives until it is rebuilt
+                    wordFilterRemovals++;
+                    wordDelta--;
+                }
+            }
+            numWords += wordDelta;
+            numDefinitions += definitionDelta;
+            for (Map.Entry<String, Integer> entry : partOfSpeechDeltas.entrySet()) {
+                countPartOfSpeech(entry.getKey(), entry.getValue());
+            }
+            statistics = null;
+            if (numWords + wordFilterRemovals > wordFilterCapacity) {
+                // The filter is full, rebuilding it keeps the false positive rate in check
+                rebuildWordFilter();
+            }
+            for (DictionaryEvent event : events) {
+                publish(event.getType(), event.getWord(), event.getPartOfSpeech(), event.getDefinition(),
+                        event.getPreviousDefinition());
+            }
+        }
+    }
+
+    /**
+     * Checks a batch of changes against copies of the words they change, then makes the changes one at a time through
+     * this dictionary's own methods while holding its lock. A batch with a bad change leaves the dictionary as it
+     * was. For engines that don't keep their words in wordMap
+     *
+     * @implNote O(definitions of the changed words + changes * cost of a change) running time behavior
+     * @param batch the changes
+     * @throws IllegalArgumentException if an added definition's part of speech isn't valid
+     * @throws IndexOutOfBoundsException if a removal's word has no definition with its index
+     */
+    void applyEach(Batch batch) throws IllegalArgumentException, IndexOutOfBoundsException {
+        synchronized (this) {
+            ArrayList<Batch.Change> effective = new ArrayList<Batch.Change>(batch.size());
+            ArrayList<String> effectiveWords = new ArrayList<String>(batch.size());
+            for (Map.Entry<String, List<Batch.Change>> entry : batch.changesByWord().entrySet()) {
+                DictionaryWord existing = getDictionaryWord(entry.getKey());
+                DictionaryWord dictionaryWord = existing == null ? new DictionaryWord(entry.getKey())
+                        : new DictionaryWord(existing);
+                for (Batch.Change change : entry.getValue()) {
+                    // Changes that change nothing are skipped, the methods would fail on some of them
+                    if (change.applyTo(dictionaryWord, null) != null) {
+                        effective.add(change);
+                        effectiveWords.add(entry.getKey());
+                    }
+                }
+            }
+            for (int i = 0; i < effective.size(); i++) {
+                effective.get(i).applyTo(this, effectiveWords.get(i));
+            }
+        }
+    }
+
+    /**
+     * Makes a word's changes from a batch to a copy of the word, collecting the events they amount to
+     *
+     * @implNote O(changes * definitions of the word) running time behavior
+     * @param dictionaryWord the copy
+     * @param changes the word's changes
+     * @param codec the codec to compress added and new definitions with, or null to keep them as strings
+     * @param events where to collect the events
+     * @return the copy, or a new word if the changes removed all of the copy's definitions
+     * @throws IllegalArgumentException if an added definition's part of speech isn't valid
+     * @throws IndexOutOfBoundsException if a removal has no definition with its index
+     */
+    private static DictionaryWord applyChanges(DictionaryWord dictionaryWord, List<Batch.Change> changes,
+                                               DefinitionCodec codec, List<DictionaryEvent> events)
+            throws IllegalArgumentException, IndexOutOfBoundsException {
+        for (Batch.Change change : changes) {
+            DictionaryEvent event = change.applyTo(dictionaryWord, codec);
+            if (event == null) {
+                continue;
+            }
+            events.add(event);
+            if (event.getType() == DictionaryEvent.Type.REMOVE && dictionaryWord.numberOfDefinitions() == 0) {
+                events.add(new DictionaryEvent(0, DictionaryEvent.Type.REMOVE_WORD, dictionaryWord.getWord(), null,
+                        null, null));
+                // A removed word is gone, so later changes start over from a new word like separate calls would,
+                // without the parts of speech the removed one had used
+                dictionaryWord = new DictionaryWord(dictionaryWord.getWord());
+            }
+        }
+        return dictionaryWord;
+    }
+
+    /**
+     * Counts the definitions a word gained and lost between two versions of it, by walking both sorted sets of
+     * definitions together. Definition lengths are counted right away, parts of speech are collected for later
+     *
+     * @implNote O(definitions of both versions) running time behavior
+     * @param before the word before the changes, or null if it was new
+     * @param after the word after the changes
+     * @param partOfSpeechDeltas the change in definitions of each part of speech, added to
+     * @return the change in the number of definitions
+     */
+    private int countChanges(DictionaryWord before, DictionaryWord after, Map<String, Integer> partOfSpeechDeltas) {
+        Iterator<DictionaryDefinition> removed = before == null ? Collections.emptyIterator()
+                : before.getDefinitionSet().iterator();
+        Iterator<DictionaryDefinition> added = after.getDefinitionSet().iterator();
+        DictionaryDefinition old = removed.hasNext() ? removed.next() : null;
+        DictionaryDefinition current = added.hasNext() ? added.next() : null;
+        int delta = 0;
+        while (old != null || current != null) {
+            int order = old == null ? 1 : current == null ? -1 : old.compareTo(current);
+            if (order < 0) {
+                partOfSpeechDeltas.merge(old.getPartOfSpeech(), -1, Integer::sum);
+                definitionLengths.remove(old.getDefinition().length());
+                delta--;
+            } else if (order > 0) {
+                partOfSpeechDeltas.merge(current.getPartOfSpeech(), 1, Integer::sum);
+                definitionLengths.add(current.getDefinition().length());
+                delta++;
+            }
+            if (order <= 0) {
+                old = removed.hasNext() ? removed.next() : null;
+            }
+            if (order >= 0) {
+                current = added.hasNext() ? added.next() : null;
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Starts delivering every later change of the dictionary to a listener, buffering up to
+     * ChangeFeed.DEFAULT_CAPACITY undelivered events
+     *
+     * @implNote O(capacity) running time behavior
+     * @param listener the listener
+     * @return the subscription, which stops delivery when closed
+     */
+    public ChangeFeed.Subscription subscribe(DictionaryListener listener) {
+        return subscribe(listener, ChangeFeed.DEFAULT_CAPACITY, ChangeFeed.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Starts delivering every later change of the dictionary to a listener. Events are numbered in the order the
+     * changes happened and arrive in batches on a thread of the subscription, so a slow listener never delays the
+     * changes. Delivery is lossy: if the listener falls more than capacity events behind, the events it can't hold are
+     * dropped and it is told of the gap through onMissed. To resync, it takes a snapshot while synchronized on the
+     * dictionary and skips the events numbered up to the snapshot's getSequence, which the snapshot already holds
+     *
+     * @implNote O(capacity) running time behavior
+     * @param listener the listener
+     * @param capacity the number of undelivered events to buffer, rounded up to a power of two
+     * @param batchSize the most events to pass to the listener at once
+     * @return the subscription, which stops delivery when closed
+     * @throws IllegalArgumentException if the capacity or batch size isn't positive
+     */
+    public ChangeFeed.Subscription subscribe(DictionaryListener listener, int capacity, int batchSize)
+            throws IllegalArgumentException {
+        return changeFeed.subscribe(listener, capacity, batchSize);
+    }
+
+    /**
+     * Gets the sequence number of the latest change, which the next change's event will follow
+     *
+     * @implNote O(1) running time behavior
+     * @return the sequence number, or 0 if the dictionary hasn't changed
+     */
+    public long getSequence() {
+        return changeFeed.getSequence();
+    }
+
+    /**
+     * Numbers a change and offers it to the subscribed listeners
+     *
+     * @implNote O(subscribers) running time behavior
+     * @param type the kind of change
+     * @param word the word that changed
+     * @param partOfSpeech the part of speech of the definition, or null for REMOVE_WORD
+     * @param definition the definition added or removed, the new definition for UPDATE, or null for REMOVE_WORD
+     * @param previousDefinition the definition replaced by UPDATE, or null
+     */
+    void publish(DictionaryEvent.Type type, String word, String partOfSpeech, String definition,
+                 String previousDefinition) {
+        changeFeed.publish(type, word, partOfSpeech, definition, previousDefinition);
+    }
+
+    /**
+     * Checks if any listener is subscribed, so engines can skip work only events need
+     *
+     * @implNote O(1) running time behavior
+     * @return true if there are subscribers
+     */
+    boolean hasSubscribers() {
+        return changeFeed.hasSubscribers();
+    }
+
 }
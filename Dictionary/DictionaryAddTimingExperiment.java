@@ -9,9 +9,11 @@ public class DictionaryAddTimingExperiment extends TimingExperiment {
     private static int problemSizeStep = 1000  ;
     private static int experimentIterationCount = 25;
     private static Random rng = new Random();
-    private static final String[] elements = new String[]{"Test", "noun", "testing"};
-    final static String[]  POSARRAY = new String[]{"noun", "verb", "adj", "adv", "pron", "prep", "conj", "interj"};
+    private static final String[] elements = new String[]{"noun", "testing"};
+    private static CorpusGenerator corpus = new CorpusGenerator();
     private static Dictionary dict = new Dictionary();
+    private static long dictWords;
+    private static String toAdd;
 
 
     public static void main(String[] args){
@@ -34,7 +36,13 @@ public class DictionaryAddTimingExperiment extends TimingExperiment {
      */
     @Override
     protected void setupExperiment(int problemSize) {
-        dict = makeDictionary(problemSize);
+        dict = new Dictionary();
+        dictWords = corpus.fill(dict, problemSize);
+        // A word past the end of the corpus in the dictionary. Different words of the corpus can be spelled the same,
+        // so one already in the dictionary is redrawn to keep timing the add of a new word rather than an update
+        do {
+            toAdd = corpus.word(dictWords + rng.nextInt(problemSize));
+        } while (dict.containsWord(toAdd));
     }
 
     /**
@@ -42,17 +50,7 @@ public class DictionaryAddTimingExperiment extends TimingExperiment {
      */
     @Override
     protected void runComputation() {
-        dict.add(elements[0], elements[1], elements[2]);
-    }
-
-    private static comprehensive.Dictionary makeDictionary(int problemSize){
-        for(int i = 0; i < problemSize; i ++){
-            int number = rng.nextInt(problemSize / 4);
-            int posRng = rng.nextInt(POSARRAY.length - 1);
-            String word = ((Integer)number).toString();
-            dict.add(((Integer)i).toString(), POSARRAY[posRng], i + i + i + " " + i);
-        }
-        return dict;
+        dict.add(toAdd, elements[0], elements[1]);
     }
 }
 
@@ -0,0 +1,134 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+public class DictionaryBatchTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Changes";
+    private static int problemSizeMin = 10000;
+    private static int problemSizeCount = 10;
+    private static int problemSizeStep = 10000;
+    private static int experimentIterationCount = 15;
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static CorpusGenerator changes = new CorpusGenerator(CorpusGenerator.DEFAULT_SEED + 1);
+    private static int startingDefinitions = 20000;
+    private static boolean batched;
+    private static Dictionary dict;
+    private static Batch batch;
+
+
+    public static void main(String[] args){
+        checkAgainstOneCallPerChange();
+        batched = false;
+        System.out.println("One call per change");
+        new DictionaryBatchTimingExperiment().printResults();
+        batched = true;
+        System.out.println("Dictionary.apply(Batch)");
+        new DictionaryBatchTimingExperiment().printResults();
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryBatchTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. The changes add definitions from another corpus and revise the first definition of
+     * every word they touch, like an ingest job would.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        dict = corpus.makeDictionary(startingDefinitions);
+        batch = new Batch();
+        try {
+            changes.generate(problemSize / 2, (word, partOfSpeech, definition) -> {
+                batch.add(word, partOfSpeech, definition);
+                batch.update(word, 1, definition + " (revised)");
+            });
+        } catch (IOException e) {
+            // Adding to a batch doesn't do any I/O
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        if (batched) {
+            dict.apply(batch);
+            return;
+        }
+        synchronized (dict) {
+            for (Map.Entry<String, List<Batch.Change>> entry : batch.changesByWord().entrySet()) {
+                for (Batch.Change change : entry.getValue()) {
+                    change.applyTo(dict, entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that random batches leave a dictionary the same as making their changes one call at a time, including
+     * batches that remove every definition of a word and then add it back with other parts of speech
+     *
+     * @throws IllegalStateException if a batch and its calls disagree
+     */
+    private static void checkAgainstOneCallPerChange() {
+        String[] partsOfSpeech = {"noun", "verb", "adj"};
+        Random random = new Random(CorpusGenerator.DEFAULT_SEED);
+        for (int round = 0; round < 200; round++) {
+            Dictionary expected = new Dictionary();
+            Dictionary actual = new Dictionary();
+            for (int i = 0; i < 20; i++) {
+                String word = "w" + random.nextInt(8);
+                String partOfSpeech = partsOfSpeech[random.nextInt(partsOfSpeech.length)];
+                expected.add(word, partOfSpeech, "definition " + i);
+                actual.add(word, partOfSpeech, "definition " + i);
+            }
+            Batch batch = new Batch();
+            for (int i = 0; i < 30; i++) {
+                String word = "w" + random.nextInt(8);
+                int definitions = expected.containsWord(word) ? expected.getNumDefinitions(word) : 0;
+                if (definitions > 0 && random.nextInt(3) == 0) {
+                    // Removes runs of definitions, often all of them
+                    int index = random.nextInt(definitions) + 1;
+                    batch.remove(word, index);
+                    expected.removeDefinition(word, index);
+                } else if (definitions > 0 && random.nextInt(3) == 0) {
+                    int index = random.nextInt(definitions) + 1;
+                    batch.update(word, index, "revision " + i);
+                    expected.updateDefinition(word, index, "revision " + i);
+                } else {
+                    String partOfSpeech = partsOfSpeech[random.nextInt(partsOfSpeech.length)];
+                    batch.add(word, partOfSpeech, "addition " + i);
+                    expected.add(word, partOfSpeech, "addition " + i);
+                }
+            }
+            actual.apply(batch);
+            for (int i = 0; i < 8; i++) {
+                String word = "w" + i;
+                String expectedWord = expected.containsWord(word) ? expected.getPartsOfSpeechOfWord(word) : null;
+                String actualWord = actual.containsWord(word) ? actual.getPartsOfSpeechOfWord(word) : null;
+                if (!Objects.equals(expectedWord, actualWord)) {
+                    throw new IllegalStateException("Batch and calls disagree on the parts of speech of " + word
+                            + ": " + actualWord + " instead of " + expectedWord);
+                }
+            }
+            if (!expected.toFileFormat().equals(actual.toFileFormat())
+                    || !expected.getStatistics().equals(actual.getStatistics())) {
+                throw new IllegalStateException("Batch and calls disagree in round " + round);
+            }
+        }
+    }
+}
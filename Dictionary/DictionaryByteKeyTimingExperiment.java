@@ -0,0 +1,87 @@
+package comprehensive;
+
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class DictionaryByteKeyTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Words";
+    private static int problemSizeMin = 50000;
+    private static int problemSizeCount = 10;
+    private static int problemSizeStep = 50000;
+    private static int experimentIterationCount = 25;
+    // Each computation looks up or scans this many words, so the times are per batch
+    private static int batchSize = 1000;
+    private static int rangeWords = 20;
+    private static Random rng = new Random();
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static boolean byteKeys;
+    private static boolean ranges;
+    private static NavigableSet<String> words;
+    private static int setSize;
+    private static String[] toRead = new String[batchSize];
+
+
+    public static void main(String[] args){
+        for (boolean scan : new boolean[]{false, true}) {
+            for (boolean bytes : new boolean[]{false, true}) {
+                ranges = scan;
+                byteKeys = bytes;
+                setSize = 0;
+                System.out.println((bytes ? "ByteKeyWordSet" : "TreeSet<String>") + ", " + batchSize
+                        + (scan ? " range scans of " + rangeWords + " words" : " lookups"));
+                new DictionaryByteKeyTimingExperiment().printResults();
+                System.out.println();
+            }
+        }
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryByteKeyTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. The set is only rebuilt when the problem size changes.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        if (problemSize != setSize) {
+            words = byteKeys ? new ByteKeyWordSet() : new TreeSet<String>();
+            for (int i = 0; i < problemSize; i++) {
+                words.add(corpus.word(i));
+            }
+            setSize = problemSize;
+        }
+        for (int i = 0; i < batchSize; i++) {
+            toRead[i] = corpus.word(rng.nextInt(problemSize));
+        }
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        int found = 0;
+        for (String word : toRead) {
+            if (ranges) {
+                for (String inRange : words.tailSet(word, true)) {
+                    if (++found % rangeWords == 0) {
+                        break;
+                    }
+                }
+            } else if (words.contains(word)) {
+                found++;
+            }
+        }
+        if (found == 0) {
+            throw new IllegalStateException("No words were found");
+        }
+    }
+}
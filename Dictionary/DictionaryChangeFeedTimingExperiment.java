@@ -0,0 +1,71 @@
+package comprehensive;
+
+import java.util.List;
+
+public class DictionaryChangeFeedTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Definitions";
+    private static int problemSizeMin = 10000;
+    private static int problemSizeCount = 10;
+    private static int problemSizeStep = 10000;
+    private static int experimentIterationCount = 15;
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static DictionaryListener listener;
+    private static Dictionary dict;
+    private static ChangeFeed.Subscription subscription;
+    private static int dictSize;
+
+
+    public static void main(String[] args){
+        listener = null;
+        System.out.println("No subscribers");
+        new DictionaryChangeFeedTimingExperiment().printResults();
+        listener = events -> { };
+        System.out.println("Listener that keeps up");
+        new DictionaryChangeFeedTimingExperiment().printResults();
+        listener = DictionaryChangeFeedTimingExperiment::slowListener;
+        System.out.println("Listener that sleeps 1 ms per batch");
+        new DictionaryChangeFeedTimingExperiment().printResults();
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryChangeFeedTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. Every iteration fills a fresh dictionary with its own subscription.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+        dict = new Dictionary();
+        dictSize = problemSize;
+        if (listener != null) {
+            subscription = dict.subscribe(listener);
+        }
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        corpus.fill(dict, dictSize);
+    }
+
+    private static void slowListener(List<DictionaryEvent> events){
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package comprehensive;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+public class DictionaryColumnarTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Definitions";
+    private static int problemSizeMin = 10000;
+    private static int problemSizeCount = 20;
+    private static int problemSizeStep = 10000;
+    private static int experimentIterationCount = 25;
+    private static Random rng = new Random();
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static Supplier<Dictionary> engine;
+    private static Dictionary dict;
+    private static int dictSize;
+    private static long dictWords;
+    private static String toRead;
+
+
+    public static void main(String[] args){
+        engine = Dictionary::new;
+        System.out.println("Dictionary");
+        new DictionaryColumnarTimingExperiment().printResults();
+        System.out.println("retained bytes: " + retainedBytes(dictSize) + System.lineSeparator());
+        engine = ColumnarDictionary::new;
+        dictSize = 0;
+        System.out.println("ColumnarDictionary");
+        new DictionaryColumnarTimingExperiment().printResults();
+        System.out.println("retained bytes: " + retainedBytes(dictSize));
+        System.out.println(((ColumnarDictionary) dict).getStorageStatistics());
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryColumnarTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. The dictionary is only rebuilt when the problem size changes.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        if (problemSize != dictSize) {
+            dict = makeDictionary(problemSize);
+            dictSize = problemSize;
+        }
+        toRead = corpus.word(rng.nextInt((int) dictWords));
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        dict.getWord(toRead);
+    }
+
+    private static Dictionary makeDictionary(int problemSize){
+        // The corpus is seeded, so both engines hold the same definitions at every problem size
+        Dictionary dictionary = engine.get();
+        dictWords = corpus.fill(dictionary, problemSize);
+        if (dictionary instanceof ColumnarDictionary) {
+            ((ColumnarDictionary) dictionary).compact();
+        }
+        return dictionary;
+    }
+
+    private static long retainedBytes(int problemSize){
+        // Measures the heap before and after building a dictionary of the given size
+        Runtime runtime = Runtime.getRuntime();
+        dict = null;
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        dict = makeDictionary(problemSize);
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory() - before;
+    }
+}
@@ -0,0 +1,90 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.util.Random;
+
+public class DictionaryCompressionTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Definitions";
+    private static int problemSizeMin = 10000;
+    private static int problemSizeCount = 10;
+    private static int problemSizeStep = 20000;
+    private static int experimentIterationCount = 25;
+    private static Random rng = new Random();
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static boolean compressed;
+    private static Dictionary dict;
+    private static int dictSize;
+    private static long dictWords;
+    private static String toRender;
+
+
+    /**
+     * Times rendering words with plain and compressed definitions, then reports the memory of both. A glossary file
+     * passed as the argument, such as docs/1000_word_definitions.txt, has its memory reported as well.
+     *
+     * @param args optionally, a glossary file
+     * @throws IOException if the glossary file can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        compressed = false;
+        System.out.println("Plain definitions");
+        new DictionaryCompressionTimingExperiment().printResults();
+        report(dict);
+        compressed = true;
+        dictSize = 0;
+        System.out.println("Compressed definitions");
+        new DictionaryCompressionTimingExperiment().printResults();
+        report(dict);
+        if (args.length > 0) {
+            Dictionary glossary = new Dictionary();
+            Main.loadDictionaryFile(args[0], glossary);
+            System.out.println(args[0] + " plain");
+            report(glossary);
+            glossary.compressDefinitions(DefinitionCodec.train(glossary));
+            System.out.println(args[0] + " compressed");
+            report(glossary);
+        }
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryCompressionTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. The dictionary is only rebuilt, and its codec trained, when the problem size changes.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        if (problemSize != dictSize) {
+            dict = new Dictionary();
+            dictWords = corpus.fill(dict, problemSize);
+            if (compressed) {
+                dict.compressDefinitions(DefinitionCodec.train(dict));
+            }
+            dictSize = problemSize;
+        }
+        toRender = corpus.word(rng.nextInt((int) dictWords));
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        dict.getWord(toRender);
+    }
+
+    private static void report(Dictionary dictionary){
+        MemoryReport report = dictionary.memoryReport();
+        long text = dictionary.getDefinitionCodec() == null ? report.getBytes("definition strings")
+                : report.getBytes("compressed definitions") + report.getBytes("definition codec");
+        System.out.println(report.getTotalBytes() + " estimated bytes, " + text + " of them definition text"
+                + System.lineSeparator());
+    }
+}
@@ -1,7 +1,9 @@
 package comprehensive;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A class that represents a DictionaryDefinition for a DictionaryWord that implements the comparable interface
@@ -14,7 +16,7 @@ public class DictionaryDefinition implements Comparable<DictionaryDefinition> {
     private String partOfSpeech;
     private String definition;
     // Constants
-    private final HashSet<String> VALIDPARTSOFSPEECH = new HashSet<String>(List.of(new String[]{"noun", "verb", "adj", "adv", "pron", "prep", "conj", "interj"}));
+    private static final HashSet<String> VALIDPARTSOFSPEECH = new HashSet<String>(List.of(new String[]{"noun", "verb", "adj", "adv", "pron", "prep", "conj", "interj"}));
     private final String TAB = "\t";
 
     /**
@@ -87,7 +89,7 @@ public class DictionaryDefinition implements Comparable<DictionaryDefinition> {
             return partOfSpeech.compareTo(other.partOfSpeech);
         } else {
             // Parts of speech are the same, compare definitions
-            return definition.compareTo(other.definition);
+            return getDefinition().compareTo(other.getDefinition());
         }
     }
 
@@ -102,10 +104,24 @@ public class DictionaryDefinition implements Comparable<DictionaryDefinition> {
         StringBuilder output = new StringBuilder(partOfSpeech)
                 .append(".")
                 .append(TAB)
-                .append(definition);
+                .append(getDefinition());
         return output.toString();
     }
 
+    /**
+     * Writes the definition the way toString represents it, without building a string
+     *
+     * @implNote O(length of the definition) running time behavior
+     * @param out where to write the definition
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination fails
+     */
+    public <A extends Appendable> A renderTo(A out) throws IOException {
+        out.append(partOfSpeech).append('.').append(TAB).append(getDefinition());
+        return out;
+    }
+
     /**
      * Provides the definition and part of speech in file output form
      *
@@ -113,8 +129,57 @@ public class DictionaryDefinition implements Comparable<DictionaryDefinition> {
      * @return string of the file output form
      */
     public String toFileFormat(){
-        return this.partOfSpeech + "::" + this.definition;
+        return this.partOfSpeech + "::" + getDefinition();
+
+    }
+
+    /**
+     * Writes the definition in file output form, without building a string
+     *
+     * @implNote O(length of the definition) running time behavior
+     * @param out where to write the definition
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination fails
+     */
+    public <A extends Appendable> A renderFileFormatTo(A out) throws IOException {
+        out.append(partOfSpeech).append("::").append(getDefinition());
+        return out;
+    }
+
+    /**
+     * Estimates the bytes of a DictionaryDefinition, not counting its part of speech and definition strings
+     *
+     * @implNote O(1) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    static long shellBytes(MemoryLayout layout) {
+        // Three reference fields, the set of valid parts of speech is shared by every definition
+        return layout.object(3, 0);
+    }
+
+    /**
+     * Estimates the bytes of this DictionaryDefinition, not counting its part of speech and definition text
+     *
+     * @implNote O(1) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long objectBytes(MemoryLayout layout) {
+        return shellBytes(layout);
+    }
 
+    /**
+     * Estimates the bytes of the definition text. A string already in the set of counted strings is skipped
+     *
+     * @implNote O(1) running time behavior
+     * @param layout the layout of objects
+     * @param counted the strings counted so far, compared by identity, which the definition is added to
+     * @return the estimated bytes
+     */
+    long textBytes(MemoryLayout layout, Set<String> counted) {
+        return counted.add(definition) ? layout.string(definition) : 0;
     }
 }
 
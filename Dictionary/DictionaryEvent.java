@@ -0,0 +1,130 @@
+package comprehensive;
+
+/**
+ * An immutable record of one change to a Dictionary, published to the dictionary's change feed. Events are numbered
+ * by the dictionary in the order the changes happened, starting from 1.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DictionaryEvent {
+    // Variables
+    private final long sequence;
+    private final Type type;
+    private final String word;
+    private final String partOfSpeech;
+    private final String definition;
+    private final String previousDefinition;
+
+    /**
+     * The kinds of change
+     */
+    public enum Type {
+        // A definition was added, to a new word or an existing one
+        ADD,
+        // A definition was replaced by a new one with the same part of speech
+        UPDATE,
+        // A definition was removed
+        REMOVE,
+        // A word was removed along with its last definition, published right after that definition's REMOVE
+        REMOVE_WORD
+    }
+
+    /**
+     * Creates an event
+     *
+     * @param sequence the number of the event
+     * @param type the kind of change
+     * @param word the word that changed
+     * @param partOfSpeech the part of speech of the definition, or null for REMOVE_WORD
+     * @param definition the definition added or removed, the new definition for UPDATE, or null for REMOVE_WORD
+     * @param previousDefinition the definition replaced by UPDATE, or null
+     */
+    DictionaryEvent(long sequence, Type type, String word, String partOfSpeech, String definition,
+                    String previousDefinition) {
+        this.sequence = sequence;
+        this.type = type;
+        this.word = word;
+        this.partOfSpeech = partOfSpeech;
+        this.definition = definition;
+        this.previousDefinition = previousDefinition;
+    }
+
+    /**
+     * Gets the number of the event, one more than the event before it
+     *
+     * @implNote O(1) running time behavior
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the kind of change
+     *
+     * @implNote O(1) running time behavior
+     * @return the type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the word that changed
+     *
+     * @implNote O(1) running time behavior
+     * @return the word
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Gets the part of speech of the definition that changed
+     *
+     * @implNote O(1) running time behavior
+     * @return the part of speech, or null for REMOVE_WORD
+     */
+    public String getPartOfSpeech() {
+        return partOfSpeech;
+    }
+
+    /**
+     * Gets the definition that was added or removed, or the new definition of an update
+     *
+     * @implNote O(1) running time behavior
+     * @return the definition, or null for REMOVE_WORD
+     */
+    public String getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Gets the definition an update replaced
+     *
+     * @implNote O(1) running time behavior
+     * @return the previous definition, or null if the event isn't an UPDATE
+     */
+    public String getPreviousDefinition() {
+        return previousDefinition;
+    }
+
+    /**
+     * Describes the event
+     *
+     * @implNote O(length of the definitions) running time behavior
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append(sequence).append(' ').append(type).append(' ').append(word);
+        if (partOfSpeech != null) {
+            sb.append("::").append(partOfSpeech).append("::").append(definition);
+        }
+        if (previousDefinition != null) {
+            sb.append(" (was ").append(previousDefinition).append(')');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class DictionaryFrozenTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Definitions";
+    private static int problemSizeMin = 10000;
+    private static int problemSizeCount = 20;
+    private static int problemSizeStep = 10000;
+    private static int experimentIterationCount = 25;
+    private static Random rng = new Random();
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static boolean frozen;
+    private static Dictionary dict;
+    private static int dictSize;
+    private static long dictWords;
+    private static String toRead;
+
+
+    public static void main(String[] args) throws IOException {
+        checkEveryEngine();
+        frozen = false;
+        System.out.println("Dictionary");
+        new DictionaryFrozenTimingExperiment().printResults();
+        System.out.println(dict.memoryReport().getTotalBytes() + " estimated bytes" + System.lineSeparator());
+        frozen = true;
+        dictSize = 0;
+        System.out.println("FrozenDictionary");
+        new DictionaryFrozenTimingExperiment().printResults();
+        System.out.println(dict.memoryReport().getTotalBytes() + " estimated bytes");
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryFrozenTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. The dictionary is only rebuilt when the problem size changes.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        if (problemSize != dictSize) {
+            dict = new Dictionary();
+            dictWords = corpus.fill(dict, problemSize);
+            if (frozen) {
+                dict = dict.freeze();
+            }
+            dictSize = problemSize;
+        }
+        toRead = corpus.word(rng.nextInt((int) dictWords));
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        dict.getWord(toRead);
+    }
+
+    /**
+     * Checks that freezing every storage engine holding the same words gives the same file format as the engine
+     *
+     * @throws IOException if the disk-backed, LSM or lazy dictionary's files can't be written
+     * @throws IllegalStateException if a frozen copy differs from its engine
+     */
+    private static void checkEveryEngine() throws IOException {
+        Path directory = Files.createTempDirectory("frozen-check");
+        Path glossary = directory.resolve("glossary.txt");
+        corpus.writeGlossary(glossary, 5000);
+        Dictionary source = new Dictionary();
+        Main.loadDictionaryFile(glossary.toString(), source);
+        ColumnarDictionary columnar = new ColumnarDictionary();
+        Main.loadDictionaryFile(glossary.toString(), columnar);
+        LsmDictionary lsm = new LsmDictionary(directory.resolve("lsm"), 1000, LsmDictionary.DEFAULT_COMPACTION_TRIGGER);
+        Main.loadDictionaryFile(glossary.toString(), lsm);
+        DictionaryRegistry registry = new DictionaryRegistry();
+        Main.loadDictionaryFile(glossary.toString(), registry.create("check"));
+        Dictionary[] engines = {source, columnar, new LazyDictionary(glossary), lsm, registry.get("check"),
+                DiskBackedDictionary.create(source, directory.resolve("words.sorted"), 100)};
+        String expected = source.toFileFormat();
+        for (Dictionary engine : engines) {
+            if (!engine.freeze().toFileFormat().equals(expected)) {
+                throw new IllegalStateException("Freezing a " + engine.getClass().getSimpleName()
+                        + " changed its words");
+            }
+        }
+        lsm.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+}
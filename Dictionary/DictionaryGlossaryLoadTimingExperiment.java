@@ -0,0 +1,86 @@
+package comprehensive;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class DictionaryGlossaryLoadTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Definitions";
+    private static int problemSizeMin = 20000;
+    private static int problemSizeCount = 10;
+    private static int problemSizeStep = 20000;
+    private static int experimentIterationCount = 5;
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static GlossaryCompression compression;
+    private static Path directory;
+    private static Path glossary;
+    private static GlossaryLoader loader;
+    private static int fileSize;
+
+
+    public static void main(String[] args) throws IOException {
+        directory = Files.createTempDirectory("glossary-load");
+        for (GlossaryCompression each : GlossaryCompression.values()) {
+            compression = each;
+            fileSize = 0;
+            System.out.println("Loading " + compression + " glossary files");
+            new DictionaryGlossaryLoadTimingExperiment().printResults();
+            System.out.println(loader.getReport() + System.lineSeparator());
+            Files.delete(glossary);
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryGlossaryLoadTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. The glossary file is only rewritten when the problem size changes.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        if (problemSize == fileSize) {
+            return;
+        }
+        try {
+            Path plain = directory.resolve("plain.txt");
+            corpus.writeGlossary(plain, problemSize);
+            if (compression == GlossaryCompression.NONE) {
+                glossary = plain;
+            } else {
+                glossary = directory.resolve("glossary." + compression);
+                OutputStream file = new BufferedOutputStream(Files.newOutputStream(glossary));
+                try (OutputStream out = compression.compress(file)) {
+                    Files.copy(plain, out);
+                }
+                Files.delete(plain);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        fileSize = problemSize;
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        loader = new GlossaryLoader(glossary);
+        try {
+            loader.loadInto(new Dictionary());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
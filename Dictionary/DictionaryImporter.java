@@ -0,0 +1,327 @@
+package comprehensive;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A class that builds a Dictionary from many glossary files in parallel. Every file is parsed into a sorted run of
+ * definitions on its own fork-join worker, and the runs are merged pairwise up the fork-join tree. Definitions that
+ * are equal by DictionaryDefinition.compareTo for the same word are kept once and counted as duplicates, and the same
+ * definition text given with different parts of speech for one word is reported as a conflict.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DictionaryImporter {
+    // Variables
+    private final int threads;
+    private int duplicates;
+    private ArrayList<String> conflicts = new ArrayList<String>();
+    private ArrayList<String> malformedLines = new ArrayList<String>();
+    // Constants
+    private final String NEWLINE = System.lineSeparator();
+    private final String TAB = "\t";
+    // Orders entries by word, then by DictionaryDefinition.compareTo
+    final private static Comparator<Entry> ENTRY_ORDER = (a, b) -> {
+        int comparison = a.word.compareTo(b.word);
+        return comparison != 0 ? comparison : a.definition.compareTo(b.definition);
+    };
+
+    /**
+     * Creates an importer that uses one worker per available processor
+     */
+    public DictionaryImporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an importer that uses the given number of workers
+     *
+     * @param threads the number of workers
+     */
+    public DictionaryImporter(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * Expands the given paths into the glossary files to import. Directories contribute every regular file directly
+     * inside them, in file name order
+     *
+     * @implNote O(files) running time behavior
+     * @param paths the files and directories
+     * @return the files
+     * @throws IOException if a directory can't be listed
+     */
+    public static List<Path> expand(List<Path> paths) throws IOException {
+        ArrayList<Path> files = new ArrayList<Path>();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> children = Files.list(path)) {
+                    files.addAll(children.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Imports glossary files into a new Dictionary, replacing the counts and reports of any previous import
+     *
+     * @implNote O((definitions * log(definitions per file)) / workers + definitions * log(files)) running time behavior
+     * for parsing and merging, plus O(definitions) to build the Dictionary
+     * @param files the glossary files
+     * @return the dictionary
+     * @throws IOException if a file can't be read
+     */
+    public Dictionary importFiles(List<Path> files) throws IOException {
+        duplicates = 0;
+        conflicts = new ArrayList<String>();
+        malformedLines = new ArrayList<String>();
+        Dictionary dictionary = new Dictionary();
+        if (files.isEmpty()) {
+            return dictionary;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        Run merged;
+        try {
+            merged = pool.invoke(new MergeTask(files, 0, files.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        duplicates = merged.duplicates;
+        malformedLines = merged.malformedLines;
+        // The runs are merged, so every word's definitions are adjacent and in order
+        HashMap<String, Entry> wordDefinitions = new HashMap<String, Entry>();
+        String previousWord = null;
+        for (Entry entry : merged.entries) {
+            if (!entry.word.equals(previousWord)) {
+                wordDefinitions.clear();
+                previousWord = entry.word;
+            }
+            Entry sameText = wordDefinitions.putIfAbsent(entry.definition.getDefinition(), entry);
+            if (sameText != null) {
+                conflicts.add(entry.word + ": \"" + entry.definition.getDefinition() + "\" is a "
+                        + sameText.definition.getPartOfSpeech() + " in " + sameText.source + " and a "
+                        + entry.definition.getPartOfSpeech() + " in " + entry.source);
+            }
+            dictionary.add(entry.word, entry.definition.getPartOfSpeech(), entry.definition.getDefinition());
+        }
+        dictionary.rebuildWordFilter();
+        return dictionary;
+    }
+
+    /**
+     * Gets the number of definitions dropped because the same word already had an equal definition
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of duplicates
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Gets a description of every definition text given with different parts of speech for the same word
+     *
+     * @implNote O(1) running time behavior
+     * @return the conflicts
+     */
+    public List<String> getConflicts() {
+        return Collections.unmodifiableList(conflicts);
+    }
+
+    /**
+     * Gets every line that isn't a valid "word::part of speech::definition" line, with its file and line number
+     *
+     * @implNote O(1) running time behavior
+     * @return the malformed lines
+     */
+    public List<String> getMalformedLines() {
+        return Collections.unmodifiableList(malformedLines);
+    }
+
+    /**
+     * Reports the duplicates, conflicts and malformed lines of the last import
+     *
+     * @implNote O(conflicts + malformed lines) running time behavior
+     * @return the report
+     */
+    public String getReport() {
+        StringBuilder sb = new StringBuilder()
+                .append("duplicate definitions: ").append(duplicates).append(NEWLINE)
+                .append("conflicts: ").append(conflicts.size());
+        for (String conflict : conflicts) {
+            sb.append(NEWLINE).append(TAB).append(conflict);
+        }
+        sb.append(NEWLINE).append("malformed lines: ").append(malformedLines.size());
+        for (String line : malformedLines) {
+            sb.append(NEWLINE).append(TAB).append(line);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parses a glossary file, plain or compressed, into a sorted run without duplicates
+     *
+     * @implNote O(definitions in file * log(definitions in file)) running time behavior
+     * @param file the glossary file
+     * @return the run
+     */
+    private static Run parse(Path file) {
+        Run run = new Run();
+        String source = file.getFileName().toString();
+        try (BufferedReader reader = GlossaryCompression.newReader(file)) {
+            String wordLine;
+            int lineNumber = 0;
+            while ((wordLine = reader.readLine()) != null) {
+                lineNumber++;
+                String[] definitionParts = wordLine.split("::");
+                try {
+                    if (definitionParts.length != 3) {
+                        throw new IllegalArgumentException();
+                    }
+                    run.entries.add(new Entry(definitionParts[0],
+                            new DictionaryDefinition(definitionParts[1], definitionParts[2]), source));
+                } catch (IllegalArgumentException e) {
+                    run.malformedLines.add(source + ":" + lineNumber + ": " + wordLine);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        run.entries.sort(ENTRY_ORDER);
+        // Drop the duplicates within the file, which are now adjacent
+        ArrayList<Entry> unique = new ArrayList<Entry>(run.entries.size());
+        for (Entry entry : run.entries) {
+            if (!unique.isEmpty() && ENTRY_ORDER.compare(unique.get(unique.size() - 1), entry) == 0) {
+                run.duplicates++;
+            } else {
+                unique.add(entry);
+            }
+        }
+        run.entries = unique;
+        return run;
+    }
+
+    /**
+     * Merges two sorted runs into one, keeping the first of any two equal entries
+     *
+     * @implNote O(entries) running time behavior
+     * @param left the first run, whose entries win ties
+     * @param right the second run
+     * @return the merged run
+     */
+    private static Run merge(Run left, Run right) {
+        Run merged = new Run();
+        merged.entries = new ArrayList<Entry>(left.entries.size() + right.entries.size());
+        merged.duplicates = left.duplicates + right.duplicates;
+        merged.malformedLines.addAll(left.malformedLines);
+        merged.malformedLines.addAll(right.malformedLines);
+        int i = 0;
+        int j = 0;
+        while (i < left.entries.size() && j < right.entries.size()) {
+            int comparison = ENTRY_ORDER.compare(left.entries.get(i), right.entries.get(j));
+            if (comparison < 0) {
+                merged.entries.add(left.entries.get(i++));
+            } else if (comparison > 0) {
+                merged.entries.add(right.entries.get(j++));
+            } else {
+                merged.entries.add(left.entries.get(i++));
+                j++;
+                merged.duplicates++;
+            }
+        }
+        merged.entries.addAll(left.entries.subList(i, left.entries.size()));
+        merged.entries.addAll(right.entries.subList(j, right.entries.size()));
+        return merged;
+    }
+
+    /**
+     * A definition of a word and the file it came from
+     */
+    private static class Entry {
+        // Variables
+        private final String word;
+        private final DictionaryDefinition definition;
+        private final String source;
+
+        /**
+         * Creates an entry
+         *
+         * @param word the word
+         * @param definition the definition
+         * @param source the name of the file the definition came from
+         */
+        private Entry(String word, DictionaryDefinition definition, String source) {
+            this.word = word;
+            this.definition = definition;
+            this.source = source;
+        }
+    }
+
+    /**
+     * A sorted run of entries without duplicates, with the duplicates and malformed lines found while building it
+     */
+    private static class Run {
+        // Variables
+        private ArrayList<Entry> entries = new ArrayList<Entry>();
+        private int duplicates;
+        private ArrayList<String> malformedLines = new ArrayList<String>();
+    }
+
+    /**
+     * A fork-join task that parses a range of files and merges their runs. Each half of the range is handled by its
+     * own task, so every file is parsed on its own worker and the merges happen in parallel up the tree
+     */
+    private static class MergeTask extends RecursiveTask<Run> {
+        // Variables
+        private final List<Path> files;
+        private final int low;
+        private final int high;
+        // Constants
+        // RecursiveTask is Serializable, though tasks are never serialized
+        final private static long serialVersionUID = 1L;
+
+        /**
+         * Creates a task for a range of files
+         *
+         * @param files the files
+         * @param low the first file of the range (inclusive)
+         * @param high the last file of the range (exclusive)
+         */
+        private MergeTask(List<Path> files, int low, int high) {
+            this.files = files;
+            this.low = low;
+            this.high = high;
+        }
+
+        /**
+         * Parses and merges the range of files
+         *
+         * @return the merged run
+         */
+        @Override
+        protected Run compute() {
+            if (high - low == 1) {
+                return parse(files.get(low));
+            }
+            int middle = (low + high) >>> 1;
+            MergeTask left = new MergeTask(files, low, middle);
+            left.fork();
+            Run right = new MergeTask(files, middle, high).compute();
+            return merge(left.join(), right);
+        }
+    }
+}
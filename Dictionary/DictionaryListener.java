@@ -0,0 +1,32 @@
+package comprehensive;
+
+import java.util.List;
+
+/**
+ * A receiver of the changes made to a Dictionary, subscribed with Dictionary.subscribe. Events arrive in batches on a
+ * delivery thread of the subscription, in the order the changes happened.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+@FunctionalInterface
+public interface DictionaryListener {
+    /**
+     * Receives the next events
+     *
+     * @param events the events, in increasing sequence order, never empty
+     */
+    void onEvents(List<DictionaryEvent> events);
+
+    /**
+     * Learns that events were dropped because this listener fell too far behind and its buffer filled up. A listener
+     * that can't tolerate gaps rebuilds from a snapshot taken while synchronized on the dictionary, then ignores the
+     * events whose sequence number is at most the snapshot's getSequence, since the snapshot already includes them.
+     * Does nothing unless overridden
+     *
+     * @param firstMissed the sequence number of the first dropped event
+     * @param lastMissed the sequence number of the last dropped event
+     */
+    default void onMissed(long firstMissed, long lastMissed) {
+    }
+}
@@ -0,0 +1,569 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * A class that drives a mixed workload of reads, range queries, adds, updates and removes against a dictionary from
+ * many threads at once, in the style of the Yahoo! Cloud Serving Benchmark. The words every operation targets follow
+ * a Zipfian distribution, so a few hot words get most of the traffic like they do in real use.
+ *
+ * <p>The load runs in steps of 1, 2, 4, ... threads. Every interval the throughput and latency percentiles of each
+ * operation are printed, and each step ends with a summary showing how much the extra threads helped, so it's easy to
+ * see where throughput stops scaling. Dictionaries aren't thread-safe, so every operation holds the dictionary's lock,
+ * the same one LsmDictionary's own methods use.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DictionaryLoadDriver {
+    // Variables
+    private final Dictionary dictionary;
+    private final String[] keys;
+    private final double[] operationCdf;
+    private final CorpusGenerator.Zipf popularity;
+    private final ArrayList<DictionaryReplica> replicas;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    final private String TAB = "\t";
+    final public static double DEFAULT_ZIPF_EXPONENT = 0.99;
+    final private static String[] OPERATIONS = {"read", "range", "add", "update", "remove"};
+    final private static int READ = 0;
+    final private static int RANGE = 1;
+    final private static int ADD = 2;
+    final private static int UPDATE = 3;
+    final private static int REMOVE = 4;
+    // Characters of a word's start shared by the words a range query lists
+    final private static int RANGE_PREFIX = 3;
+    // A step must beat the previous one by this factor to count as still scaling
+    final private static double SCALING_GAIN = 1.1;
+
+    /**
+     * Creates a driver for a dictionary
+     *
+     * @param dictionary the dictionary
+     * @param keys the words operations target, most popular first
+     * @param ratios the relative frequency of reads, range queries, adds, updates and removes
+     * @param zipfExponent the exponent of the Zipfian popularity of the words, 0 for uniform popularity
+     * @throws IllegalArgumentException if there are no keys or the ratios aren't five non-negative numbers with a
+     *                                  positive sum
+     */
+    public DictionaryLoadDriver(Dictionary dictionary, String[] keys, double[] ratios, double zipfExponent)
+            throws IllegalArgumentException {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("There must be at least one key");
+        }
+        if (ratios.length != OPERATIONS.length || Arrays.stream(ratios).anyMatch(ratio -> ratio < 0)
+                || Arrays.stream(ratios).sum() <= 0) {
+            throw new IllegalArgumentException("The ratios must be " + OPERATIONS.length
+                    + " non-negative numbers with a positive sum");
+        }
+        this.dictionary = dictionary;
+        this.keys = keys;
+        this.popularity = new CorpusGenerator.Zipf(keys.length, zipfExponent);
+        this.replicas = new ArrayList<DictionaryReplica>();
+        double total = Arrays.stream(ratios).sum();
+        this.operationCdf = new double[ratios.length];
+        double sum = 0;
+        for (int i = 0; i < ratios.length; i++) {
+            sum += ratios[i];
+            operationCdf[i] = sum / total;
+        }
+        operationCdf[ratios.length - 1] = 1;
+    }
+
+    /**
+     * Runs the load driver, printing the results of every step
+     *
+     * @param args "--definitions" and the number of corpus definitions to load (100000 by default), "--mix" and the
+     *             comma-separated ratios of reads, range queries, adds, updates and removes (80,5,5,5,5 by default),
+     *             "--threads" and the largest number of threads to step up to (twice the processors by default),
+     *             "--seconds" and the length of each step (5 by default), "--zipf" and the exponent of the key
+     *             popularity (0.99 by default), "--columnar" or "--lsm" to load a ColumnarDictionary or an
+     *             LsmDictionary in a temporary directory instead of a Dictionary, "--serve" and a port to replicate
+     *             the dictionary to DictionaryReplica processes from, and "--replicas" and the number of replicas to
+     *             run in this process
+     */
+    public static void main(String[] args) {
+        long definitions = 100000;
+        double[] ratios = {80, 5, 5, 5, 5};
+        int maxThreads = 2 * Runtime.getRuntime().availableProcessors();
+        int seconds = 5;
+        double zipfExponent = DEFAULT_ZIPF_EXPONENT;
+        String engine = "--memory";
+        int port = -1;
+        int numReplicas = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--definitions":
+                        definitions = Long.parseLong(args[++i]);
+                        break;
+                    case "--mix":
+                        ratios = Arrays.stream(args[++i].split(",")).mapToDouble(Double::parseDouble).toArray();
+                        break;
+                    case "--threads":
+                        maxThreads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seconds":
+                        seconds = Integer.parseInt(args[++i]);
+                        break;
+                    case "--zipf":
+                        zipfExponent = Double.parseDouble(args[++i]);
+                        break;
+                    case "--serve":
+                        port = Integer.parseInt(args[++i]);
+                        break;
+                    case "--replicas":
+                        numReplicas = Integer.parseInt(args[++i]);
+                        break;
+                    case "--columnar":
+                    case "--lsm":
+                        engine = args[i];
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.out.println("Usage: DictionaryLoadDriver [--definitions n] [--mix read,range,add,update,remove] "
+                    + "[--threads max] [--seconds s] [--zipf exponent] [--columnar | --lsm] [--serve port] "
+                    + "[--replicas n]");
+            return;
+        }
+        Path directory = null;
+        try {
+            Dictionary dictionary;
+            if (engine.equals("--lsm")) {
+                directory = Files.createTempDirectory("lsm-load");
+                dictionary = new LsmDictionary(directory);
+            } else if (engine.equals("--columnar")) {
+                dictionary = new ColumnarDictionary();
+            } else {
+                dictionary = new Dictionary();
+            }
+            CorpusGenerator corpus = new CorpusGenerator();
+            long start = System.nanoTime();
+            int words = (int) corpus.fill(dictionary, definitions);
+            dictionary.rebuildWordFilter();
+            String[] keys = new String[words];
+            for (int i = 0; i < words; i++) {
+                keys[i] = corpus.word(i);
+            }
+            System.out.println("Loaded " + definitions + " definitions of " + words + " words into a "
+                    + dictionary.getClass().getSimpleName() + " in " + (System.nanoTime() - start) / 1000000 + " ms");
+            DictionaryLoadDriver driver = new DictionaryLoadDriver(dictionary, keys, ratios, zipfExponent);
+            ReplicationPrimary primary = null;
+            if (port >= 0 || numReplicas > 0) {
+                primary = new ReplicationPrimary(dictionary, Math.max(port, 0));
+                System.out.println("Replicating on port " + primary.getPort());
+            }
+            for (int i = 0; i < numReplicas; i++) {
+                DictionaryReplica replica = new DictionaryReplica("localhost", primary.getPort());
+                replica.awaitBootstrap(1, TimeUnit.MINUTES);
+                driver.watch(replica);
+            }
+            driver.scale(maxThreads, seconds * 1000L, 1000);
+            if (primary != null) {
+                System.out.println(System.lineSeparator() + primary.getReplicationStatistics());
+                for (DictionaryReplica replica : driver.replicas) {
+                    replica.close();
+                }
+                primary.close();
+            }
+            if (dictionary instanceof LsmDictionary) {
+                ((LsmDictionary) dictionary).close();
+            }
+        } catch (IOException e) {
+            System.out.print("IO Exception: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (directory != null) {
+                deleteDirectory(directory);
+            }
+        }
+    }
+
+    /**
+     * Adds a replica of the dictionary whose lag is reported every interval
+     *
+     * @implNote O(1) running time behavior
+     * @param replica the replica
+     */
+    public void watch(DictionaryReplica replica) {
+        replicas.add(replica);
+    }
+
+    /**
+     * Runs the workload with 1, 2, 4, ... threads up to the given number, printing every interval, a summary of every
+     * step and the number of threads where throughput stopped scaling
+     *
+     * @implNote O(maxThreads * durationMillis) running time behavior
+     * @param maxThreads the largest number of threads
+     * @param durationMillis the length of each step
+     * @param intervalMillis the time between reports within a step
+     * @return the throughput of each step in operations per second
+     */
+    public double[] scale(int maxThreads, long durationMillis, long intervalMillis) {
+        ArrayList<Integer> threadCounts = new ArrayList<Integer>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(Math.max(1, maxThreads));
+        double[] throughputs = new double[threadCounts.size()];
+        int saturatedAt = -1;
+        for (int i = 0; i < threadCounts.size(); i++) {
+            throughputs[i] = run(threadCounts.get(i), durationMillis, intervalMillis);
+            if (saturatedAt < 0 && i > 0 && throughputs[i] < throughputs[i - 1] * SCALING_GAIN) {
+                saturatedAt = threadCounts.get(i - 1);
+            }
+        }
+        StringBuilder sb = new StringBuilder(NEWLINE).append("Threads").append(TAB).append("ops/s")
+                .append(TAB).append("speedup");
+        for (int i = 0; i < threadCounts.size(); i++) {
+            sb
+                    .append(NEWLINE)
+                    .append(threadCounts.get(i))
+                    .append(TAB)
+                    .append(Math.round(throughputs[i]))
+                    .append(TAB)
+                    .append(String.format("%.2fx", throughputs[i] / throughputs[0]));
+        }
+        sb.append(NEWLINE).append(saturatedAt < 0
+                ? "Throughput kept scaling up to " + threadCounts.get(threadCounts.size() - 1) + " threads"
+                : "Throughput stopped scaling at " + saturatedAt + " threads");
+        System.out.println(sb);
+        return throughputs;
+    }
+
+    /**
+     * Runs the workload on a number of threads for a while, printing the throughput and latency percentiles of each
+     * operation every interval and for the whole run
+     *
+     * @implNote O(durationMillis) running time behavior
+     * @param threads the number of threads
+     * @param durationMillis how long to run for
+     * @param intervalMillis the time between reports
+     * @return the throughput of all operations in operations per second
+     */
+    public double run(int threads, long durationMillis, long intervalMillis) {
+        LatencyHistogram[][] histograms = new LatencyHistogram[threads][OPERATIONS.length];
+        Thread[] workers = new Thread[threads];
+        CountDownLatch started = new CountDownLatch(1);
+        long deadline = System.nanoTime() + durationMillis * 1000000;
+        SplittableRandom seeds = new SplittableRandom(threads);
+        for (int t = 0; t < threads; t++) {
+            for (int op = 0; op < OPERATIONS.length; op++) {
+                histograms[t][op] = new LatencyHistogram();
+            }
+            LatencyHistogram[] own = histograms[t];
+            SplittableRandom random = seeds.split();
+            int worker = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    started.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long sequence = 0;
+                while (System.nanoTime() < deadline) {
+                    int operation = draw(random);
+                    String key = keys[popularity.sample(random) - 1];
+                    long begin = System.nanoTime();
+                    perform(operation, key, "Load definition " + worker + "-" + sequence++ + ".");
+                    own[operation].record(System.nanoTime() - begin);
+                }
+            }, "load-" + t);
+            workers[t].start();
+        }
+        System.out.println(NEWLINE + threads + (threads == 1 ? " thread" : " threads"));
+        started.countDown();
+        long begin = System.nanoTime();
+        long[][] previous = snapshot(histograms);
+        long[][] first = previous;
+        long last = begin;
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(Math.max(1, Math.min(intervalMillis, (deadline - System.nanoTime()) / 1000000)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long now = System.nanoTime();
+            long[][] current = snapshot(histograms);
+            System.out.println(String.format("%6.1fs", (now - begin) / 1e9) + TAB
+                    + report(current, previous, now - last) + replicaReport());
+            previous = current;
+            last = now;
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+        long[][] total = snapshot(histograms);
+        System.out.println(" total" + TAB + report(total, first, elapsed));
+        long operations = 0;
+        for (long[] counts : total) {
+            operations += LatencyHistogram.count(counts);
+        }
+        return operations / (elapsed / 1e9);
+    }
+
+    /**
+     * Performs one operation on a word, holding the dictionary's lock. Updates and removes of words that aren't in
+     * the dictionary add them back instead, so the set of words stays about the same size
+     *
+     * @implNote O(cost of the operation) running time behavior
+     * @param operation the operation
+     * @param key the word
+     * @param text the definition for adds and updates
+     */
+    private void perform(int operation, String key, String text) {
+        synchronized (dictionary) {
+            if ((operation == UPDATE || operation == REMOVE) && !dictionary.containsWord(key)) {
+                operation = ADD;
+            }
+            switch (operation) {
+                case READ:
+                    dictionary.getWord(key);
+                    break;
+                case RANGE:
+                    String prefix = key.substring(0, Math.min(RANGE_PREFIX, key.length()));
+                    dictionary.getWordsInRange(key, prefix + '\uffff');
+                    break;
+                case ADD:
+                    dictionary.add(key, "noun", text);
+                    break;
+                case UPDATE:
+                    dictionary.updateDefinition(key, 1, text);
+                    break;
+                default:
+                    dictionary.removeDefinition(key, 1);
+            }
+        }
+    }
+
+    /**
+     * Draws an operation from the mix
+     *
+     * @implNote O(operations) running time behavior
+     * @param random the random numbers to draw from
+     * @return the operation
+     */
+    private int draw(SplittableRandom random) {
+        double value = random.nextDouble();
+        int operation = 0;
+        while (operationCdf[operation] < value) {
+            operation++;
+        }
+        return operation;
+    }
+
+    /**
+     * Sums the latency counts of every thread for each operation
+     *
+     * @implNote O(threads * buckets) running time behavior
+     * @param histograms the histograms of every thread and operation
+     * @return the summed bucket counts of each operation
+     */
+    private static long[][] snapshot(LatencyHistogram[][] histograms) {
+        long[][] counts = new long[OPERATIONS.length][LatencyHistogram.BUCKETS];
+        for (LatencyHistogram[] thread : histograms) {
+            for (int op = 0; op < OPERATIONS.length; op++) {
+                thread[op].addTo(counts[op]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Describes the operations done between two snapshots
+     *
+     * @implNote O(buckets) running time behavior
+     * @param current the later snapshot
+     * @param previous the earlier snapshot
+     * @param elapsedNanos the time between the snapshots
+     * @return the throughput, 50th and 99th percentile latency of each operation that was done
+     */
+    private String report(long[][] current, long[][] previous, long elapsedNanos) {
+        StringBuilder sb = new StringBuilder();
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            long[] counts = new long[LatencyHistogram.BUCKETS];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = current[op][i] - previous[op][i];
+            }
+            long count = LatencyHistogram.count(counts);
+            if (count == 0) {
+                continue;
+            }
+            sb
+                    .append(OPERATIONS[op])
+                    .append(' ')
+                    .append(Math.round(count / (elapsedNanos / 1e9)))
+                    .append(" ops/s p50 ")
+                    .append(micros(LatencyHistogram.percentile(counts, 0.5)))
+                    .append(" p99 ")
+                    .append(micros(LatencyHistogram.percentile(counts, 0.99)))
+                    .append(TAB);
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Describes how far the watched replicas are behind the dictionary
+     *
+     * @implNote O(replicas) running time behavior
+     * @return the largest lag of any replica in changes and milliseconds, or an empty string if there are no replicas
+     */
+    private String replicaReport() {
+        if (replicas.isEmpty()) {
+            return "";
+        }
+        long lag = 0;
+        long lagMillis = 0;
+        for (DictionaryReplica replica : replicas) {
+            lag = Math.max(lag, replica.getLag());
+            lagMillis = Math.max(lagMillis, replica.getLagMillis());
+        }
+        return TAB + "replica lag " + lag + " changes " + lagMillis + "ms";
+    }
+
+    /**
+     * Formats a latency in microseconds
+     *
+     * @implNote O(1) running time behavior
+     * @param nanos the latency in nanoseconds
+     * @return the formatted latency
+     */
+    private static String micros(long nanos) {
+        return String.format("%.1fus", nanos / 1000.0);
+    }
+
+    /**
+     * Deletes a directory and everything in it
+     *
+     * @implNote O(files) running time behavior
+     * @param directory the directory
+     */
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A histogram of latencies recorded by one thread and read by another. Each power of two is split into 16
+     * buckets, so percentiles are accurate to within about 6% over the whole range of latencies
+     */
+    private static class LatencyHistogram {
+        // Variables
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        // Constants
+        final private static int SUB_BUCKETS = 16;
+        final private static int BUCKETS = (64 - 3) * SUB_BUCKETS;
+
+        /**
+         * Records a latency
+         *
+         * @implNote O(1) running time behavior
+         * @param nanos the latency in nanoseconds
+         */
+        private void record(long nanos) {
+            counts.incrementAndGet(bucket(Math.max(0, nanos)));
+        }
+
+        /**
+         * Adds the counts of every bucket to an array
+         *
+         * @implNote O(buckets) running time behavior
+         * @param sums the array
+         */
+        private void addTo(long[] sums) {
+            for (int i = 0; i < BUCKETS; i++) {
+                sums[i] += counts.get(i);
+            }
+        }
+
+        /**
+         * Gets the bucket of a latency
+         *
+         * @implNote O(1) running time behavior
+         * @param nanos the latency in nanoseconds
+         * @return the bucket
+         */
+        private static int bucket(long nanos) {
+            if (nanos < SUB_BUCKETS) {
+                return (int) nanos;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+            return (exponent - 3) * SUB_BUCKETS + (int) ((nanos >>> (exponent - 4)) & (SUB_BUCKETS - 1));
+        }
+
+        /**
+         * Gets the smallest latency that falls in a bucket
+         *
+         * @implNote O(1) running time behavior
+         * @param bucket the bucket
+         * @return the latency in nanoseconds
+         */
+        private static long lowest(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + 3;
+            return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - 4);
+        }
+
+        /**
+         * Counts the latencies in bucket counts
+         *
+         * @implNote O(buckets) running time behavior
+         * @param counts the bucket counts
+         * @return the number of latencies
+         */
+        private static long count(long[] counts) {
+            long count = 0;
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+            return count;
+        }
+
+        /**
+         * Gets a percentile of the latencies in bucket counts
+         *
+         * @implNote O(buckets) running time behavior
+         * @param counts the bucket counts
+         * @param fraction the percentile as a fraction, from 0 to 1
+         * @return the smallest latency of the bucket holding the percentile, in nanoseconds
+         */
+        private static long percentile(long[] counts, double fraction) {
+            long rank = (long) Math.ceil(fraction * count(counts));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(1, rank)) {
+                    return lowest(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public class DictionaryLsmReadTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Definitions";
+    private static int problemSizeMin = 10000;
+    private static int problemSizeCount = 20;
+    private static int problemSizeStep = 10000;
+    private static int experimentIterationCount = 25;
+    private static int flushThreshold = 5000;
+    private static Random rng = new Random();
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static LsmDictionary dict;
+    private static long dictWords;
+    private static Path directory;
+    private static int dictSize;
+    private static String toRead;
+
+
+    public static void main(String[] args){
+        TimingExperiment timingExperiment = new DictionaryLsmReadTimingExperiment();
+        timingExperiment.printResults();
+        System.out.println(dict.getStorageStatistics());
+        closeDictionary();
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryLsmReadTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. The dictionary is only rebuilt when the problem size changes.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        if (problemSize != dictSize) {
+            closeDictionary();
+            dict = makeDictionary(problemSize);
+            dictSize = problemSize;
+        }
+        toRead = corpus.word(rng.nextInt((int) dictWords));
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        dict.getWord(toRead);
+    }
+
+    private static LsmDictionary makeDictionary(int problemSize){
+        try {
+            directory = Files.createTempDirectory("lsm-experiment");
+            LsmDictionary lsm = new LsmDictionary(directory, flushThreshold, LsmDictionary.DEFAULT_COMPACTION_TRIGGER);
+            dictWords = corpus.fill(lsm, problemSize);
+            lsm.awaitCompaction();
+            return lsm;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeDictionary(){
+        if (dict == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            dict.close();
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package comprehensive;
+
+/**
+ * Checks Dictionary.memoryReport against the heap actually retained by dictionaries of growing size. Each dictionary
+ * is built from the shared corpus, the heap is measured before and after with garbage collections in between, and
+ * the estimate is printed next to the measured bytes. The run fails if any estimate is out of tolerance.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DictionaryMemoryExperiment {
+    private static int problemSizeMin = 100000;
+    private static int problemSizeCount = 5;
+    private static int problemSizeStep = 100000;
+    // Estimates further than this from the measured bytes are flagged, and fail the run
+    private static double tolerance = 0.1;
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static Dictionary dict;
+
+    public static void main(String[] args){
+        int outOfTolerance = 0;
+        System.out.println("Definitions\tmeasured (bytes)\testimated (bytes)\terror");
+        for (int size = problemSizeMin; size < problemSizeMin + problemSizeCount * problemSizeStep;
+             size += problemSizeStep) {
+            dict = null;
+            long before = usedHeap();
+            dict = corpus.makeDictionary(size);
+            long measured = usedHeap() - before;
+            long estimated = dict.memoryReport().getTotalBytes();
+            double error = (double) (estimated - measured) / measured;
+            if (Math.abs(error) > tolerance) {
+                outOfTolerance++;
+            }
+            System.out.println(size + "\t\t" + measured + "\t\t" + estimated + "\t\t"
+                    + String.format("%+.1f%%", 100 * error)
+                    + (Math.abs(error) > tolerance ? "\tOUT OF TOLERANCE" : ""));
+        }
+        System.out.println(System.lineSeparator() + dict.memoryReport());
+        if (outOfTolerance > 0) {
+            throw new IllegalStateException(outOfTolerance + " estimates are out of tolerance");
+        }
+    }
+
+    private static long usedHeap(){
+        // Collect until the used heap stops shrinking, so only reachable objects are counted
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used) {
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+}
@@ -0,0 +1,76 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+
+public class DictionaryParallelRenderTimingExperiment extends TimingExperiment {
+    private static String problemSizeDescription = "Definitions";
+    private static int problemSizeMin = 100000;
+    private static int problemSizeCount = 5;
+    private static int problemSizeStep = 100000;
+    private static int experimentIterationCount = 9;
+    private static CorpusGenerator corpus = new CorpusGenerator();
+    private static ForkJoinPool pool;
+    private static Dictionary dict;
+    private static int dictSize;
+    private static int[] threadCounts = {1, 4, 16};
+
+
+    public static void main(String[] args){
+        for (int threads : threadCounts) {
+            pool = new ForkJoinPool(threads);
+            System.out.println(threads + " thread" + (threads == 1 ? "" : "s"));
+            new DictionaryParallelRenderTimingExperiment().printResults();
+            System.out.println();
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Constructor to build a general timing experiment.
+     */
+    public DictionaryParallelRenderTimingExperiment() {
+        super(problemSizeDescription, problemSizeMin, problemSizeCount, problemSizeStep, experimentIterationCount);
+    }
+
+    /**
+     * Abstract method for setting up the infrastructure for the experiment
+     * for a given problem size. The dictionary is only rebuilt when the problem size changes, and is checked to
+     * render the same on the pool as word by word on one thread.
+     *
+     * @param problemSize - the problem size for one experiment
+     */
+    @Override
+    protected void setupExperiment(int problemSize) {
+        if (problemSize != dictSize) {
+            dict = new Dictionary();
+            corpus.fill(dict, problemSize);
+            dictSize = problemSize;
+            // Rendered word by word without the chunking, so a chunk boundary bug can't hide on both sides
+            StringBuilder sequential = new StringBuilder();
+            for (DictionaryWord dictionaryWord : dict.dictionaryWords()) {
+                sequential.append(dictionaryWord.toFileFormat());
+            }
+            int newline = System.lineSeparator().length();
+            String expected = sequential.substring(0, Math.max(sequential.length() - newline, 0));
+            StringBuilder written = new StringBuilder();
+            try {
+                dict.writeFileFormat(written, pool);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!expected.equals(dict.toFileFormat(pool)) || !expected.contentEquals(written)) {
+                throw new IllegalStateException("Parallel rendering differs from sequential rendering");
+            }
+        }
+    }
+
+    /**
+     * Abstract method to run the computation to be timed.
+     */
+    @Override
+    protected void runComputation() {
+        dict.toFileFormat(pool);
+    }
+}
@@ -0,0 +1,208 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A class that hosts many named dictionaries in one JVM, such as one per tenant. Every dictionary it creates stores
+ * its words, parts of speech and definitions in one shared InternPool, so content held by many dictionaries (like a
+ * base glossary every tenant starts from) is kept once, and memory grows with the distinct content rather than with
+ * the number of dictionaries. Evicting a dictionary releases its strings, and strings no other dictionary holds leave
+ * the pool.
+ *
+ * <p>The registry is safe to share between threads. The dictionaries it hands out aren't, any more than any other
+ * Dictionary is, but different dictionaries can be used from different threads at once.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DictionaryRegistry {
+    // Variables
+    private final InternPool pool;
+    private final TreeMap<String, PooledDictionary> dictionaries;
+
+    /**
+     * Creates an empty registry with its own pool
+     */
+    public DictionaryRegistry() {
+        pool = new InternPool();
+        dictionaries = new TreeMap<String, PooledDictionary>();
+    }
+
+    /**
+     * Creates an empty dictionary under a name
+     *
+     * @implNote O(log(dictionaries)) running time behavior
+     * @param name the name
+     * @return the dictionary
+     * @throws IllegalArgumentException if a dictionary already has the name
+     */
+    public synchronized Dictionary create(String name) throws IllegalArgumentException {
+        if (dictionaries.containsKey(name)) {
+            throw new IllegalArgumentException("A dictionary named " + name + " already exists");
+        }
+        PooledDictionary dictionary = new PooledDictionary(pool);
+        dictionaries.put(name, dictionary);
+        return dictionary;
+    }
+
+    /**
+     * Creates a dictionary under a name from a glossary file. The file is read without holding the registry's lock,
+     * so other dictionaries can be used and registered meanwhile, and the dictionary is only registered once it is
+     * loaded. Nothing is registered if the file can't be read
+     *
+     * @implNote O(definitions + length of the definitions) running time behavior, O(log(dictionaries)) of it under
+     * the registry's lock
+     * @param name the name
+     * @param file the glossary file
+     * @return the dictionary
+     * @throws IllegalArgumentException if a dictionary already has the name, or was given it while the file was read
+     * @throws IOException if the file can't be read
+     */
+    public Dictionary load(String name, Path file) throws IllegalArgumentException, IOException {
+        synchronized (this) {
+            // Fails before reading the file when the name is already taken
+            if (dictionaries.containsKey(name)) {
+                throw new IllegalArgumentException("A dictionary named " + name + " already exists");
+            }
+        }
+        PooledDictionary dictionary = new PooledDictionary(pool);
+        boolean registered = false;
+        try {
+            Main.loadDictionaryFile(file.toString(), dictionary);
+            synchronized (this) {
+                if (dictionaries.containsKey(name)) {
+                    throw new IllegalArgumentException("A dictionary named " + name + " already exists");
+                }
+                dictionaries.put(name, dictionary);
+                registered = true;
+            }
+        } finally {
+            if (!registered) {
+                dictionary.releaseAll();
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Creates a dictionary under a name holding a copy of another registered dictionary. The copy shares every string
+     * with the original through the pool, and either can then change without affecting the other
+     *
+     * @implNote O(definitions * log(definitions)) running time behavior
+     * @param name the name of the copy
+     * @param baseName the name of the dictionary to copy
+     * @return the copy
+     * @throws IllegalArgumentException if a dictionary already has the name, or no dictionary has the base name
+     */
+    public synchronized Dictionary derive(String name, String baseName) throws IllegalArgumentException {
+        PooledDictionary base = dictionaries.get(baseName);
+        if (base == null) {
+            throw new IllegalArgumentException("No dictionary is named " + baseName);
+        }
+        Dictionary dictionary = create(name);
+        for (DictionaryWord dictionaryWord : base.dictionaryWords()) {
+            for (DictionaryDefinition definition : dictionaryWord.getDefinitionSet()) {
+                dictionary.add(dictionaryWord.getWord(), definition.getPartOfSpeech(), definition.getDefinition());
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * Gets the dictionary with a name
+     *
+     * @implNote O(log(dictionaries)) running time behavior
+     * @param name the name
+     * @return the dictionary, or null if no dictionary has the name
+     */
+    public synchronized Dictionary get(String name) {
+        return dictionaries.get(name);
+    }
+
+    /**
+     * Removes the dictionary with a name and releases its strings from the pool. The dictionary must not be used
+     * afterwards
+     *
+     * @implNote O(length of the words and definitions of the dictionary) running time behavior
+     * @param name the name
+     * @return true if a dictionary was removed, false if no dictionary has the name
+     */
+    public synchronized boolean evict(String name) {
+        PooledDictionary dictionary = dictionaries.remove(name);
+        if (dictionary == null) {
+            return false;
+        }
+        dictionary.releaseAll();
+        return true;
+    }
+
+    /**
+     * Gets the names of the registered dictionaries
+     *
+     * @implNote O(dictionaries) running time behavior
+     * @return the names in lexicographic order, a copy that doesn't change with the registry
+     */
+    public synchronized Set<String> names() {
+        return new TreeSet<String>(dictionaries.keySet());
+    }
+
+    /**
+     * Gets the number of registered dictionaries
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of dictionaries
+     */
+    public synchronized int size() {
+        return dictionaries.size();
+    }
+
+    /**
+     * Gets the pool the dictionaries store their strings in
+     *
+     * @implNote O(1) running time behavior
+     * @return the pool
+     */
+    public InternPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Estimates the heap retained by the registry from the layout of the running JVM
+     *
+     * @implNote O(length of the words and definitions of every dictionary) running time behavior
+     * @return the memory report
+     */
+    public MemoryReport memoryReport() {
+        return memoryReport(MemoryLayout.current());
+    }
+
+    /**
+     * Estimates the heap retained by the registry: the structures of each dictionary without the strings, which are
+     * counted once in the pool. The per word and per definition figures are over the words and definitions of every
+     * dictionary together
+     *
+     * @implNote O(length of the words and definitions of every dictionary) running time behavior
+     * @param layout the layout of objects to estimate with
+     * @return the memory report
+     */
+    public synchronized MemoryReport memoryReport(MemoryLayout layout) {
+        long structures = 0;
+        int numWords = 0;
+        int numDefinitions = 0;
+        for (PooledDictionary dictionary : dictionaries.values()) {
+            MemoryReport report = dictionary.memoryReport(layout);
+            structures += report.getTotalBytes() - report.getBytes("word strings")
+                    - report.getBytes("definition strings");
+            numWords += report.getNumWords();
+            numDefinitions += report.getNumDefinitions();
+        }
+        MemoryReport report = new MemoryReport(layout, numWords, numDefinitions);
+        report.add("dictionaries", structures + layout.treeMap(dictionaries.size(), false), true);
+        report.add("intern pool", pool.retainedBytes(layout), true);
+        return report;
+    }
+}
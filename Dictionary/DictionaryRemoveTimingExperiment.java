@@ -9,9 +9,9 @@ public class DictionaryRemoveTimingExperiment extends TimingExperiment {
     private static int problemSizeStep = 1000  ;
     private static int experimentIterationCount = 25;
     private static Random rng = new Random();
-    private static final String[] elements = new String[]{"Test", "noun", "testing"};
-    final static String[]  POSARRAY = new String[]{"noun", "verb", "adj", "adv", "pron", "prep", "conj", "interj"};
+    private static CorpusGenerator corpus = new CorpusGenerator();
     private static Dictionary dict = new Dictionary();
+    private static long dictWords;
     private static String toRemove;
 
 
@@ -35,7 +35,9 @@ public class DictionaryRemoveTimingExperiment extends TimingExperiment {
      */
     @Override
     protected void setupExperiment(int problemSize) {
-        dict = makeDictionary(problemSize);
+        dict = new Dictionary();
+        dictWords = corpus.fill(dict, problemSize);
+        toRemove = corpus.word(rng.nextInt((int) dictWords));
     }
 
     /**
@@ -45,16 +47,5 @@ public class DictionaryRemoveTimingExperiment extends TimingExperiment {
     protected void runComputation() {
         dict.removeDefinition(toRemove, 1);
     }
-
-    private static Dictionary makeDictionary(int problemSize){
-        for(int i = 0; i < problemSize; i ++){
-            int number = rng.nextInt(problemSize / 4);
-            int posRng = rng.nextInt(POSARRAY.length - 1);
-            String word = ((Integer)number).toString();
-            toRemove = word;
-            dict.add(word, POSARRAY[posRng], word + word + word + " " + word);
-        }
-        return dict;
-    }
 }
 
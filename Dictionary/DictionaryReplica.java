@@ -0,0 +1,392 @@
+package comprehensive;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A read replica of a Dictionary served by a ReplicationPrimary. The replica bootstraps from the primary's snapshot,
+ * then tails its changes and applies each batch of them at once while holding the local dictionary's lock, so readers
+ * that hold the same lock never see half a batch. If the connection drops, or the primary cut the replica off for
+ * falling behind, the replica reconnects and bootstraps again into a fresh dictionary.
+ *
+ * <p>Run it as its own process with {@code java comprehensive.DictionaryReplica [host] port [seconds]} to print its
+ * replication lag every second.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DictionaryReplica implements Closeable {
+    // Variables
+    private final String host;
+    private final int port;
+    private final Supplier<Dictionary> engine;
+    private final CountDownLatch bootstrapped;
+    private final Thread receiver;
+    private volatile Dictionary dictionary;
+    private volatile Socket socket;
+    private volatile boolean closed;
+    private volatile long appliedSequence;
+    private volatile long primarySequence;
+    private volatile long lagMillis;
+    private volatile long appliedChanges;
+    private volatile int bootstraps;
+    private volatile Exception failure;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    final private static long RECONNECT_MILLIS = 500;
+    final private static int BUFFER_SIZE = 1 << 16;
+    final private static DictionaryEvent.Type[] TYPES = DictionaryEvent.Type.values();
+
+    /**
+     * Starts replicating a primary into an in-memory Dictionary
+     *
+     * @param host the primary's host
+     * @param port the primary's port
+     */
+    public DictionaryReplica(String host, int port) {
+        this(host, port, Dictionary::new);
+    }
+
+    /**
+     * Starts replicating a primary into dictionaries made by an engine, a new one every time the replica bootstraps
+     *
+     * @param host the primary's host
+     * @param port the primary's port
+     * @param engine makes an empty dictionary
+     */
+    public DictionaryReplica(String host, int port, Supplier<Dictionary> engine) {
+        this.host = host;
+        this.port = port;
+        this.engine = engine;
+        this.dictionary = engine.get();
+        this.bootstrapped = new CountDownLatch(1);
+        this.receiver = new Thread(this::receive, "replica-" + host + ":" + port);
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    /**
+     * Follows a primary until interrupted or out of time, printing the replication lag every second
+     *
+     * @param args the primary's host (localhost if left out), its port, and the number of seconds to run for
+     */
+    public static void main(String[] args) {
+        String host = "localhost";
+        int port;
+        long seconds = Long.MAX_VALUE;
+        try {
+            int next = 0;
+            if (args.length > 1 && !args[0].matches("\\d+")) {
+                host = args[next++];
+            }
+            port = Integer.parseInt(args[next++]);
+            if (next < args.length) {
+                seconds = Long.parseLong(args[next]);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            System.out.println("Usage: DictionaryReplica [host] port [seconds]");
+            return;
+        }
+        try (DictionaryReplica replica = new DictionaryReplica(host, port)) {
+            for (long second = 1; second <= seconds; second++) {
+                Thread.sleep(1000);
+                System.out.println(String.format("%6ds", second) + "\t" + replica.getReplicationStatistics()
+                        .replace(System.lineSeparator(), ", "));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until the replica has bootstrapped from the primary for the first time
+     *
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if the replica has bootstrapped, false if the time ran out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitBootstrap(long timeout, TimeUnit unit) throws InterruptedException {
+        return bootstrapped.await(timeout, unit);
+    }
+
+    /**
+     * Gets the local dictionary. It changes as batches are applied, so hold its lock while reading it. A new
+     * dictionary replaces it whenever the replica bootstraps again
+     *
+     * @implNote O(1) running time behavior
+     * @return the dictionary
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Reads the local dictionary while holding its lock
+     *
+     * @implNote O(cost of the reader) running time behavior
+     * @param reader the read to perform
+     * @param <T> the type of the result
+     * @return the reader's result
+     */
+    public <T> T read(Function<Dictionary, T> reader) {
+        Dictionary current = dictionary;
+        synchronized (current) {
+            return reader.apply(current);
+        }
+    }
+
+    /**
+     * Gets the sequence number of the latest change applied to the local dictionary
+     *
+     * @implNote O(1) running time behavior
+     * @return the sequence number
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Gets the latest sequence number the primary has reported
+     *
+     * @implNote O(1) running time behavior
+     * @return the sequence number
+     */
+    public long getPrimarySequence() {
+        return primarySequence;
+    }
+
+    /**
+     * Gets the number of changes the primary had made that the replica hadn't applied, as of the primary's latest frame
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of changes
+     */
+    public long getLag() {
+        return Math.max(0, primarySequence - appliedSequence);
+    }
+
+    /**
+     * Gets how long ago the primary sent the latest batch the replica applied, measured when it was applied, or 0 once
+     * the primary reports nothing newer. Only meaningful if both clocks agree, like on one machine
+     *
+     * @implNote O(1) running time behavior
+     * @return the lag in milliseconds
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Checks if the replica is connected to the primary
+     *
+     * @implNote O(1) running time behavior
+     * @return true if connected
+     */
+    public boolean isConnected() {
+        Socket current = socket;
+        return current != null && !current.isClosed();
+    }
+
+    /**
+     * Gets the exception that ended the latest connection to the primary
+     *
+     * @implNote O(1) running time behavior
+     * @return the exception, or null if no connection has failed
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    /**
+     * Reports the applied and primary sequence numbers, the lag in changes and milliseconds, the number of changes
+     * applied and the number of times the replica bootstrapped
+     *
+     * @implNote O(1) running time behavior
+     * @return the replication statistics
+     */
+    public String getReplicationStatistics() {
+        return "applied sequence: " + appliedSequence + NEWLINE +
+                "primary sequence: " + primarySequence + NEWLINE +
+                "lag: " + getLag() + " changes, " + lagMillis + " ms" + NEWLINE +
+                "changes applied: " + appliedChanges + NEWLINE +
+                "bootstraps: " + bootstraps;
+    }
+
+    /**
+     * Stops replicating and disconnects. The local dictionary keeps its contents
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Nothing is left to do with a socket that couldn't close
+            }
+        }
+        receiver.interrupt();
+    }
+
+    /**
+     * Connects to the primary and follows it until the replica is closed, reconnecting whenever the connection ends
+     */
+    private void receive() {
+        while (!closed) {
+            try (Socket connection = new Socket(host, port)) {
+                socket = connection;
+                if (closed) {
+                    return;
+                }
+                replicate(new DataInputStream(new BufferedInputStream(connection.getInputStream(), BUFFER_SIZE)));
+            } catch (IOException | RuntimeException e) {
+                if (closed) {
+                    return;
+                }
+                failure = e;
+            }
+            try {
+                Thread.sleep(RECONNECT_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Loads the snapshot that starts a connection into a new dictionary, then applies every later frame until the
+     * connection ends
+     *
+     * @param in the connection's stream
+     * @throws IOException if the connection fails, or a change doesn't follow the one before it
+     */
+    private void replicate(DataInputStream in) throws IOException {
+        if (in.readByte() != ReplicationProtocol.SNAPSHOT) {
+            throw new IOException("The primary didn't start with a snapshot");
+        }
+        readHeader(in);
+        long sequence = in.readLong();
+        int numDefinitions = in.readInt();
+        Dictionary fresh = engine.get();
+        for (int i = 0; i < numDefinitions; i++) {
+            fresh.add(ReplicationProtocol.readString(in), ReplicationProtocol.readString(in),
+                    ReplicationProtocol.readString(in));
+        }
+        dictionary = fresh;
+        appliedSequence = sequence;
+        bootstraps++;
+        bootstrapped.countDown();
+        while (!closed) {
+            byte type = in.readByte();
+            long sentMillis = readHeader(in);
+            if (type == ReplicationProtocol.EVENTS) {
+                applyEvents(in);
+                lagMillis = Math.max(0, System.currentTimeMillis() - sentMillis);
+            } else if (type != ReplicationProtocol.HEARTBEAT) {
+                throw new IOException("Unknown frame type " + type);
+            }
+            if (appliedSequence >= primarySequence) {
+                lagMillis = 0;
+            }
+        }
+    }
+
+    /**
+     * Reads the start of a frame, recording the primary's latest sequence number
+     *
+     * @param in the connection's stream
+     * @return the time the primary sent the frame
+     * @throws IOException if the connection fails
+     */
+    private long readHeader(DataInputStream in) throws IOException {
+        primarySequence = in.readLong();
+        return in.readLong();
+    }
+
+    /**
+     * Reads a batch of changes and applies all of them while holding the local dictionary's lock
+     *
+     * @implNote O(changes * cost of a change) running time behavior
+     * @param in the connection's stream
+     * @throws IOException if the connection fails, or a change doesn't follow the one before it or can't be applied
+     */
+    private void applyEvents(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        DictionaryEvent[] events = new DictionaryEvent[count];
+        for (int i = 0; i < count; i++) {
+            long sequence = in.readLong();
+            int type = in.readByte();
+            if (type < 0 || type >= TYPES.length) {
+                throw new IOException("Unknown change type " + type);
+            }
+            events[i] = new DictionaryEvent(sequence, TYPES[type], ReplicationProtocol.readString(in),
+                    ReplicationProtocol.readString(in), ReplicationProtocol.readString(in),
+                    ReplicationProtocol.readString(in));
+        }
+        Dictionary current = dictionary;
+        synchronized (current) {
+            for (DictionaryEvent event : events) {
+                if (event.getSequence() != appliedSequence + 1) {
+                    throw new IOException("Expected change " + (appliedSequence + 1) + " but got "
+                            + event.getSequence());
+                }
+                apply(current, event);
+                appliedSequence = event.getSequence();
+            }
+        }
+        appliedChanges += count;
+    }
+
+    /**
+     * Makes a change to the local dictionary
+     *
+     * @implNote O(definitions of the word + cost of the change) running time behavior
+     * @param target the local dictionary
+     * @param event the change
+     * @throws IOException if the definition the change refers to isn't in the local dictionary
+     */
+    private static void apply(Dictionary target, DictionaryEvent event) throws IOException {
+        switch (event.getType()) {
+            case ADD:
+                target.add(event.getWord(), event.getPartOfSpeech(), event.getDefinition());
+                break;
+            case UPDATE:
+                target.updateDefinition(event.getWord(), indexOf(target, event, event.getPreviousDefinition()),
+                        event.getDefinition());
+                break;
+            case REMOVE:
+                target.removeDefinition(event.getWord(), indexOf(target, event, event.getDefinition()));
+                break;
+            default:
+                // The REMOVE before it already removed the word with its last definition
+                break;
+        }
+    }
+
+    /**
+     * Finds the index (starting from 1) a definition of a change's word has in sorted order
+     *
+     * @implNote O(definitions of the word) running time behavior
+     * @param target the local dictionary
+     * @param event the change
+     * @param text the text of the definition, with the change's part of speech
+     * @return the index
+     * @throws IOException if the word doesn't have the definition, so the replica has diverged from the primary
+     */
+    private static int indexOf(Dictionary target, DictionaryEvent event, String text) throws IOException {
+        int index = target.definitionIndex(event.getWord(), event.getPartOfSpeech(), text);
+        if (index > 0) {
+            return index;
+        }
+        throw new IOException("Change " + event.getSequence() + " refers to a definition the replica doesn't have");
+    }
+}
@@ -0,0 +1,115 @@
+package comprehensive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.LongConsumer;
+
+/**
+ * An immutable point-in-time view of a Dictionary, taken by Dictionary.snapshot. A snapshot can be read on any
+ * thread while the dictionary it came from keeps changing.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DictionarySnapshot implements Closeable {
+    // Variables
+    private final DictionaryWord[] words;
+    private final int numDefinitions;
+    private final long sequence;
+    private final Runnable onClose;
+    private boolean closed;
+    // Constants
+    private final String NEWLINE = System.lineSeparator();
+
+    /**
+     * Creates a snapshot over words that will no longer be modified
+     *
+     * @param words the words in lexicographic order
+     * @param numDefinitions the total number of definitions of the words
+     * @param sequence the sequence number of the latest change the words include
+     * @param onClose called once when the snapshot is closed
+     */
+    DictionarySnapshot(DictionaryWord[] words, int numDefinitions, long sequence, Runnable onClose) {
+        this.words = words;
+        this.numDefinitions = numDefinitions;
+        this.sequence = sequence;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Gets the number of words in the snapshot
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of words
+     */
+    public int numWords() {
+        return words.length;
+    }
+
+    /**
+     * Gets the number of definitions in the snapshot
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    public int numDefinitions() {
+        return numDefinitions;
+    }
+
+    /**
+     * Gets the sequence number of the latest change the snapshot includes. A listener that missed events resyncs from
+     * the snapshot and applies only the events numbered after it
+     *
+     * @implNote O(1) running time behavior
+     * @return the sequence number, or 0 if the dictionary hadn't changed
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the words of the snapshot, for code in this package that walks them itself
+     *
+     * @implNote O(1) running time behavior
+     * @return the words in lexicographic order, which must not be modified
+     */
+    DictionaryWord[] words() {
+        return words;
+    }
+
+    /**
+     * Writes the snapshot in the same file format as Dictionary.toFileFormat, without building it as one string
+     *
+     * @implNote O(definitions) running time behavior
+     * @param out the writer to write to
+     * @param progress told the number of words written so far after every word
+     * @throws IOException if the writer fails
+     */
+    public void writeTo(Writer out, LongConsumer progress) throws IOException {
+        boolean first = true;
+        for (int i = 0; i < words.length; i++) {
+            for (DictionaryDefinition definition : words[i].getDefinitionSet()) {
+                if (!first) {
+                    out.write(NEWLINE);
+                }
+                first = false;
+                out.write(words[i].getWord());
+                out.write("::");
+                definition.renderFileFormatTo(out);
+            }
+            progress.accept(i + 1);
+        }
+    }
+
+    /**
+     * Releases the snapshot, so its dictionary stops copying words before changing them
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package comprehensive;
+
+import java.text.DecimalFormat;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable point-in-time snapshot of the statistics of a Dictionary. Snapshots are cached by the dictionary
+ * until its next mutation, so repeated polling allocates nothing.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DictionaryStatistics {
+    // Variables
+    private final int numWords;
+    private final int numDefinitions;
+    private final String firstWord;
+    private final String lastWord;
+    private final Map<String, Integer> partsOfSpeechCounts;
+    private final Histogram definitionsPerWord;
+    private final Histogram wordLengths;
+    private final Histogram definitionLengths;
+    private final List<String> topWords;
+    private final List<Integer> topWordCounts;
+    private String summary;
+    // Constants
+    private static final DecimalFormat AVERAGE_FORMAT = new DecimalFormat("#.000");
+    private final String NEWLINE = System.lineSeparator();
+    private final String TAB = "\t";
+
+    /**
+     * Creates a statistics snapshot. The histograms, maps and lists passed in must not be modified afterwards
+     *
+     * @param numWords the total number of words
+     * @param numDefinitions the total number of definitions
+     * @param firstWord the first word lexicographically, or the empty string
+     * @param lastWord the last word lexicographically, or the empty string
+     * @param partsOfSpeechCounts the number of definitions of every used part of speech
+     * @param definitionsPerWord histogram of the number of definitions per word
+     * @param wordLengths histogram of the length of the words
+     * @param definitionLengths histogram of the length of the definitions
+     * @param topWords the words with the most definitions, most first
+     * @param topWordCounts the number of definitions of each of the top words
+     */
+    DictionaryStatistics(int numWords, int numDefinitions, String firstWord, String lastWord,
+                         Map<String, Integer> partsOfSpeechCounts, Histogram definitionsPerWord,
+                         Histogram wordLengths, Histogram definitionLengths,
+                         List<String> topWords, List<Integer> topWordCounts) {
+        this.numWords = numWords;
+        this.numDefinitions = numDefinitions;
+        this.firstWord = firstWord;
+        this.lastWord = lastWord;
+        this.partsOfSpeechCounts = Collections.unmodifiableMap(partsOfSpeechCounts);
+        this.definitionsPerWord = definitionsPerWord;
+        this.wordLengths = wordLengths;
+        this.definitionLengths = definitionLengths;
+        this.topWords = Collections.unmodifiableList(topWords);
+        this.topWordCounts = Collections.unmodifiableList(topWordCounts);
+    }
+
+    /**
+     * Gets the total number of words
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of words
+     */
+    public int getNumWords() {
+        return numWords;
+    }
+
+    /**
+     * Gets the total number of definitions
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    public int getNumDefinitions() {
+        return numDefinitions;
+    }
+
+    /**
+     * Gets the average number of definitions per word
+     *
+     * @implNote O(1) running time behavior
+     * @return the average, or 0 if there are no words
+     */
+    public double getDefinitionsPerWord() {
+        return numWords == 0 ? 0 : (double) numDefinitions / numWords;
+    }
+
+    /**
+     * Gets the number of parts of speech used by at least one definition
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of parts of speech
+     */
+    public int getNumPartsOfSpeech() {
+        return partsOfSpeechCounts.size();
+    }
+
+    /**
+     * Gets the first word if ordered lexicographically
+     *
+     * @implNote O(1) running time behavior
+     * @return the first word, or the empty string if there are no words
+     */
+    public String getFirstWord() {
+        return firstWord;
+    }
+
+    /**
+     * Gets the last word if ordered lexicographically
+     *
+     * @implNote O(1) running time behavior
+     * @return the last word, or the empty string if there are no words
+     */
+    public String getLastWord() {
+        return lastWord;
+    }
+
+    /**
+     * Gets the number of definitions using each part of speech, in lexicographic order of the parts of speech
+     *
+     * @implNote O(1) running time behavior
+     * @return an unmodifiable map from part of speech to number of definitions
+     */
+    public Map<String, Integer> getPartsOfSpeechCounts() {
+        return partsOfSpeechCounts;
+    }
+
+    /**
+     * Gets the histogram of the number of definitions per word
+     *
+     * @implNote O(1) running time behavior
+     * @return the histogram
+     */
+    public Histogram getDefinitionsPerWordHistogram() {
+        return definitionsPerWord;
+    }
+
+    /**
+     * Gets the histogram of the length of the words
+     *
+     * @implNote O(1) running time behavior
+     * @return the histogram
+     */
+    public Histogram getWordLengthHistogram() {
+        return wordLengths;
+    }
+
+    /**
+     * Gets the histogram of the length of the definitions
+     *
+     * @implNote O(1) running time behavior
+     * @return the histogram
+     */
+    public Histogram getDefinitionLengthHistogram() {
+        return definitionLengths;
+    }
+
+    /**
+     * Gets the words with the most definitions, most first. Ties are broken lexicographically
+     *
+     * @implNote O(1) running time behavior
+     * @return an unmodifiable list of the words
+     */
+    public List<String> getTopWords() {
+        return topWords;
+    }
+
+    /**
+     * Gets the number of definitions of each word returned by getTopWords, in the same order
+     *
+     * @implNote O(1) running time behavior
+     * @return an unmodifiable list of the counts
+     */
+    public List<Integer> getTopWordCounts() {
+        return topWordCounts;
+    }
+
+    /**
+     * Renders the six summary statistics in the format used by Dictionary.getStatistics. The rendering is cached
+     *
+     * @implNote O(1) running time behavior
+     * @return the summary
+     */
+    public String getSummary() {
+        if (summary == null) {
+            String average;
+            if (numWords == 0) {
+                average = "0.00";
+            } else {
+                synchronized (AVERAGE_FORMAT) {
+                    average = AVERAGE_FORMAT.format(getDefinitionsPerWord()); // limits the double to three decimals
+                }
+            }
+            summary = "words: " + numWords + NEWLINE +
+                    "definitions: " + numDefinitions + NEWLINE +
+                    "definitions per word: " + average + NEWLINE +
+                    "parts of speech: " + partsOfSpeechCounts.size() + NEWLINE +
+                    "first word: " + firstWord + NEWLINE +
+                    "last word: " + lastWord;
+        }
+        return summary;
+    }
+
+    /**
+     * Represents every statistic as a string, starting with the summary
+     *
+     * @implNote O(parts of speech + top words + histogram buckets) running time behavior
+     * @return the statistics as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(getSummary());
+        sb.append(NEWLINE).append("definitions per part of speech:");
+        for (Map.Entry<String, Integer> entry : partsOfSpeechCounts.entrySet()) {
+            sb.append(NEWLINE).append(TAB).append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        sb.append(NEWLINE).append("words with the most definitions:");
+        for (int i = 0; i < topWords.size(); i++) {
+            sb.append(NEWLINE).append(TAB).append(topWords.get(i)).append(": ").append(topWordCounts.get(i));
+        }
+        sb.append(NEWLINE).append("definitions per word histogram:").append(definitionsPerWord);
+        sb.append(NEWLINE).append("word length histogram:").append(wordLengths);
+        sb.append(NEWLINE).append("definition length histogram:").append(definitionLengths);
+        return sb.toString();
+    }
+}
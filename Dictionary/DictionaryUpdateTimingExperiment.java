@@ -9,9 +9,10 @@ public class DictionaryUpdateTimingExperiment extends TimingExperiment {
     private static int problemSizeStep = 1000  ;
     private static int experimentIterationCount = 25;
     private static Random rng = new Random();
-    private static final String[] elements = new String[]{"Test", "noun", "testing"};
-    final static String[]  POSARRAY = new String[]{"noun", "verb", "adj", "adv", "pron", "prep", "conj", "interj"};
+    private static final String[] elements = new String[]{"noun", "testing"};
+    private static CorpusGenerator corpus = new CorpusGenerator();
     private static Dictionary dict = new Dictionary();
+    private static long dictWords;
     private static String toUpdate;
 
 
@@ -35,7 +36,9 @@ public class DictionaryUpdateTimingExperiment extends TimingExperiment {
      */
     @Override
     protected void setupExperiment(int problemSize) {
-        dict = makeDictionary(problemSize);
+        dict = new Dictionary();
+        dictWords = corpus.fill(dict, problemSize);
+        toUpdate = corpus.word(rng.nextInt((int) dictWords));
     }
 
     /**
@@ -43,18 +46,7 @@ public class DictionaryUpdateTimingExperiment extends TimingExperiment {
      */
     @Override
     protected void runComputation() {
-        dict.updateDefinition(toUpdate, 1, elements[2]);
-    }
-
-    private static Dictionary makeDictionary(int problemSize){
-        for(int i = 0; i < problemSize; i ++){
-            int number = rng.nextInt(problemSize / 4);
-            int posRng = rng.nextInt(POSARRAY.length - 1);
-            String word = ((Integer)number).toString();
-            toUpdate = word;
-            dict.add(word, POSARRAY[posRng], word + word + word + " " + word);
-        }
-        return dict;
+        dict.updateDefinition(toUpdate, 1, elements[1]);
     }
 }
 
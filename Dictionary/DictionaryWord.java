@@ -1,5 +1,10 @@
 package comprehensive;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
 
 /**
@@ -13,6 +18,8 @@ public class DictionaryWord {
     private String word;
     private TreeSet<DictionaryDefinition> definitions = new TreeSet<>();
     private TreeSet<String> usedPartsOfSpeech = new TreeSet<String>() {};
+    // The snapshot epoch of the dictionary when this object was created, see Dictionary.snapshot
+    long snapshotEpoch;
     // Constants
     private final String NEWLINE = System.lineSeparator();
     private final String TAB = "\t";
@@ -35,12 +42,65 @@ public class DictionaryWord {
      * @implNote Time Complexity: O(N)
      */
     public DictionaryWord(String word, String partOfSpeech, String definition) {
+        this(word, partOfSpeech, definition, null);
+    }
+
+    /**
+     * Creates a DictionaryWord Object with one definition, compressed by a codec unless it is null
+     *
+     * @param word The Word represented by the Object
+     * @param partOfSpeech the part of speech for the word
+     * @param definition the definition of the word
+     * @param codec the codec to compress the definition with, or null to keep it as a string
+     */
+    DictionaryWord(String word, String partOfSpeech, String definition, DefinitionCodec codec) {
         this.word = word;
         // Adds the definition and part of speech to the word
-        definitions.add(new DictionaryDefinition(partOfSpeech, definition));
+        definitions.add(newDefinition(partOfSpeech, definition, codec));
         usedPartsOfSpeech.add(partOfSpeech);
     }
 
+    /**
+     * Creates a DictionaryWord Object without any definitions, which storage engines use to mark a removed word
+     *
+     * @param word The Word represented by the Object
+     */
+    DictionaryWord(String word) {
+        this.word = word;
+    }
+
+    /**
+     * Creates a copy of a DictionaryWord Object that can be changed without affecting the original
+     *
+     * @implNote O(definitions of word) running time behavior
+     * @param other the word to copy
+     */
+    DictionaryWord(DictionaryWord other) {
+        this.word = other.word;
+        this.definitions = new TreeSet<DictionaryDefinition>(other.definitions);
+        this.usedPartsOfSpeech = new TreeSet<String>(other.usedPartsOfSpeech);
+    }
+
+    /**
+     * Gets the word represented by the Object
+     *
+     * @implNote O(1) running time behavior
+     * @return the word
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Gets the definitions of the word in sorted order
+     *
+     * @implNote O(1) running time behavior
+     * @return an unmodifiable view of the definitions
+     */
+    public SortedSet<DictionaryDefinition> getDefinitionSet() {
+        return Collections.unmodifiableSortedSet(definitions);
+    }
+
     /**
      * Gets all parts of speech for a given word.
      *
@@ -48,11 +108,29 @@ public class DictionaryWord {
      * @return String of all parts of speech for the associated word
      */
     public String getPartsOfSpeech() {
-        StringBuilder output = new StringBuilder(word + ":" + NEWLINE + TAB);
+        try {
+            return renderPartsOfSpeechTo(new StringBuilder()).toString();
+        } catch (IOException e) {
+            // StringBuilders don't throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the parts of speech of the word the way getPartsOfSpeech represents them, without building a string
+     *
+     * @implNote O(parts of speech of word) running time behavior
+     * @param out where to write the parts of speech
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination fails
+     */
+    public <A extends Appendable> A renderPartsOfSpeechTo(A out) throws IOException {
+        out.append(word).append(':').append(NEWLINE).append(TAB);
         for (String partOfSpeech : usedPartsOfSpeech){
-            output.append(partOfSpeech).append(NEWLINE).append(TAB);
+            out.append(partOfSpeech).append(NEWLINE).append(TAB);
         }
-        return output.toString();
+        return out;
     }
 
     /**
@@ -62,14 +140,32 @@ public class DictionaryWord {
      * @return the list of definitions in the form a string
      */
     public String getListOfDefinitions() {
+        try {
+            return renderListOfDefinitionsTo(new StringBuilder()).toString();
+        } catch (IOException e) {
+            // StringBuilders don't throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the numbered list of definitions the way getListOfDefinitions represents it, without building a string
+     *
+     * @implNote O(definitions of word) running time behavior
+     * @param out where to write the list
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination fails
+     */
+    public <A extends Appendable> A renderListOfDefinitionsTo(A out) throws IOException {
         int counter = 1;
-        StringBuilder sb  = new StringBuilder();
         for(DictionaryDefinition def : definitions){
-            sb.append(counter).append(". ").append(def.toString()).append(NEWLINE);
+            appendNumber(out, counter).append(". ");
+            def.renderTo(out).append(NEWLINE);
             counter++;
         }
-        sb.append(counter).append(". Back to main menu").append(NEWLINE);
-        return sb.toString();
+        appendNumber(out, counter).append(". Back to main menu").append(NEWLINE);
+        return out;
     }
 
     /**
@@ -78,10 +174,27 @@ public class DictionaryWord {
      * @implNote O(log(definitions)) running time
      * @param partOfSpeech the part of speech of the definition
      * @param definition the definition
+     * @return true if the definition was added, false if the word already had it
      */
-    public void addDefinition(String partOfSpeech, String definition) {
-        definitions.add(new DictionaryDefinition(partOfSpeech, definition));
+    public boolean addDefinition(String partOfSpeech, String definition) {
+        return addDefinition(partOfSpeech, definition, null);
+    }
+
+    /**
+     * Adds a definition to the word, compressed by a codec unless it is null
+     *
+     * @implNote O(log(definitions)) running time, plus the cost of compressing the definition
+     * @param partOfSpeech the part of speech of the definition
+     * @param definition the definition
+     * @param codec the codec to compress the definition with, or null to keep it as a string
+     * @return true if the definition was added, false if the word already had it
+     */
+    boolean addDefinition(String partOfSpeech, String definition, DefinitionCodec codec) {
+        if (!definitions.add(newDefinition(partOfSpeech, definition, codec))) {
+            return false;
+        }
         usedPartsOfSpeech.add(partOfSpeech);
+        return true;
     }
 
     /**
@@ -90,19 +203,66 @@ public class DictionaryWord {
      * @implNote O(definitions of word) running time behavior
      * @param id the index of the definition to update
      * @param newDefinition the new definition
+     * @return the definition that was replaced, or null if there is no definition with that index
+     */
+    public DictionaryDefinition updateDefinition(int id, String newDefinition) {
+        return updateDefinition(id, newDefinition, null);
+    }
+
+    /**
+     * Updates a definition of the word using the definition's index (starting from 1) when in sorted order, compressing
+     * the new definition by a codec unless it is null
+     *
+     * @implNote O(definitions of word) running time behavior, plus the cost of compressing the definition
+     * @param id the index of the definition to update
+     * @param newDefinition the new definition
+     * @param codec the codec to compress the new definition with, or null to keep it as a string
+     * @return the definition that was replaced, or null if there is no definition with that index
      */
-    public void updateDefinition(int id, String newDefinition) {
+    DictionaryDefinition updateDefinition(int id, String newDefinition, DefinitionCodec codec) {
         int num = 1;
         for (DictionaryDefinition definition : definitions) {
             if (num == id) {
                 // Removing and re-adding the definition is necessary to keep them sorted
                 String partOfSpeech = definition.getPartOfSpeech();
                 definitions.remove(definition);
-                definitions.add(new DictionaryDefinition(partOfSpeech, newDefinition));
-                break;
+                definitions.add(newDefinition(partOfSpeech, newDefinition, codec));
+                return definition;
             }
             num++;
         }
+        return null;
+    }
+
+    /**
+     * Replaces every definition of the word with one compressed by a codec, or with a plain string if the codec is
+     * null. The order of the definitions doesn't change
+     *
+     * @implNote O(definitions of word) running time behavior, plus the cost of compressing the definitions
+     * @param codec the codec to compress the definitions with, or null to keep them as strings
+     */
+    void compressDefinitions(DefinitionCodec codec) {
+        TreeSet<DictionaryDefinition> compressed = new TreeSet<DictionaryDefinition>();
+        for (DictionaryDefinition definition : definitions) {
+            compressed.add(newDefinition(definition.getPartOfSpeech(), definition.getDefinition(), codec));
+        }
+        definitions = compressed;
+    }
+
+    /**
+     * Creates a definition, compressed by a codec unless it is null
+     *
+     * @implNote O(1) running time behavior, plus the cost of compressing the definition
+     * @param partOfSpeech the part of speech of the definition
+     * @param definition the definition
+     * @param codec the codec to compress the definition with, or null to keep it as a string
+     * @return the definition
+     * @throws IllegalArgumentException if the part of speech isn't valid
+     */
+    private static DictionaryDefinition newDefinition(String partOfSpeech, String definition, DefinitionCodec codec)
+            throws IllegalArgumentException {
+        return codec == null ? new DictionaryDefinition(partOfSpeech, definition)
+                : new CompressedDefinition(partOfSpeech, definition, codec);
     }
 
     /**
@@ -113,14 +273,33 @@ public class DictionaryWord {
      */
     @Override
     public String toString() {
-        StringBuilder output = new StringBuilder(word);
+        try {
+            return renderTo(new StringBuilder()).toString();
+        } catch (IOException e) {
+            // StringBuilders don't throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the word and its definitions the way toString represents them, without building a string. Render into
+     * a Utf8Sink to write UTF-8 straight into a ByteBuffer
+     *
+     * @implNote O(length of the definitions of word) running time behavior
+     * @param out where to write the word
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination fails
+     */
+    public <A extends Appendable> A renderTo(A out) throws IOException {
+        out.append(word);
         for (DictionaryDefinition definition : definitions) {
-            output
-                    .append(NEWLINE)
-                    .append(TAB)
-                    .append(definition);
+            out.append(NEWLINE).append(TAB);
+            definition.renderTo(out);
         }
-        return output.toString();
+        // The last definition may end in half of a surrogate pair
+        Utf8Sink.finish(out);
+        return out;
     }
 
     /**
@@ -130,11 +309,29 @@ public class DictionaryWord {
      * @return the string of the file output
      */
     public String toFileFormat(){
-        StringBuilder sb  = new StringBuilder();
+        try {
+            return renderFileFormatTo(new StringBuilder()).toString();
+        } catch (IOException e) {
+            // StringBuilders don't throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the word and its definitions in file output form, one line per definition, without building a string
+     *
+     * @implNote O(length of the definitions of word) running time behavior
+     * @param out where to write the word
+     * @param <A> the type of the destination
+     * @return the destination
+     * @throws IOException if the destination fails
+     */
+    public <A extends Appendable> A renderFileFormatTo(A out) throws IOException {
         for(DictionaryDefinition def : definitions){
-            sb.append(this.word).append("::").append(def.toFileFormat()).append(NEWLINE);
+            out.append(this.word).append("::");
+            def.renderFileFormatTo(out).append(NEWLINE);
         }
-        return sb.toString();
+        return out;
     }
 
     /**
@@ -148,26 +345,105 @@ public class DictionaryWord {
     }
 
     /**
-     * Removes a definition from the word based on the passed index and returns the part of speech the definition used
+     * Estimates the bytes of the DictionaryWord and its set of parts of speech, not counting the word string
+     *
+     * @implNote O(1) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long shellBytes(MemoryLayout layout) {
+        // Five reference fields and the snapshot epoch
+        return layout.object(5, 8) + layout.treeMap(usedPartsOfSpeech.size(), true);
+    }
+
+    /**
+     * Estimates the bytes of the set of definitions and the DictionaryDefinitions in it, not counting their strings
+     *
+     * @implNote O(definitions of word) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long definitionBytes(MemoryLayout layout) {
+        long bytes = layout.treeMap(definitions.size(), true);
+        for (DictionaryDefinition definition : definitions) {
+            bytes += definition.objectBytes(layout);
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the bytes of the part of speech and definition strings of the definitions, or the compressed text of
+     * compressed definitions. Strings already in the set of counted strings are skipped, so a string shared by many
+     * definitions is only counted once
+     *
+     * @implNote O(length of the definitions) running time behavior
+     * @param layout the layout of objects
+     * @param counted the strings counted so far, compared by identity, which the newly counted ones are added to
+     * @return the estimated bytes
+     */
+    long definitionStringBytes(MemoryLayout layout, Set<String> counted) {
+        long bytes = 0;
+        for (DictionaryDefinition definition : definitions) {
+            if (counted.add(definition.getPartOfSpeech())) {
+                bytes += layout.string(definition.getPartOfSpeech());
+            }
+            bytes += definition.textBytes(layout, counted);
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates every byte retained by the DictionaryWord: itself, its word, its definitions and their strings
+     *
+     * @implNote O(length of the definitions) running time behavior
+     * @param layout the layout of objects
+     * @param counted the strings counted so far, compared by identity, which the newly counted ones are added to
+     * @return the estimated bytes
+     */
+    long retainedBytes(MemoryLayout layout, Set<String> counted) {
+        long bytes = shellBytes(layout) + definitionBytes(layout) + definitionStringBytes(layout, counted);
+        return counted.add(word) ? bytes + layout.string(word) : bytes;
+    }
+
+    /**
+     * Removes a definition from the word based on the passed index and returns the removed definition
      *
      * @implNote O(definitions of word) running time behavior
      * @param id the index of the definition to remove
-     * @return the part of speech the definition used
+     * @return the removed definition, which holds the part of speech it used
      */
-    public String removeDefinition(int id) {
+    public DictionaryDefinition removeDefinition(int id) {
         int num = 1;
-        String partOfSpeech ="";
         DictionaryDefinition targetDefinition = null;
         for (DictionaryDefinition definition : definitions) {
             if (num == id) {
                 targetDefinition = definition;
-                partOfSpeech = definition.getPartOfSpeech();
                 break;
             }
             num++;
         }
         // Removing the DictionaryDefinition from the set of definitions
         definitions.remove(targetDefinition);
-        return partOfSpeech;
+        return targetDefinition;
+    }
+
+    /**
+     * Writes a positive number in decimal without building a string
+     *
+     * @implNote O(digits) running time behavior
+     * @param out where to write the number
+     * @param number the number
+     * @return the destination
+     * @throws IOException if the destination fails
+     */
+    private static Appendable appendNumber(Appendable out, int number) throws IOException {
+        int divisor = 1;
+        while (number / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + number / divisor % 10));
+        }
+        return out;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,882 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A Dictionary whose words live in a memory-mapped SortedWordFile instead of on the heap. Recently read words are
+ * kept in a bounded least-recently-used cache, and range queries stream from the file's blocks. Words changed since
+ * the file was written are held in memory until the dictionary is saved.
+ *
+ * <p>Only the summary statistics are reported (the histograms and top words need every word in memory), along with
+ * the cache hit ratio, cache evictions and block reads.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class DiskBackedDictionary extends Dictionary {
+    // Variables
+    private SortedWordFile file;
+    private final LruCache<String, DictionaryWord> cache;
+    // Words added, changed or removed (null) since the file was written
+    private final TreeMap<String, DictionaryWord> changedWords;
+    private int numWords;
+    private int numDefinitions;
+    private TreeMap<String, Integer> usedPartsOfSpeech;
+    private DictionaryStatistics statistics;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    final private String TAB = "\t";
+    final public static int DEFAULT_CACHE_SIZE = 10000;
+
+    /**
+     * Opens a disk-backed dictionary over a sorted word file
+     *
+     * @param path the sorted word file
+     * @param cacheSize the maximum number of words kept in the cache
+     * @throws IOException if the file can't be read
+     */
+    public DiskBackedDictionary(Path path, int cacheSize) throws IOException {
+        cache = new LruCache<String, DictionaryWord>(cacheSize);
+        changedWords = new TreeMap<String, DictionaryWord>();
+        open(path);
+    }
+
+    /**
+     * Writes the words of an in-memory dictionary to a sorted word file and opens it as a disk-backed dictionary
+     *
+     * @implNote O(definitions) running time behavior
+     * @param dictionary the dictionary to write
+     * @param path the sorted word file to create
+     * @param cacheSize the maximum number of words kept in the cache
+     * @return the disk-backed dictionary
+     * @throws IOException if the file can't be written
+     */
+    public static DiskBackedDictionary create(Dictionary dictionary, Path path, int cacheSize) throws IOException {
+        SortedWordFile.write(path, dictionary.dictionaryWords());
+        return new DiskBackedDictionary(path, cacheSize);
+    }
+
+    /**
+     * Converts a glossary file to a sorted word file
+     *
+     * @param args the glossary file and the sorted word file to create
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: DiskBackedDictionary <glossary file> <sorted word file>");
+            return;
+        }
+        try {
+            Dictionary dictionary = new Dictionary();
+            Main.loadDictionaryFile(args[0], dictionary);
+            SortedWordFile.write(Path.of(args[1]), dictionary.dictionaryWords());
+        } catch (IOException e) {
+            System.out.print("IO Exception: " + e);
+        }
+    }
+
+    /**
+     * Maps a sorted word file and resets the in-memory state to match it
+     *
+     * @param path the sorted word file
+     * @throws IOException if the file can't be read
+     */
+    private void open(Path path) throws IOException {
+        file = new SortedWordFile(path);
+        cache.clear();
+        changedWords.clear();
+        numWords = file.numWords();
+        numDefinitions = file.numDefinitions();
+        usedPartsOfSpeech = new TreeMap<String, Integer>(file.partsOfSpeechCounts());
+        statistics = null;
+    }
+
+    /**
+     * Writes every word, including the changes held in memory, to a new sorted word file and switches to it. The file
+     * is written next to the destination and then renamed into place
+     *
+     * @implNote O(definitions) running time behavior
+     * @param path the sorted word file to write, may be the current file
+     * @throws IOException if the file can't be written
+     */
+    public void save(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        SortedWordFile.write(temporary, dictionaryWords());
+        try {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        open(path);
+    }
+
+    /**
+     * Finds a word, checking the changed words, then the cache, then the file
+     *
+     * @implNote O(log(changed words)) running time behavior if cached, O(log(blocks) + block size) if read from disk
+     * @param word the word
+     * @return the word, or null if it isn't in the dictionary or is null
+     */
+    private DictionaryWord lookup(String word) {
+        if (word == null) {
+            return null;
+        }
+        if (changedWords.containsKey(word)) {
+            return changedWords.get(word);
+        }
+        if (!file.mightContain(word)) {
+            return null;
+        }
+        DictionaryWord dictionaryWord = cache.get(word);
+        if (dictionaryWord == null) {
+            dictionaryWord = file.read(word);
+            if (dictionaryWord != null) {
+                cache.put(word, dictionaryWord);
+            }
+        }
+        return dictionaryWord;
+    }
+
+    /**
+     * Finds a word that is about to change and moves it from the cache to the changed words
+     *
+     * @implNote Same running time behavior as lookup
+     * @param word the word
+     * @return the word, or null if it isn't in the dictionary
+     */
+    private DictionaryWord lookupForChange(String word) {
+        if (changedWords.containsKey(word)) {
+            return changedWords.get(word);
+        }
+        DictionaryWord dictionaryWord = lookup(word);
+        if (dictionaryWord != null) {
+            cache.remove(word);
+            changedWords.put(word, dictionaryWord);
+        }
+        return dictionaryWord;
+    }
+
+    /**
+     * Counts a definition being added to (delta of 1) or removed from (delta of -1) the dictionary
+     *
+     * @implNote O(1) running time behavior
+     * @param partOfSpeech the part of speech of the definition
+     * @param delta 1 if the definition was added, -1 if it was removed
+     */
+    private void countDefinition(String partOfSpeech, int delta) {
+        numDefinitions += delta;
+        int count = usedPartsOfSpeech.getOrDefault(partOfSpeech, 0) + delta;
+        if (count == 0) {
+            usedPartsOfSpeech.remove(partOfSpeech);
+        } else {
+            usedPartsOfSpeech.put(partOfSpeech, count);
+        }
+        statistics = null;
+    }
+
+    /**
+     * Adds a word or definition to the dictionary. The word is held in memory until the dictionary is saved
+     *
+     * @implNote O(log(changed words) + log(definitions of the word)) running time behavior, plus a block read if the
+     * word isn't cached
+     * @param word The word
+     * @param partOfSpeech the part of speech for the associated word
+     * @param definition the associated definition for the associated part of speech
+     */
+    @Override
+    public void add(String word, String partOfSpeech, String definition) {
+        DictionaryWord dictionaryWord = lookupForChange(word);
+        if (dictionaryWord == null) {
+            changedWords.put(word, new DictionaryWord(word, partOfSpeech, definition));
+            numWords++;
+        } else if (!dictionaryWord.addDefinition(partOfSpeech, definition)) {
+            return;
+        }
+        countDefinition(partOfSpeech, 1);
+        publish(DictionaryEvent.Type.ADD, word, partOfSpeech, definition, null);
+    }
+
+    /**
+     * Reports the summary statistics of the glossary, followed by the cache hit ratio, the number of cache evictions
+     * and the number of blocks read from disk
+     *
+     * @implNote O(1) running time behavior if the summary is cached, O(block size) otherwise
+     * @return the metadata
+     */
+    @Override
+    public String getStatistics() {
+        return getStatisticsSnapshot().getSummary() + NEWLINE + getCacheStatistics();
+    }
+
+    /**
+     * Reports the cache hit ratio, the number of cache evictions and the number of blocks read from disk
+     *
+     * @implNote O(1) running time behavior
+     * @return the cache statistics
+     */
+    public String getCacheStatistics() {
+        return "cache hit ratio: " + String.format("%.3f", cache.hitRatio()) + NEWLINE +
+                "cache evictions: " + cache.evictions() + NEWLINE +
+                "page reads: " + file.blockReads();
+    }
+
+    /**
+     * Provides a snapshot of the summary statistics. The histograms and top words of a disk-backed dictionary are
+     * always empty
+     *
+     * @implNote O(block size) running time behavior, the snapshot is cached until the next mutation
+     * @return the statistics snapshot
+     */
+    @Override
+    public DictionaryStatistics getStatisticsSnapshot() {
+        if (statistics == null) {
+            String first = firstWord();
+            String last = lastWord();
+            statistics = new DictionaryStatistics(numWords, numDefinitions, first == null ? "" : first,
+                    last == null ? "" : last, new TreeMap<String, Integer>(usedPartsOfSpeech), new Histogram(1, 1),
+                    new Histogram(1, 1), new Histogram(1, 1), new ArrayList<String>(), new ArrayList<Integer>());
+        }
+        return statistics;
+    }
+
+    /**
+     * Estimates the heap retained by the cached words, the changed words and the index of the file. The mapped
+     * contents of the file are outside the heap
+     *
+     * @implNote O(length of the cached and changed words and their definitions + blocks) running time behavior
+     * @param layout the layout of objects to estimate with
+     * @return the memory report
+     */
+    @Override
+    public MemoryReport memoryReport(MemoryLayout layout) {
+        MemoryReport report = new MemoryReport(layout, numWords, numDefinitions);
+        Set<String> counted = Collections.newSetFromMap(new IdentityHashMap<String, Boolean>());
+        // Access-ordered entries link to the entries before and after them
+        long cacheBytes = layout.hashMap(cache.size(), false) + cache.size() * 2L * layout.referenceBytes();
+        for (DictionaryWord dictionaryWord : cache.values()) {
+            cacheBytes += dictionaryWord.retainedBytes(layout, counted);
+        }
+        report.add("word cache", cacheBytes, false);
+        long changedBytes = layout.treeMap(changedWords.size(), false);
+        for (Map.Entry<String, DictionaryWord> entry : changedWords.entrySet()) {
+            // Removed words are marked with a null
+            changedBytes += entry.getValue() == null ? layout.string(entry.getKey())
+                    : entry.getValue().retainedBytes(layout, counted);
+        }
+        report.add("changed words", changedBytes, false);
+        report.add("file index", file.retainedBytes(layout), false);
+        return report;
+    }
+
+    /**
+     * Returns all the words in the given range as a string, streaming them from the file's blocks
+     *
+     * @implNote O(log(blocks) + words in range) running time behavior
+     * @param start the starting word (inclusive)
+     * @param end the ending word (inclusive)
+     * @return all the words in the range as a string
+     */
+    @Override
+    public String getWordsInRange(String start, String end) {
+        StringBuilder sb = new StringBuilder("The words between ")
+                .append(start)
+                .append(" and ")
+                .append(end)
+                .append(" are:");
+        if (start.compareTo(end) > 0) {
+            return sb.toString();
+        }
+        MergedWords merged = new MergedWords(start);
+        while (merged.next() && merged.word().compareTo(end) <= 0) {
+            sb
+                    .append(NEWLINE)
+                    .append(TAB)
+                    .append(merged.word());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Does nothing, since ranges stream from the file's blocks rather than being cached
+     *
+     * @implNote O(1) running time behavior
+     * @param bytes unused
+     */
+    @Override
+    public void setRangeCacheBudget(long bytes) {
+    }
+
+    /**
+     * Gets the number of getWordsInRange calls answered from a cache, which is always 0 since ranges aren't cached
+     *
+     * @implNote O(1) running time behavior
+     * @return 0
+     */
+    @Override
+    public long getRangeCacheHits() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of getWordsInRange calls that had to walk the words, which is always 0 since ranges aren't
+     * cached and so never miss
+     *
+     * @implNote O(1) running time behavior
+     * @return 0
+     */
+    @Override
+    public long getRangeCacheMisses() {
+        return 0;
+    }
+
+    /**
+     * Finds the lexicographically smallest words that match a pattern by checking the words that start with the
+     * pattern's literal prefix in order, since there is no trigram index over the words on disk
+     *
+     * @implNote O(words with the literal prefix * length of the pattern) running time behavior, less if the limit is
+     * reached
+     * @param pattern the pattern, where '?' matches any one character and '*' matches any sequence of characters
+     * @param limit the maximum number of words to return
+     * @return the matching words in lexicographic order
+     */
+    @Override
+    public List<String> match(String pattern, int limit) {
+        String prefix = TrigramIndex.literalPrefix(pattern);
+        return TrigramIndex.scan(pattern, limit, prefix, wordsFrom(prefix));
+    }
+
+    /**
+     * Gets the words ending with a suffix in the order of their reversals, by checking every word since there is no
+     * index of reversed words on disk
+     *
+     * @implNote O(words * length of the suffix + matches * log(matches)) running time behavior
+     * @param suffix the suffix
+     * @param limit the maximum number of words to return
+     * @return the words
+     */
+    @Override
+    public List<String> getWordsWithSuffix(String suffix, int limit) {
+        return SuffixIndex.scan(wordsFrom(""), suffix, limit);
+    }
+
+    /**
+     * Counts the words ending with a suffix by checking every word
+     *
+     * @implNote O(words * length of the suffix) running time behavior
+     * @param suffix the suffix
+     * @return the number of words
+     */
+    @Override
+    public int countWithSuffix(String suffix) {
+        int count = 0;
+        Iterator<String> words = wordsFrom("");
+        while (words.hasNext()) {
+            if (words.next().endsWith(suffix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Provides the words greater than or equal to the given word in lexicographic order without reading their
+     * definitions
+     *
+     * @implNote O(log(blocks)) running time behavior to start, iterating is O(words passed)
+     * @param from the smallest word to return
+     * @return the words in order
+     */
+    private Iterator<String> wordsFrom(String from) {
+        MergedWords merged = new MergedWords(from);
+        return new Iterator<String>() {
+            private boolean hasNext = merged.next();
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                String word = merged.word();
+                hasNext = merged.next();
+                return word;
+            }
+        };
+    }
+
+    /**
+     * Returns the requested word as a string or null if the word isn't in the dictionary
+     *
+     * @implNote O(definitions of the word) running time behavior if cached, plus a block read otherwise
+     * @param word the word to return a string for
+     * @return the string format of the word or null
+     */
+    @Override
+    public String getWord(String word) {
+        DictionaryWord dictionaryWord = lookup(word);
+        return dictionaryWord == null ? null : dictionaryWord.toString();
+    }
+
+    /**
+     * Writes the requested word the way getWord represents it, without building a string
+     *
+     * @implNote O(log(changed words)) running time behavior if cached, O(log(blocks) + block size) otherwise, plus
+     * the length of the word's definitions
+     * @param word the word to write
+     * @param out where to write the word
+     * @return true if the word was written, false if it isn't in the dictionary
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public boolean renderWord(String word, Appendable out) throws IOException {
+        DictionaryWord dictionaryWord = lookup(word);
+        if (dictionaryWord == null) {
+            return false;
+        }
+        dictionaryWord.renderTo(out);
+        return true;
+    }
+
+    /**
+     * Checks if the word is in the dictionary
+     *
+     * @implNote O(log(changed words)) running time behavior if cached or rejected by the file's Bloom filter
+     * @param word the word to check
+     * @return true if the word is in the dictionary
+     */
+    @Override
+    public boolean containsWord(String word) {
+        return lookup(word) != null;
+    }
+
+    /**
+     * The file carries its own word filter, so there is nothing to rebuild
+     *
+     * @implNote O(1) running time behavior
+     */
+    @Override
+    public void rebuildWordFilter() {
+    }
+
+    /**
+     * Provides the first word in the dictionary.
+     *
+     * @implNote O(block size + definitions of the word) running time behavior
+     * @return the word
+     */
+    @Override
+    public String getFirstWord() {
+        String first = firstWord();
+        return first == null ? "null" : getWord(first);
+    }
+
+    /**
+     * Provides the last word in the dictionary.
+     *
+     * @implNote O(block size + definitions of the word) running time behavior
+     * @return the word
+     */
+    @Override
+    public String getLastWord() {
+        String last = lastWord();
+        return last == null ? "null" : getWord(last);
+    }
+
+    /**
+     * Finds the lexicographically first word
+     *
+     * @implNote O(block size) running time behavior unless many of the first words were removed
+     * @return the first word, or null if the dictionary is empty
+     */
+    private String firstWord() {
+        MergedWords merged = new MergedWords("");
+        return merged.next() ? merged.word() : null;
+    }
+
+    /**
+     * Finds the lexicographically last word by walking the changed words and the file's blocks backwards
+     *
+     * @implNote O(block size) running time behavior unless many of the last words were removed
+     * @return the last word, or null if the dictionary is empty
+     */
+    private String lastWord() {
+        String lastChanged = null;
+        for (Map.Entry<String, DictionaryWord> entry : changedWords.descendingMap().entrySet()) {
+            if (entry.getValue() != null) {
+                lastChanged = entry.getKey();
+                break;
+            }
+        }
+        String lastFromFile = null;
+        for (int block = file.numBlocks() - 1; block >= 0 && lastFromFile == null; block--) {
+            List<String> blockWords = file.blockWords(block);
+            for (int i = blockWords.size() - 1; i >= 0; i--) {
+                // Changed words were already considered
+                if (!changedWords.containsKey(blockWords.get(i))) {
+                    lastFromFile = blockWords.get(i);
+                    break;
+                }
+            }
+        }
+        if (lastChanged == null || (lastFromFile != null && lastFromFile.compareTo(lastChanged) > 0)) {
+            return lastFromFile;
+        }
+        return lastChanged;
+    }
+
+    /**
+     * Gets all parts of speech for a word in the dictionary
+     *
+     * @implNote O(1) running time behavior if cached, plus a block read otherwise
+     * @param word the word
+     * @return the parts of speech of the word
+     */
+    @Override
+    public String getPartsOfSpeechOfWord(String word) {
+        return lookup(word).getPartsOfSpeech();
+    }
+
+    /**
+     * Returns a numbered list of the definitions of a word as a string
+     *
+     * @implNote O(definitions of word) running time behavior if cached, plus a block read otherwise
+     * @param word the word to get the definitions for
+     * @return a numbered list of the definitions of a word as a string
+     */
+    @Override
+    public String getDefinitions(String word) {
+        return lookup(word).getListOfDefinitions();
+    }
+
+    /**
+     * Gets the number of definitions for a word
+     *
+     * @implNote O(1) running time behavior if cached, plus a block read otherwise
+     * @param word the word to get the number of definitions for
+     * @return the number of definitions of the word
+     */
+    @Override
+    public int getNumDefinitions(String word) {
+        return lookup(word).numberOfDefinitions();
+    }
+
+    /**
+     * Updates the definition for a word. The word is held in memory until the dictionary is saved
+     *
+     * @implNote O(definitions for word) running time behavior, plus a block read if the word isn't cached
+     * @param word the word to update a definition for
+     * @param definitionIndex the index of the definition to update
+     * @param newDefinition the new definition for the word
+     */
+    @Override
+    public void updateDefinition(String word, int definitionIndex, String newDefinition) {
+        DictionaryWord dictionaryWord = lookupForChange(word);
+        int before = dictionaryWord.numberOfDefinitions();
+        DictionaryDefinition oldDefinition = dictionaryWord.updateDefinition(definitionIndex, newDefinition);
+        // The new definition merges into an identical existing one instead of being added
+        if (oldDefinition != null && dictionaryWord.numberOfDefinitions() < before) {
+            countDefinition(oldDefinition.getPartOfSpeech(), -1);
+        }
+        if (oldDefinition != null) {
+            publish(DictionaryEvent.Type.UPDATE, word, oldDefinition.getPartOfSpeech(), newDefinition,
+                    oldDefinition.getDefinition());
+        }
+    }
+
+    /**
+     * Removes a definition from the specified word based on the index passed to it. The removal is held in memory
+     * until the dictionary is saved
+     *
+     * @implNote O(definitions of word) running time behavior, plus a block read if the word isn't cached
+     * @param userWord the word to remove a definition from
+     * @param id the index of the definition to remove
+     * @return A boolean that represents whether the word was also removed with the definition (true if removed)
+     */
+    @Override
+    public boolean removeDefinition(String userWord, int id) {
+        DictionaryWord dictionaryWord = lookupForChange(userWord);
+        DictionaryDefinition removed = dictionaryWord.removeDefinition(id);
+        countDefinition(removed.getPartOfSpeech(), -1);
+        publish(DictionaryEvent.Type.REMOVE, userWord, removed.getPartOfSpeech(), removed.getDefinition(), null);
+        if (dictionaryWord.numberOfDefinitions() == 0) {
+            changedWords.put(userWord, null);
+            numWords--;
+            publish(DictionaryEvent.Type.REMOVE_WORD, userWord, null, null, null);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Makes a batch of changes one at a time through this dictionary's own methods while holding its lock, after checking all of them,
+     * so a batch with a bad change leaves the dictionary as it was
+     *
+     * @implNote O(definitions of the changed words + changes * cost of a change) running time behavior
+     * @param batch the changes
+     * @throws IllegalArgumentException if an added definition's part of speech isn't valid
+     * @throws IndexOutOfBoundsException if a removal's word has no definition with its index
+     */
+    @Override
+    public void apply(Batch batch) throws IllegalArgumentException, IndexOutOfBoundsException {
+        applyEach(batch);
+    }
+
+    /**
+     * Throws, since the definitions are read from the file as they are needed
+     *
+     * @implNote O(1) running time behavior
+     * @param codec the codec
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void compressDefinitions(DefinitionCodec codec) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A disk-backed dictionary can't compress its definitions");
+    }
+
+    /**
+     * Gets the DictionaryWord of a word. The word must not be modified through the returned object
+     *
+     * @implNote Same running time behavior as lookup
+     * @param word the word
+     * @return the DictionaryWord, or null if the word isn't in the dictionary
+     */
+    @Override
+    DictionaryWord getDictionaryWord(String word) {
+        return lookup(word);
+    }
+
+    /**
+     * Gets the number of definitions, in the file and changed in memory
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    @Override
+    int numDefinitions() {
+        return numDefinitions;
+    }
+
+    /**
+     * Provides every word of the dictionary in lexicographic order, streaming them from the file's blocks
+     *
+     * @implNote O(1) running time behavior, iterating is O(definitions)
+     * @return the words in order
+     */
+    @Override
+    Iterable<DictionaryWord> dictionaryWords() {
+        return () -> new Iterator<DictionaryWord>() {
+            private final MergedWords merged = new MergedWords("");
+            private boolean hasNext = merged.next();
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public DictionaryWord next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                DictionaryWord dictionaryWord = merged.dictionaryWord();
+                hasNext = merged.next();
+                return dictionaryWord;
+            }
+        };
+    }
+
+    /**
+     * Captures a point-in-time view of the dictionary. The words are copied, since words held in memory change in place
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the snapshot
+     */
+    @Override
+    public DictionarySnapshot snapshot() {
+        return copyingSnapshot();
+    }
+
+    /**
+     * Represents the dictionary as a string
+     *
+     * @implNote O(definitions) running time behavior (definitions must be >= words)
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            sb.append(dictionaryWord.toString());
+            sb.append(NEWLINE);
+        }
+        // Removes the extra newline character
+        sb.delete(sb.length()-1, sb.length());
+        return sb.toString();
+    }
+
+    /**
+     * Provides the file output format of the dictionary
+     *
+     * @implNote O(definitions) running time behavior (definitions must be >= words)
+     * @return the dictionary in file format
+     */
+    @Override
+    public String toFileFormat() {
+        StringBuilder fileFormatString = new StringBuilder();
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            fileFormatString.append(dictionaryWord.toFileFormat());
+        }
+        // Substring method removes the newline character
+        return fileFormatString.substring(0, Math.max(fileFormatString.length() - NEWLINE.length(), 0));
+    }
+
+    /**
+     * Represents the dictionary as a string on the calling thread, since the words stream out of the file and the
+     * changed words in one merged pass
+     *
+     * @implNote O(definitions) running time behavior
+     * @param pool unused
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public String toString(ForkJoinPool pool) {
+        return toString();
+    }
+
+    /**
+     * Provides the file output format of the dictionary on the calling thread, since the words stream out of the file
+     * and the changed words in one merged pass
+     *
+     * @implNote O(definitions) running time behavior
+     * @param pool unused
+     * @return the dictionary in file format
+     */
+    @Override
+    public String toFileFormat(ForkJoinPool pool) {
+        return toFileFormat();
+    }
+
+    /**
+     * Writes the file output format of the dictionary on the calling thread as the words stream out of the file and
+     * the changed words in one merged pass. Every word is written as soon as it is rendered, so the whole dictionary
+     * is never held as one string
+     *
+     * @implNote O(definitions) running time behavior, plus the cost of writing
+     * @param out where to write the dictionary
+     * @param pool unused
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public void writeFileFormat(Appendable out, ForkJoinPool pool) throws IOException {
+        StringBuilder wordFormat = new StringBuilder();
+        boolean first = true;
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            wordFormat.setLength(0);
+            dictionaryWord.renderFileFormatTo(wordFormat);
+            // The newline after the last definition isn't part of the file format, so it is written before the next
+            if (!first) {
+                out.append(NEWLINE);
+            }
+            out.append(wordFormat, 0, wordFormat.length() - NEWLINE.length());
+            first = false;
+        }
+    }
+
+    /**
+     * A class that merges the file's words with the changed words in lexicographic order, skipping removed words.
+     * A changed word replaces the file's copy of the same word
+     */
+    private class MergedWords {
+        // Variables
+        private final SortedWordFile.Cursor fileWords;
+        private final Iterator<Map.Entry<String, DictionaryWord>> changed;
+        private Map.Entry<String, DictionaryWord> nextChanged;
+        private boolean fileHasNext;
+        private boolean fileWordReturned;
+        private String word;
+        private DictionaryWord changedWord;
+
+        /**
+         * Creates a merge positioned before the first word greater than or equal to the given word
+         *
+         * @param from the smallest word to return
+         */
+        private MergedWords(String from) {
+            fileWords = file.cursor(from);
+            changed = changedWords.tailMap(from, true).entrySet().iterator();
+            nextChanged = changed.hasNext() ? changed.next() : null;
+            fileHasNext = fileWords.next();
+        }
+
+        /**
+         * Moves to the next word
+         *
+         * @implNote O(1) amortized running time behavior
+         * @return true if there is a word, false if every word was returned
+         */
+        private boolean next() {
+            if (fileWordReturned) {
+                fileHasNext = fileWords.next();
+                fileWordReturned = false;
+            }
+            while (fileHasNext || nextChanged != null) {
+                int comparison;
+                if (!fileHasNext) {
+                    comparison = 1;
+                } else if (nextChanged == null) {
+                    comparison = -1;
+                } else {
+                    comparison = fileWords.word().compareTo(nextChanged.getKey());
+                }
+                if (comparison < 0) {
+                    word = fileWords.word();
+                    changedWord = null;
+                    fileWordReturned = true;
+                    return true;
+                }
+                if (comparison == 0) {
+                    // The changed word replaces the file's copy
+                    fileHasNext = fileWords.next();
+                }
+                Map.Entry<String, DictionaryWord> entry = nextChanged;
+                nextChanged = changed.hasNext() ? changed.next() : null;
+                if (entry.getValue() != null) {
+                    word = entry.getKey();
+                    changedWord = entry.getValue();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Gets the current word
+         *
+         * @implNote O(1) running time behavior
+         * @return the word
+         */
+        private String word() {
+            return word;
+        }
+
+        /**
+         * Gets the current word and its definitions
+         *
+         * @implNote O(definitions of word) running time behavior
+         * @return the word and its definitions
+         */
+        private DictionaryWord dictionaryWord() {
+            return changedWord != null ? changedWord : fileWords.dictionaryWord();
+        }
+    }
+}
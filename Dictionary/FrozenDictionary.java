@@ -0,0 +1,793 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An immutable Dictionary laid out for reading, made by Dictionary.freeze. The words are kept in one sorted array and
+ * found through an open-addressing table of their positions, and the definitions are flattened into parallel arrays
+ * in word order: the part of speech of each definition as a byte, and the offset of its text in a shared char array.
+ * A word's definitions are the run between its first definition and the next word's.
+ *
+ * <p>Nothing changes after construction and every field is final, so a frozen dictionary can be read from any number
+ * of threads without locking. Every method that would change it throws UnsupportedOperationException.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class FrozenDictionary extends Dictionary {
+    // Word columns, indexed by the position of the word in lexicographic order
+    private final String[] words;
+    private final int[] wordHashes;
+    private final int[] firstDefinition;
+    // Positions of the words plus one, by hash with linear probing, 0 where there is no word
+    private final int[] table;
+    // Definition columns, indexed by definition
+    private final byte[] definitionPartOfSpeech;
+    private final int[] textOffset;
+    private final char[] text;
+    private final String[] partsOfSpeech;
+    // Indexes
+    private final TrigramIndex trigrams;
+    private final String[] reversedWords;
+    private final DictionaryStatistics statistics;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    final private String TAB = "\t";
+    // Multiplier that spreads the bits of String hash codes over the table
+    final private static int HASH_MIXER = 0x9E3779B9;
+
+    /**
+     * Copies the words of a dictionary into arrays. Use Dictionary.freeze rather than calling this directly
+     *
+     * @implNote O(length of the words and definitions + words * log(words)) running time behavior
+     * @param source the dictionary to copy
+     */
+    FrozenDictionary(Dictionary source) {
+        // Only a first guess at the size, since an engine's count may not match the words it iterates
+        int definitions = Math.max(1, source.numDefinitions());
+        String[] wordColumn = new String[definitions];
+        int[] firstColumn = new int[definitions + 1];
+        StringBuilder allText = new StringBuilder();
+        // Sorted, so comparing the bytes orders parts of speech the same way as comparing their names
+        TreeMap<String, Integer> usedPartsOfSpeech = new TreeMap<String, Integer>();
+        ArrayList<DictionaryDefinition> flattened = new ArrayList<DictionaryDefinition>(definitions);
+        int numWords = 0;
+        for (DictionaryWord dictionaryWord : source.dictionaryWords()) {
+            if (numWords == wordColumn.length) {
+                wordColumn = Arrays.copyOf(wordColumn, numWords * 2);
+                firstColumn = Arrays.copyOf(firstColumn, numWords * 2 + 1);
+            }
+            wordColumn[numWords] = dictionaryWord.getWord();
+            firstColumn[numWords] = flattened.size();
+            numWords++;
+            for (DictionaryDefinition definition : dictionaryWord.getDefinitionSet()) {
+                usedPartsOfSpeech.put(definition.getPartOfSpeech(), 0);
+                flattened.add(definition);
+            }
+        }
+        partsOfSpeech = usedPartsOfSpeech.keySet().toArray(new String[0]);
+        for (int code = 0; code < partsOfSpeech.length; code++) {
+            usedPartsOfSpeech.put(partsOfSpeech[code], code);
+        }
+        byte[] partOfSpeechColumn = new byte[flattened.size()];
+        int[] offsetColumn = new int[flattened.size() + 1];
+        for (int i = 0; i < flattened.size(); i++) {
+            DictionaryDefinition definition = flattened.get(i);
+            partOfSpeechColumn[i] = (byte) (int) usedPartsOfSpeech.get(definition.getPartOfSpeech());
+            offsetColumn[i] = allText.length();
+            allText.append(definition.getDefinition());
+        }
+        offsetColumn[flattened.size()] = allText.length();
+        firstColumn[numWords] = flattened.size();
+
+        words = Arrays.copyOf(wordColumn, numWords);
+        firstDefinition = Arrays.copyOf(firstColumn, numWords + 1);
+        definitionPartOfSpeech = partOfSpeechColumn;
+        textOffset = offsetColumn;
+        text = new char[allText.length()];
+        allText.getChars(0, allText.length(), text, 0);
+
+        // At most half full, so probes stay short
+        wordHashes = new int[numWords];
+        table = new int[Math.max(2, Integer.highestOneBit(Math.max(1, numWords) * 2) << 1)];
+        for (int i = 0; i < numWords; i++) {
+            wordHashes[i] = words[i].hashCode();
+            int slot = slotOf(wordHashes[i]);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = i + 1;
+        }
+
+        trigrams = new TrigramIndex();
+        reversedWords = new String[numWords];
+        for (int i = 0; i < numWords; i++) {
+            trigrams.add(words[i]);
+            reversedWords[i] = SuffixIndex.reverse(words[i]);
+        }
+        Arrays.sort(reversedWords);
+        statistics = source.getStatisticsSnapshot();
+        // Render the summary now, so readers never race to cache it
+        statistics.getSummary();
+    }
+
+    /**
+     * Throws, since a frozen dictionary can't be changed
+     *
+     * @implNote O(1) running time behavior
+     * @param word The word
+     * @param partOfSpeech the part of speech for the associated word
+     * @param definition the associated definition for the associated part of speech
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(String word, String partOfSpeech, String definition) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A frozen dictionary can't be changed");
+    }
+
+    /**
+     * Provides the statistics of the dictionary, taken from the dictionary it was frozen from
+     *
+     * @implNote O(1) running time behavior
+     * @return the statistics snapshot
+     */
+    @Override
+    public DictionaryStatistics getStatisticsSnapshot() {
+        return statistics;
+    }
+
+    /**
+     * Estimates the heap retained by each structure of the dictionary: the word strings and columns, the hash table,
+     * the definition columns and text, the statistics and the indexes
+     *
+     * @implNote O(length of the words) running time behavior
+     * @param layout the layout of objects to estimate with
+     * @return the memory report
+     */
+    @Override
+    public MemoryReport memoryReport(MemoryLayout layout) {
+        MemoryReport report = new MemoryReport(layout, words.length, definitionPartOfSpeech.length);
+        long wordStrings = 0;
+        long reversedStrings = 0;
+        for (int i = 0; i < words.length; i++) {
+            wordStrings += layout.string(words[i]);
+            reversedStrings += layout.string(reversedWords[i]);
+        }
+        report.add("word strings", wordStrings, false);
+        report.add("word columns", layout.referenceArray(words.length) + layout.array(wordHashes.length, 4)
+                + layout.array(firstDefinition.length, 4), false);
+        report.add("word table", layout.array(table.length, 4), false);
+        report.add("definition columns", layout.array(definitionPartOfSpeech.length, 1)
+                + layout.array(textOffset.length, 4), true);
+        report.add("definition text", layout.array(text.length, 2), true);
+        report.add("statistics", statistics.getDefinitionsPerWordHistogram().retainedBytes(layout)
+                + statistics.getWordLengthHistogram().retainedBytes(layout)
+                + statistics.getDefinitionLengthHistogram().retainedBytes(layout), false);
+        report.add("trigram index", trigrams.retainedBytes(layout), false);
+        report.add("suffix index", layout.referenceArray(reversedWords.length) + reversedStrings, false);
+        return report;
+    }
+
+    /**
+     * Returns all the words in the given range as a string
+     *
+     * @implNote O(log(words) + words in range) running time behavior
+     * @param start the starting word (inclusive)
+     * @param end the ending word (inclusive)
+     * @return all the words in the range as a string
+     */
+    @Override
+    public String getWordsInRange(String start, String end) {
+        StringBuilder sb = new StringBuilder("The words between ")
+                .append(start)
+                .append(" and ")
+                .append(end)
+                .append(" are:");
+        if (start.compareTo(end) <= 0) {
+            for (int i = lowerBound(words, start); i < words.length && words[i].compareTo(end) <= 0; i++) {
+                sb
+                        .append(NEWLINE)
+                        .append(TAB)
+                        .append(words[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Does nothing, since ranges are found by binary search rather than cached
+     *
+     * @implNote O(1) running time behavior
+     * @param bytes unused
+     */
+    @Override
+    public void setRangeCacheBudget(long bytes) {
+    }
+
+    /**
+     * Gets the number of getWordsInRange calls answered from a cache, which is always 0 since ranges are binary
+     * searched
+     *
+     * @implNote O(1) running time behavior
+     * @return 0
+     */
+    @Override
+    public long getRangeCacheHits() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of getWordsInRange calls that missed a cache, which is always 0 since ranges are binary searched
+     *
+     * @implNote O(1) running time behavior
+     * @return 0
+     */
+    @Override
+    public long getRangeCacheMisses() {
+        return 0;
+    }
+
+    /**
+     * Finds the lexicographically smallest words that match a pattern through the trigram index, reading the
+     * candidates from the sorted word array
+     *
+     * @implNote O(postings of the pattern's trigrams + candidates * length of the pattern) running time behavior
+     * @param pattern the pattern, where '?' matches any one character and '*' matches any sequence of characters
+     * @param limit the maximum number of words to return
+     * @return the matching words in lexicographic order
+     */
+    @Override
+    public List<String> match(String pattern, int limit) {
+        return trigrams.match(pattern, limit, prefix -> Arrays.asList(words)
+                .listIterator(lowerBound(words, prefix)));
+    }
+
+    /**
+     * Gets the words ending with a suffix, such as "tion", in the order of their reversals so words with the same
+     * ending are grouped together
+     *
+     * @implNote O(log(words) + words returned) running time behavior
+     * @param suffix the suffix
+     * @param limit the maximum number of words to return
+     * @return the words
+     */
+    @Override
+    public List<String> getWordsWithSuffix(String suffix, int limit) {
+        String reversedSuffix = SuffixIndex.reverse(suffix);
+        ArrayList<String> matches = new ArrayList<String>();
+        for (int i = lowerBound(reversedWords, reversedSuffix); i < reversedWords.length
+                && matches.size() < limit && reversedWords[i].startsWith(reversedSuffix); i++) {
+            matches.add(SuffixIndex.reverse(reversedWords[i]));
+        }
+        return matches;
+    }
+
+    /**
+     * Counts the words ending with a suffix
+     *
+     * @implNote O(log(words) * length of the suffix) running time behavior, both ends of the run are binary searched
+     * @param suffix the suffix
+     * @return the number of words
+     */
+    @Override
+    public int countWithSuffix(String suffix) {
+        String reversedSuffix = SuffixIndex.reverse(suffix);
+        int first = lowerBound(reversedWords, reversedSuffix);
+        int low = first;
+        int high = reversedWords.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (reversedWords[middle].startsWith(reversedSuffix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low - first;
+    }
+
+    /**
+     * Provides a word and its definitions, rendered straight from the columns into a builder of the exact length
+     *
+     * @implNote O(length of the word + length of its definitions) running time behavior
+     * @param word the word
+     * @return the word and its definitions, or null if it isn't in the dictionary
+     */
+    @Override
+    public String getWord(String word) {
+        int index = indexOf(word);
+        if (index < 0) {
+            return null;
+        }
+        StringBuilder output = new StringBuilder(word.length() + renderedLength(index));
+        appendWord(output, index);
+        return output.toString();
+    }
+
+    /**
+     * Writes the requested word the way getWord represents it straight from the columns, without building a string
+     *
+     * @implNote O(length of the definitions of the word) running time behavior
+     * @param word the word to write
+     * @param out where to write the word
+     * @return true if the word was written, false if it isn't in the dictionary
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public boolean renderWord(String word, Appendable out) throws IOException {
+        int index = indexOf(word);
+        if (index < 0) {
+            return false;
+        }
+        out.append(word);
+        for (int definition = firstDefinition[index]; definition < firstDefinition[index + 1]; definition++) {
+            out.append(NEWLINE).append(TAB).append(partsOfSpeech[definitionPartOfSpeech[definition]]).append('.')
+                    .append(TAB);
+            // Appendable has no way to take a range of a char[], and wrapping one would allocate
+            for (int i = textOffset[definition]; i < textOffset[definition + 1]; i++) {
+                out.append(text[i]);
+            }
+        }
+        // The last definition may end in half of a surrogate pair
+        Utf8Sink.finish(out);
+        return true;
+    }
+
+    /**
+     * Checks if the dictionary has a word by probing the hash table of word positions
+     *
+     * @implNote O(1) expected running time behavior, plus O(length of the word) to confirm a hash match
+     * @param word the word
+     * @return true if the word is in the dictionary
+     */
+    @Override
+    public boolean containsWord(String word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Does nothing, since words are found through a hash table rather than a filter
+     *
+     * @implNote O(1) running time behavior
+     */
+    @Override
+    public void rebuildWordFilter() {
+    }
+
+    /**
+     * Provides the first word in the dictionary and its definitions
+     *
+     * @implNote O(length of the definitions of the word) running time behavior
+     * @return the word and its definitions, or "null" if the dictionary is empty
+     */
+    @Override
+    public String getFirstWord() {
+        if (words.length > 0) return getWord(words[0]);
+        return "null";
+    }
+
+    /**
+     * Provides the last word in the dictionary and its definitions
+     *
+     * @implNote O(length of the definitions of the word) running time behavior
+     * @return the word and its definitions, or "null" if the dictionary is empty
+     */
+    @Override
+    public String getLastWord() {
+        if (words.length > 0) return getWord(words[words.length - 1]);
+        return "null";
+    }
+
+    /**
+     * Lists the parts of speech used by the word's definitions
+     *
+     * @implNote O(definitions of the word) running time behavior
+     * @param word the word
+     * @return the parts of speech
+     * @throws NoSuchElementException if the word isn't in the dictionary
+     */
+    @Override
+    public String getPartsOfSpeechOfWord(String word) throws NoSuchElementException {
+        int index = requireIndex(word);
+        StringBuilder output = new StringBuilder(word + ":" + NEWLINE + TAB);
+        int previous = -1;
+        for (int definition = firstDefinition[index]; definition < firstDefinition[index + 1]; definition++) {
+            // The definitions are sorted by part of speech, so each one is listed once
+            if (definitionPartOfSpeech[definition] != previous) {
+                previous = definitionPartOfSpeech[definition];
+                output.append(partsOfSpeech[previous]).append(NEWLINE).append(TAB);
+            }
+        }
+        return output.toString();
+    }
+
+    /**
+     * Returns a numbered list of the definitions of a word as a string
+     *
+     * @implNote O(definitions of word) running time behavior
+     * @param word the word to get the definitions for
+     * @return a numbered list of the definitions of a word as a string
+     * @throws NoSuchElementException if the word isn't in the dictionary
+     */
+    @Override
+    public String getDefinitions(String word) throws NoSuchElementException {
+        int index = requireIndex(word);
+        int counter = 1;
+        StringBuilder sb = new StringBuilder();
+        for (int definition = firstDefinition[index]; definition < firstDefinition[index + 1]; definition++) {
+            sb.append(counter).append(". ");
+            appendDefinition(sb, definition);
+            sb.append(NEWLINE);
+            counter++;
+        }
+        sb.append(counter).append(". Back to main menu").append(NEWLINE);
+        return sb.toString();
+    }
+
+    /**
+     * Gets the number of definitions for a word
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word to get the number of definitions for
+     * @return the number of definitions of the word
+     * @throws NoSuchElementException if the word isn't in the dictionary
+     */
+    @Override
+    public int getNumDefinitions(String word) throws NoSuchElementException {
+        int index = requireIndex(word);
+        return firstDefinition[index + 1] - firstDefinition[index];
+    }
+
+    /**
+     * Throws, since a frozen dictionary can't be changed
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word to update a definition for
+     * @param definitionIndex the index of the definition to update
+     * @param newDefinition the new definition for the word
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void updateDefinition(String word, int definitionIndex, String newDefinition)
+            throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A frozen dictionary can't be changed");
+    }
+
+    /**
+     * Captures a point-in-time view of the dictionary by copying every word out of the columns
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the snapshot
+     */
+    @Override
+    public DictionarySnapshot snapshot() {
+        return copyingSnapshot();
+    }
+
+    /**
+     * Returns this dictionary, which is already frozen
+     *
+     * @implNote O(1) running time behavior
+     * @return this dictionary
+     */
+    @Override
+    public FrozenDictionary freeze() {
+        return this;
+    }
+
+    /**
+     * Builds the DictionaryWord of a word from the columns
+     *
+     * @implNote O(definitions of the word * log(definitions of the word)) running time behavior
+     * @param word the word
+     * @return the DictionaryWord, or null if the word isn't in the dictionary
+     */
+    @Override
+    DictionaryWord getDictionaryWord(String word) {
+        int index = indexOf(word);
+        return index < 0 ? null : toDictionaryWord(index);
+    }
+
+    /**
+     * Provides the number of definitions, which is the length of the definition columns
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    @Override
+    int numDefinitions() {
+        return definitionPartOfSpeech.length;
+    }
+
+    /**
+     * Provides the words of the dictionary greater than or equal to the given word in lexicographic order, each built
+     * from the columns as it is reached
+     *
+     * @implNote O(log(words)) running time behavior, iterating is O(definitions returned)
+     * @param from the smallest word to return
+     * @return the words in order
+     */
+    @Override
+    Iterable<DictionaryWord> dictionaryWords(String from) {
+        return () -> new Iterator<DictionaryWord>() {
+            private int index = lowerBound(words, from);
+
+            @Override
+            public boolean hasNext() {
+                return index < words.length;
+            }
+
+            @Override
+            public DictionaryWord next() {
+                if (index >= words.length) {
+                    throw new NoSuchElementException();
+                }
+                return toDictionaryWord(index++);
+            }
+        };
+    }
+
+    /**
+     * Represents the dictionary as a string on the calling thread, reading the columns in word order
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int index = 0; index < words.length; index++) {
+            appendWord(sb, index);
+            sb.append(NEWLINE);
+        }
+        // Removes the extra newline character
+        sb.delete(sb.length()-1, sb.length());
+        return sb.toString();
+    }
+
+    /**
+     * Provides the file output format of the dictionary on the calling thread, reading the columns in word order
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the dictionary in file format
+     */
+    @Override
+    public String toFileFormat() {
+        StringBuilder fileFormatString = new StringBuilder();
+        for (int index = 0; index < words.length; index++) {
+            for (int definition = firstDefinition[index]; definition < firstDefinition[index + 1]; definition++) {
+                fileFormatString
+                        .append(words[index])
+                        .append("::")
+                        .append(partsOfSpeech[definitionPartOfSpeech[definition]])
+                        .append("::")
+                        .append(text, textOffset[definition], textOffset[definition + 1] - textOffset[definition])
+                        .append(NEWLINE);
+            }
+        }
+        // Substring method removes the newline character
+        return fileFormatString.substring(0, Math.max(fileFormatString.length() - NEWLINE.length(), 0));
+    }
+
+    /**
+     * Represents the dictionary as a string on the calling thread, which the columns already render in one pass over
+     * contiguous arrays
+     *
+     * @implNote O(definitions) running time behavior
+     * @param pool unused
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public String toString(ForkJoinPool pool) {
+        return toString();
+    }
+
+    /**
+     * Provides the file output format of the dictionary on the calling thread, which the columns already render in
+     * one pass over contiguous arrays
+     *
+     * @implNote O(definitions) running time behavior
+     * @param pool unused
+     * @return the dictionary in file format
+     */
+    @Override
+    public String toFileFormat(ForkJoinPool pool) {
+        return toFileFormat();
+    }
+
+    /**
+     * Writes the file output format of the dictionary on the calling thread, which the columns already render in one
+     * pass over contiguous arrays. Every definition is written straight from the columns, so the whole dictionary is
+     * never held as one string
+     *
+     * @implNote O(definitions) running time behavior, plus the cost of writing
+     * @param out where to write the dictionary
+     * @param pool unused
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public void writeFileFormat(Appendable out, ForkJoinPool pool) throws IOException {
+        // Appendable takes chars only as a sequence, which a wrapper gives without copying them
+        CharBuffer textView = CharBuffer.wrap(text);
+        for (int index = 0; index < words.length; index++) {
+            for (int definition = firstDefinition[index]; definition < firstDefinition[index + 1]; definition++) {
+                // The file format has no newline after its last definition
+                if (definition > 0) {
+                    out.append(NEWLINE);
+                }
+                out.append(words[index])
+                        .append("::")
+                        .append(partsOfSpeech[definitionPartOfSpeech[definition]])
+                        .append("::")
+                        .append(textView, textOffset[definition], textOffset[definition + 1]);
+            }
+        }
+    }
+
+    /**
+     * Throws, since a frozen dictionary can't be changed
+     *
+     * @implNote O(1) running time behavior
+     * @param userWord the word to remove a definition from
+     * @param id the index of the definition to remove
+     * @return never returns
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeDefinition(String userWord, int id) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A frozen dictionary can't be changed");
+    }
+
+    /**
+     * Throws, since a frozen dictionary can't be changed
+     *
+     * @implNote O(1) running time behavior
+     * @param batch the changes
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void apply(Batch batch) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A frozen dictionary can't be changed");
+    }
+
+    /**
+     * Throws, since a frozen dictionary can't be changed
+     *
+     * @implNote O(1) running time behavior
+     * @param codec the codec
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void compressDefinitions(DefinitionCodec codec) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A frozen dictionary can't be changed");
+    }
+
+    /**
+     * Finds the position of a word through the hash table
+     *
+     * @implNote O(1) expected running time behavior, plus O(length of the word) to confirm a hash match
+     * @param word the word
+     * @return the position of the word in lexicographic order, or -1 if it isn't in the dictionary or is null
+     */
+    private int indexOf(String word) {
+        if (word == null) {
+            return -1;
+        }
+        int hash = word.hashCode();
+        int slot = slotOf(hash);
+        while (table[slot] != 0) {
+            int index = table[slot] - 1;
+            if (wordHashes[index] == hash && words[index].equals(word)) {
+                return index;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the position of a word that must be in the dictionary
+     *
+     * @implNote O(1) expected running time behavior
+     * @param word the word
+     * @return the position of the word in lexicographic order
+     * @throws NoSuchElementException if the word isn't in the dictionary
+     */
+    private int requireIndex(String word) throws NoSuchElementException {
+        int index = indexOf(word);
+        if (index < 0) {
+            throw new NoSuchElementException("The word " + word + " isn't in the dictionary");
+        }
+        return index;
+    }
+
+    /**
+     * Gets the table slot a hash code starts probing at
+     *
+     * @implNote O(1) running time behavior
+     * @param hash the hash code of a word
+     * @return the slot
+     */
+    private int slotOf(int hash) {
+        int mixed = hash * HASH_MIXER;
+        return (mixed ^ (mixed >>> 16)) & (table.length - 1);
+    }
+
+    /**
+     * Finds the first position of a sorted array holding a string greater than or equal to the given one
+     *
+     * @implNote O(log(length of the array)) running time behavior
+     * @param sorted the sorted array
+     * @param key the string
+     * @return the position, or the length of the array if every string is less
+     */
+    private static int lowerBound(String[] sorted, String key) {
+        int position = Arrays.binarySearch(sorted, key);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * Appends a word and its definitions in the same form as DictionaryWord.toString
+     *
+     * @implNote O(length of the definitions of the word) running time behavior
+     * @param sb the builder to append to
+     * @param index the position of the word
+     */
+    private void appendWord(StringBuilder sb, int index) {
+        sb.append(words[index]);
+        for (int definition = firstDefinition[index]; definition < firstDefinition[index + 1]; definition++) {
+            sb.append(NEWLINE).append(TAB);
+            appendDefinition(sb, definition);
+        }
+    }
+
+    /**
+     * Counts the characters appendWord adds after the word itself, so the builder can be sized exactly
+     *
+     * @implNote O(definitions of the word) running time behavior
+     * @param index the position of the word
+     * @return the number of characters
+     */
+    private int renderedLength(int index) {
+        int length = 0;
+        for (int definition = firstDefinition[index]; definition < firstDefinition[index + 1]; definition++) {
+            length += NEWLINE.length() + 2 * TAB.length() + partsOfSpeech[definitionPartOfSpeech[definition]].length()
+                    + 1 + textOffset[definition + 1] - textOffset[definition];
+        }
+        return length;
+    }
+
+    /**
+     * Appends a definition in the same form as DictionaryDefinition.toString
+     *
+     * @implNote O(length of the definition) running time behavior
+     * @param sb the builder to append to
+     * @param definition the position of the definition
+     */
+    private void appendDefinition(StringBuilder sb, int definition) {
+        sb
+                .append(partsOfSpeech[definitionPartOfSpeech[definition]])
+                .append(".")
+                .append(TAB)
+                .append(text, textOffset[definition], textOffset[definition + 1] - textOffset[definition]);
+    }
+
+    /**
+     * Builds the DictionaryWord of a word from the columns
+     *
+     * @implNote O(definitions of the word * log(definitions of the word)) running time behavior
+     * @param index the position of the word
+     * @return the DictionaryWord
+     */
+    private DictionaryWord toDictionaryWord(int index) {
+        DictionaryWord dictionaryWord = new DictionaryWord(words[index]);
+        for (int definition = firstDefinition[index]; definition < firstDefinition[index + 1]; definition++) {
+            dictionaryWord.addDefinition(partsOfSpeech[definitionPartOfSpeech[definition]],
+                    new String(text, textOffset[definition], textOffset[definition + 1] - textOffset[definition]));
+        }
+        return dictionaryWord;
+    }
+}
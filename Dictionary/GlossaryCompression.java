@@ -0,0 +1,205 @@
+package comprehensive;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.*;
+
+/**
+ * The ways a glossary file can be compressed. Reading a file finds its compression from its first bytes, and saving
+ * one picks the compression from the file name: ".gz" for gzip, ".deflate" or ".zz" for zlib-wrapped Deflate, and
+ * plain text otherwise. Every stream is opened with large buffers, since disk I/O dominates loading and saving.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public enum GlossaryCompression {
+    NONE("plain"), GZIP("gzip"), DEFLATE("deflate");
+
+    // Variables
+    private final String description;
+    // Constants
+    final static int FILE_BUFFER_BYTES = 1 << 20;
+    final static int TEXT_BUFFER_CHARS = 1 << 16;
+    final private static int STREAM_BUFFER_BYTES = 1 << 16;
+    final private static int SNIFF_BYTES = 4096;
+
+    GlossaryCompression(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Finds the compression of a stream from its first bytes, leaving the stream where it was. Gzip is found by its
+     * magic number. A zlib header can also be the start of a plain glossary line, such as "80s::noun::...", so the
+     * stream is only taken as Deflate when its first line isn't one
+     *
+     * @implNote O(1) running time behavior
+     * @param in the stream, which must support mark
+     * @return the compression
+     * @throws IOException if the stream can't be read
+     */
+    public static GlossaryCompression detect(BufferedInputStream in) throws IOException {
+        in.mark(SNIFF_BYTES);
+        byte[] head = in.readNBytes(SNIFF_BYTES);
+        in.reset();
+        if (head.length < 2) {
+            return NONE;
+        }
+        int first = head[0] & 0xff;
+        int second = head[1] & 0xff;
+        if (first == 0x1f && second == 0x8b) {
+            return GZIP;
+        }
+        // Deflate with a window of at most 32 KB, no preset dictionary, and a check that makes the header a
+        // multiple of 31
+        boolean zlibHeader = (first & 0x0f) == 8 && (first >> 4) <= 7 && (second & 0x20) == 0
+                && ((first << 8) | second) % 31 == 0;
+        return zlibHeader && !startsWithGlossaryLine(head) ? DEFLATE : NONE;
+    }
+
+    /**
+     * Picks the compression to save a file with from its name
+     *
+     * @implNote O(1) running time behavior
+     * @param file the file
+     * @return the compression
+     */
+    public static GlossaryCompression forFileName(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".gz")) {
+            return GZIP;
+        } else if (name.endsWith(".deflate") || name.endsWith(".zz")) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+
+    /**
+     * Wraps a stream of this compression in a stream of the text it holds
+     *
+     * @implNote O(1) running time behavior
+     * @param in the compressed stream
+     * @return the decompressed stream
+     * @throws IOException if the gzip header can't be read
+     */
+    public InputStream decompress(InputStream in) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPInputStream(in, STREAM_BUFFER_BYTES);
+            case DEFLATE:
+                Inflater inflater = new Inflater();
+                return new InflaterInputStream(in, inflater, STREAM_BUFFER_BYTES) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            inflater.end();
+                        }
+                    }
+                };
+            default:
+                return in;
+        }
+    }
+
+    /**
+     * Wraps a stream in one that compresses what is written to it with this compression
+     *
+     * @implNote O(1) running time behavior
+     * @param out the stream to write the compressed bytes to
+     * @return the stream to write the text to
+     * @throws IOException if the gzip header can't be written
+     */
+    public OutputStream compress(OutputStream out) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPOutputStream(out, STREAM_BUFFER_BYTES);
+            case DEFLATE:
+                Deflater deflater = new Deflater();
+                return new DeflaterOutputStream(out, deflater, STREAM_BUFFER_BYTES) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            deflater.end();
+                        }
+                    }
+                };
+            default:
+                return out;
+        }
+    }
+
+    /**
+     * Opens a glossary file of any compression for reading its text
+     *
+     * @implNote O(1) running time behavior
+     * @param file the file
+     * @return the reader
+     * @throws IOException if the file can't be opened
+     */
+    public static BufferedReader newReader(Path file) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file), FILE_BUFFER_BYTES);
+        try {
+            return new BufferedReader(new InputStreamReader(detect(in).decompress(in), StandardCharsets.UTF_8),
+                    TEXT_BUFFER_CHARS);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a file for writing text with this compression, replacing anything in it
+     *
+     * @implNote O(1) running time behavior
+     * @param file the file
+     * @return the writer
+     * @throws IOException if the file can't be opened
+     */
+    public BufferedWriter newWriter(Path file) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), FILE_BUFFER_BYTES);
+        try {
+            return new BufferedWriter(new OutputStreamWriter(compress(out), StandardCharsets.UTF_8),
+                    TEXT_BUFFER_CHARS);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the name of this compression for reports
+     *
+     * @implNote O(1) running time behavior
+     * @return "plain", "gzip" or "deflate"
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    /**
+     * Checks if the bytes begin with a line of the form "word::part of speech::definition"
+     *
+     * @implNote O(bytes) running time behavior
+     * @param bytes the first bytes of a file
+     * @return true if the first line has two separators before its end, or the end of the bytes
+     */
+    private static boolean startsWithGlossaryLine(byte[] bytes) {
+        int separators = 0;
+        for (int i = 0; i < bytes.length && bytes[i] != '\n'; i++) {
+            if (bytes[i] == ':' && i + 1 < bytes.length && bytes[i + 1] == ':') {
+                separators++;
+                i++;
+            } else if (bytes[i] >= 0 && bytes[i] < 0x20 && bytes[i] != '\t' && bytes[i] != '\r') {
+                // Text doesn't hold control characters
+                return false;
+            }
+        }
+        return separators >= 2;
+    }
+}
@@ -0,0 +1,223 @@
+package comprehensive;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A class that loads a glossary file into a Dictionary, plain or compressed. A reader thread reads the file through a
+ * large buffer, decompresses it, and splits its lines into their parts. It hands the parsed lines to the loading
+ * thread in chunks through a bounded queue, so reading and decompressing overlap with adding, and a slow dictionary
+ * holds back the reader instead of filling the heap. Every line is expected to be "word::part of speech::definition".
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class GlossaryLoader {
+    // Variables
+    private final Path file;
+    private GlossaryCompression compression = GlossaryCompression.NONE;
+    private long bytesRead;
+    private long textBytes;
+    private long definitions;
+    private long elapsedNanos;
+    private volatile Exception readError;
+    // Constants
+    final private static int LINES_PER_CHUNK = 1024;
+    final private static int QUEUED_CHUNKS = 16;
+    // Marks the end of the file in the queue
+    final private static List<String[]> END = new ArrayList<String[]>();
+
+    /**
+     * Creates a loader of a glossary file
+     *
+     * @param file the glossary file, plain, gzip or zlib-wrapped Deflate
+     */
+    public GlossaryLoader(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Adds every definition of the file to a dictionary, replacing the figures of any previous load
+     *
+     * @implNote O(definitions) running time behavior
+     * @param dictionary the dictionary to add the definitions to
+     * @throws IOException if the file can't be read
+     */
+    public void loadInto(Dictionary dictionary) throws IOException {
+        long start = System.nanoTime();
+        definitions = 0;
+        readError = null;
+        CountingInputStream raw = new CountingInputStream(new FileInputStream(file.toFile()));
+        BufferedInputStream buffered = new BufferedInputStream(raw, GlossaryCompression.FILE_BUFFER_BYTES);
+        CountingInputStream text;
+        try {
+            compression = GlossaryCompression.detect(buffered);
+            text = new CountingInputStream(compression.decompress(buffered));
+        } catch (IOException e) {
+            buffered.close();
+            throw e;
+        }
+        BlockingQueue<List<String[]>> queue = new ArrayBlockingQueue<List<String[]>>(QUEUED_CHUNKS);
+        Thread reader = new Thread(() -> read(text, queue), "glossary-reader");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            List<String[]> chunk;
+            while ((chunk = queue.take()) != END) {
+                for (String[] definitionParts : chunk) {
+                    dictionary.add(definitionParts[0], definitionParts[1], definitionParts[2]);
+                    definitions++;
+                }
+            }
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading " + file);
+        } finally {
+            // Stops the reader if adding failed, it closes the file on its way out
+            reader.interrupt();
+        }
+        if (readError instanceof IOException) {
+            throw (IOException) readError;
+        } else if (readError != null) {
+            throw (RuntimeException) readError;
+        }
+        bytesRead = raw.count;
+        textBytes = text.count;
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Reads and splits the lines of the file on the reader thread, then closes it
+     *
+     * @implNote O(definitions) running time behavior
+     * @param text the decompressed file
+     * @param queue the queue to put chunks of split lines in
+     */
+    private void read(InputStream text, BlockingQueue<List<String[]>> queue) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(text, StandardCharsets.UTF_8),
+                GlossaryCompression.TEXT_BUFFER_CHARS)) {
+            ArrayList<String[]> chunk = new ArrayList<String[]>(LINES_PER_CHUNK);
+            String wordLine;
+            while ((wordLine = reader.readLine()) != null) {
+                chunk.add(wordLine.split("::"));
+                if (chunk.size() == LINES_PER_CHUNK) {
+                    queue.put(chunk);
+                    chunk = new ArrayList<String[]>(LINES_PER_CHUNK);
+                }
+            }
+            queue.put(chunk);
+        } catch (IOException | RuntimeException e) {
+            readError = e;
+        } catch (InterruptedException e) {
+            // The loading thread stopped, so nothing is waiting for the rest
+            return;
+        }
+        try {
+            queue.put(END);
+        } catch (InterruptedException ignored) {}
+    }
+
+    /**
+     * Gets the compression the file was found to have
+     *
+     * @implNote O(1) running time behavior
+     * @return the compression
+     */
+    public GlossaryCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Gets the number of bytes read from the file
+     *
+     * @implNote O(1) running time behavior
+     * @return the bytes read
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Gets the number of bytes of text in the file once decompressed
+     *
+     * @implNote O(1) running time behavior
+     * @return the bytes of text
+     */
+    public long getTextBytes() {
+        return textBytes;
+    }
+
+    /**
+     * Gets the number of definitions added
+     *
+     * @implNote O(1) running time behavior
+     * @return the definitions
+     */
+    public long getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * Gets how long the load took, including reading, decompressing and adding
+     *
+     * @implNote O(1) running time behavior
+     * @return the time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets a one-line summary of the last load
+     *
+     * @implNote O(1) running time behavior
+     * @return the summary
+     */
+    public String getReport() {
+        return String.format("Loaded %,d definitions from %s (%s) in %,d ms: %,d bytes read, %,d bytes of text",
+                definitions, file, compression, elapsedNanos / 1_000_000, bytesRead, textBytes);
+    }
+
+    /**
+     * A stream that counts the bytes read through it
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        // Variables
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int n = super.read(bytes, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package comprehensive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A class that keeps a Dictionary in step with the glossary file it was loaded from. When the file changes, only the
+ * definitions that changed are applied to the dictionary through add, updateDefinition and removeDefinition, so
+ * anything listening to the dictionary's change feed sees just the edit, and readers keep going in between.
+ *
+ * <p>The file is cut into chunks of about CHUNK_LINES lines, each ending at a line whose hash has its low bits clear,
+ * so an edit only changes the chunks around it and every other chunk keeps the same bytes and hash. A reload reads
+ * and hashes the file, which is cheap, then parses only the chunks it hasn't seen before, and for every word in those
+ * chunks or in chunks that disappeared, merges the word's definitions in the file with its definitions in the
+ * dictionary. A word's lines don't have to be next to each other, but every chunk holding one of its lines is parsed
+ * to build the word's definitions, so reloads are quickest when each word's lines are together.</p>
+ *
+ * <p>The dictionary's lock is held while each word is merged, so anything else that changes or reads the dictionary
+ * should hold the same lock, like Main does in watch mode.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class GlossaryWatcher implements Closeable {
+    // Variables
+    private final Dictionary dictionary;
+    private final Path file;
+    // The chunks of the file as of the latest reload, in file order
+    private ArrayList<Chunk> chunks;
+    // The chunks holding a line of each word
+    private final HashMap<String, ArrayList<Chunk>> chunksOfWord;
+    // Words a failed reload may have left partly merged, merged again by the next reload whatever changed
+    private final TreeSet<String> unmergedWords = new TreeSet<String>();
+    private WatchService watchService;
+    private Thread watcher;
+    private volatile boolean closed;
+    // Statistics of the latest reload
+    private volatile int reloads;
+    private volatile long reloadNanos;
+    private volatile long bytesRead;
+    private volatile int chunksParsed;
+    private volatile int wordsMerged;
+    private volatile int definitionsAdded;
+    private volatile int definitionsUpdated;
+    private volatile int definitionsRemoved;
+    private volatile int linesSkipped;
+    private volatile Exception failure;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    // Must be a power of two
+    final public static int CHUNK_LINES = 64;
+    // How long the file has to stop changing before it's reloaded, since editors often save in several writes
+    final private static long QUIET_MILLIS = 100;
+
+    /**
+     * Indexes the glossary file a dictionary was loaded from, without changing the dictionary
+     *
+     * @implNote O(file size + definitions) running time behavior
+     * @param dictionary the dictionary, which must hold the file's definitions
+     * @param file the glossary file
+     * @throws IOException if the file can't be read
+     */
+    public GlossaryWatcher(Dictionary dictionary, Path file) throws IOException {
+        this.dictionary = dictionary;
+        this.file = file;
+        this.chunksOfWord = new HashMap<String, ArrayList<Chunk>>();
+        byte[] bytes = Files.readAllBytes(file);
+        chunks = split(bytes);
+        for (Chunk chunk : chunks) {
+            chunk.words = wordsOf(parse(bytes, chunk));
+            index(chunk);
+        }
+    }
+
+    /**
+     * Starts watching the file on a new daemon thread, reloading it once it stops changing
+     *
+     * @param onReload called on the watching thread after every reload, whether it succeeded or not, or null
+     * @throws IOException if the file's directory can't be watched
+     * @throws IllegalStateException if the watcher was already started
+     */
+    public synchronized void start(Consumer<GlossaryWatcher> onReload) throws IOException, IllegalStateException {
+        if (watcher != null) {
+            throw new IllegalStateException("The watcher was already started");
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        // Editors that save by renaming a new file over the old one create it rather than modify it
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watcher = new Thread(() -> watch(onReload), "glossary-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Brings the dictionary in step with the file, applying only the definitions that changed since the last reload.
+     * If a change fails partway, the watcher goes back to the chunks it had before, and the next reload merges every
+     * word this one would have, whether or not the file changes again
+     *
+     * @implNote O(file size + parsed chunks * CHUNK_LINES * log(definitions)) running time behavior, where only chunks
+     * that changed, or hold a line of a word that did, are parsed
+     * @return the number of definitions added, updated and removed
+     * @throws IOException if the file can't be read
+     */
+    public synchronized int reload() throws IOException {
+        long start = System.nanoTime();
+        linesSkipped = 0;
+        byte[] bytes = Files.readAllBytes(file);
+        ArrayList<Chunk> next = split(bytes);
+        // Chunks with the same bytes as before are kept, so only new ones need parsing
+        HashMap<Long, ArrayDeque<Chunk>> previous = new HashMap<Long, ArrayDeque<Chunk>>();
+        int[] previousOffsets = new int[chunks.size()];
+        for (int i = 0; i < chunks.size(); i++) {
+            Chunk chunk = chunks.get(i);
+            previous.computeIfAbsent(chunk.hash, hash -> new ArrayDeque<Chunk>()).add(chunk);
+            previousOffsets[i] = chunk.offset;
+        }
+        HashMap<Chunk, List<String[]>> parsed = new HashMap<Chunk, List<String[]>>();
+        TreeSet<String> changedWords = new TreeSet<String>(unmergedWords);
+        ArrayList<Chunk> newChunks = new ArrayList<Chunk>();
+        ArrayList<Chunk> goneChunks = new ArrayList<Chunk>();
+        for (int i = 0; i < next.size(); i++) {
+            Chunk chunk = next.get(i);
+            ArrayDeque<Chunk> same = previous.get(chunk.hash);
+            if (same != null && !same.isEmpty()) {
+                Chunk kept = same.poll();
+                kept.offset = chunk.offset;
+                next.set(i, kept);
+            } else {
+                List<String[]> lines = parse(bytes, chunk);
+                parsed.put(chunk, lines);
+                chunk.words = wordsOf(lines);
+                changedWords.addAll(List.of(chunk.words));
+                index(chunk);
+                newChunks.add(chunk);
+            }
+        }
+        for (ArrayDeque<Chunk> removed : previous.values()) {
+            for (Chunk chunk : removed) {
+                changedWords.addAll(List.of(chunk.words));
+                unindex(chunk);
+                goneChunks.add(chunk);
+            }
+        }
+        ArrayList<Chunk> previousChunks = chunks;
+        chunks = next;
+        int[] totals = new int[3];
+        try {
+            for (String word : changedWords) {
+                // Every line of the word, from every chunk that holds one
+                TreeSet<DictionaryDefinition> definitions = new TreeSet<DictionaryDefinition>();
+                for (Chunk chunk : chunksOfWord.getOrDefault(word, new ArrayList<Chunk>())) {
+                    for (String[] line : parsed.computeIfAbsent(chunk, unparsed -> parse(bytes, unparsed))) {
+                        if (line[0].equals(word)) {
+                            definitions.add(new DictionaryDefinition(line[1], line[2]));
+                        }
+                    }
+                }
+                int[] changes = merge(word, definitions);
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += changes[i];
+                }
+            }
+        } catch (RuntimeException e) {
+            // Puts the chunks back as they were, so the next reload finds this one's chunks changed again. The words
+            // are merged again even if the file goes back to how it was, since some may already have been changed
+            for (Chunk chunk : newChunks) {
+                unindex(chunk);
+            }
+            for (Chunk chunk : goneChunks) {
+                index(chunk);
+            }
+            chunks = previousChunks;
+            for (int i = 0; i < previousChunks.size(); i++) {
+                previousChunks.get(i).offset = previousOffsets[i];
+            }
+            unmergedWords.addAll(changedWords);
+            throw e;
+        }
+        unmergedWords.clear();
+        chunksParsed = parsed.size();
+        wordsMerged = changedWords.size();
+        definitionsAdded = totals[0];
+        definitionsUpdated = totals[1];
+        definitionsRemoved = totals[2];
+        bytesRead = bytes.length;
+        reloadNanos = System.nanoTime() - start;
+        reloads++;
+        return totals[0] + totals[1] + totals[2];
+    }
+
+    /**
+     * Reports the number of reloads, and for the latest one its time, the bytes read, the chunks parsed, the words
+     * merged, the definitions added, updated and removed and the lines skipped for not being valid definitions
+     *
+     * @implNote O(1) running time behavior
+     * @return the reload statistics
+     */
+    public synchronized String getReloadStatistics() {
+        return "reloads: " + reloads + NEWLINE +
+                "last reload: " + String.format("%.3f", reloadNanos / 1e6) + " ms" + NEWLINE +
+                "bytes read: " + bytesRead + NEWLINE +
+                "chunks parsed: " + chunksParsed + " of " + chunks.size() + NEWLINE +
+                "words merged: " + wordsMerged + NEWLINE +
+                "definitions added: " + definitionsAdded + ", updated: " + definitionsUpdated + ", removed: "
+                + definitionsRemoved + NEWLINE +
+                "lines skipped: " + linesSkipped;
+    }
+
+    /**
+     * Gets the exception that stopped the latest reload, such as the file being missing while an editor replaced it
+     *
+     * @implNote O(1) running time behavior
+     * @return the exception, or null if the latest reload succeeded
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops watching the file
+     *
+     * @throws IOException if the watch service can't be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Waits for the file to change and reloads it, until the watcher is closed
+     *
+     * @param onReload called after every reload, or null
+     */
+    private void watch(Consumer<GlossaryWatcher> onReload) {
+        try {
+            while (!closed) {
+                boolean changed = concernsFile(watchService.take());
+                // Keep waiting until the file has been quiet for a while
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= concernsFile(key);
+                }
+                if (!changed) {
+                    continue;
+                }
+                try {
+                    reload();
+                    failure = null;
+                } catch (IOException | RuntimeException e) {
+                    // The next change to the file tries again
+                    failure = e;
+                }
+                if (onReload != null) {
+                    onReload.accept(this);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The watcher was closed
+        }
+    }
+
+    /**
+     * Checks the events of a watch key for changes to the file, and resets the key so it keeps watching
+     *
+     * @param key the key
+     * @return true if the file changed, or events were lost so it might have
+     */
+    private boolean concernsFile(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context());
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Makes a word's definitions in the dictionary the same as in the file, holding the dictionary's lock. A
+     * definition replaced by another with the same part of speech is updated rather than removed and added
+     *
+     * @implNote O(definitions of the word * cost of a change) running time behavior
+     * @param word the word
+     * @param definitions the word's definitions in the file, in sorted order
+     * @return the number of definitions added, updated and removed
+     */
+    private int[] merge(String word, TreeSet<DictionaryDefinition> definitions) {
+        synchronized (dictionary) {
+            DictionaryWord current = dictionary.getDictionaryWord(word);
+            ArrayList<DictionaryDefinition> additions = new ArrayList<DictionaryDefinition>();
+            ArrayList<DictionaryDefinition> removals = new ArrayList<DictionaryDefinition>();
+            Iterator<DictionaryDefinition> wanted = definitions.iterator();
+            Iterator<DictionaryDefinition> held = current == null
+                    ? new TreeSet<DictionaryDefinition>().iterator()
+                    : current.getDefinitionSet().iterator();
+            DictionaryDefinition next = wanted.hasNext() ? wanted.next() : null;
+            DictionaryDefinition have = held.hasNext() ? held.next() : null;
+            while (next != null || have != null) {
+                int order = next == null ? 1 : have == null ? -1 : next.compareTo(have);
+                if (order < 0) {
+                    additions.add(next);
+                    next = wanted.hasNext() ? wanted.next() : null;
+                } else if (order > 0) {
+                    removals.add(have);
+                    have = held.hasNext() ? held.next() : null;
+                } else {
+                    next = wanted.hasNext() ? wanted.next() : null;
+                    have = held.hasNext() ? held.next() : null;
+                }
+            }
+            int updated = 0;
+            Iterator<DictionaryDefinition> removing = removals.iterator();
+            while (removing.hasNext()) {
+                DictionaryDefinition old = removing.next();
+                Iterator<DictionaryDefinition> adding = additions.iterator();
+                while (adding.hasNext()) {
+                    DictionaryDefinition replacement = adding.next();
+                    if (replacement.getPartOfSpeech().equals(old.getPartOfSpeech())) {
+                        dictionary.updateDefinition(word, dictionary.definitionIndex(word, old.getPartOfSpeech(),
+                                old.getDefinition()), replacement.getDefinition());
+                        adding.remove();
+                        removing.remove();
+                        updated++;
+                        break;
+                    }
+                }
+            }
+            // Additions go first, so a word that keeps some definitions is never removed along the way
+            for (DictionaryDefinition addition : additions) {
+                dictionary.add(word, addition.getPartOfSpeech(), addition.getDefinition());
+            }
+            for (DictionaryDefinition removal : removals) {
+                dictionary.removeDefinition(word, dictionary.definitionIndex(word, removal.getPartOfSpeech(),
+                        removal.getDefinition()));
+            }
+            return new int[]{additions.size(), updated, removals.size()};
+        }
+    }
+
+    /**
+     * Cuts the file into chunks, each ending after a line whose hash is a multiple of CHUNK_LINES or at the end of
+     * the file. A chunk's hash is built from the hashes of its lines
+     *
+     * @implNote O(file size) running time behavior
+     * @param bytes the file
+     * @return the chunks in file order, without their words
+     */
+    private static ArrayList<Chunk> split(byte[] bytes) {
+        ArrayList<Chunk> result = new ArrayList<Chunk>();
+        int chunkStart = 0;
+        long chunkHash = 0;
+        long lineHash = 0xcbf29ce484222325L;
+        for (int i = 0; i < bytes.length; i++) {
+            // FNV-1a over the line's bytes
+            lineHash = (lineHash ^ (bytes[i] & 0xFF)) * 0x100000001b3L;
+            if (bytes[i] == '\n' || i == bytes.length - 1) {
+                lineHash = mix(lineHash);
+                chunkHash = mix(chunkHash * 31 + lineHash);
+                if ((lineHash & (CHUNK_LINES - 1)) == 0 || i == bytes.length - 1) {
+                    result.add(new Chunk(chunkHash, chunkStart, i + 1 - chunkStart));
+                    chunkStart = i + 1;
+                    chunkHash = 0;
+                }
+                lineHash = 0xcbf29ce484222325L;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scrambles the bits of a hash so the low bits depend on all of them
+     *
+     * @implNote O(1) running time behavior
+     * @param hash the hash
+     * @return the scrambled hash
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Parses a chunk's lines into words, parts of speech and definitions, skipping lines that aren't valid definitions
+     *
+     * @implNote O(length of the chunk) running time behavior
+     * @param bytes the file
+     * @param chunk the chunk
+     * @return the word, part of speech and definition of each valid line
+     */
+    private List<String[]> parse(byte[] bytes, Chunk chunk) {
+        ArrayList<String[]> lines = new ArrayList<String[]>();
+        for (String line : new String(bytes, chunk.offset, chunk.length, StandardCharsets.UTF_8).split("\r?\n")) {
+            String[] definitionParts = line.split("::");
+            if (definitionParts.length < 3) {
+                if (!line.isEmpty()) {
+                    linesSkipped++;
+                }
+                continue;
+            }
+            try {
+                new DictionaryDefinition(definitionParts[1], definitionParts[2]);
+            } catch (IllegalArgumentException e) {
+                linesSkipped++;
+                continue;
+            }
+            lines.add(definitionParts);
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the distinct words of a chunk's lines
+     *
+     * @implNote O(lines) running time behavior
+     * @param lines the chunk's parsed lines
+     * @return the words
+     */
+    private static String[] wordsOf(List<String[]> lines) {
+        LinkedHashSet<String> words = new LinkedHashSet<String>();
+        for (String[] line : lines) {
+            words.add(line[0]);
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * Records that a chunk holds lines of its words
+     *
+     * @implNote O(words of the chunk) running time behavior
+     * @param chunk the chunk
+     */
+    private void index(Chunk chunk) {
+        for (String word : chunk.words) {
+            chunksOfWord.computeIfAbsent(word, key -> new ArrayList<Chunk>(1)).add(chunk);
+        }
+    }
+
+    /**
+     * Forgets a chunk that is no longer in the file
+     *
+     * @implNote O(words of the chunk * chunks of each word) running time behavior
+     * @param chunk the chunk
+     */
+    private void unindex(Chunk chunk) {
+        for (String word : chunk.words) {
+            ArrayList<Chunk> holding = chunksOfWord.get(word);
+            holding.remove(chunk);
+            if (holding.isEmpty()) {
+                chunksOfWord.remove(word);
+            }
+        }
+    }
+
+    /**
+     * A run of whole lines of the file
+     */
+    private static class Chunk {
+        // Variables
+        private final long hash;
+        private final int length;
+        // Where the chunk starts in the latest version of the file
+        private int offset;
+        private String[] words;
+
+        /**
+         * Creates a chunk whose words are still to be parsed
+         *
+         * @param hash the hash of the chunk's lines
+         * @param offset where the chunk starts in the file
+         * @param length the number of bytes in the chunk
+         */
+        private Chunk(long hash, int offset, int length) {
+            this.hash = hash;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
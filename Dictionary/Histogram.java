@@ -0,0 +1,165 @@
+package comprehensive;
+
+/**
+ * A class that represents a fixed-width bucketed histogram of non-negative integer values. Values past the last
+ * bucket are counted in the last bucket.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class Histogram {
+    // Variables
+    private final int bucketWidth;
+    private final long[] counts;
+    private long total;
+    // Constants
+    private final String NEWLINE = System.lineSeparator();
+    private final String TAB = "\t";
+
+    /**
+     * Creates an empty histogram
+     *
+     * @param bucketWidth the range of values covered by each bucket
+     * @param numBuckets the number of buckets, the last one also counts every larger value
+     * @throws IllegalArgumentException if either argument is less than one
+     */
+    public Histogram(int bucketWidth, int numBuckets) throws IllegalArgumentException {
+        if (bucketWidth < 1 || numBuckets < 1) {
+            throw new IllegalArgumentException("The bucket width and number of buckets must be positive");
+        }
+        this.bucketWidth = bucketWidth;
+        this.counts = new long[numBuckets];
+    }
+
+    /**
+     * Creates a copy of the given histogram
+     *
+     * @implNote O(buckets) running time behavior
+     * @param other the histogram to copy
+     */
+    private Histogram(Histogram other) {
+        this.bucketWidth = other.bucketWidth;
+        this.counts = other.counts.clone();
+        this.total = other.total;
+    }
+
+    /**
+     * Counts one occurrence of the value
+     *
+     * @implNote O(1) running time behavior
+     * @param value the value
+     */
+    void add(int value) {
+        counts[bucketOf(value)]++;
+        total++;
+    }
+
+    /**
+     * Removes one occurrence of the value
+     *
+     * @implNote O(1) running time behavior
+     * @param value the value
+     */
+    void remove(int value) {
+        counts[bucketOf(value)]--;
+        total--;
+    }
+
+    /**
+     * Provides an independent copy of the histogram
+     *
+     * @implNote O(buckets) running time behavior
+     * @return the copy
+     */
+    public Histogram copy() {
+        return new Histogram(this);
+    }
+
+    /**
+     * Gets the bucket a value is counted in
+     *
+     * @implNote O(1) running time behavior
+     * @param value the value
+     * @return the index of the bucket
+     */
+    public int bucketOf(int value) {
+        return Math.min(Math.max(value, 0) / bucketWidth, counts.length - 1);
+    }
+
+    /**
+     * Gets the number of values counted in a bucket
+     *
+     * @implNote O(1) running time behavior
+     * @param bucket the index of the bucket
+     * @return the count
+     */
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Gets the number of buckets
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of buckets
+     */
+    public int getNumBuckets() {
+        return counts.length;
+    }
+
+    /**
+     * Gets the range of values covered by each bucket
+     *
+     * @implNote O(1) running time behavior
+     * @return the bucket width
+     */
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Gets the number of values counted in every bucket
+     *
+     * @implNote O(1) running time behavior
+     * @return the total count
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Estimates the bytes retained by the histogram
+     *
+     * @implNote O(1) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long retainedBytes(MemoryLayout layout) {
+        // The counts and two constants, then the bucket width and total
+        return layout.object(3, 12) + layout.array(counts.length, 8);
+    }
+
+    /**
+     * Represents the non-empty buckets as a string, one "low-high: count" line per bucket
+     *
+     * @implNote O(buckets) running time behavior
+     * @return the histogram as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            sb.append(NEWLINE).append(TAB).append(i * bucketWidth);
+            if (i == counts.length - 1) {
+                sb.append("+");
+            } else if (bucketWidth > 1) {
+                sb.append("-").append((i + 1) * bucketWidth - 1);
+            }
+            sb.append(": ").append(counts[i]);
+        }
+        return sb.toString();
+    }
+}
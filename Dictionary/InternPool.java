@@ -0,0 +1,125 @@
+package comprehensive;
+
+import java.util.HashMap;
+
+/**
+ * A class that hands out one shared instance of every distinct string and counts the references held to it, so many
+ * dictionaries holding the same words and definitions keep one copy of each between them. A string is dropped from
+ * the pool once every reference to it has been released. The pool is safe to share between threads.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class InternPool {
+    // Variables
+    private final HashMap<String, Interned> strings;
+    private long references;
+
+    /**
+     * Creates an empty pool
+     */
+    public InternPool() {
+        strings = new HashMap<String, Interned>();
+    }
+
+    /**
+     * Gets the shared instance of a string and counts one more reference to it. The string becomes the shared
+     * instance if the pool doesn't hold an equal one yet
+     *
+     * @implNote O(length of the string) running time behavior
+     * @param s the string
+     * @return the shared instance, equal to the string
+     */
+    public synchronized String acquire(String s) {
+        Interned interned = strings.get(s);
+        if (interned == null) {
+            interned = new Interned(s);
+            strings.put(s, interned);
+        }
+        interned.references++;
+        references++;
+        return interned.value;
+    }
+
+    /**
+     * Releases one reference to a string, dropping it from the pool if it was the last one
+     *
+     * @implNote O(length of the string) running time behavior
+     * @param s the string, or a string equal to it
+     * @throws IllegalStateException if the pool holds no references to the string
+     */
+    public synchronized void release(String s) throws IllegalStateException {
+        Interned interned = strings.get(s);
+        if (interned == null) {
+            throw new IllegalStateException("The pool holds no references to \"" + s + "\"");
+        }
+        if (--interned.references == 0) {
+            strings.remove(s);
+        }
+        references--;
+    }
+
+    /**
+     * Gets the number of distinct strings in the pool
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of strings
+     */
+    public synchronized int size() {
+        return strings.size();
+    }
+
+    /**
+     * Gets the number of references held to the strings of the pool, which is what the pool saves copies of
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of references
+     */
+    public synchronized long references() {
+        return references;
+    }
+
+    /**
+     * Gets the number of references held to a string
+     *
+     * @implNote O(length of the string) running time behavior
+     * @param s the string
+     * @return the number of references, or 0 if the string isn't in the pool
+     */
+    public synchronized int references(String s) {
+        Interned interned = strings.get(s);
+        return interned == null ? 0 : interned.references;
+    }
+
+    /**
+     * Estimates the bytes retained by the pool, including its strings
+     *
+     * @implNote O(length of the strings) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    synchronized long retainedBytes(MemoryLayout layout) {
+        long bytes = layout.hashMap(strings.size(), false) + strings.size() * layout.object(1, 4);
+        for (String s : strings.keySet()) {
+            bytes += layout.string(s);
+        }
+        return bytes;
+    }
+
+    /**
+     * The shared instance of a string and the number of references held to it
+     */
+    private static class Interned {
+        private final String value;
+        private int references;
+
+        /**
+         * Creates an entry without references
+         *
+         * @param value the shared instance
+         */
+        private Interned(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,684 @@
+package comprehensive;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A Dictionary that memory-maps a glossary file and, at startup, only indexes the line offsets of every word. A word's
+ * definitions are parsed and added to the in-memory dictionary the first time the word is read or changed, so opening
+ * a mostly read-only glossary doesn't build a DictionaryWord for every entry.
+ *
+ * <p>Words that haven't been parsed yet are still listed by getWordsInRange, containsWord and the first and last word.
+ * The statistics, toString, toFileFormat and snapshots need every definition, so they parse all remaining words
+ * first. Like Main.loadDictionaryFile, every line with text is expected to be "word::part of speech::definition".</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class LazyDictionary extends Dictionary {
+    // Variables
+    private MappedByteBuffer buffer;
+    // The indexed words in order, and the offsets of their lines: word i's lines are lineOffsets[firstLine[i]] up to
+    // lineOffsets[firstLine[i + 1]] (exclusive)
+    private final String[] indexedWords;
+    private final int[] firstLine;
+    private final int[] lineOffsets;
+    // Set for every indexed word that has been parsed into the dictionary
+    private final BitSet parsed;
+    private int unparsedWords;
+    // Trigrams of the unparsed words, built by the first pattern query
+    private TrigramIndex unparsedTrigrams;
+    // Reversals of the unparsed words, built by the first suffix query
+    private SuffixIndex unparsedSuffixes;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    final private String TAB = "\t";
+
+    /**
+     * Opens a glossary file, indexing the lines of every word without parsing any definitions
+     *
+     * @implNote O(file size) running time behavior to find the lines, with O(words * log(words) + lines) work and
+     * O(words + lines) memory for the index
+     * @param path the glossary file, which must not change while the dictionary is open
+     * @throws IOException if the file can't be read or is 2 GB or larger
+     */
+    public LazyDictionary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(path + " is too large to open lazily");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        // Find every line and decode just its word
+        HashMap<String, Integer> wordIds = new HashMap<String, Integer>();
+        ArrayList<String> words = new ArrayList<String>();
+        int[] lineWordIds = new int[1024];
+        int[] offsets = new int[1024];
+        int lines = 0;
+        byte[] wordBytes = new byte[64];
+        int length = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int separator = -1;
+            int i = lineStart;
+            for (; i < length && buffer.get(i) != '\n'; i++) {
+                if (separator < 0 && buffer.get(i) == ':' && i + 1 < length && buffer.get(i + 1) == ':') {
+                    separator = i;
+                }
+            }
+            if (separator >= 0) {
+                int wordLength = separator - lineStart;
+                if (wordLength > wordBytes.length) {
+                    wordBytes = new byte[Math.max(wordLength, wordBytes.length * 2)];
+                }
+                buffer.get(lineStart, wordBytes, 0, wordLength);
+                String word = new String(wordBytes, 0, wordLength, StandardCharsets.UTF_8);
+                Integer id = wordIds.putIfAbsent(word, words.size());
+                if (id == null) {
+                    id = words.size();
+                    words.add(word);
+                }
+                if (lines == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, lines * 2);
+                    lineWordIds = Arrays.copyOf(lineWordIds, lines * 2);
+                }
+                lineWordIds[lines] = id;
+                offsets[lines] = lineStart;
+                lines++;
+            }
+            lineStart = i + 1;
+        }
+        // Sort the words and group the line offsets by word, keeping each word's lines in file order
+        Integer[] order = new Integer[words.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(words::get));
+        int[] rank = new int[order.length];
+        indexedWords = new String[order.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+            indexedWords[i] = words.get(order[i]);
+        }
+        firstLine = new int[indexedWords.length + 1];
+        for (int line = 0; line < lines; line++) {
+            firstLine[rank[lineWordIds[line]] + 1]++;
+        }
+        for (int i = 0; i < indexedWords.length; i++) {
+            firstLine[i + 1] += firstLine[i];
+        }
+        lineOffsets = new int[lines];
+        int[] next = Arrays.copyOf(firstLine, indexedWords.length);
+        for (int line = 0; line < lines; line++) {
+            lineOffsets[next[rank[lineWordIds[line]]]++] = offsets[line];
+        }
+        parsed = new BitSet(indexedWords.length);
+        unparsedWords = indexedWords.length;
+    }
+
+    /**
+     * Gets the number of indexed words that haven't been parsed yet
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of unparsed words
+     */
+    public int getUnparsedWords() {
+        return unparsedWords;
+    }
+
+    /**
+     * Parses the definitions of an indexed word into the dictionary, unless it has been parsed already
+     *
+     * @implNote O(log(words)) running time behavior if already parsed, O(log(words) + length of its lines) otherwise
+     * @param word the word
+     */
+    private void parse(String word) {
+        if (unparsedWords > 0 && word != null) {
+            int index = Arrays.binarySearch(indexedWords, word);
+            if (index >= 0 && !parsed.get(index)) {
+                parse(index);
+            }
+        }
+    }
+
+    /**
+     * Parses the definitions of an indexed word into the dictionary
+     *
+     * @implNote O(length of its lines) running time behavior
+     * @param index the index of the word
+     */
+    private void parse(int index) {
+        parsed.set(index);
+        unparsedWords--;
+        if (unparsedTrigrams != null) {
+            unparsedTrigrams.remove(indexedWords[index]);
+        }
+        if (unparsedSuffixes != null) {
+            unparsedSuffixes.remove(indexedWords[index]);
+        }
+        byte[] lineBytes = new byte[128];
+        for (int line = firstLine[index]; line < firstLine[index + 1]; line++) {
+            int start = lineOffsets[line];
+            int end = start;
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                end++;
+            }
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end - start > lineBytes.length) {
+                lineBytes = new byte[end - start];
+            }
+            buffer.get(start, lineBytes, 0, end - start);
+            String[] definitionParts = new String(lineBytes, 0, end - start, StandardCharsets.UTF_8).split("::");
+            // Words already in the file aren't changes, so they aren't published
+            insert(definitionParts[0], definitionParts[1], definitionParts[2]);
+        }
+        if (unparsedWords == 0) {
+            // Every word is on the heap now, so the file and index of unparsed words are no longer needed
+            buffer = null;
+            unparsedTrigrams = null;
+            unparsedSuffixes = null;
+        }
+    }
+
+    /**
+     * Parses every word that hasn't been parsed yet
+     *
+     * @implNote O(length of the unparsed lines) running time behavior
+     */
+    private void parseAll() {
+        for (int i = parsed.nextClearBit(0); i < indexedWords.length; i = parsed.nextClearBit(i + 1)) {
+            parse(i);
+        }
+    }
+
+    /**
+     * Checks whether an indexed word hasn't been parsed yet. Unparsed words are never in the in-memory dictionary
+     *
+     * @implNote O(log(words)) running time behavior
+     * @param word the word
+     * @return true if the word is indexed but not parsed
+     */
+    private boolean isUnparsed(String word) {
+        if (unparsedWords == 0 || word == null) {
+            return false;
+        }
+        int index = Arrays.binarySearch(indexedWords, word);
+        return index >= 0 && !parsed.get(index);
+    }
+
+    /**
+     * Adds a definition to a word, parsing the word first so the new definition follows the ones in the file
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then as
+     * Dictionary.add
+     * @param word the word
+     * @param partOfSpeech the part of speech of the definition
+     * @param definition the definition
+     */
+    @Override
+    public void add(String word, String partOfSpeech, String definition) {
+        parse(word);
+        super.add(word, partOfSpeech, definition);
+    }
+
+    /**
+     * Provides the statistics of the dictionary, parsing the whole file first since they count every definition
+     *
+     * @implNote O(length of the unparsed lines) running time behavior, then as Dictionary.getStatistics
+     * @return the statistics
+     */
+    @Override
+    public String getStatistics() {
+        parseAll();
+        return super.getStatistics();
+    }
+
+    /**
+     * Provides the statistics of the dictionary as numbers, parsing the whole file first since they count every
+     * definition
+     *
+     * @implNote O(length of the unparsed lines) running time behavior, then as Dictionary.getStatisticsSnapshot
+     * @return the statistics
+     */
+    @Override
+    public DictionaryStatistics getStatisticsSnapshot() {
+        parseAll();
+        return super.getStatisticsSnapshot();
+    }
+
+    /**
+     * Estimates the heap retained by the parsed words, like any dictionary, plus the line index and the indexes of
+     * the unparsed words. The mapped glossary is outside the heap. Per entry figures are over every word and
+     * definition, parsed or not
+     *
+     * @implNote O(length of the words and parsed definitions) running time behavior
+     * @param layout the layout of objects to estimate with
+     * @return the memory report
+     */
+    @Override
+    public MemoryReport memoryReport(MemoryLayout layout) {
+        MemoryReport parsedReport = super.memoryReport(layout);
+        int unparsedLines = 0;
+        for (int i = parsed.nextClearBit(0); i < indexedWords.length; i = parsed.nextClearBit(i + 1)) {
+            unparsedLines += firstLine[i + 1] - firstLine[i];
+        }
+        MemoryReport report = new MemoryReport(layout, parsedReport.getNumWords() + unparsedWords,
+                parsedReport.getNumDefinitions() + unparsedLines);
+        report.addAll("", parsedReport);
+        long indexedWordStrings = 0;
+        for (String word : indexedWords) {
+            indexedWordStrings += layout.string(word);
+        }
+        // The parsed bits are a BitSet of longs
+        long parsedBits = layout.object(1, 5) + layout.array((indexedWords.length + 63) / 64, 8);
+        report.add("line index", layout.referenceArray(indexedWords.length) + indexedWordStrings
+                + layout.array(firstLine.length, 4) + parsedBits, false);
+        report.add("line offsets", layout.array(lineOffsets.length, 4), true);
+        report.add("unparsed indexes", (unparsedTrigrams == null ? 0 : unparsedTrigrams.retainedBytes(layout))
+                + (unparsedSuffixes == null ? 0 : unparsedSuffixes.retainedBytes(layout)), false);
+        return report;
+    }
+
+    /**
+     * Returns all the words in the given range as a string, merging the unparsed words from the index with the
+     * words in memory
+     *
+     * @implNote O(log(words) + words in range) running time behavior
+     * @param start the starting word (inclusive)
+     * @param end the ending word (inclusive)
+     * @return all the words in the range as a string
+     */
+    @Override
+    public String getWordsInRange(String start, String end) {
+        if (unparsedWords == 0) {
+            return super.getWordsInRange(start, end);
+        }
+        StringBuilder sb = new StringBuilder("The words between ")
+                .append(start)
+                .append(" and ")
+                .append(end)
+                .append(" are:");
+        if (start.compareTo(end) > 0) {
+            return sb.toString();
+        }
+        int index = Arrays.binarySearch(indexedWords, start);
+        index = parsed.nextClearBit(index >= 0 ? index : -index - 1);
+        Iterator<DictionaryWord> inMemory = super.dictionaryWords(start).iterator();
+        String memoryWord = inMemory.hasNext() ? inMemory.next().getWord() : null;
+        while (true) {
+            String indexWord = index < indexedWords.length ? indexedWords[index] : null;
+            String word;
+            if (indexWord != null && (memoryWord == null || indexWord.compareTo(memoryWord) < 0)) {
+                word = indexWord;
+                index = parsed.nextClearBit(index + 1);
+            } else if (memoryWord != null) {
+                word = memoryWord;
+                memoryWord = inMemory.hasNext() ? inMemory.next().getWord() : null;
+            } else {
+                break;
+            }
+            if (word.compareTo(end) > 0) {
+                break;
+            }
+            sb
+                    .append(NEWLINE)
+                    .append(TAB)
+                    .append(word);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds the lexicographically smallest words that match a pattern, combining the matches among the words in
+     * memory with the matches among the unparsed words. The trigrams of the unparsed words are indexed by the first
+     * call
+     *
+     * @implNote O(postings of the pattern's trigrams + candidates * length of the pattern) running time behavior, plus
+     * O(length of the unparsed words) for the first call
+     * @param pattern the pattern, where '?' matches any one character and '*' matches any sequence of characters
+     * @param limit the maximum number of words to return
+     * @return the matching words in lexicographic order
+     */
+    @Override
+    public List<String> match(String pattern, int limit) {
+        List<String> matches = super.match(pattern, limit);
+        if (unparsedWords == 0) {
+            return matches;
+        }
+        if (unparsedTrigrams == null) {
+            unparsedTrigrams = new TrigramIndex();
+            for (int i = parsed.nextClearBit(0); i < indexedWords.length; i = parsed.nextClearBit(i + 1)) {
+                unparsedTrigrams.add(indexedWords[i]);
+            }
+        }
+        matches.addAll(unparsedTrigrams.match(pattern, limit, this::unparsedWordsFrom));
+        Collections.sort(matches);
+        return matches.size() > limit ? new ArrayList<String>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Gets the words ending with a suffix in the order of their reversals, combining the words in memory with the
+     * unparsed words. The reversals of the unparsed words are indexed by the first suffix query
+     *
+     * @implNote O(log(words) + words returned) running time behavior, plus O(words * log(words)) for the first call
+     * @param suffix the suffix
+     * @param limit the maximum number of words to return
+     * @return the words
+     */
+    @Override
+    public List<String> getWordsWithSuffix(String suffix, int limit) {
+        List<String> matches = super.getWordsWithSuffix(suffix, limit);
+        if (unparsedWords == 0) {
+            return matches;
+        }
+        matches.addAll(unparsedSuffixes().wordsWithSuffix(suffix, limit));
+        matches.sort(SuffixIndex.BY_REVERSAL);
+        return matches.size() > limit ? new ArrayList<String>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Counts the words ending with a suffix among the words in memory and the unparsed words, without parsing any.
+     * The reversals of the unparsed words are indexed by the first suffix query
+     *
+     * @implNote O(log(words)) running time behavior, plus O(words * log(words)) for the first call
+     * @param suffix the suffix
+     * @return the number of words
+     */
+    @Override
+    public int countWithSuffix(String suffix) {
+        int count = super.countWithSuffix(suffix);
+        return unparsedWords == 0 ? count : count + unparsedSuffixes().countWithSuffix(suffix);
+    }
+
+    /**
+     * Gets the index of the reversals of the unparsed words, building it if needed
+     *
+     * @implNote O(1) running time behavior, O(words * log(words)) the first time
+     * @return the index
+     */
+    private SuffixIndex unparsedSuffixes() {
+        if (unparsedSuffixes == null) {
+            unparsedSuffixes = new SuffixIndex();
+            for (int i = parsed.nextClearBit(0); i < indexedWords.length; i = parsed.nextClearBit(i + 1)) {
+                unparsedSuffixes.add(indexedWords[i]);
+            }
+        }
+        return unparsedSuffixes;
+    }
+
+    /**
+     * Provides the unparsed words greater than or equal to the given word in lexicographic order
+     *
+     * @implNote O(log(words)) running time behavior, iterating is O(words passed)
+     * @param from the smallest word to return
+     * @return the words in order
+     */
+    private Iterator<String> unparsedWordsFrom(String from) {
+        int start = Arrays.binarySearch(indexedWords, from);
+        int first = parsed.nextClearBit(start >= 0 ? start : -start - 1);
+        return new Iterator<String>() {
+            private int index = first;
+
+            @Override
+            public boolean hasNext() {
+                return index < indexedWords.length;
+            }
+
+            @Override
+            public String next() {
+                if (index >= indexedWords.length) {
+                    throw new NoSuchElementException();
+                }
+                String word = indexedWords[index];
+                index = parsed.nextClearBit(index + 1);
+                return word;
+            }
+        };
+    }
+
+    /**
+     * Provides a word and its definitions, parsing just that word first
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then as
+     * Dictionary.getWord
+     * @param word the word
+     * @return the word and its definitions
+     */
+    @Override
+    public String getWord(String word) {
+        parse(word);
+        return super.getWord(word);
+    }
+
+    /**
+     * Writes a word and its definitions, parsing just that word first
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then as
+     * Dictionary.renderWord
+     * @param word the word
+     * @param out where to write the word
+     * @return true if the word was written, false if it isn't in the dictionary
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public boolean renderWord(String word, Appendable out) throws IOException {
+        parse(word);
+        return super.renderWord(word, out);
+    }
+
+    /**
+     * Checks if the dictionary has a word, answering from the index for unparsed words without parsing them
+     *
+     * @implNote O(log(words)) running time behavior
+     * @param word the word
+     * @return true if the word is in the dictionary
+     */
+    @Override
+    public boolean containsWord(String word) {
+        return isUnparsed(word) || super.containsWord(word);
+    }
+
+    /**
+     * Provides the first word in the dictionary, parsing the first unparsed word so it can be compared with the
+     * words in memory
+     *
+     * @implNote O(log(words) + definitions of the word) running time behavior
+     * @return the word
+     */
+    @Override
+    public String getFirstWord() {
+        int index = parsed.nextClearBit(0);
+        if (index < indexedWords.length) {
+            parse(index);
+        }
+        return super.getFirstWord();
+    }
+
+    /**
+     * Provides the last word in the dictionary, parsing the last unparsed word so it can be compared with the words
+     * in memory
+     *
+     * @implNote O(log(words) + definitions of the word) running time behavior
+     * @return the word
+     */
+    @Override
+    public String getLastWord() {
+        int index = parsed.previousClearBit(indexedWords.length - 1);
+        if (index >= 0) {
+            parse(index);
+        }
+        return super.getLastWord();
+    }
+
+    /**
+     * Provides the parts of speech of a word, parsing just that word first
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then as
+     * Dictionary.getPartsOfSpeechOfWord
+     * @param word the word
+     * @return the parts of speech
+     */
+    @Override
+    public String getPartsOfSpeechOfWord(String word) {
+        parse(word);
+        return super.getPartsOfSpeechOfWord(word);
+    }
+
+    /**
+     * Provides the definitions of a word, parsing just that word first
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then as
+     * Dictionary.getDefinitions
+     * @param word the word
+     * @return the definitions
+     */
+    @Override
+    public String getDefinitions(String word) {
+        parse(word);
+        return super.getDefinitions(word);
+    }
+
+    /**
+     * Provides the number of definitions of a word, parsing just that word first
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then
+     * O(log(words))
+     * @param word the word
+     * @return the number of definitions
+     */
+    @Override
+    public int getNumDefinitions(String word) {
+        parse(word);
+        return super.getNumDefinitions(word);
+    }
+
+    /**
+     * Replaces a definition of a word, parsing just that word first so the index refers to the file's definitions
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then as
+     * Dictionary.updateDefinition
+     * @param word the word
+     * @param definitionIndex the index of the definition
+     * @param newDefinition the new definition
+     */
+    @Override
+    public void updateDefinition(String word, int definitionIndex, String newDefinition) {
+        parse(word);
+        super.updateDefinition(word, definitionIndex, newDefinition);
+    }
+
+    /**
+     * Takes a snapshot of the dictionary, parsing the whole file first since a snapshot holds every definition
+     *
+     * @implNote O(length of the unparsed lines) running time behavior, then as Dictionary.snapshot
+     * @return the snapshot
+     */
+    @Override
+    public DictionarySnapshot snapshot() {
+        parseAll();
+        return super.snapshot();
+    }
+
+    /**
+     * Represents the dictionary as a string on a pool, parsing the whole file first on the calling thread
+     *
+     * @implNote O(length of the unparsed lines) running time behavior, then as Dictionary.toString
+     * @param pool the pool to render on
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public String toString(ForkJoinPool pool) {
+        parseAll();
+        return super.toString(pool);
+    }
+
+    /**
+     * Provides the file output format of the dictionary on a pool, parsing the whole file first on the calling thread
+     *
+     * @implNote O(length of the unparsed lines) running time behavior, then as Dictionary.toFileFormat
+     * @param pool the pool to render on
+     * @return the dictionary in file format
+     */
+    @Override
+    public String toFileFormat(ForkJoinPool pool) {
+        parseAll();
+        return super.toFileFormat(pool);
+    }
+
+    /**
+     * Writes the file output format of the dictionary on a pool, parsing the whole file first on the calling thread
+     *
+     * @implNote O(length of the unparsed lines) running time behavior, then as Dictionary.writeFileFormat
+     * @param out where to write the dictionary
+     * @param pool the pool to render on
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public void writeFileFormat(Appendable out, ForkJoinPool pool) throws IOException {
+        parseAll();
+        super.writeFileFormat(out, pool);
+    }
+
+    /**
+     * Gets the entry of a word, parsing just that word first
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then
+     * O(log(words))
+     * @param word the word
+     * @return the entry, or null if the word isn't in the dictionary
+     */
+    @Override
+    DictionaryWord getDictionaryWord(String word) {
+        parse(word);
+        return super.getDictionaryWord(word);
+    }
+
+    /**
+     * Counts the definitions of the dictionary, parsing the whole file first since unparsed lines aren't counted
+     *
+     * @implNote O(length of the unparsed lines) running time behavior, then O(1)
+     * @return the number of definitions
+     */
+    @Override
+    int numDefinitions() {
+        parseAll();
+        return super.numDefinitions();
+    }
+
+    /**
+     * Provides the entries of the words from a word onwards, parsing the whole file first since every entry must be
+     * in memory to be iterated
+     *
+     * @implNote O(length of the unparsed lines) running time behavior, then as Dictionary.dictionaryWords
+     * @param from the smallest word to provide
+     * @return the entries in order
+     */
+    @Override
+    Iterable<DictionaryWord> dictionaryWords(String from) {
+        parseAll();
+        return super.dictionaryWords(from);
+    }
+
+    /**
+     * Removes a definition of a word, parsing just that word first so the index refers to the file's definitions
+     *
+     * @implNote O(log(words) + length of its lines) running time behavior the first time the word is used, then as
+     * Dictionary.removeDefinition
+     * @param userWord the word
+     * @param id the index of the definition
+     * @return true if the word was also removed with its last definition
+     */
+    @Override
+    public boolean removeDefinition(String userWord, int id) {
+        parse(userWord);
+        return super.removeDefinition(userWord, id);
+    }
+}
@@ -0,0 +1,209 @@
+package comprehensive;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A class that represents a bounded cache that evicts the least recently used entries once the total weight of its
+ * values exceeds a budget. Hits, misses and evictions are counted.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class LruCache<K, V> {
+    // Variables
+    private final LinkedHashMap<K, V> entries;
+    private final ToLongFunction<V> weigher;
+    private final long maxWeight;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache that holds at most the given number of entries
+     *
+     * @param maxEntries the maximum number of entries
+     */
+    public LruCache(long maxEntries) {
+        this(maxEntries, value -> 1);
+    }
+
+    /**
+     * Creates a cache whose values may weigh at most the given amount in total
+     *
+     * @param maxWeight the maximum total weight of the values
+     * @param weigher computes the weight of a value, which must not change while the value is cached
+     */
+    public LruCache(long maxWeight, ToLongFunction<V> weigher) {
+        // Access ordering makes the eldest entry the least recently used one
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true);
+        this.weigher = weigher;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Gets a cached value and marks it as the most recently used
+     *
+     * @implNote O(1) running time behavior
+     * @param key the key of the value
+     * @return the value, or null if it isn't cached
+     */
+    public V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value, evicting the least recently used entries until the cache is within its budget. Values heavier
+     * than the whole budget are not cached
+     *
+     * @implNote O(1) amortized running time behavior
+     * @param key the key of the value
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        remove(key);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        entries.put(key, value);
+        weight += valueWeight;
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight) {
+            weight -= weigher.applyAsLong(eldest.next().getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes a value from the cache
+     *
+     * @implNote O(1) running time behavior
+     * @param key the key of the value
+     * @return the removed value, or null if it wasn't cached
+     */
+    public V remove(K key) {
+        V value = entries.remove(key);
+        if (value != null) {
+            weight -= weigher.applyAsLong(value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes every value whose key matches a condition
+     *
+     * @implNote O(entries) running time behavior
+     * @param condition the condition
+     * @return the number of values removed
+     */
+    public int removeIf(Predicate<K> condition) {
+        int removed = 0;
+        Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, V> entry = iterator.next();
+            if (condition.test(entry.getKey())) {
+                weight -= weigher.applyAsLong(entry.getValue());
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every value from the cache, the counters are kept
+     *
+     * @implNote O(entries) running time behavior
+     */
+    public void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Gets the cached values, from the least to the most recently used
+     *
+     * @implNote O(1) running time behavior
+     * @return an unmodifiable view of the values
+     */
+    Collection<V> values() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * Gets the number of cached entries
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the total weight of the cached values
+     *
+     * @implNote O(1) running time behavior
+     * @return the weight
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * Gets the number of lookups that found a cached value
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that didn't find a cached value
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of misses
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of values evicted to stay within the budget
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of evictions
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the fraction of lookups that found a cached value
+     *
+     * @implNote O(1) running time behavior
+     * @return the hit ratio, or 0 if there were no lookups
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
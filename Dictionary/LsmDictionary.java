@@ -0,0 +1,1231 @@
+package comprehensive;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Dictionary stored as a log-structured merge tree. Mutations go to an in-memory Dictionary (the memtable), and
+ * once it holds the flush threshold of definitions it is written out as an immutable SortedWordFile segment. Reads merge the
+ * memtable with the segments, newest first. Removing a word's last definition leaves a tombstone that hides older
+ * copies of the word until compaction, which merges every segment into one on a background thread.
+ *
+ * <p>The segments in use and the counts behind the statistics are recorded in a MANIFEST file in the dictionary's
+ * directory. Changes still in the memtable are only written by flush() or close().</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class LsmDictionary extends Dictionary implements Closeable {
+    // Variables
+    private final Path directory;
+    private final int flushThreshold;
+    private final int compactionTrigger;
+    private Dictionary memtable;
+    private TreeSet<String> memtableTombstones;
+    // Newest first, replaced as a whole so readers can keep using the list they started with
+    private volatile List<SortedWordFile> segments;
+    private final ExecutorService compactor;
+    private boolean compacting;
+    private volatile Exception compactionError;
+    private int nextSegmentId;
+    private int numWords;
+    private int numDefinitions;
+    private TreeMap<String, Integer> usedPartsOfSpeech;
+    private DictionaryStatistics statistics;
+    // Counts of the flushed state, which the manifest records
+    private int flushedNumWords;
+    private int flushedNumDefinitions;
+    private TreeMap<String, Integer> flushedPartsOfSpeech;
+    // Write amplification counters
+    private long userBytes;
+    private long flushedBytes;
+    private long compactedBytes;
+    private int flushes;
+    private int compactions;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    final private String TAB = "\t";
+    final private static String MANIFEST = "MANIFEST";
+    final public static int DEFAULT_FLUSH_THRESHOLD = 100000;
+    final public static int DEFAULT_COMPACTION_TRIGGER = 4;
+
+    /**
+     * Opens the LSM dictionary stored in a directory with the default thresholds, creating it if needed
+     *
+     * @param directory the directory holding the manifest and segments
+     * @throws IOException if the directory can't be read or created
+     */
+    public LsmDictionary(Path directory) throws IOException {
+        this(directory, DEFAULT_FLUSH_THRESHOLD, DEFAULT_COMPACTION_TRIGGER);
+    }
+
+    /**
+     * Opens the LSM dictionary stored in a directory, creating it if needed
+     *
+     * @param directory the directory holding the manifest and segments
+     * @param flushThreshold the number of definitions and tombstones in the memtable that triggers a flush
+     * @param compactionTrigger the number of segments that triggers a background compaction
+     * @throws IOException if the directory can't be read or created
+     */
+    public LsmDictionary(Path directory, int flushThreshold, int compactionTrigger) throws IOException {
+        this.directory = directory;
+        this.flushThreshold = flushThreshold;
+        this.compactionTrigger = Math.max(compactionTrigger, 2);
+        memtable = new Dictionary();
+        memtableTombstones = new TreeSet<String>();
+        usedPartsOfSpeech = new TreeMap<String, Integer>();
+        ArrayList<SortedWordFile> openedSegments = new ArrayList<SortedWordFile>();
+        Files.createDirectories(directory);
+        Path manifest = directory.resolve(MANIFEST);
+        if (Files.exists(manifest)) {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(" ");
+                switch (parts[0]) {
+                    case "segment":
+                        openedSegments.add(new SortedWordFile(directory.resolve(parts[1])));
+                        break;
+                    case "next":
+                        nextSegmentId = Integer.parseInt(parts[1]);
+                        break;
+                    case "words":
+                        numWords = Integer.parseInt(parts[1]);
+                        break;
+                    case "definitions":
+                        numDefinitions = Integer.parseInt(parts[1]);
+                        break;
+                    case "pos":
+                        usedPartsOfSpeech.put(parts[1], Integer.parseInt(parts[2]));
+                        break;
+                }
+            }
+        }
+        segments = Collections.unmodifiableList(openedSegments);
+        flushedNumWords = numWords;
+        flushedNumDefinitions = numDefinitions;
+        flushedPartsOfSpeech = new TreeMap<String, Integer>(usedPartsOfSpeech);
+        compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lsm-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Ingests glossary files into an LSM dictionary
+     *
+     * @param args the dictionary's directory followed by the glossary files
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: LsmDictionary <directory> <glossary file>...");
+            return;
+        }
+        try (LsmDictionary dictionary = new LsmDictionary(Path.of(args[0]))) {
+            for (int i = 1; i < args.length; i++) {
+                Main.loadDictionaryFile(args[i], dictionary);
+            }
+            dictionary.flush();
+            System.out.println(dictionary.getStorageStatistics());
+        } catch (IOException e) {
+            System.out.print("IO Exception: " + e);
+        }
+    }
+
+    /**
+     * Writes the memtable to a new segment, waits for any compaction to finish and stops the compaction thread
+     *
+     * @throws IOException if the memtable can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the memtable to a new immutable segment and starts a background compaction if there are enough segments
+     *
+     * @implNote O(definitions in memtable) running time behavior
+     * @throws IOException if the segment can't be written
+     */
+    public synchronized void flush() throws IOException {
+        if (memtable.numDefinitions() == 0 && memtableTombstones.isEmpty()) {
+            return;
+        }
+        Path segmentPath = directory.resolve(segmentName(nextSegmentId++));
+        SortedWordFile.write(segmentPath,
+                () -> new MergedWords(Collections.emptyList(), "", true, true).asIterator());
+        flushedBytes += Files.size(segmentPath);
+        flushes++;
+        ArrayList<SortedWordFile> newSegments = new ArrayList<SortedWordFile>();
+        newSegments.add(new SortedWordFile(segmentPath));
+        newSegments.addAll(segments);
+        segments = Collections.unmodifiableList(newSegments);
+        memtable = new Dictionary();
+        memtableTombstones = new TreeSet<String>();
+        flushedNumWords = numWords;
+        flushedNumDefinitions = numDefinitions;
+        flushedPartsOfSpeech = new TreeMap<String, Integer>(usedPartsOfSpeech);
+        writeManifest();
+        if (segments.size() >= compactionTrigger && !compacting) {
+            compacting = true;
+            compactor.submit(this::compact);
+        }
+    }
+
+    /**
+     * Merges every segment present when the compaction starts into a single segment, dropping the copies of words
+     * replaced by newer segments and, since the oldest segment is included, every tombstone. Segments flushed while
+     * the compaction runs are kept in front of the result
+     *
+     * @implNote O(definitions in segments) running time behavior
+     */
+    private void compact() {
+        List<SortedWordFile> toCompact = segments;
+        Path segmentPath = null;
+        boolean installed = false;
+        try {
+            synchronized (this) {
+                segmentPath = directory.resolve(segmentName(nextSegmentId++));
+            }
+            SortedWordFile.write(segmentPath, () -> new MergedWords(toCompact, "", false, false).asIterator());
+            SortedWordFile compacted = new SortedWordFile(segmentPath);
+            synchronized (this) {
+                compactedBytes += Files.size(segmentPath);
+                compactions++;
+                ArrayList<SortedWordFile> newSegments = new ArrayList<SortedWordFile>(segments);
+                newSegments.removeAll(toCompact);
+                newSegments.add(compacted);
+                segments = Collections.unmodifiableList(newSegments);
+                installed = true;
+                writeManifest();
+            }
+            // Readers that started before the swap keep their mappings after the files are deleted
+            for (SortedWordFile segment : toCompact) {
+                Files.deleteIfExists(segment.path());
+            }
+            compactionError = null;
+        } catch (IOException | RuntimeException e) {
+            compactionError = e;
+            // A segment that never replaced the ones it merged is only a partial copy of them
+            if (segmentPath != null && !installed) {
+                try {
+                    Files.deleteIfExists(segmentPath);
+                } catch (IOException ignored) {}
+            }
+        } finally {
+            synchronized (this) {
+                compacting = false;
+            }
+        }
+    }
+
+    /**
+     * Blocks until the compactions started so far have finished
+     *
+     * @throws IOException if the latest compaction failed, or the wait was interrupted
+     */
+    public void awaitCompaction() throws IOException {
+        if (!compactor.isShutdown()) {
+            try {
+                compactor.submit(() -> {}).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for compaction");
+            } catch (ExecutionException e) {
+                throw new IOException("Waiting for compaction failed", e.getCause());
+            }
+        }
+        Exception error = compactionError;
+        if (error instanceof IOException) {
+            throw new IOException("Compaction failed", error);
+        } else if (error != null) {
+            throw (RuntimeException) error;
+        }
+    }
+
+    /**
+     * Gets the exception that stopped the latest compaction. The segments it would have merged are kept as they were
+     *
+     * @implNote O(1) running time behavior
+     * @return the exception, or null if the latest compaction succeeded or none has run
+     */
+    public Exception getCompactionError() {
+        return compactionError;
+    }
+
+    /**
+     * Writes the manifest listing the segments and the counts of the flushed state, then renames it into place
+     *
+     * @throws IOException if the manifest can't be written
+     */
+    private synchronized void writeManifest() throws IOException {
+        Path temporary = directory.resolve(MANIFEST + ".tmp");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(temporary, StandardCharsets.UTF_8))) {
+            for (SortedWordFile segment : segments) {
+                out.println("segment " + segment.path().getFileName());
+            }
+            out.println("next " + nextSegmentId);
+            out.println("words " + flushedNumWords);
+            out.println("definitions " + flushedNumDefinitions);
+            for (Map.Entry<String, Integer> entry : flushedPartsOfSpeech.entrySet()) {
+                out.println("pos " + entry.getKey() + " " + entry.getValue());
+            }
+        }
+        try {
+            Files.move(temporary, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Provides the file name of a segment
+     *
+     * @param id the id of the segment
+     * @return the file name
+     */
+    private static String segmentName(int id) {
+        return String.format("segment-%06d.dict", id);
+    }
+
+    /**
+     * Finds a word, checking the memtable and then the segments from newest to oldest
+     *
+     * @implNote O(1) running time behavior if in the memtable, O(segments * (log(blocks) + block size)) otherwise
+     * @param word the word
+     * @return the word, or null if it isn't in the dictionary or is null
+     */
+    private DictionaryWord lookup(String word) {
+        if (word == null) {
+            return null;
+        }
+        DictionaryWord dictionaryWord = memtable.getDictionaryWord(word);
+        if (dictionaryWord != null || memtableTombstones.contains(word)) {
+            return dictionaryWord;
+        }
+        for (SortedWordFile segment : segments) {
+            SortedWordFile.Cursor cursor = segment.find(word);
+            if (cursor != null) {
+                return cursor.dictionaryWord();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copies a word from the segments into the memtable so it can be changed there
+     *
+     * @implNote O(definitions of word) running time behavior, plus the cost of lookup if it isn't in the memtable
+     * @param word the word
+     * @return true if the word is in the dictionary
+     */
+    private boolean loadIntoMemtable(String word) {
+        if (memtable.containsWord(word)) {
+            return true;
+        }
+        if (memtableTombstones.contains(word)) {
+            return false;
+        }
+        DictionaryWord dictionaryWord = lookup(word);
+        if (dictionaryWord == null) {
+            return false;
+        }
+        for (DictionaryDefinition definition : dictionaryWord.getDefinitionSet()) {
+            memtable.add(word, definition.getPartOfSpeech(), definition.getDefinition());
+        }
+        return true;
+    }
+
+    /**
+     * Finds a definition of a word in the memtable by its index (starting from 1) when in sorted order
+     *
+     * @implNote O(definitions of word) running time behavior
+     * @param word the word
+     * @param id the index of the definition
+     * @return the definition, or null if there is no definition with that index
+     */
+    private DictionaryDefinition memtableDefinition(String word, int id) {
+        int num = 1;
+        for (DictionaryDefinition definition : memtable.getDictionaryWord(word).getDefinitionSet()) {
+            if (num == id) {
+                return definition;
+            }
+            num++;
+        }
+        return null;
+    }
+
+    /**
+     * Counts a definition being added to (delta of 1) or removed from (delta of -1) the dictionary
+     *
+     * @implNote O(1) running time behavior
+     * @param partOfSpeech the part of speech of the definition
+     * @param delta 1 if the definition was added, -1 if it was removed
+     */
+    private void countDefinition(String partOfSpeech, int delta) {
+        numDefinitions += delta;
+        int count = usedPartsOfSpeech.getOrDefault(partOfSpeech, 0) + delta;
+        if (count == 0) {
+            usedPartsOfSpeech.remove(partOfSpeech);
+        } else {
+            usedPartsOfSpeech.put(partOfSpeech, count);
+        }
+        statistics = null;
+    }
+
+    /**
+     * Flushes the memtable if it has reached the flush threshold
+     *
+     * @implNote O(1) running time behavior unless a flush happens
+     */
+    private void flushIfFull() {
+        if (memtable.numDefinitions() + memtableTombstones.size() >= flushThreshold) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Adds a word or definition to the memtable
+     *
+     * @implNote O(log(words in memtable)) running time behavior, plus the cost of lookup if the word isn't in the
+     * memtable
+     * @param word The word
+     * @param partOfSpeech the part of speech for the associated word
+     * @param definition the associated definition for the associated part of speech
+     */
+    @Override
+    public synchronized void add(String word, String partOfSpeech, String definition) {
+        boolean existed = loadIntoMemtable(word);
+        int before = existed ? memtable.getNumDefinitions(word) : 0;
+        memtable.add(word, partOfSpeech, definition);
+        memtableTombstones.remove(word);
+        userBytes += word.length() + partOfSpeech.length() + definition.length();
+        if (memtable.getNumDefinitions(word) > before) {
+            countDefinition(partOfSpeech, 1);
+            if (!existed) {
+                numWords++;
+            }
+            publish(DictionaryEvent.Type.ADD, word, partOfSpeech, definition, null);
+        }
+        flushIfFull();
+    }
+
+    /**
+     * Updates the definition for a word in the memtable
+     *
+     * @implNote O(definitions for word) running time behavior, plus the cost of lookup if the word isn't in the
+     * memtable
+     * @param word the word to update a definition for
+     * @param definitionIndex the index of the definition to update
+     * @param newDefinition the new definition for the word
+     */
+    @Override
+    public synchronized void updateDefinition(String word, int definitionIndex, String newDefinition) {
+        loadIntoMemtable(word);
+        DictionaryDefinition oldDefinition = memtableDefinition(word, definitionIndex);
+        int before = memtable.getNumDefinitions(word);
+        memtable.updateDefinition(word, definitionIndex, newDefinition);
+        userBytes += word.length() + newDefinition.length();
+        // The new definition merges into an identical existing one instead of being added
+        if (oldDefinition != null && memtable.getNumDefinitions(word) < before) {
+            countDefinition(oldDefinition.getPartOfSpeech(), -1);
+        }
+        if (oldDefinition != null) {
+            publish(DictionaryEvent.Type.UPDATE, word, oldDefinition.getPartOfSpeech(), newDefinition,
+                    oldDefinition.getDefinition());
+        }
+        flushIfFull();
+    }
+
+    /**
+     * Removes a definition from the specified word based on the index passed to it. Removing a word's last definition
+     * leaves a tombstone in the memtable
+     *
+     * @implNote O(definitions of word) running time behavior, plus the cost of lookup if the word isn't in the
+     * memtable
+     * @param userWord the word to remove a definition from
+     * @param id the index of the definition to remove
+     * @return A boolean that represents whether the word was also removed with the definition (true if removed)
+     */
+    @Override
+    public synchronized boolean removeDefinition(String userWord, int id) {
+        loadIntoMemtable(userWord);
+        DictionaryDefinition removed = memtableDefinition(userWord, id);
+        boolean wordRemoved = memtable.removeDefinition(userWord, id);
+        userBytes += userWord.length();
+        countDefinition(removed.getPartOfSpeech(), -1);
+        publish(DictionaryEvent.Type.REMOVE, userWord, removed.getPartOfSpeech(), removed.getDefinition(), null);
+        if (wordRemoved) {
+            memtableTombstones.add(userWord);
+            numWords--;
+            publish(DictionaryEvent.Type.REMOVE_WORD, userWord, null, null, null);
+        }
+        flushIfFull();
+        return wordRemoved;
+    }
+
+    /**
+     * Makes a batch of changes one at a time through this dictionary's own methods, all while holding the lock they take, after checking all of them,
+     * so a batch with a bad change leaves the dictionary as it was
+     *
+     * @implNote O(definitions of the changed words + changes * cost of a change) running time behavior
+     * @param batch the changes
+     * @throws IllegalArgumentException if an added definition's part of speech isn't valid
+     * @throws IndexOutOfBoundsException if a removal's word has no definition with its index
+     */
+    @Override
+    public synchronized void apply(Batch batch) throws IllegalArgumentException, IndexOutOfBoundsException {
+        applyEach(batch);
+    }
+
+    /**
+     * Throws, since the definitions live in the memtable and the segments
+     *
+     * @implNote O(1) running time behavior
+     * @param codec the codec
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void compressDefinitions(DefinitionCodec codec) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("An LSM dictionary can't compress its definitions");
+    }
+
+    /**
+     * Gets the DictionaryWord of a word from the memtable or the newest segment that has it. The word must not be
+     * modified through the returned object
+     *
+     * @implNote Same running time behavior as lookup
+     * @param word the word
+     * @return the DictionaryWord, or null if the word isn't in the dictionary
+     */
+    @Override
+    synchronized DictionaryWord getDictionaryWord(String word) {
+        return lookup(word);
+    }
+
+    /**
+     * Gets the number of definitions, the flushed count recorded in the manifest plus the memtable's changes since
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    @Override
+    synchronized int numDefinitions() {
+        return numDefinitions;
+    }
+
+    /**
+     * Reports the summary statistics of the glossary, followed by the storage statistics
+     *
+     * @implNote O(1) running time behavior if the summary is cached, O(segments * block size) otherwise
+     * @return the metadata
+     */
+    @Override
+    public synchronized String getStatistics() {
+        return getStatisticsSnapshot().getSummary() + NEWLINE + getStorageStatistics();
+    }
+
+    /**
+     * Reports the number of segments, flushes and compactions, the bytes written by users and to segments, and the
+     * resulting write amplification
+     *
+     * @implNote O(1) running time behavior
+     * @return the storage statistics
+     */
+    public synchronized String getStorageStatistics() {
+        return "segments: " + segments.size() + NEWLINE +
+                "flushes: " + flushes + NEWLINE +
+                "compactions: " + compactions + NEWLINE +
+                "user bytes: " + userBytes + NEWLINE +
+                "segment bytes written: " + (flushedBytes + compactedBytes) + NEWLINE +
+                "write amplification: " + String.format("%.3f", getWriteAmplification())
+                + (compactionError == null ? "" : NEWLINE + "last compaction failed: " + compactionError);
+    }
+
+    /**
+     * Gets the bytes written to segments by flushes and compactions per byte of word and definition text written by
+     * users
+     *
+     * @implNote O(1) running time behavior
+     * @return the write amplification, or 0 if nothing was written
+     */
+    public synchronized double getWriteAmplification() {
+        return userBytes == 0 ? 0 : (double) (flushedBytes + compactedBytes) / userBytes;
+    }
+
+    /**
+     * Provides a snapshot of the summary statistics. The histograms and top words of an LSM dictionary are always empty
+     *
+     * @implNote O(segments * block size) running time behavior, the snapshot is cached until the next mutation
+     * @return the statistics snapshot
+     */
+    @Override
+    public synchronized DictionaryStatistics getStatisticsSnapshot() {
+        if (statistics == null) {
+            String first = firstWord();
+            String last = lastWord();
+            statistics = new DictionaryStatistics(numWords, numDefinitions, first == null ? "" : first,
+                    last == null ? "" : last, new TreeMap<String, Integer>(usedPartsOfSpeech), new Histogram(1, 1),
+                    new Histogram(1, 1), new Histogram(1, 1), new ArrayList<String>(), new ArrayList<Integer>());
+        }
+        return statistics;
+    }
+
+    /**
+     * Estimates the heap retained by the memtable, its tombstones and the indexes of the open segments. The mapped
+     * contents of the segments are outside the heap
+     *
+     * @implNote O(length of the memtable's words and definitions + blocks) running time behavior
+     * @param layout the layout of objects to estimate with
+     * @return the memory report
+     */
+    @Override
+    public synchronized MemoryReport memoryReport(MemoryLayout layout) {
+        MemoryReport report = new MemoryReport(layout, numWords, numDefinitions);
+        report.addAll("memtable ", memtable.memoryReport(layout));
+        long tombstones = layout.treeMap(memtableTombstones.size(), true);
+        for (String word : memtableTombstones) {
+            tombstones += layout.string(word);
+        }
+        report.add("memtable tombstones", tombstones, false);
+        long segmentBytes = 0;
+        for (SortedWordFile segment : segments) {
+            segmentBytes += segment.retainedBytes(layout);
+        }
+        report.add("segment indexes", segmentBytes, false);
+        return report;
+    }
+
+    /**
+     * Returns all the words in the given range as a string, merging the memtable with the segments
+     *
+     * @implNote O(segments * log(blocks) + words in range * log(segments)) running time behavior
+     * @param start the starting word (inclusive)
+     * @param end the ending word (inclusive)
+     * @return all the words in the range as a string
+     */
+    @Override
+    public synchronized String getWordsInRange(String start, String end) {
+        StringBuilder sb = new StringBuilder("The words between ")
+                .append(start)
+                .append(" and ")
+                .append(end)
+                .append(" are:");
+        if (start.compareTo(end) > 0) {
+            return sb.toString();
+        }
+        MergedWords merged = new MergedWords(segments, start, true, false);
+        while (merged.next() && merged.word().compareTo(end) <= 0) {
+            sb
+                    .append(NEWLINE)
+                    .append(TAB)
+                    .append(merged.word());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Does nothing, since ranges are merged from the memtable and segments rather than cached
+     *
+     * @implNote O(1) running time behavior
+     * @param bytes unused
+     */
+    @Override
+    public void setRangeCacheBudget(long bytes) {
+    }
+
+    /**
+     * Gets the number of getWordsInRange calls answered from a cache, which is always 0 since ranges aren't cached
+     *
+     * @implNote O(1) running time behavior
+     * @return 0
+     */
+    @Override
+    public long getRangeCacheHits() {
+        return 0;
+    }
+
+    /**
+     * Gets the number of getWordsInRange calls that had to walk the words, which is always 0 since ranges aren't
+     * cached and so never miss
+     *
+     * @implNote O(1) running time behavior
+     * @return 0
+     */
+    @Override
+    public long getRangeCacheMisses() {
+        return 0;
+    }
+
+    /**
+     * Finds the lexicographically smallest words that match a pattern by checking the words that start with the
+     * pattern's literal prefix in order, since there is no trigram index over the words on disk
+     *
+     * @implNote O(words with the literal prefix * length of the pattern) running time behavior, less if the limit is
+     * reached
+     * @param pattern the pattern, where '?' matches any one character and '*' matches any sequence of characters
+     * @param limit the maximum number of words to return
+     * @return the matching words in lexicographic order
+     */
+    @Override
+    public synchronized List<String> match(String pattern, int limit) {
+        String prefix = TrigramIndex.literalPrefix(pattern);
+        return TrigramIndex.scan(pattern, limit, prefix, wordsFrom(prefix));
+    }
+
+    /**
+     * Gets the words ending with a suffix in the order of their reversals, by checking every word since there is no
+     * index of reversed words on disk
+     *
+     * @implNote O(words * length of the suffix + matches * log(matches)) running time behavior
+     * @param suffix the suffix
+     * @param limit the maximum number of words to return
+     * @return the words
+     */
+    @Override
+    public synchronized List<String> getWordsWithSuffix(String suffix, int limit) {
+        return SuffixIndex.scan(wordsFrom(""), suffix, limit);
+    }
+
+    /**
+     * Counts the words ending with a suffix by checking every word
+     *
+     * @implNote O(words * length of the suffix) running time behavior
+     * @param suffix the suffix
+     * @return the number of words
+     */
+    @Override
+    public synchronized int countWithSuffix(String suffix) {
+        int count = 0;
+        Iterator<String> words = wordsFrom("");
+        while (words.hasNext()) {
+            if (words.next().endsWith(suffix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Provides the words greater than or equal to the given word in lexicographic order without reading their
+     * definitions
+     *
+     * @implNote O(log(blocks)) running time behavior to start, iterating is O(words passed)
+     * @param from the smallest word to return
+     * @return the words in order
+     */
+    private Iterator<String> wordsFrom(String from) {
+        MergedWords merged = new MergedWords(segments, from, true, false);
+        return new Iterator<String>() {
+            private boolean hasNext = merged.next();
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                String word = merged.word();
+                hasNext = merged.next();
+                return word;
+            }
+        };
+    }
+
+    /**
+     * Returns the requested word as a string or null if the word isn't in the dictionary
+     *
+     * @implNote O(definitions of the word) running time behavior, plus the cost of lookup
+     * @param word the word to return a string for
+     * @return the string format of the word or null
+     */
+    @Override
+    public synchronized String getWord(String word) {
+        DictionaryWord dictionaryWord = lookup(word);
+        return dictionaryWord == null ? null : dictionaryWord.toString();
+    }
+
+    /**
+     * Writes the requested word the way getWord represents it, without building a string
+     *
+     * @implNote O(length of the definitions of the word) running time behavior, plus the cost of lookup
+     * @param word the word to write
+     * @param out where to write the word
+     * @return true if the word was written, false if it isn't in the dictionary
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public synchronized boolean renderWord(String word, Appendable out) throws IOException {
+        DictionaryWord dictionaryWord = lookup(word);
+        if (dictionaryWord == null) {
+            return false;
+        }
+        dictionaryWord.renderTo(out);
+        return true;
+    }
+
+    /**
+     * Checks if the word is in the dictionary
+     *
+     * @implNote Same running time behavior as lookup, the segments' Bloom filters reject most missing words
+     * @param word the word to check
+     * @return true if the word is in the dictionary
+     */
+    @Override
+    public synchronized boolean containsWord(String word) {
+        return lookup(word) != null;
+    }
+
+    /**
+     * The segments carry their own word filters, so there is nothing to rebuild
+     *
+     * @implNote O(1) running time behavior
+     */
+    @Override
+    public void rebuildWordFilter() {
+    }
+
+    /**
+     * Provides the first word in the dictionary.
+     *
+     * @implNote O(segments * block size + definitions of the word) running time behavior
+     * @return the word
+     */
+    @Override
+    public synchronized String getFirstWord() {
+        String first = firstWord();
+        return first == null ? "null" : getWord(first);
+    }
+
+    /**
+     * Provides the last word in the dictionary.
+     *
+     * @implNote O(segments * block size + definitions of the word) running time behavior
+     * @return the word
+     */
+    @Override
+    public synchronized String getLastWord() {
+        String last = lastWord();
+        return last == null ? "null" : getWord(last);
+    }
+
+    /**
+     * Finds the lexicographically first word
+     *
+     * @implNote O(segments * block size) running time behavior unless many of the first words were removed
+     * @return the first word, or null if the dictionary is empty
+     */
+    private String firstWord() {
+        MergedWords merged = new MergedWords(segments, "", true, false);
+        return merged.next() ? merged.word() : null;
+    }
+
+    /**
+     * Finds the lexicographically last word. Merging from a block's first word returns every word after it, so the
+     * blocks are tried from the last one backwards until one of them yields a word
+     *
+     * @implNote O(blocks + segments * block size) running time behavior unless many of the last words were removed
+     * @return the last word, or null if the dictionary is empty
+     */
+    private String lastWord() {
+        List<SortedWordFile> currentSegments = segments;
+        TreeSet<String> starts = new TreeSet<String>();
+        for (SortedWordFile segment : currentSegments) {
+            for (int i = 0; i < segment.numBlocks(); i++) {
+                starts.add(segment.blockFirstWord(i));
+            }
+        }
+        starts.add("");
+        for (String start : starts.descendingSet()) {
+            MergedWords merged = new MergedWords(currentSegments, start, true, false);
+            String last = null;
+            while (merged.next()) {
+                last = merged.word();
+            }
+            if (last != null) {
+                return last;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets all parts of speech for a word in the dictionary
+     *
+     * @implNote O(1) running time behavior, plus the cost of lookup
+     * @param word the word
+     * @return the parts of speech of the word
+     */
+    @Override
+    public synchronized String getPartsOfSpeechOfWord(String word) {
+        return lookup(word).getPartsOfSpeech();
+    }
+
+    /**
+     * Returns a numbered list of the definitions of a word as a string
+     *
+     * @implNote O(definitions of word) running time behavior, plus the cost of lookup
+     * @param word the word to get the definitions for
+     * @return a numbered list of the definitions of a word as a string
+     */
+    @Override
+    public synchronized String getDefinitions(String word) {
+        return lookup(word).getListOfDefinitions();
+    }
+
+    /**
+     * Gets the number of definitions for a word
+     *
+     * @implNote O(1) running time behavior, plus the cost of lookup
+     * @param word the word to get the number of definitions for
+     * @return the number of definitions of the word
+     */
+    @Override
+    public synchronized int getNumDefinitions(String word) {
+        return lookup(word).numberOfDefinitions();
+    }
+
+    /**
+     * Provides every word of the dictionary in lexicographic order, merging the memtable with the segments
+     *
+     * @implNote O(segments) running time behavior, iterating is O(definitions * log(segments))
+     * @return the words in order
+     */
+    @Override
+    Iterable<DictionaryWord> dictionaryWords() {
+        return () -> new MergedWords(segments, "", true, false).asIterator();
+    }
+
+    /**
+     * Captures a point-in-time view of the dictionary. The words are copied, since words held in memory change in place
+     *
+     * @implNote O(definitions) running time behavior
+     * @return the snapshot
+     */
+    @Override
+    public synchronized DictionarySnapshot snapshot() {
+        return copyingSnapshot();
+    }
+
+    /**
+     * Copies the memtable and segments, merged, into an immutable FrozenDictionary laid out in flat arrays for reading
+     *
+     * @implNote O(length of the words and definitions + words * log(words)) running time behavior
+     * @return the frozen dictionary
+     */
+    @Override
+    public synchronized FrozenDictionary freeze() {
+        return super.freeze();
+    }
+
+    /**
+     * Represents the dictionary as a string
+     *
+     * @implNote O(definitions) running time behavior (definitions must be >= words)
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            sb.append(dictionaryWord.toString());
+            sb.append(NEWLINE);
+        }
+        // Removes the extra newline character
+        sb.delete(sb.length()-1, sb.length());
+        return sb.toString();
+    }
+
+    /**
+     * Provides the file output format of the dictionary
+     *
+     * @implNote O(definitions) running time behavior (definitions must be >= words)
+     * @return the dictionary in file format
+     */
+    @Override
+    public synchronized String toFileFormat() {
+        StringBuilder fileFormatString = new StringBuilder();
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            fileFormatString.append(dictionaryWord.toFileFormat());
+        }
+        // Substring method removes the newline character
+        return fileFormatString.substring(0, Math.max(fileFormatString.length() - NEWLINE.length(), 0));
+    }
+
+    /**
+     * Represents the dictionary as a string on the calling thread, since the words stream out of the memtable and
+     * segments in one merged pass
+     *
+     * @implNote O(definitions) running time behavior
+     * @param pool unused
+     * @return the dictionary represented as a string
+     */
+    @Override
+    public synchronized String toString(ForkJoinPool pool) {
+        return toString();
+    }
+
+    /**
+     * Provides the file output format of the dictionary on the calling thread, since the words stream out of the
+     * memtable and segments in one merged pass
+     *
+     * @implNote O(definitions) running time behavior
+     * @param pool unused
+     * @return the dictionary in file format
+     */
+    @Override
+    public synchronized String toFileFormat(ForkJoinPool pool) {
+        return toFileFormat();
+    }
+
+    /**
+     * Writes the file output format of the dictionary on the calling thread as the words stream out of the memtable
+     * and segments in one merged pass. Every word is written as soon as it is rendered, so the whole dictionary is
+     * never held as one string
+     *
+     * @implNote O(definitions) running time behavior, plus the cost of writing
+     * @param out where to write the dictionary
+     * @param pool unused
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public synchronized void writeFileFormat(Appendable out, ForkJoinPool pool) throws IOException {
+        StringBuilder wordFormat = new StringBuilder();
+        boolean first = true;
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            wordFormat.setLength(0);
+            dictionaryWord.renderFileFormatTo(wordFormat);
+            // The newline after the last definition isn't part of the file format, so it is written before the next
+            if (!first) {
+                out.append(NEWLINE);
+            }
+            out.append(wordFormat, 0, wordFormat.length() - NEWLINE.length());
+            first = false;
+        }
+    }
+
+    /**
+     * A source of records for MergedWords: the memtable's words, the memtable's tombstones, or a segment
+     */
+    private interface Source {
+        /**
+         * Moves to the next record
+         *
+         * @return true if there is a record
+         */
+        boolean next();
+
+        /**
+         * Gets the word of the current record
+         *
+         * @return the word
+         */
+        String word();
+
+        /**
+         * Checks if the current record is a tombstone
+         *
+         * @return true if the record is a tombstone
+         */
+        boolean isTombstone();
+
+        /**
+         * Gets the current record, a word without definitions if it's a tombstone. May be called once per record
+         *
+         * @return the word and its definitions
+         */
+        DictionaryWord dictionaryWord();
+
+        /**
+         * Gets the age of the source, 0 for the memtable and increasing for older segments
+         *
+         * @return the age
+         */
+        int age();
+    }
+
+    /**
+     * A class that merges records from the memtable and segments in lexicographic order. When several sources hold
+     * the same word only the newest record is returned. Tombstones are skipped unless they are kept for a flush
+     */
+    private class MergedWords {
+        // Variables
+        private final PriorityQueue<Source> queue;
+        private final boolean keepTombstones;
+        private Source current;
+
+        /**
+         * Creates a merge positioned before the first word greater than or equal to the given word
+         *
+         * @param segments the segments to merge, newest first
+         * @param from the smallest word to return
+         * @param includeMemtable true to merge the memtable in front of the segments
+         * @param keepTombstones true to return tombstones as words without definitions
+         */
+        private MergedWords(List<SortedWordFile> segments, String from, boolean includeMemtable,
+                            boolean keepTombstones) {
+            this.keepTombstones = keepTombstones;
+            this.queue = new PriorityQueue<Source>((a, b) -> {
+                int comparison = a.word().compareTo(b.word());
+                return comparison != 0 ? comparison : Integer.compare(a.age(), b.age());
+            });
+            if (includeMemtable) {
+                addMemtableSources(from);
+            }
+            for (int i = 0; i < segments.size(); i++) {
+                SortedWordFile.Cursor cursor = segments.get(i).cursor(from);
+                int age = i + 1;
+                addSource(new Source() {
+                    public boolean next() { return cursor.next(); }
+                    public String word() { return cursor.word(); }
+                    public boolean isTombstone() { return cursor.isTombstone(); }
+                    public DictionaryWord dictionaryWord() {
+                        return cursor.isTombstone() ? new DictionaryWord(cursor.word()) : cursor.dictionaryWord();
+                    }
+                    public int age() { return age; }
+                });
+            }
+        }
+
+        /**
+         * Adds the memtable's words and tombstones as sources. They never hold the same word, so they share age 0
+         *
+         * @param from the smallest word to return
+         */
+        private void addMemtableSources(String from) {
+            Iterator<DictionaryWord> words = memtable.dictionaryWords(from).iterator();
+            addSource(new Source() {
+                private DictionaryWord currentWord;
+                public boolean next() {
+                    currentWord = words.hasNext() ? words.next() : null;
+                    return currentWord != null;
+                }
+                public String word() { return currentWord.getWord(); }
+                public boolean isTombstone() { return false; }
+                public DictionaryWord dictionaryWord() { return currentWord; }
+                public int age() { return 0; }
+            });
+            Iterator<String> tombstones = memtableTombstones.tailSet(from, true).iterator();
+            addSource(new Source() {
+                private String currentWord;
+                public boolean next() {
+                    currentWord = tombstones.hasNext() ? tombstones.next() : null;
+                    return currentWord != null;
+                }
+                public String word() { return currentWord; }
+                public boolean isTombstone() { return true; }
+                public DictionaryWord dictionaryWord() { return new DictionaryWord(currentWord); }
+                public int age() { return 0; }
+            });
+        }
+
+        /**
+         * Adds a source to the queue if it has a record
+         *
+         * @param source the source
+         */
+        private void addSource(Source source) {
+            if (source.next()) {
+                queue.add(source);
+            }
+        }
+
+        /**
+         * Moves to the next word
+         *
+         * @implNote O(log(segments)) amortized running time behavior
+         * @return true if there is a word, false if every word was returned
+         */
+        private boolean next() {
+            if (current != null) {
+                addSource(current);
+                current = null;
+            }
+            while (!queue.isEmpty()) {
+                Source newest = queue.poll();
+                // Skip the older copies of the same word
+                while (!queue.isEmpty() && queue.peek().word().equals(newest.word())) {
+                    addSource(queue.poll());
+                }
+                if (newest.isTombstone() && !keepTombstones) {
+                    addSource(newest);
+                    continue;
+                }
+                current = newest;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Gets the current word
+         *
+         * @implNote O(1) running time behavior
+         * @return the word
+         */
+        private String word() {
+            return current.word();
+        }
+
+        /**
+         * Gets the current word and its definitions
+         *
+         * @implNote O(definitions of word) running time behavior
+         * @return the word and its definitions
+         */
+        private DictionaryWord dictionaryWord() {
+            return current.dictionaryWord();
+        }
+
+        /**
+         * Provides the remaining words as an iterator
+         *
+         * @return the iterator
+         */
+        private Iterator<DictionaryWord> asIterator() {
+            return new Iterator<DictionaryWord>() {
+                private boolean hasNext = MergedWords.this.next();
+
+                @Override
+                public boolean hasNext() {
+                    return hasNext;
+                }
+
+                @Override
+                public DictionaryWord next() {
+                    if (!hasNext) {
+                        throw new NoSuchElementException();
+                    }
+                    DictionaryWord dictionaryWord = dictionaryWord();
+                    hasNext = MergedWords.this.next();
+                    return dictionaryWord;
+                }
+            };
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package comprehensive;
 
 import java.io.*;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Scanner;
@@ -14,22 +17,50 @@ import java.util.Scanner;
 public class Main {
     // Variables
     private static Dictionary dictionary;
+    private static BackgroundSave currentSave;
     // Constants
     final private static String NEWLINE = System.lineSeparator();
+    final private static String DEFINITIONS_CHANGED =
+            "The definitions changed while you were choosing, so nothing was done";
 
     /**
      * The main method that runs the program
      *
-     * @param args the file path of the dictionary to open
+     * @param args the file paths of the glossary files or directories of glossary files to open, "--disk", the path
+     *             of a sorted word file and optionally the number of words to cache, "--lsm" and the directory of
+     *             an LSM dictionary, "--lazy" and a glossary file whose words are parsed on first use, "--columnar"
+     *             and a glossary file to load into a ColumnarDictionary, "--compressed" and a glossary file whose
+     *             definitions are kept compressed, or "--watch" and a glossary file whose changes are applied to the
+     *             dictionary as they are saved
      */
     public static void main(String[] args) {
         // Create the dictionary
         boolean running;
         try {
-            running = createDictionaryFromFile(args[0]);
+            if (args[0].equals("--disk")) {
+                int cacheSize = args.length > 2 ? Integer.parseInt(args[2]) : DiskBackedDictionary.DEFAULT_CACHE_SIZE;
+                running = openDiskBackedDictionary(args[1], cacheSize);
+            } else if (args[0].equals("--lsm")) {
+                running = openLsmDictionary(args[1]);
+            } else if (args[0].equals("--lazy")) {
+                running = openLazyDictionary(args[1]);
+            } else if (args[0].equals("--columnar")) {
+                running = createDictionaryFromFile(args[1], new ColumnarDictionary());
+            } else if (args[0].equals("--compressed")) {
+                running = createCompressedDictionaryFromFile(args[1]);
+            } else if (args[0].equals("--watch")) {
+                running = watchDictionaryFile(args[1]);
+            } else if (args.length > 1 || new File(args[0]).isDirectory()) {
+                running = importDictionaryFromFiles(args);
+            } else {
+                running = createDictionaryFromFile(args[0], new Dictionary());
+            }
         } catch (ArrayIndexOutOfBoundsException ignore) {
             System.out.println("No file passed");
             running = false;
+        } catch (NumberFormatException ignore) {
+            System.out.println("The number of words to cache must be a whole number");
+            running = false;
         }
         // Main logic loop
         while (running) {
@@ -48,10 +79,15 @@ public class Main {
             if(!validInput){
                 System.out.println(NEWLINE + "Invalid Selection" + NEWLINE + NEWLINE);
             }
-            // Act on input
+            // Act on input. Each action holds the dictionary's lock only while it reads or changes the dictionary,
+            // never while it waits for input, so a watched file's reload is only held up for the length of a call
             switch (input) {
                 case 1: // Get metadata - O(log(words)) running time behavior
-                    System.out.println(NEWLINE + dictionary.getStatistics() + NEWLINE);
+                    String statistics;
+                    synchronized (dictionary) {
+                        statistics = dictionary.getStatistics();
+                    }
+                    System.out.println(NEWLINE + statistics + NEWLINE);
                     break;
                 case 2: // Get words in range - O(words in range) running time behavior
                     getWordsInRange();
@@ -60,10 +96,18 @@ public class Main {
                     getWord();
                     break;
                 case 4: // Get first word - O(log(words) + definitions of the word) running time behavior
-                    System.out.println(NEWLINE + dictionary.getFirstWord() + NEWLINE);
+                    String firstWord;
+                    synchronized (dictionary) {
+                        firstWord = dictionary.getFirstWord();
+                    }
+                    System.out.println(NEWLINE + firstWord + NEWLINE);
                     break;
                 case 5: // Get last word - O(log(words) + definitions of the word) running time behavior
-                    System.out.println(NEWLINE + dictionary.getLastWord() + NEWLINE);
+                    String lastWord;
+                    synchronized (dictionary) {
+                        lastWord = dictionary.getLastWord();
+                    }
+                    System.out.println(NEWLINE + lastWord + NEWLINE);
                     break;
                 case 6: // Get parts of speech - O(1) running time behavior
                     getPartsOfSpeech();
@@ -77,7 +121,7 @@ public class Main {
                 case 9: // Add definition - O(log(definitions of word)) if adding a definition, O(log(words)) if adding a word
                     addDefinition();
                     break;
-                case 10: //Save to file - O(definitions) running time behavior (words < definitions)
+                case 10: //Save to file - O(words) running time behavior, the O(definitions) save runs in the background
                     saveDictionary();
                     break;
                 case 11: // Exit - O(1) running time behavior
@@ -85,12 +129,24 @@ public class Main {
                     break;
             }
         }
+        // An LSM dictionary writes its memtable out when closed
+        if (dictionary instanceof LsmDictionary) {
+            try {
+                ((LsmDictionary) dictionary).close();
+            } catch (IOException e) {
+                System.out.print("IO Exception: " + e);
+            }
+        }
     }
 
     /**
      * Presents the main menu to the user
      */
     private static void showMainMenu(){
+        if (currentSave != null && !currentSave.isDone()) {
+            System.out.println("Saving to " + currentSave.getTarget() + ": "
+                    + Math.round(currentSave.getProgress() * 100) + "%" + NEWLINE);
+        }
         System.out.print("Main Menu" + NEWLINE +
                 "1.  Get metadata" + NEWLINE +
                 "2.  Get Words In Range" + NEWLINE +
@@ -117,8 +173,12 @@ public class Main {
         String start = scan();
         System.out.print("Ending word: ");
         String end = scan();
+        String range;
+        synchronized (dictionary) {
+            range = dictionary.getWordsInRange(start, end);
+        }
         System.out.println();
-        System.out.println(dictionary.getWordsInRange(start, end));
+        System.out.println(range);
         System.out.println();
     }
 
@@ -130,7 +190,10 @@ public class Main {
     private static void getWord(){
         System.out.print("Select a word: ");
         String word = scan();
-        String output = dictionary.getWord(word);
+        String output;
+        synchronized (dictionary) {
+            output = dictionary.getWord(word);
+        }
         System.out.println();
         if (output == null) {
             System.out.print(word);
@@ -150,13 +213,19 @@ public class Main {
         System.out.print("Select a word: ");
         //create a scanner for the user to input the word to
         String wordPartOfSpeechScannerResult = scan();
-        if (dictionary.getWord(wordPartOfSpeechScannerResult) == null)
+        String partsOfSpeech = null;
+        synchronized (dictionary) {
+            if (dictionary.containsWord(wordPartOfSpeechScannerResult)) {
+                partsOfSpeech = dictionary.getPartsOfSpeechOfWord(wordPartOfSpeechScannerResult);
+            }
+        }
+        if (partsOfSpeech == null)
             //if the word is not in the dictionary
             System.out.println("\nThe word entered is not in the dictionary\n");
         else {
             //if the word is in the dictionary
             System.out.println();
-            System.out.println(dictionary.getPartsOfSpeechOfWord(wordPartOfSpeechScannerResult));
+            System.out.println(partsOfSpeech);
         }
     }
 
@@ -171,16 +240,20 @@ public class Main {
         String userWord = null;
         System.out.print("Select a word: ");
         userWord = scan();
-        if(dictionary.getWord(userWord) == null){
+        String definitions = currentDefinitions(userWord);
+        if(definitions == null){
             //Check to see if the word is in the dictionary
             System.out.println("Invalid selection\n");
         } else {
             System.out.println();
-            int numDefinitions = dictionary.getNumDefinitions(userWord);
+            int numDefinitions;
+            synchronized (dictionary) {
+                numDefinitions = dictionary.getNumDefinitions(userWord);
+            }
             boolean validUserInput = false;
             while(!validUserInput){
                 System.out.println("Definitions for " + userWord);
-                System.out.println(dictionary.getDefinitions(userWord));
+                System.out.println(definitions);
                 System.out.print("Select a definition to update: ");
                 //int defToUpdate = Integer.parseInt(scan());
                 int defToUpdate = getNumberInRange(0, numDefinitions + 1);
@@ -194,8 +267,15 @@ public class Main {
                     String newDef = scan();
                     if (!(newDef.length() == 0 || newDef.contains("::"))) {
                         System.out.println();
-                        dictionary.updateDefinition(userWord, defToUpdate, newDef);
-                        System.out.println("Definition Updated" + NEWLINE);
+                        boolean updated = false;
+                        synchronized (dictionary) {
+                            // The numbers shown are only good if a reload hasn't changed the word since
+                            if (definitions.equals(currentDefinitions(userWord))) {
+                                dictionary.updateDefinition(userWord, defToUpdate, newDef);
+                                updated = true;
+                            }
+                        }
+                        System.out.println((updated ? "Definition Updated" : DEFINITIONS_CHANGED) + NEWLINE);
                     } else {
                         System.out.println("\nInvalid definition\n");
                     }
@@ -221,16 +301,20 @@ public class Main {
         String userWord = null;
         System.out.print("Select a word: ");
         userWord = scan();
-        if(dictionary.getWord(userWord) == null){
+        String definitions = currentDefinitions(userWord);
+        if(definitions == null){
             //Check to see if the word is in the dictionary
             System.out.println("Invalid selection\n");
         } else {
             System.out.println();
-            int numDefinitions = dictionary.getNumDefinitions(userWord);
+            int numDefinitions;
+            synchronized (dictionary) {
+                numDefinitions = dictionary.getNumDefinitions(userWord);
+            }
             boolean validUserInput = false;
             while(!validUserInput){
                 System.out.println("Definitions for " + userWord);
-                System.out.println(dictionary.getDefinitions(userWord));
+                System.out.println(definitions);
                 System.out.print("Select a definition to Remove: ");
                 //int defToUpdate = Integer.parseInt(scan());
                 int defToRemove = getNumberInRange(0, numDefinitions + 1);
@@ -240,8 +324,15 @@ public class Main {
                 if(defToRemove <= numDefinitions && defToRemove > 0){
                     //If the user input is valid
                     validUserInput = true;
-                    dictionary.removeDefinition(userWord, defToRemove);
-                    System.out.println("Definition Removed" + NEWLINE);
+                    boolean removed = false;
+                    synchronized (dictionary) {
+                        // The numbers shown are only good if a reload hasn't changed the word since
+                        if (definitions.equals(currentDefinitions(userWord))) {
+                            dictionary.removeDefinition(userWord, defToRemove);
+                            removed = true;
+                        }
+                    }
+                    System.out.println((removed ? "Definition Removed" : DEFINITIONS_CHANGED) + NEWLINE);
                     break;
                 } else if (defToRemove == numDefinitions + 1) {
                     //If the user chooses to return the main menu
@@ -276,7 +367,9 @@ public class Main {
             System.out.print("Type a definition: ");
             String addDefnewDef = scan();
             if (!(addDefnewDef.length() == 0 || addDefnewDef.contains("::"))) {
-                dictionary.add(addDefWord, addDefPartOfSpeech, addDefnewDef);
+                synchronized (dictionary) {
+                    dictionary.add(addDefWord, addDefPartOfSpeech, addDefnewDef);
+                }
                 System.out.println(NEWLINE + "Successfully added!\n");
             } else {
                 System.out.println("\nInvalid definition\n");
@@ -286,6 +379,19 @@ public class Main {
         }
     }
 
+    /**
+     * Private helper method that gets the numbered definitions of a word while holding the dictionary's lock
+     *
+     * @implNote O(definitions of word) running time behavior
+     * @param word the word
+     * @return the numbered definitions, or null if the word isn't in the dictionary
+     */
+    private static String currentDefinitions(String word) {
+        synchronized (dictionary) {
+            return dictionary.containsWord(word) ? dictionary.getDefinitions(word) : null;
+        }
+    }
+
     /**
      * Private helper methods that determines if a string a valid part of speech
      *
@@ -298,43 +404,139 @@ public class Main {
     }
 
     /**
-     * Saves the dictionary to a file
+     * Saves the dictionary to a file on a background thread, so the other options stay available during the save.
+     * Files named ".gz", ".deflate" or ".zz" are saved compressed
      *
-     * @implNote O(definitions) running time behavior (definitions must be >= words)
+     * @implNote O(words) running time behavior on this thread, O(definitions) on the background thread
      */
     private static void saveDictionary(){
         System.out.print("Type a filename with path: ");
         String filePath = scan();
-        boolean saved = true;
-        try(PrintWriter outputFile = new PrintWriter(filePath)) {
-            outputFile.print(dictionary.toFileFormat());
+        if (currentSave != null && !currentSave.isDone()) {
+            System.out.println(NEWLINE + "A save to " + currentSave.getTarget() + " is already in progress" + NEWLINE);
+            return;
         }
-        catch (IOException e) {
+        Path target;
+        try {
+            target = Path.of(filePath);
+        } catch (InvalidPathException e) {
             System.out.println(NEWLINE + "File Not Found" + NEWLINE);
-            saved = false;
+            return;
         }
-        if(saved){
-            System.out.println(NEWLINE + "Successfully saved dictionary to " + filePath + NEWLINE);
+        // Only the snapshot is taken under the lock, the save itself runs without it
+        synchronized (dictionary) {
+            currentSave = BackgroundSave.start(dictionary, target, save -> {
+                if (save.getError() == null) {
+                    System.out.println(NEWLINE + "Successfully saved dictionary to " + filePath + " ("
+                            + save.getCompression() + ", " + save.getBytesWritten() + " bytes)" + NEWLINE);
+                } else {
+                    System.out.println(NEWLINE + "Could not save dictionary to " + filePath + ": " + save.getError()
+                            + NEWLINE);
+                }
+            });
         }
+        System.out.println(NEWLINE + "Saving dictionary to " + filePath + " in the background" + NEWLINE);
     }
 
     /**
-     * Private helper method to create a dictionary object from a given file
+     * Private helper method to create a dictionary object from a given file, plain or compressed, printing how long
+     * the load took and how many bytes it read
      *
      * @implNote O(definitions) running time behavior
      * @param fileName the input file
+     * @param empty the empty dictionary to load the file into
      */
-    private static boolean createDictionaryFromFile(String fileName) {
-        dictionary = new Dictionary();
-        //Note: While trying to efficiently input data from the file, we found the BufferedReader Class. It has decent
-        // efficiency gains over using the scanner to read in the file.
-        try(BufferedReader reader = new BufferedReader((new FileReader(fileName)))){
-            String wordLine;
-            while((wordLine = reader.readLine()) != null){
-                //For all the lines with text in them
-                String[] definitionParts = wordLine.split("::");
-                dictionary.add(definitionParts[0], definitionParts[1], definitionParts[2]);
-            }
+    private static boolean createDictionaryFromFile(String fileName, Dictionary empty) {
+        dictionary = empty;
+        try {
+            GlossaryLoader loader = loadDictionaryFile(fileName, dictionary);
+            // Size the word filter for the loaded words
+            dictionary.rebuildWordFilter();
+            System.out.println(loader.getReport() + NEWLINE);
+            return true;
+        } catch (IOException e) {
+            System.out.print("IO Exception: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Private helper method to create a dictionary object from a file, then compress its definitions with a codec
+     * trained from them, printing how much memory the definition text took before and after
+     *
+     * @implNote O(definitions) running time behavior, plus the cost of training the codec and compressing
+     * @param fileName the input file
+     */
+    private static boolean createCompressedDictionaryFromFile(String fileName) {
+        if (!createDictionaryFromFile(fileName, new Dictionary())) {
+            return false;
+        }
+        long before = dictionary.memoryReport().getBytes("definition strings");
+        DefinitionCodec codec = DefinitionCodec.train(dictionary);
+        dictionary.compressDefinitions(codec);
+        MemoryReport report = dictionary.memoryReport();
+        long after = report.getBytes("compressed definitions") + report.getBytes("definition codec");
+        System.out.println("Compressed definition text from " + before + " to " + after + " bytes (" + codec.numStems()
+                + " stems, " + codec.presetDictionaryBytes() + "-byte preset dictionary)" + NEWLINE);
+        return true;
+    }
+
+    /**
+     * Private helper method to create a dictionary object from a file and keep it in step with the file, printing what
+     * changed after every reload
+     *
+     * @implNote O(definitions) running time behavior to load, each reload depends on the size of the change
+     * @param fileName the name of the glossary file
+     */
+    private static boolean watchDictionaryFile(String fileName) {
+        if (!createDictionaryFromFile(fileName, new Dictionary())) {
+            return false;
+        }
+        try {
+            GlossaryWatcher watcher = new GlossaryWatcher(dictionary, Path.of(fileName));
+            watcher.start(reloaded -> System.out.println(NEWLINE + "Reloaded " + fileName + NEWLINE
+                    + (reloaded.getFailure() == null ? reloaded.getReloadStatistics() : reloaded.getFailure())
+                    + NEWLINE));
+            return true;
+        } catch (IOException | InvalidPathException e) {
+            System.out.print("IO Exception: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Private helper method to create a dictionary object from many files, parsed and merged in parallel
+     *
+     * @implNote O(definitions * log(files)) running time behavior, spread across the available processors
+     * @param fileNames the glossary files and directories of glossary files
+     */
+    private static boolean importDictionaryFromFiles(String[] fileNames) {
+        ArrayList<Path> paths = new ArrayList<Path>();
+        for (String fileName : fileNames) {
+            paths.add(Path.of(fileName));
+        }
+        try {
+            DictionaryImporter importer = new DictionaryImporter();
+            List<Path> files = DictionaryImporter.expand(paths);
+            dictionary = importer.importFiles(files);
+            System.out.println("Imported " + files.size() + " files" + NEWLINE + importer.getReport() + NEWLINE);
+            return true;
+        } catch (IOException e) {
+            System.out.print("IO Exception: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Private helper method to open a disk-backed dictionary from a sorted word file
+     *
+     * @implNote O(blocks) running time behavior
+     * @param fileName the sorted word file
+     * @param cacheSize the maximum number of words kept in memory
+     */
+    private static boolean openDiskBackedDictionary(String fileName, int cacheSize) {
+        try {
+            dictionary = new DiskBackedDictionary(Path.of(fileName), cacheSize);
             return true;
         } catch (IOException e) {
             System.out.print("IO Exception: " + e);
@@ -342,6 +544,54 @@ public class Main {
         }
     }
 
+    /**
+     * Private helper method to open an LSM dictionary from its directory
+     *
+     * @implNote O(segments * blocks) running time behavior
+     * @param directory the directory of the LSM dictionary
+     */
+    private static boolean openLsmDictionary(String directory) {
+        try {
+            dictionary = new LsmDictionary(Path.of(directory));
+            return true;
+        } catch (IOException e) {
+            System.out.print("IO Exception: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Private helper method to open a glossary file lazily, indexing its words without parsing their definitions
+     *
+     * @implNote O(lines + words * log(words)) running time behavior
+     * @param fileName the input file
+     */
+    private static boolean openLazyDictionary(String fileName) {
+        try {
+            dictionary = new LazyDictionary(Path.of(fileName));
+            return true;
+        } catch (IOException e) {
+            System.out.print("IO Exception: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Adds every definition of a glossary file to a dictionary. Gzip and Deflate files are decompressed as they are
+     * read, see GlossaryLoader
+     *
+     * @implNote O(definitions) running time behavior
+     * @param fileName the input file
+     * @param dictionary the dictionary to add the definitions to
+     * @return the loader, which reports how long the load took and how many bytes it read
+     * @throws IOException if the file can't be read
+     */
+    static GlossaryLoader loadDictionaryFile(String fileName, Dictionary dictionary) throws IOException {
+        GlossaryLoader loader = new GlossaryLoader(new File(fileName).toPath());
+        loader.loadInto(dictionary);
+        return loader;
+    }
+
     /**
      * Private helper method that scans the next line for user input
      *
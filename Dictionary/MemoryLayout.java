@@ -0,0 +1,205 @@
+package comprehensive;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * A class that estimates the heap footprint of objects from the layout the JVM gives them: an object header, fields
+ * packed after it, and the whole object padded to the alignment. Dictionaries use it to size their structures in
+ * memory reports, and a layout for a different JVM configuration can be passed in to see what the same data would cost
+ * there.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class MemoryLayout {
+    // Variables
+    private final int referenceBytes;
+    private final int headerBytes;
+    private final int alignment;
+    // Constants
+    final public static MemoryLayout COMPRESSED = new MemoryLayout(4, 12, 8);
+    final public static MemoryLayout UNCOMPRESSED = new MemoryLayout(8, 16, 8);
+    final private static float LOAD_FACTOR = 0.75f;
+    final private static int MIN_TABLE_CAPACITY = 16;
+
+    /**
+     * Creates a layout
+     *
+     * @param referenceBytes the size of a reference
+     * @param headerBytes the size of an object header
+     * @param alignment the alignment of objects, a power of two
+     * @throws IllegalArgumentException if a size isn't positive or the alignment isn't a power of two
+     */
+    public MemoryLayout(int referenceBytes, int headerBytes, int alignment) throws IllegalArgumentException {
+        if (referenceBytes < 1 || headerBytes < 1 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException("The sizes must be positive and the alignment a power of two");
+        }
+        this.referenceBytes = referenceBytes;
+        this.headerBytes = headerBytes;
+        this.alignment = alignment;
+    }
+
+    /**
+     * Gets the layout of the running JVM, or the usual layout with compressed references if it can't be told
+     *
+     * @implNote O(1) running time behavior
+     * @return the layout
+     */
+    public static MemoryLayout current() {
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            boolean compressedOops = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue());
+            boolean compressedClasses =
+                    Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedClassPointers").getValue());
+            int alignment = Integer.parseInt(hotSpot.getVMOption("ObjectAlignmentInBytes").getValue());
+            return new MemoryLayout(compressedOops ? 4 : 8, compressedClasses ? 12 : 16, alignment);
+        } catch (RuntimeException e) {
+            // Not a HotSpot JVM, or one without these options
+            return COMPRESSED;
+        }
+    }
+
+    /**
+     * Gets the size of a reference
+     *
+     * @implNote O(1) running time behavior
+     * @return the size in bytes
+     */
+    public int referenceBytes() {
+        return referenceBytes;
+    }
+
+    /**
+     * Estimates the size of an object
+     *
+     * @implNote O(1) running time behavior
+     * @param references the number of reference fields
+     * @param primitiveBytes the total size of the primitive fields
+     * @return the size in bytes
+     */
+    public long object(int references, int primitiveBytes) {
+        return align(headerBytes + (long) references * referenceBytes + primitiveBytes);
+    }
+
+    /**
+     * Estimates the size of an array of primitives
+     *
+     * @implNote O(1) running time behavior
+     * @param length the length of the array
+     * @param elementBytes the size of an element
+     * @return the size in bytes
+     */
+    public long array(long length, int elementBytes) {
+        return align(headerBytes + 4 + length * elementBytes);
+    }
+
+    /**
+     * Estimates the size of an array of references, not counting the objects it refers to
+     *
+     * @implNote O(1) running time behavior
+     * @param length the length of the array
+     * @return the size in bytes
+     */
+    public long referenceArray(long length) {
+        return array(length, referenceBytes);
+    }
+
+    /**
+     * Estimates the size of a String and its characters. Strings of only Latin-1 characters store a byte per
+     * character, others two
+     *
+     * @implNote O(length of the string) running time behavior
+     * @param s the string
+     * @return the size in bytes
+     */
+    public long string(String s) {
+        boolean latin1 = true;
+        for (int i = 0; i < s.length() && latin1; i++) {
+            latin1 = s.charAt(i) <= 0xFF;
+        }
+        // The value array, then an int hash, a byte coder and a boolean
+        return object(1, 6) + array(s.length(), latin1 ? 1 : 2);
+    }
+
+    /**
+     * Estimates the size of a boxed Integer or Long that isn't one of the cached small values
+     *
+     * @implNote O(1) running time behavior
+     * @param primitiveBytes the size of the boxed value
+     * @return the size in bytes
+     */
+    public long box(int primitiveBytes) {
+        return object(0, primitiveBytes);
+    }
+
+    /**
+     * Estimates the size of a HashMap or HashSet and its entries, not counting the keys and values. The table is
+     * assumed to have grown only as far as the current size needs
+     *
+     * @implNote O(1) running time behavior
+     * @param size the number of entries
+     * @param set true for a HashSet, which wraps a HashMap
+     * @return the size in bytes
+     */
+    public long hashMap(long size, boolean set) {
+        // A table, four cached views, then a size, a modification count, a threshold and a load factor
+        long bytes = object(4, 16) + (set ? object(1, 0) : 0);
+        if (size > 0) {
+            long capacity = MIN_TABLE_CAPACITY;
+            while (capacity * LOAD_FACTOR < size) {
+                capacity *= 2;
+            }
+            bytes += referenceArray(capacity);
+        }
+        return bytes + size * hashMapEntry();
+    }
+
+    /**
+     * Estimates the size of an entry of a HashMap: a hash, a key, a value and the next entry of its bucket
+     *
+     * @implNote O(1) running time behavior
+     * @return the size in bytes
+     */
+    public long hashMapEntry() {
+        return object(3, 4);
+    }
+
+    /**
+     * Estimates the size of a TreeMap or TreeSet and its entries, not counting the keys and values
+     *
+     * @implNote O(1) running time behavior
+     * @param size the number of entries
+     * @param set true for a TreeSet, which wraps a TreeMap
+     * @return the size in bytes
+     */
+    public long treeMap(long size, boolean set) {
+        // A comparator, a root, five cached views, then a size and a modification count
+        long bytes = object(7, 8) + (set ? object(1, 0) : 0);
+        // A key, a value, a left and right child and a parent, then a color
+        return bytes + size * object(5, 1);
+    }
+
+    /**
+     * Describes the layout
+     *
+     * @implNote O(1) running time behavior
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return referenceBytes + "-byte references, " + headerBytes + "-byte headers, " + alignment + "-byte alignment";
+    }
+
+    /**
+     * Rounds a size up to the alignment
+     *
+     * @implNote O(1) running time behavior
+     * @param bytes the size
+     * @return the aligned size
+     */
+    private long align(long bytes) {
+        return (bytes + alignment - 1) & -alignment;
+    }
+}
@@ -0,0 +1,207 @@
+package comprehensive;
+
+import java.text.DecimalFormat;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A class that represents an estimate of the heap retained by a Dictionary, split by the structure holding it. Each
+ * structure grows with either the words or the definitions of the dictionary, so its bytes are also reported per
+ * word or per definition, which is what a capacity plan multiplies out.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class MemoryReport {
+    // Variables
+    private final MemoryLayout layout;
+    private final int numWords;
+    private final int numDefinitions;
+    private final LinkedHashMap<String, Long> bytes;
+    private final LinkedHashMap<String, Boolean> perDefinition;
+    // Constants
+    private static final DecimalFormat PER_ENTRY_FORMAT = new DecimalFormat("0.0");
+    private final String NEWLINE = System.lineSeparator();
+    private final String TAB = "\t";
+
+    /**
+     * Creates an empty report, which the dictionary fills in structure by structure
+     *
+     * @param layout the layout the sizes were estimated with
+     * @param numWords the number of words of the dictionary
+     * @param numDefinitions the number of definitions of the dictionary
+     */
+    MemoryReport(MemoryLayout layout, int numWords, int numDefinitions) {
+        this.layout = layout;
+        this.numWords = numWords;
+        this.numDefinitions = numDefinitions;
+        this.bytes = new LinkedHashMap<String, Long>();
+        this.perDefinition = new LinkedHashMap<String, Boolean>();
+    }
+
+    /**
+     * Adds the bytes retained by a structure, or more bytes to a structure already in the report
+     *
+     * @implNote O(1) running time behavior
+     * @param structure the name of the structure
+     * @param structureBytes the bytes it retains
+     * @param growsWithDefinitions true if the structure grows with the definitions rather than the words
+     */
+    void add(String structure, long structureBytes, boolean growsWithDefinitions) {
+        bytes.merge(structure, structureBytes, Long::sum);
+        perDefinition.put(structure, growsWithDefinitions);
+    }
+
+    /**
+     * Adds every structure of another report, for dictionaries built from other dictionaries
+     *
+     * @implNote O(structures of the other report) running time behavior
+     * @param prefix the prefix to give the names of the other report's structures
+     * @param other the other report
+     */
+    void addAll(String prefix, MemoryReport other) {
+        for (Map.Entry<String, Long> entry : other.bytes.entrySet()) {
+            add(prefix + entry.getKey(), entry.getValue(), other.perDefinition.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * Gets the number of words the per word figures are over
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of words
+     */
+    public int getNumWords() {
+        return numWords;
+    }
+
+    /**
+     * Gets the number of definitions the per definition figures are over
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    public int getNumDefinitions() {
+        return numDefinitions;
+    }
+
+    /**
+     * Gets the bytes retained by every structure, in the order they were reported
+     *
+     * @implNote O(1) running time behavior
+     * @return an unmodifiable map from the name of each structure to its bytes
+     */
+    public Map<String, Long> getBytes() {
+        return Collections.unmodifiableMap(bytes);
+    }
+
+    /**
+     * Gets the bytes retained by a structure
+     *
+     * @implNote O(1) running time behavior
+     * @param structure the name of the structure
+     * @return the bytes, or 0 if the structure isn't in the report
+     */
+    public long getBytes(String structure) {
+        return bytes.getOrDefault(structure, 0L);
+    }
+
+    /**
+     * Gets the bytes retained by every structure together
+     *
+     * @implNote O(structures) running time behavior
+     * @return the total bytes
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (long structureBytes : bytes.values()) {
+            total += structureBytes;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the bytes of the structures that grow with the words, divided by the number of words
+     *
+     * @implNote O(structures) running time behavior
+     * @return the bytes per word, or 0 if there are no words
+     */
+    public double getBytesPerWord() {
+        return perEntry(false);
+    }
+
+    /**
+     * Gets the bytes of the structures that grow with the definitions, divided by the number of definitions
+     *
+     * @implNote O(structures) running time behavior
+     * @return the bytes per definition, or 0 if there are no definitions
+     */
+    public double getBytesPerDefinition() {
+        return perEntry(true);
+    }
+
+    /**
+     * Gets the layout the sizes were estimated with
+     *
+     * @implNote O(1) running time behavior
+     * @return the layout
+     */
+    public MemoryLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Lists the bytes of every structure, per word or definition, and the totals
+     *
+     * @implNote O(structures) running time behavior
+     * @return the report as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("estimated retained bytes (").append(layout).append("):");
+        for (Map.Entry<String, Long> entry : bytes.entrySet()) {
+            boolean definitions = perDefinition.get(entry.getKey());
+            int entries = definitions ? numDefinitions : numWords;
+            sb
+                    .append(NEWLINE)
+                    .append(TAB)
+                    .append(entry.getKey())
+                    .append(": ")
+                    .append(entry.getValue());
+            if (entries > 0) {
+                sb
+                        .append(" (")
+                        .append(PER_ENTRY_FORMAT.format((double) entry.getValue() / entries))
+                        .append(definitions ? " per definition)" : " per word)");
+            }
+        }
+        sb.append(NEWLINE).append("total: ").append(getTotalBytes());
+        sb.append(NEWLINE).append("bytes per word: ").append(PER_ENTRY_FORMAT.format(getBytesPerWord()))
+                .append(" over ").append(numWords).append(" words");
+        sb.append(NEWLINE).append("bytes per definition: ").append(PER_ENTRY_FORMAT.format(getBytesPerDefinition()))
+                .append(" over ").append(numDefinitions).append(" definitions");
+        return sb.toString();
+    }
+
+    /**
+     * Sums the bytes of the structures that grow with the words or with the definitions, per entry
+     *
+     * @implNote O(structures) running time behavior
+     * @param definitions true for the structures that grow with the definitions
+     * @return the bytes per entry, or 0 if there are no entries
+     */
+    private double perEntry(boolean definitions) {
+        int entries = definitions ? numDefinitions : numWords;
+        if (entries == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (Map.Entry<String, Long> entry : bytes.entrySet()) {
+            if (perDefinition.get(entry.getKey()) == definitions) {
+                total += entry.getValue();
+            }
+        }
+        return (double) total / entries;
+    }
+}
@@ -0,0 +1,169 @@
+package comprehensive;
+
+/**
+ * A Dictionary that stores its words, parts of speech and definitions as the shared instances of an InternPool, made
+ * by a DictionaryRegistry. Every string the dictionary holds is one reference in the pool, acquired when it is added
+ * and released when it is removed or replaced, so dictionaries with the same content share one copy of it.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class PooledDictionary extends Dictionary {
+    // Variables
+    private final InternPool pool;
+
+    /**
+     * Creates an empty dictionary that stores its strings in a pool
+     *
+     * @param pool the pool
+     */
+    PooledDictionary(InternPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Adds a word or definition to the dictionary, storing the shared instances of its strings
+     *
+     * @implNote O(log(words) + length of the strings) running time behavior if adding a new word
+     * @implNote O(log(definitions of the word) + length of the strings) running time behavior if adding a new
+     * definition to an existing word
+     * @param word The word
+     * @param partOfSpeech the part of speech for the associated word
+     * @param definition the associated definition for the associated part of speech
+     * @throws IllegalArgumentException if the part of speech isn't valid
+     */
+    @Override
+    public void add(String word, String partOfSpeech, String definition) throws IllegalArgumentException {
+        DictionaryWord existing = getDictionaryWord(word);
+        int before = existing == null ? 0 : existing.numberOfDefinitions();
+        String pooledWord = existing == null ? pool.acquire(word) : existing.getWord();
+        String pooledPartOfSpeech = pool.acquire(partOfSpeech);
+        String pooledDefinition = pool.acquire(definition);
+        boolean added = false;
+        try {
+            super.add(pooledWord, pooledPartOfSpeech, pooledDefinition);
+            added = getNumDefinitions(word) > before;
+        } finally {
+            if (!added) {
+                // The word already had the definition, or the part of speech was rejected
+                pool.release(pooledPartOfSpeech);
+                pool.release(pooledDefinition);
+                if (existing == null && !containsWord(word)) {
+                    pool.release(pooledWord);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the definition for a word, storing the shared instance of the new definition and releasing the old one
+     *
+     * @implNote O(definitions for word + length of the definitions) running time behavior
+     * @param word the word to update a definition for
+     * @param definitionIndex the index of the definition to update
+     * @param newDefinition the new definition for the word
+     */
+    @Override
+    public void updateDefinition(String word, int definitionIndex, String newDefinition) {
+        DictionaryDefinition oldDefinition = definitionAt(getDictionaryWord(word), definitionIndex);
+        if (oldDefinition == null) {
+            super.updateDefinition(word, definitionIndex, newDefinition);
+            return;
+        }
+        int before = getNumDefinitions(word);
+        String pooledDefinition = pool.acquire(newDefinition);
+        super.updateDefinition(word, definitionIndex, pooledDefinition);
+        pool.release(oldDefinition.getDefinition());
+        if (getNumDefinitions(word) < before) {
+            // The new definition merged into an identical existing one, which keeps its own references
+            pool.release(pooledDefinition);
+            pool.release(oldDefinition.getPartOfSpeech());
+        }
+    }
+
+    /**
+     * Removes a definition from the specified word based on the index passed to it, releasing its strings
+     *
+     * @implNote O(definitions of word + length of the strings) if just removing a definition
+     * @implNote O(log(words) + length of the strings) if removing the word and definition
+     * @param userWord the word to remove a definition from
+     * @param id the index of the definition to remove
+     * @return A boolean that represents whether the word was also removed with the definition (true if removed)
+     */
+    @Override
+    public boolean removeDefinition(String userWord, int id) {
+        DictionaryWord dictionaryWord = getDictionaryWord(userWord);
+        DictionaryDefinition removed = definitionAt(dictionaryWord, id);
+        boolean wordRemoved = super.removeDefinition(userWord, id);
+        pool.release(removed.getPartOfSpeech());
+        pool.release(removed.getDefinition());
+        if (wordRemoved) {
+            pool.release(dictionaryWord.getWord());
+        }
+        return wordRemoved;
+    }
+
+    /**
+     * Makes a batch of changes one at a time through this dictionary's own methods while holding its lock, so every string is acquired and released as it would be without a batch, after checking all of them,
+     * so a batch with a bad change leaves the dictionary as it was
+     *
+     * @implNote O(definitions of the changed words + changes * cost of a change) running time behavior
+     * @param batch the changes
+     * @throws IllegalArgumentException if an added definition's part of speech isn't valid
+     * @throws IndexOutOfBoundsException if a removal's word has no definition with its index
+     */
+    @Override
+    public void apply(Batch batch) throws IllegalArgumentException, IndexOutOfBoundsException {
+        applyEach(batch);
+    }
+
+    /**
+     * Throws, since the definitions share their strings with every other dictionary of the pool
+     *
+     * @implNote O(1) running time behavior
+     * @param codec the codec
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void compressDefinitions(DefinitionCodec codec) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A pooled dictionary can't compress its definitions");
+    }
+
+    /**
+     * Releases every string the dictionary holds, for a registry evicting it. The dictionary must not be used
+     * afterwards
+     *
+     * @implNote O(length of the words and definitions) running time behavior
+     */
+    void releaseAll() {
+        for (DictionaryWord dictionaryWord : dictionaryWords()) {
+            pool.release(dictionaryWord.getWord());
+            for (DictionaryDefinition definition : dictionaryWord.getDefinitionSet()) {
+                pool.release(definition.getPartOfSpeech());
+                pool.release(definition.getDefinition());
+            }
+        }
+    }
+
+    /**
+     * Finds a definition of a word by its index (starting from 1) in sorted order
+     *
+     * @implNote O(definitions of word) running time behavior
+     * @param dictionaryWord the word, or null
+     * @param id the index of the definition
+     * @return the definition, or null if the word is null or has no definition with that index
+     */
+    private static DictionaryDefinition definitionAt(DictionaryWord dictionaryWord, int id) {
+        if (dictionaryWord == null) {
+            return null;
+        }
+        int num = 1;
+        for (DictionaryDefinition definition : dictionaryWord.getDefinitionSet()) {
+            if (num == id) {
+                return definition;
+            }
+            num++;
+        }
+        return null;
+    }
+}
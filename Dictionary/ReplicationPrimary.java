@@ -0,0 +1,385 @@
+package comprehensive;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A class that ships the changes of a Dictionary to read replicas over TCP. Every replica that connects is sent a
+ * snapshot of the dictionary, then every later change in order from its own subscription to the dictionary's change
+ * feed, so a slow replica only ever holds up itself. A replica that falls so far behind that its subscription drops
+ * changes can't catch up from the log anymore, so it's disconnected and bootstraps again from a new snapshot.
+ *
+ * <p>The snapshot and the subscription of a new replica are taken together while holding the dictionary's lock, so
+ * the dictionary must only be changed while holding that lock, as LsmDictionary's own methods and
+ * DictionaryLoadDriver do. The server only listens on the loopback address.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class ReplicationPrimary implements Closeable {
+    // Variables
+    private final Dictionary dictionary;
+    private final ServerSocket server;
+    private final int capacity;
+    private final CopyOnWriteArrayList<Session> sessions;
+    private final ScheduledExecutorService heartbeats;
+    private final Thread acceptor;
+    private volatile boolean closed;
+    // Constants
+    final private String NEWLINE = System.lineSeparator();
+    // Changes buffered for each replica before it is cut off; also absorbs the changes made while a snapshot is sent
+    final public static int DEFAULT_CAPACITY = 1 << 16;
+    final private static long HEARTBEAT_MILLIS = 100;
+    final private static int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Starts serving a dictionary to replicas
+     *
+     * @param dictionary the dictionary
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port can't be listened on
+     */
+    public ReplicationPrimary(Dictionary dictionary, int port) throws IOException {
+        this(dictionary, port, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Starts serving a dictionary to replicas
+     *
+     * @param dictionary the dictionary
+     * @param port the port to listen on, or 0 for any free port
+     * @param capacity the number of changes to buffer for each replica before disconnecting it
+     * @throws IOException if the port can't be listened on
+     * @throws IllegalArgumentException if the capacity isn't positive
+     */
+    public ReplicationPrimary(Dictionary dictionary, int port, int capacity)
+            throws IOException, IllegalArgumentException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        this.dictionary = dictionary;
+        this.capacity = capacity;
+        this.sessions = new CopyOnWriteArrayList<Session>();
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replication-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, HEARTBEAT_MILLIS, HEARTBEAT_MILLIS,
+                TimeUnit.MILLISECONDS);
+        this.acceptor = new Thread(this::accept, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Gets the port the primary listens on
+     *
+     * @implNote O(1) running time behavior
+     * @return the port
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Gets the number of connected replicas
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of replicas
+     */
+    public int getReplicaCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Reports the dictionary's latest sequence number and, for every connected replica, the latest change sent to it
+     * and how many changes it has yet to be sent, or that it is still receiving its snapshot
+     *
+     * @implNote O(replicas) running time behavior
+     * @return the replication statistics
+     */
+    public String getReplicationStatistics() {
+        long sequence = dictionary.getSequence();
+        StringBuilder sb = new StringBuilder("primary sequence: ").append(sequence);
+        List<Session> current = sessions;
+        for (Session session : current) {
+            sb
+                    .append(NEWLINE)
+                    .append("replica ")
+                    .append(session.socket.getRemoteSocketAddress())
+                    .append(": ");
+            if (session.bootstrapped.getCount() > 0) {
+                sb.append("receiving snapshot");
+            } else {
+                sb
+                        .append("sent ")
+                        .append(session.sentSequence)
+                        .append(", lag ")
+                        .append(sequence - session.sentSequence)
+                        .append(" changes");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Stops listening and disconnects every replica
+     */
+    @Override
+    public void close() {
+        closed = true;
+        heartbeats.shutdownNow();
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Nothing is left to do with a server that couldn't close
+        }
+        for (Session session : sessions) {
+            session.end();
+        }
+    }
+
+    /**
+     * Accepts replicas until the primary is closed, bootstrapping each on its own thread
+     */
+    private void accept() {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                // The server was closed, or the connection failed before it was accepted
+                continue;
+            }
+            try {
+                Session session = new Session(socket);
+                sessions.add(session);
+                Thread bootstrap = new Thread(session::bootstrap, "replication-bootstrap");
+                bootstrap.setDaemon(true);
+                bootstrap.start();
+                if (closed) {
+                    // The primary closed while the replica was being accepted
+                    session.end();
+                }
+            } catch (IOException e) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Tells every replica the dictionary's latest sequence number, so idle replicas know they are caught up and busy
+     * ones know how far behind they are
+     */
+    private void sendHeartbeats() {
+        for (Session session : sessions) {
+            session.heartbeat();
+        }
+    }
+
+    /**
+     * Closes a socket, ignoring failures
+     *
+     * @param socket the socket
+     */
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing is left to do with a socket that couldn't close
+        }
+    }
+
+    /**
+     * A connected replica: its socket, and its subscription to the dictionary's changes
+     */
+    private class Session implements DictionaryListener {
+        // Variables
+        private final Socket socket;
+        private final DataOutputStream out;
+        // Held while writing a frame, so heartbeats never split a batch
+        private final ReentrantLock writing;
+        private final CountDownLatch bootstrapped;
+        private ChangeFeed.Subscription subscription;
+        private volatile long sentSequence;
+        private volatile boolean ended;
+
+        /**
+         * Creates a session for a replica that just connected
+         *
+         * @param socket the replica's socket
+         * @throws IOException if the socket's stream can't be opened
+         */
+        private Session(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            this.writing = new ReentrantLock();
+            this.bootstrapped = new CountDownLatch(1);
+        }
+
+        /**
+         * Subscribes to the dictionary's changes and sends the replica a snapshot of the dictionary as of the same
+         * moment. Changes made while the snapshot is sent wait in the subscription
+         */
+        private void bootstrap() {
+            try {
+                DictionarySnapshot snapshot;
+                long sequence;
+                synchronized (this) {
+                    if (ended) {
+                        // The primary closed before the replica was bootstrapped
+                        return;
+                    }
+                    synchronized (dictionary) {
+                        subscription = dictionary.subscribe(this, capacity, ChangeFeed.DEFAULT_BATCH_SIZE);
+                        snapshot = dictionary.snapshot();
+                        sequence = snapshot.getSequence();
+                    }
+                }
+                try (DictionarySnapshot closing = snapshot) {
+                    writing.lock();
+                    try {
+                        writeHeader(ReplicationProtocol.SNAPSHOT);
+                        out.writeLong(sequence);
+                        out.writeInt(closing.numDefinitions());
+                        for (DictionaryWord dictionaryWord : closing.words()) {
+                            for (DictionaryDefinition definition : dictionaryWord.getDefinitionSet()) {
+                                ReplicationProtocol.writeString(out, dictionaryWord.getWord());
+                                ReplicationProtocol.writeString(out, definition.getPartOfSpeech());
+                                ReplicationProtocol.writeString(out, definition.getDefinition());
+                            }
+                        }
+                        out.flush();
+                    } finally {
+                        writing.unlock();
+                    }
+                }
+                sentSequence = sequence;
+            } catch (IOException | RuntimeException e) {
+                end();
+            } finally {
+                bootstrapped.countDown();
+            }
+        }
+
+        /**
+         * Sends a batch of changes once the snapshot has been sent
+         *
+         * @param events the changes
+         */
+        @Override
+        public void onEvents(List<DictionaryEvent> events) {
+            awaitBootstrap();
+            if (ended) {
+                return;
+            }
+            writing.lock();
+            try {
+                writeHeader(ReplicationProtocol.EVENTS);
+                out.writeInt(events.size());
+                for (DictionaryEvent event : events) {
+                    out.writeLong(event.getSequence());
+                    out.writeByte(event.getType().ordinal());
+                    ReplicationProtocol.writeString(out, event.getWord());
+                    ReplicationProtocol.writeString(out, event.getPartOfSpeech());
+                    ReplicationProtocol.writeString(out, event.getDefinition());
+                    ReplicationProtocol.writeString(out, event.getPreviousDefinition());
+                }
+                out.flush();
+                sentSequence = events.get(events.size() - 1).getSequence();
+            } catch (IOException e) {
+                end();
+            } finally {
+                writing.unlock();
+            }
+        }
+
+        /**
+         * Disconnects the replica, which can't apply later changes without the dropped ones and has to bootstrap
+         * again
+         *
+         * @param firstMissed the sequence number of the first dropped change
+         * @param lastMissed the sequence number of the last dropped change
+         */
+        @Override
+        public void onMissed(long firstMissed, long lastMissed) {
+            end();
+        }
+
+        /**
+         * Sends a heartbeat, unless the snapshot or a batch is being sent, which tells the replica the same
+         */
+        private void heartbeat() {
+            if (ended || bootstrapped.getCount() > 0 || !writing.tryLock()) {
+                return;
+            }
+            try {
+                writeHeader(ReplicationProtocol.HEARTBEAT);
+                out.flush();
+            } catch (IOException e) {
+                end();
+            } finally {
+                writing.unlock();
+            }
+        }
+
+        /**
+         * Writes the start of a frame: its type, the dictionary's latest sequence number and the time
+         *
+         * @param type the type of the frame
+         * @throws IOException if the socket fails
+         */
+        private void writeHeader(byte type) throws IOException {
+            out.writeByte(type);
+            out.writeLong(dictionary.getSequence());
+            out.writeLong(System.currentTimeMillis());
+        }
+
+        /**
+         * Waits until the snapshot has been sent, or failed to
+         */
+        private void awaitBootstrap() {
+            boolean interrupted = false;
+            while (bootstrapped.getCount() > 0) {
+                try {
+                    bootstrapped.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Unsubscribes and disconnects the replica
+         */
+        private synchronized void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            sessions.remove(this);
+            if (subscription != null) {
+                subscription.close();
+            }
+            closeQuietly(socket);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package comprehensive;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The frames a ReplicationPrimary sends its replicas over a socket. A connection starts with one SNAPSHOT frame, the
+ * whole dictionary as of a sequence number, followed by EVENTS frames carrying every later change in order, with a
+ * HEARTBEAT whenever the primary has had nothing to send for a while so replicas can tell how far behind they are.
+ * Every frame starts with its type byte and then the primary's latest sequence number and clock, in milliseconds.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+final class ReplicationProtocol {
+    // Constants
+    // Followed by the snapshot's sequence number, its number of definitions, and each definition's word, part of speech
+    // and text
+    final static byte SNAPSHOT = 1;
+    // Followed by the number of events, and each event's sequence number, type, word, part of speech, definition and
+    // previous definition
+    final static byte EVENTS = 2;
+    final static byte HEARTBEAT = 3;
+
+    /**
+     * Not instantiable, the protocol is only its constants and helpers
+     */
+    private ReplicationProtocol() {
+    }
+
+    /**
+     * Writes a string that may be null or longer than DataOutputStream.writeUTF allows
+     *
+     * @implNote O(length of the string) running time behavior
+     * @param out the stream
+     * @param string the string, or null
+     * @throws IOException if the stream fails
+     */
+    static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by writeString
+     *
+     * @implNote O(length of the string) running time behavior
+     * @param in the stream
+     * @return the string, or null
+     * @throws IOException if the stream fails or ends early
+     */
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,572 @@
+package comprehensive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A class that represents an immutable, memory-mapped file of words and their definitions in lexicographic order.
+ * Records are grouped into blocks of roughly BLOCK_SIZE bytes, and a block index holding the first word of every
+ * block is kept in memory so a word can be found by reading a single block. The file also holds a Bloom filter
+ * over its words and the counts needed for the dictionary statistics.
+ *
+ * <p>File layout: a header (magic, version), the blocks of records, the block index, the statistics, the Bloom
+ * filter, and a trailer (index offset, magic). Each record is the word followed by its number of definitions and
+ * each definition's part of speech and text. A record without definitions is a tombstone marking a removed word;
+ * tombstones are counted by the Bloom filter but not by the statistics. Strings are stored as their UTF-8 length
+ * followed by their bytes.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class SortedWordFile {
+    // Variables
+    private final Path path;
+    private final String[] blockFirstWords;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final int[] blockChunks;
+    private final MappedByteBuffer[] chunks;
+    private final long[] chunkOffsets;
+    private final BloomFilter filter;
+    private final int numWords;
+    private final int numDefinitions;
+    private final TreeMap<String, Integer> partsOfSpeechCounts;
+    private long blockReads;
+    // Constants
+    final private static int MAGIC = 0x44494354; // "DICT"
+    final private static int VERSION = 1;
+    final private static int HEADER_SIZE = 8;
+    final private static int TRAILER_SIZE = 12;
+    final private static int BLOCK_SIZE = 4096;
+    final private static long MAX_CHUNK_SIZE = 1L << 30;
+    final private static double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * Opens a sorted word file and maps it into memory. Only the block index, statistics and Bloom filter are read
+     *
+     * @implNote O(blocks + filter size) running time behavior
+     * @param path the file to open
+     * @throws IOException if the file can't be read or isn't a sorted word file
+     */
+    public SortedWordFile(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE + TRAILER_SIZE) {
+                throw new IOException(path + " is not a sorted word file");
+            }
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, fileSize - TRAILER_SIZE, TRAILER_SIZE);
+            long indexOffset = trailer.getLong();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (trailer.getInt() != MAGIC || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(path + " is not a sorted word file");
+            }
+            // Block index
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset,
+                    fileSize - TRAILER_SIZE - indexOffset);
+            int numBlocks = footer.getInt();
+            blockFirstWords = new String[numBlocks];
+            blockOffsets = new long[numBlocks];
+            blockLengths = new int[numBlocks];
+            for (int i = 0; i < numBlocks; i++) {
+                blockFirstWords[i] = readString(footer);
+                blockOffsets[i] = footer.getLong();
+                blockLengths[i] = footer.getInt();
+            }
+            // Statistics
+            numWords = footer.getInt();
+            numDefinitions = footer.getInt();
+            partsOfSpeechCounts = new TreeMap<String, Integer>();
+            int numPartsOfSpeech = footer.getInt();
+            for (int i = 0; i < numPartsOfSpeech; i++) {
+                partsOfSpeechCounts.put(readString(footer), footer.getInt());
+            }
+            // Bloom filter
+            int numHashes = footer.getInt();
+            long[] bits = new long[footer.getInt()];
+            footer.asLongBuffer().get(bits);
+            filter = new BloomFilter(bits, numHashes, numWords);
+            // Map the blocks in chunks that each hold whole blocks
+            blockChunks = new int[numBlocks];
+            ArrayList<MappedByteBuffer> chunkList = new ArrayList<MappedByteBuffer>();
+            ArrayList<Long> chunkOffsetList = new ArrayList<Long>();
+            int chunkFirstBlock = 0;
+            for (int i = 0; i <= numBlocks; i++) {
+                boolean chunkFull = i == numBlocks
+                        || blockOffsets[i] + blockLengths[i] - blockOffsets[chunkFirstBlock] > MAX_CHUNK_SIZE;
+                if (chunkFull && i > chunkFirstBlock) {
+                    long start = blockOffsets[chunkFirstBlock];
+                    long end = blockOffsets[i - 1] + blockLengths[i - 1];
+                    chunkList.add(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+                    chunkOffsetList.add(start);
+                    chunkFirstBlock = i;
+                }
+                if (i < numBlocks) {
+                    blockChunks[i] = chunkList.size();
+                }
+            }
+            chunks = chunkList.toArray(new MappedByteBuffer[0]);
+            chunkOffsets = new long[chunkOffsetList.size()];
+            for (int i = 0; i < chunkOffsets.length; i++) {
+                chunkOffsets[i] = chunkOffsetList.get(i);
+            }
+        }
+    }
+
+    /**
+     * Writes words to a new sorted word file, replacing any existing file
+     *
+     * @implNote O(definitions) running time behavior
+     * @param path the file to write
+     * @param dictionaryWords the words to write, in lexicographic order without duplicates. Words without
+     *                        definitions are written as tombstones
+     * @throws IOException if the file can't be written
+     * @throws IllegalArgumentException if the words aren't in lexicographic order
+     */
+    public static void write(Path path, Iterable<DictionaryWord> dictionaryWords) throws IOException {
+        ArrayList<String> firstWords = new ArrayList<String>();
+        ArrayList<long[]> blocks = new ArrayList<long[]>(); // {offset, length}
+        TreeMap<String, Integer> partsOfSpeechCounts = new TreeMap<String, Integer>();
+        int[] wordHashes = new int[1024];
+        int numRecords = 0;
+        int numWords = 0;
+        int numDefinitions = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            long offset = HEADER_SIZE;
+            ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(BLOCK_SIZE * 2);
+            DataOutputStream block = new DataOutputStream(blockBytes);
+            String previousWord = null;
+            for (DictionaryWord dictionaryWord : dictionaryWords) {
+                String word = dictionaryWord.getWord();
+                if (previousWord != null && previousWord.compareTo(word) >= 0) {
+                    throw new IllegalArgumentException("The words must be in lexicographic order");
+                }
+                previousWord = word;
+                if (blockBytes.size() == 0) {
+                    firstWords.add(word);
+                }
+                writeString(block, word);
+                block.writeInt(dictionaryWord.numberOfDefinitions());
+                for (DictionaryDefinition definition : dictionaryWord.getDefinitionSet()) {
+                    writeString(block, definition.getPartOfSpeech());
+                    writeString(block, definition.getDefinition());
+                    partsOfSpeechCounts.merge(definition.getPartOfSpeech(), 1, Integer::sum);
+                    numDefinitions++;
+                }
+                if (dictionaryWord.numberOfDefinitions() > 0) {
+                    numWords++;
+                }
+                if (numRecords == wordHashes.length) {
+                    wordHashes = Arrays.copyOf(wordHashes, numRecords * 2);
+                }
+                wordHashes[numRecords++] = word.hashCode();
+                // Close the block once it's full, so a block always starts with a new record
+                if (blockBytes.size() >= BLOCK_SIZE) {
+                    blocks.add(new long[]{offset, blockBytes.size()});
+                    blockBytes.writeTo(out);
+                    offset += blockBytes.size();
+                    blockBytes.reset();
+                }
+            }
+            if (blockBytes.size() > 0) {
+                blocks.add(new long[]{offset, blockBytes.size()});
+                blockBytes.writeTo(out);
+                offset += blockBytes.size();
+            }
+            // Block index
+            long indexOffset = offset;
+            out.writeInt(blocks.size());
+            for (int i = 0; i < blocks.size(); i++) {
+                writeString(out, firstWords.get(i));
+                out.writeLong(blocks.get(i)[0]);
+                out.writeInt((int) blocks.get(i)[1]);
+            }
+            // Statistics
+            out.writeInt(numWords);
+            out.writeInt(numDefinitions);
+            out.writeInt(partsOfSpeechCounts.size());
+            for (Map.Entry<String, Integer> entry : partsOfSpeechCounts.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            // Bloom filter, built from the hash codes since that's all it looks at
+            BloomFilter wordFilter = new BloomFilter(numRecords, FALSE_POSITIVE_RATE);
+            for (int i = 0; i < numRecords; i++) {
+                wordFilter.addHashCode(wordHashes[i]);
+            }
+            out.writeInt(wordFilter.numHashes());
+            out.writeInt(wordFilter.bits().length);
+            for (long bits : wordFilter.bits()) {
+                out.writeLong(bits);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    /**
+     * Reads a word and its definitions from the file
+     *
+     * @implNote O(log(blocks) + block size) running time behavior, words rejected by the Bloom filter read nothing
+     * @param word the word to read
+     * @return the word, or null if the file doesn't hold it
+     */
+    public DictionaryWord read(String word) {
+        Cursor cursor = find(word);
+        return cursor == null ? null : cursor.dictionaryWord();
+    }
+
+    /**
+     * Finds the record of a word, which may be a tombstone
+     *
+     * @implNote O(log(blocks) + block size) running time behavior, words rejected by the Bloom filter read nothing
+     * @param word the word to find
+     * @return a cursor positioned on the word's record, or null if the file doesn't hold the word
+     */
+    public Cursor find(String word) {
+        if (!filter.mightContain(word)) {
+            return null;
+        }
+        int blockIndex = floorBlock(word);
+        if (blockIndex < 0) {
+            return null;
+        }
+        Cursor cursor = new Cursor(blockIndex);
+        while (cursor.next()) {
+            int comparison = cursor.word().compareTo(word);
+            if (comparison == 0) {
+                return cursor;
+            } else if (comparison > 0) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the file may hold the word, using only its Bloom filter
+     *
+     * @implNote O(1) running time behavior
+     * @param word the word to check
+     * @return false if the file definitely doesn't hold the word, true if it may
+     */
+    public boolean mightContain(String word) {
+        return filter.mightContain(word);
+    }
+
+    /**
+     * Opens a cursor positioned before the first record whose word is greater than or equal to the given word.
+     * Records are streamed block by block as the cursor advances
+     *
+     * @implNote O(log(blocks)) running time behavior to open, O(1) amortized per record read
+     * @param from the smallest word to return
+     * @return the cursor
+     */
+    public Cursor cursor(String from) {
+        Cursor cursor = new Cursor(Math.max(floorBlock(from), 0));
+        cursor.skipTo(from);
+        return cursor;
+    }
+
+    /**
+     * Reads the words of a block in order, without their definitions
+     *
+     * @implNote O(block size) running time behavior
+     * @param blockIndex the index of the block
+     * @return the words of the block
+     */
+    public List<String> blockWords(int blockIndex) {
+        ArrayList<String> blockWords = new ArrayList<String>();
+        ByteBuffer block = readBlock(blockIndex);
+        while (block.hasRemaining()) {
+            blockWords.add(readString(block));
+            skipDefinitions(block, block.getInt());
+        }
+        return blockWords;
+    }
+
+    /**
+     * Gets the first word of a block
+     *
+     * @implNote O(1) running time behavior
+     * @param blockIndex the index of the block
+     * @return the first word of the block
+     */
+    public String blockFirstWord(int blockIndex) {
+        return blockFirstWords[blockIndex];
+    }
+
+    /**
+     * Estimates the heap retained by the open file: the block index, the statistics and the Bloom filter. The mapped
+     * contents of the file are outside the heap
+     *
+     * @implNote O(blocks) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long retainedBytes(MemoryLayout layout) {
+        long bytes = layout.referenceArray(blockFirstWords.length) + layout.array(blockOffsets.length, 8)
+                + layout.array(blockLengths.length, 4) + layout.array(blockChunks.length, 4)
+                + layout.referenceArray(chunks.length) + layout.array(chunkOffsets.length, 8)
+                + filter.retainedBytes(layout) + layout.treeMap(partsOfSpeechCounts.size(), false)
+                + partsOfSpeechCounts.size() * layout.box(4);
+        for (String word : blockFirstWords) {
+            bytes += layout.string(word);
+        }
+        // Each mapped buffer object holds a handful of references and about 40 bytes of positions and flags
+        return bytes + chunks.length * layout.object(4, 40);
+    }
+
+    /**
+     * Gets the number of blocks in the file
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of blocks
+     */
+    public int numBlocks() {
+        return blockOffsets.length;
+    }
+
+    /**
+     * Gets the number of words in the file, not counting tombstones
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of words
+     */
+    public int numWords() {
+        return numWords;
+    }
+
+    /**
+     * Gets the number of definitions in the file
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of definitions
+     */
+    public int numDefinitions() {
+        return numDefinitions;
+    }
+
+    /**
+     * Gets the number of definitions in the file using each part of speech
+     *
+     * @implNote O(1) running time behavior
+     * @return an unmodifiable map from part of speech to number of definitions
+     */
+    public Map<String, Integer> partsOfSpeechCounts() {
+        return Collections.unmodifiableMap(partsOfSpeechCounts);
+    }
+
+    /**
+     * Gets the number of blocks read from the mapped file since it was opened
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of block reads
+     */
+    public long blockReads() {
+        return blockReads;
+    }
+
+    /**
+     * Gets the path of the file
+     *
+     * @implNote O(1) running time behavior
+     * @return the path
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Finds the last block whose first word is less than or equal to the given word
+     *
+     * @implNote O(log(blocks)) running time behavior
+     * @param word the word
+     * @return the index of the block, or -1 if the word comes before every block
+     */
+    private int floorBlock(String word) {
+        int index = Arrays.binarySearch(blockFirstWords, word);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Provides a block of records as a buffer positioned at its first record
+     *
+     * @implNote O(1) running time behavior
+     * @param blockIndex the index of the block
+     * @return the block
+     */
+    private ByteBuffer readBlock(int blockIndex) {
+        blockReads++;
+        int chunk = blockChunks[blockIndex];
+        return chunks[chunk].slice((int) (blockOffsets[blockIndex] - chunkOffsets[chunk]), blockLengths[blockIndex]);
+    }
+
+    /**
+     * Writes a String as its UTF-8 length and bytes
+     *
+     * @param out the stream to write to
+     * @param value the String
+     * @throws IOException if the stream can't be written
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a String written by writeString
+     *
+     * @param buffer the buffer to read from
+     * @return the String
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Skips over the definitions of a record
+     *
+     * @param buffer the buffer positioned at the first definition
+     * @param numDefinitions the number of definitions to skip
+     */
+    private static void skipDefinitions(ByteBuffer buffer, int numDefinitions) {
+        for (int i = 0; i < numDefinitions * 2; i++) {
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    /**
+     * A class that streams the records of a SortedWordFile in order, one block at a time. The definitions of a
+     * record are only decoded if requested
+     */
+    public class Cursor {
+        // Variables
+        private int blockIndex;
+        private ByteBuffer block;
+        private String word;
+        private int numDefinitions;
+        private int recordStart;
+        private boolean definitionsRead = true;
+
+        /**
+         * Creates a cursor positioned before the first record of a block
+         *
+         * @param blockIndex the index of the block
+         */
+        private Cursor(int blockIndex) {
+            this.blockIndex = blockIndex;
+            if (blockIndex < numBlocks()) {
+                block = readBlock(blockIndex);
+            }
+        }
+
+        /**
+         * Moves to the next record
+         *
+         * @implNote O(1) amortized running time behavior
+         * @return true if there is a record, false if the end of the file was reached
+         */
+        public boolean next() {
+            if (block == null) {
+                return false;
+            }
+            if (!definitionsRead) {
+                skipDefinitions(block, numDefinitions);
+            }
+            while (!block.hasRemaining()) {
+                blockIndex++;
+                if (blockIndex >= numBlocks()) {
+                    block = null;
+                    return false;
+                }
+                block = readBlock(blockIndex);
+            }
+            recordStart = block.position();
+            word = readString(block);
+            numDefinitions = block.getInt();
+            definitionsRead = false;
+            return true;
+        }
+
+        /**
+         * Gets the word of the current record
+         *
+         * @implNote O(1) running time behavior
+         * @return the word
+         */
+        public String word() {
+            return word;
+        }
+
+        /**
+         * Gets the number of definitions of the current record
+         *
+         * @implNote O(1) running time behavior
+         * @return the number of definitions
+         */
+        public int numberOfDefinitions() {
+            return numDefinitions;
+        }
+
+        /**
+         * Checks if the current record is a tombstone marking a removed word
+         *
+         * @implNote O(1) running time behavior
+         * @return true if the record is a tombstone
+         */
+        public boolean isTombstone() {
+            return numDefinitions == 0;
+        }
+
+        /**
+         * Decodes the current record into a DictionaryWord. May be called once per record
+         *
+         * @implNote O(definitions of word * log(definitions of word)) running time behavior
+         * @return the word and its definitions, or null if the record is a tombstone
+         */
+        public DictionaryWord dictionaryWord() {
+            definitionsRead = true;
+            DictionaryWord dictionaryWord = null;
+            for (int i = 0; i < numDefinitions; i++) {
+                String partOfSpeech = readString(block);
+                String definition = readString(block);
+                if (dictionaryWord == null) {
+                    dictionaryWord = new DictionaryWord(word, partOfSpeech, definition);
+                } else {
+                    dictionaryWord.addDefinition(partOfSpeech, definition);
+                }
+            }
+            return dictionaryWord;
+        }
+
+        /**
+         * Moves forward until the next record read is the first one whose word is greater than or equal to the word
+         *
+         * @param from the word
+         */
+        private void skipTo(String from) {
+            while (next()) {
+                if (word.compareTo(from) >= 0) {
+                    // Step back so the next call to next() reads this record again
+                    block.position(recordStart);
+                    definitionsRead = true;
+                    return;
+                }
+            }
+        }
+    }
+}
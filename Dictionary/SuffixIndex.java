@@ -0,0 +1,131 @@
+package comprehensive;
+
+import java.util.*;
+
+/**
+ * A class that represents an ordered index of reversed words, so the words ending with a suffix form one range of the
+ * index just like the words starting with a prefix do in a sorted set of words. Words with a suffix are listed in the
+ * order of their reversals, which groups words by their endings the way a rhyming dictionary does.
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class SuffixIndex {
+    // Variables
+    private final TreeSet<String> reversedWords;
+    // Constants
+    final static Comparator<String> BY_REVERSAL = Comparator.comparing(SuffixIndex::reverse);
+
+    /**
+     * Creates an empty index
+     */
+    public SuffixIndex() {
+        reversedWords = new TreeSet<String>();
+    }
+
+    /**
+     * Adds a word to the index
+     *
+     * @implNote O(log(words) + length of the word) running time behavior
+     * @param word the word
+     */
+    public void add(String word) {
+        reversedWords.add(reverse(word));
+    }
+
+    /**
+     * Removes a word from the index
+     *
+     * @implNote O(log(words) + length of the word) running time behavior
+     * @param word the word
+     */
+    public void remove(String word) {
+        reversedWords.remove(reverse(word));
+    }
+
+    /**
+     * Gets the words ending with a suffix, in the order of their reversals
+     *
+     * @implNote O(log(words) + words returned) running time behavior
+     * @param suffix the suffix
+     * @param limit the maximum number of words to return
+     * @return the words
+     */
+    public List<String> wordsWithSuffix(String suffix, int limit) {
+        String reversedSuffix = reverse(suffix);
+        ArrayList<String> matches = new ArrayList<String>();
+        for (String reversedWord : reversedWords.tailSet(reversedSuffix, true)) {
+            if (matches.size() >= limit || !reversedWord.startsWith(reversedSuffix)) {
+                break;
+            }
+            matches.add(reverse(reversedWord));
+        }
+        return matches;
+    }
+
+    /**
+     * Counts the words ending with a suffix
+     *
+     * @implNote O(log(words) + words counted) running time behavior
+     * @param suffix the suffix
+     * @return the number of words
+     */
+    public int countWithSuffix(String suffix) {
+        String reversedSuffix = reverse(suffix);
+        int count = 0;
+        for (String reversedWord : reversedWords.tailSet(reversedSuffix, true)) {
+            if (!reversedWord.startsWith(reversedSuffix)) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Estimates the bytes retained by the index, including the reversed words
+     *
+     * @implNote O(length of the words) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long retainedBytes(MemoryLayout layout) {
+        long bytes = layout.treeMap(reversedWords.size(), true);
+        for (String reversedWord : reversedWords) {
+            bytes += layout.string(reversedWord);
+        }
+        return bytes;
+    }
+
+    /**
+     * Finds the words ending with a suffix in a sequence of words, for dictionaries without a suffix index
+     *
+     * @implNote O(words * length of the suffix + matches * log(matches)) running time behavior
+     * @param words the words
+     * @param suffix the suffix
+     * @param limit the maximum number of words to return, or -1 for all of them
+     * @return the words in the order of their reversals
+     */
+    static List<String> scan(Iterator<String> words, String suffix, int limit) {
+        ArrayList<String> matches = new ArrayList<String>();
+        while (words.hasNext()) {
+            String word = words.next();
+            if (word.endsWith(suffix)) {
+                matches.add(word);
+            }
+        }
+        matches.sort(BY_REVERSAL);
+        return limit >= 0 && matches.size() > limit ? new ArrayList<String>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Reverses a word, keeping surrogate pairs in order
+     *
+     * @implNote O(length of the word) running time behavior
+     * @param word the word
+     * @return the reversed word
+     */
+    static String reverse(String word) {
+        return new StringBuilder(word).reverse().toString();
+    }
+}
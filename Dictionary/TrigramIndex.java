@@ -0,0 +1,328 @@
+package comprehensive;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A class that represents an index from every three-character sequence (trigram) of a set of words to the words that
+ * contain it, used to answer wildcard patterns where '?' matches any one character and '*' matches any sequence of
+ * characters. Words are padded with a start and an end marker, so a pattern's literal prefix and suffix become
+ * trigrams too.
+ *
+ * <p>Every word gets an int ID, and each trigram keeps the IDs of its words in increasing order. New words get the
+ * next ID, so adding a word appends to its postings. Removed words are skipped until enough of them pile up, then the
+ * index is rebuilt with fresh IDs.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class TrigramIndex {
+    // Variables
+    private HashMap<String, Integer> wordIds;
+    private String[] wordById;
+    private int nextId;
+    private int removedWords;
+    private HashMap<Long, Postings> postings;
+    // Constants
+    final private static char START = '\u0002';
+    final private static char END = '\u0003';
+    final private static int INITIAL_CAPACITY = 16;
+    // Removed words tolerated beyond the live ones before the index is rebuilt
+    final private static int REBUILD_SLACK = 1024;
+
+    /**
+     * Creates an empty index
+     */
+    public TrigramIndex() {
+        wordIds = new HashMap<String, Integer>();
+        wordById = new String[INITIAL_CAPACITY];
+        postings = new HashMap<Long, Postings>();
+    }
+
+    /**
+     * Adds a word to the index, unless it is already there
+     *
+     * @implNote O(length of the word) amortized running time behavior
+     * @param word the word
+     */
+    public void add(String word) {
+        if (wordIds.containsKey(word)) {
+            return;
+        }
+        int id = nextId++;
+        if (id == wordById.length) {
+            wordById = Arrays.copyOf(wordById, wordById.length * 2);
+        }
+        wordById[id] = word;
+        wordIds.put(word, id);
+        String padded = START + word + END;
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            Postings ids = postings.computeIfAbsent(trigram(padded, i), trigram -> new Postings());
+            // A trigram that repeats within the word is only listed once
+            if (ids.size == 0 || ids.ids[ids.size - 1] != id) {
+                ids.add(id);
+            }
+        }
+    }
+
+    /**
+     * Removes a word from the index. Its postings are dropped the next time the index is rebuilt
+     *
+     * @implNote O(1) amortized running time behavior
+     * @param word the word
+     */
+    public void remove(String word) {
+        Integer id = wordIds.remove(word);
+        if (id == null) {
+            return;
+        }
+        wordById[id] = null;
+        removedWords++;
+        if (removedWords > wordIds.size() + REBUILD_SLACK) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Gets the number of words in the index
+     *
+     * @implNote O(1) running time behavior
+     * @return the number of words
+     */
+    public int size() {
+        return wordIds.size();
+    }
+
+    /**
+     * Estimates the bytes retained by the index, not counting the words themselves, which the dictionary holds
+     *
+     * @implNote O(trigrams) running time behavior
+     * @param layout the layout of objects
+     * @return the estimated bytes
+     */
+    long retainedBytes(MemoryLayout layout) {
+        // Word IDs of 128 and up are boxed into their own Integers
+        long bytes = layout.hashMap(wordIds.size(), false) + Math.max(0, wordIds.size() - 128) * layout.box(4)
+                + layout.referenceArray(wordById.length) + layout.hashMap(postings.size(), false);
+        for (Postings ids : postings.values()) {
+            // A boxed key, then the postings object and its array
+            bytes += layout.box(8) + layout.object(1, 4) + layout.array(ids.ids.length, 4);
+        }
+        return bytes;
+    }
+
+    /**
+     * Finds the lexicographically smallest words that match a pattern. The postings of the pattern's trigrams are
+     * intersected to find candidates, which are then checked against the whole pattern. A pattern without any
+     * trigram (every literal run is shorter than three characters with the markers) checks the words that start with
+     * its literal prefix instead
+     *
+     * @implNote O(postings of the pattern's trigrams + candidates * length of the pattern) running time behavior
+     * @param pattern the pattern, where '?' matches any one character and '*' matches any sequence of characters
+     * @param limit the maximum number of words to return
+     * @param wordsWithPrefix gives the words that start with a prefix in lexicographic order, for patterns without
+     *                        trigrams
+     * @return the matching words in lexicographic order
+     */
+    public List<String> match(String pattern, int limit, Function<String, Iterator<String>> wordsWithPrefix) {
+        if (limit <= 0) {
+            return new ArrayList<String>();
+        }
+        ArrayList<Postings> lists = new ArrayList<Postings>();
+        String padded = START + pattern + END;
+        int runStart = 0;
+        for (int i = 0; i <= padded.length(); i++) {
+            if (i == padded.length() || padded.charAt(i) == '?' || padded.charAt(i) == '*') {
+                // Every trigram of a literal run must appear in a matching word
+                for (int j = runStart; j + 3 <= i; j++) {
+                    Postings ids = postings.get(trigram(padded, j));
+                    if (ids == null) {
+                        return new ArrayList<String>();
+                    }
+                    lists.add(ids);
+                }
+                runStart = i + 1;
+            }
+        }
+        if (lists.isEmpty()) {
+            String prefix = literalPrefix(pattern);
+            return scan(pattern, limit, prefix, wordsWithPrefix.apply(prefix));
+        }
+        // Keep the smallest matches, with the largest of them at the head
+        PriorityQueue<String> smallest = new PriorityQueue<String>(Comparator.reverseOrder());
+        for (int id : intersect(lists)) {
+            String word = wordById[id];
+            if (word != null && matches(pattern, word)
+                    && (smallest.size() < limit || word.compareTo(smallest.peek()) < 0)) {
+                smallest.add(word);
+                if (smallest.size() > limit) {
+                    smallest.poll();
+                }
+            }
+        }
+        ArrayList<String> matches = new ArrayList<String>(smallest);
+        Collections.sort(matches);
+        return matches;
+    }
+
+    /**
+     * Finds the first words of a lexicographically ordered sequence that match a pattern, stopping once the words no
+     * longer start with the given prefix. For dictionaries without a trigram index
+     *
+     * @implNote O(words with the prefix * length of the pattern) running time behavior, less if the limit is reached
+     * @param pattern the pattern, where '?' matches any one character and '*' matches any sequence of characters
+     * @param limit the maximum number of words to return
+     * @param prefix the literal prefix of the pattern, or a shorter prefix of it
+     * @param sortedWords the words, starting at the first word greater than or equal to the prefix
+     * @return the matching words in lexicographic order
+     */
+    static List<String> scan(String pattern, int limit, String prefix, Iterator<String> sortedWords) {
+        ArrayList<String> matches = new ArrayList<String>();
+        while (matches.size() < limit && sortedWords.hasNext()) {
+            String word = sortedWords.next();
+            if (!word.startsWith(prefix)) {
+                break;
+            }
+            if (matches(pattern, word)) {
+                matches.add(word);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the characters of a pattern before its first wildcard
+     *
+     * @implNote O(length of the pattern) running time behavior
+     * @param pattern the pattern
+     * @return the literal prefix
+     */
+    static String literalPrefix(String pattern) {
+        int i = 0;
+        while (i < pattern.length() && pattern.charAt(i) != '?' && pattern.charAt(i) != '*') {
+            i++;
+        }
+        return pattern.substring(0, i);
+    }
+
+    /**
+     * Checks whether a whole word matches a pattern
+     *
+     * @implNote O(length of the word * length of the pattern) running time behavior in the worst case, usually
+     * O(length of the word + length of the pattern)
+     * @param pattern the pattern, where '?' matches any one character and '*' matches any sequence of characters
+     * @param word the word
+     * @return true if the word matches
+     */
+    static boolean matches(String pattern, String word) {
+        int p = 0;
+        int w = 0;
+        // The position after the last '*' and the word position it was tried at, to backtrack to
+        int starPattern = -1;
+        int starWord = 0;
+        while (w < word.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == word.charAt(w))) {
+                p++;
+                w++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                starPattern = ++p;
+                starWord = w;
+            } else if (starPattern >= 0) {
+                // Let the last '*' take one more character
+                p = starPattern;
+                w = ++starWord;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * Intersects postings, starting from the shortest and searching the longer ones for each of its IDs
+     *
+     * @implNote O(shortest postings * trigrams * log(postings)) running time behavior
+     * @param lists the postings
+     * @return the IDs in every postings, in increasing order
+     */
+    private static int[] intersect(List<Postings> lists) {
+        lists.sort(Comparator.comparingInt(ids -> ids.size));
+        Postings shortest = lists.get(0);
+        int[] result = Arrays.copyOf(shortest.ids, shortest.size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            Postings other = lists.get(i);
+            if (other == shortest) {
+                continue;
+            }
+            int kept = 0;
+            int low = 0;
+            for (int j = 0; j < size; j++) {
+                // Both are increasing, so each search can start where the previous one ended
+                int found = Arrays.binarySearch(other.ids, low, other.size, result[j]);
+                if (found >= 0) {
+                    result[kept++] = result[j];
+                    low = found + 1;
+                } else {
+                    low = -found - 1;
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Rebuilds the index from its words with fresh IDs, dropping the postings of removed words
+     *
+     * @implNote O(length of the words) running time behavior
+     */
+    private void rebuild() {
+        String[] words = wordIds.keySet().toArray(new String[0]);
+        wordIds = new HashMap<String, Integer>();
+        wordById = new String[Math.max(words.length, INITIAL_CAPACITY)];
+        nextId = 0;
+        removedWords = 0;
+        postings = new HashMap<Long, Postings>();
+        for (String word : words) {
+            add(word);
+        }
+    }
+
+    /**
+     * Packs the three characters at a position into a key
+     *
+     * @implNote O(1) running time behavior
+     * @param s the string
+     * @param i the position of the first character
+     * @return the key
+     */
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /**
+     * The IDs of the words that contain a trigram, in increasing order
+     */
+    private static class Postings {
+        // Variables
+        private int[] ids = new int[4];
+        private int size;
+
+        /**
+         * Appends an ID larger than every ID already listed
+         *
+         * @implNote O(1) amortized running time behavior
+         * @param id the ID
+         */
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package comprehensive;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A class that appends characters to a ByteBuffer as UTF-8, so words can be rendered straight into a socket or file
+ * buffer without building Strings first. A sink can be pointed at another buffer, so one sink serves any number of
+ * words and buffers without allocating.
+ *
+ * <p>Characters are encoded as they are appended. A high surrogate is held until the low surrogate after it arrives,
+ * and a surrogate without its other half is written as '?', the same as String.getBytes does. A high surrogate still
+ * held at the end of the text is only written by finish, which the dictionaries' render methods and reset call, so
+ * call it after appending to a sink directly.</p>
+ *
+ * @author Logan Waller and James Crawford
+ * @version October 19th, 2026
+ */
+public class Utf8Sink implements Appendable {
+    // Variables
+    private ByteBuffer buffer;
+    private char highSurrogate;
+
+    /**
+     * Creates a sink that appends to a buffer
+     *
+     * @param buffer the buffer, written from its position
+     */
+    public Utf8Sink(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Points the sink at another buffer, first finishing the old one
+     *
+     * @implNote O(1) running time behavior
+     * @param buffer the buffer, written from its position
+     * @return this sink
+     * @throws BufferOverflowException if the old buffer is full and a high surrogate was still held for it
+     */
+    public Utf8Sink reset(ByteBuffer buffer) throws BufferOverflowException {
+        finish();
+        this.buffer = buffer;
+        return this;
+    }
+
+    /**
+     * Writes a high surrogate still waiting for its low surrogate as '?', since no more text follows it
+     *
+     * @implNote O(1) running time behavior
+     * @return this sink
+     * @throws BufferOverflowException if the buffer is full
+     */
+    public Utf8Sink finish() throws BufferOverflowException {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            buffer.put((byte) '?');
+        }
+        return this;
+    }
+
+    /**
+     * Finishes a destination if it is a sink, so text rendered into it ends with every character written
+     *
+     * @implNote O(1) running time behavior
+     * @param out the destination
+     * @throws BufferOverflowException if the destination is a sink whose buffer is full
+     */
+    static void finish(Appendable out) throws BufferOverflowException {
+        if (out instanceof Utf8Sink) {
+            ((Utf8Sink) out).finish();
+        }
+    }
+
+    /**
+     * Gets the buffer the sink appends to
+     *
+     * @implNote O(1) running time behavior
+     * @return the buffer
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Appends the characters of a sequence
+     *
+     * @implNote O(length of the sequence) running time behavior
+     * @param csq the characters, or null to append "null"
+     * @return this sink
+     * @throws BufferOverflowException if the buffer fills up, in which case part of the sequence may have been written
+     */
+    @Override
+    public Utf8Sink append(CharSequence csq) throws BufferOverflowException {
+        return csq == null ? append("null", 0, 4) : append(csq, 0, csq.length());
+    }
+
+    /**
+     * Appends part of a sequence of characters
+     *
+     * @implNote O(end - start) running time behavior
+     * @param csq the characters, or null to append part of "null"
+     * @param start the index of the first character to append
+     * @param end the index after the last character to append
+     * @return this sink
+     * @throws BufferOverflowException if the buffer fills up, in which case part of the sequence may have been written
+     */
+    @Override
+    public Utf8Sink append(CharSequence csq, int start, int end) throws BufferOverflowException {
+        CharSequence characters = csq == null ? "null" : csq;
+        for (int i = start; i < end; i++) {
+            append(characters.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Appends a character
+     *
+     * @implNote O(1) running time behavior
+     * @param c the character
+     * @return this sink
+     * @throws BufferOverflowException if the buffer fills up
+     */
+    @Override
+    public Utf8Sink append(char c) throws BufferOverflowException {
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer.put((byte) (0xF0 | (codePoint >>> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                return this;
+            }
+            buffer.put((byte) '?');
+        }
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >>> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | (c >>> 12)));
+            buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+        return this;
+    }
+}